@@ -33,4 +33,17 @@ public abstract class ClusterRepository {
 
 	abstract GSUserInfo auth(String clusterName, String userId, String password) throws Exception;
 
+	/**
+	 * Start reloading the repository when it is changed. Does nothing unless
+	 * the repository supports it.
+	 */
+	public void startWatching() throws Exception {
+	}
+
+	/**
+	 * Stop reloading the repository.
+	 */
+	public void close() {
+	}
+
 }
@@ -22,17 +22,25 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.security.MessageDigest;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
 import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.toshiba.mwcloud.gs.tools.common.GSCluster;
 import com.toshiba.mwcloud.gs.tools.common.GSNode;
@@ -41,6 +49,8 @@ import com.toshiba.mwcloud.gs.tools.common.Repository;
 
 public class FileClusterRepository extends ClusterRepository {
 
+	private static final Logger logger = LoggerFactory.getLogger(FileClusterRepository.class);
+
 	private static final String VERSION = "2.9.0";
 	private static final String HASH_ALGORITHM = "SHA-256";
 	private static final Charset PASSWORD_CHARSET = Charset.forName("UTF-8");
@@ -48,6 +58,12 @@ public class FileClusterRepository extends ClusterRepository {
 	private String jsonFilePath;
 	private String legacyPasswordFilePath;
 
+	// Parsed repository, replaced when the file changes
+	private volatile RepositorySnapshot snapshot;
+
+	private WatchService watchService;
+	private Thread watcher;
+
 	public FileClusterRepository(String homeDir){
 		jsonFilePath = homeDir + "/conf/repository.json";
 		legacyPasswordFilePath = homeDir + "/conf/password";
@@ -61,12 +77,23 @@ public class FileClusterRepository extends ClusterRepository {
 		return new File(legacyPasswordFilePath);
 	}
 
+	// The file is parsed once; the snapshot and the caller each get their own
+	// copy bound from the tree, so that callers can modify theirs
 	public Repository readRepository() throws Exception {
-		return readRepository(getRepositoryFile());
+		ObjectMapper mapper = new ObjectMapper();
+		JsonNode tree = readRepositoryTree(mapper, getRepositoryFile());
+		snapshot = new RepositorySnapshot(mapper.treeToValue(tree, Repository.class));
+		return mapper.treeToValue(tree, Repository.class);
 	}
-	private Repository readRepository(File repositoryFile) throws Exception {
+
+	private void reload() throws Exception {
+		ObjectMapper mapper = new ObjectMapper();
+		JsonNode tree = readRepositoryTree(mapper, getRepositoryFile());
+		snapshot = new RepositorySnapshot(mapper.treeToValue(tree, Repository.class));
+	}
+	private JsonNode readRepositoryTree(ObjectMapper mapper, File repositoryFile) throws Exception {
 		try {
-			return new ObjectMapper().readValue(repositoryFile, Repository.class);
+			return mapper.readTree(repositoryFile);
 
 		} catch (IOException e) {
 			throw e;
@@ -91,6 +118,7 @@ public class FileClusterRepository extends ClusterRepository {
 			repository.getHeader().setLastModefied(dateFormat.format(new Date()));
 			repository.getHeader().setVersion(VERSION);
 			new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(repositoryFile, repository);
+			reload();
 
 		} catch (IOException e) {
 			throw new Exception("Error while saving repository file.", e);
@@ -99,44 +127,87 @@ public class FileClusterRepository extends ClusterRepository {
 
 
 	public GSCluster<GSNode> getGSCluster(String clusterName) throws Exception {
+		return getSnapshot().getGSCluster(clusterName);
+	}
 
-		Repository rep = readRepository();
+	public GSNode getGSNode(String clusterName, String host, int port) throws Exception {
+		return getSnapshot().getGSNode(host, port);
+	}
 
-		GSCluster<GSNode> cluster = null;
-		List<GSCluster<GSNode>> clusters = rep.getClusters();
-		for ( GSCluster<GSNode> cl : clusters ){
-			if ( clusterName.equals(cl.getName())){
-				cluster = cl;
-				break;
-			}
+	private RepositorySnapshot getSnapshot() throws Exception {
+		RepositorySnapshot current = snapshot;
+		if (current == null) {
+			reload();
+			current = snapshot;
 		}
+		return current;
+	}
 
-		if (cluster == null) {
-			return null;
+	/**
+	 * Watch the repository file and replace the snapshot when it changes. If
+	 * the changed file cannot be read, the previous snapshot is kept.
+	 */
+	@Override
+	public synchronized void startWatching() throws Exception {
+		if (watchService != null) {
+			return;
 		}
+		final Path file = getRepositoryFile().toPath().toAbsolutePath();
+		final WatchService service = file.getFileSystem().newWatchService();
+		file.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+		watchService = service;
+		watcher = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				watch(service, file.getFileName());
+			}
+		}, "repository-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
 
-		for (GSNode node : rep.getNodes()) {
-			if (node.getClusterName().equals(clusterName)) {
-				cluster.getNodes().add(new GSNode(node.getAddress(), node.getPort()));
+	@Override
+	public synchronized void close() {
+		if (watchService != null) {
+			try {
+				watchService.close();
+			} catch (IOException e) {
+				logger.warn("Cannot close the watcher of " + jsonFilePath, e);
 			}
+			watchService = null;
+			watcher = null;
 		}
-
-		return cluster;
 	}
 
-	public GSNode getGSNode(String clusterName, String host, int port) throws Exception {
-		Repository rep = readRepository();
-
-		GSNode node = null;
-		List<GSNode> nodes = rep.getNodes();
-		for (GSNode n : nodes) {
-			if (host.equals(n.getAddress()) && port == n.getPort()) {
-				node = n;
-				break;
+	private void watch(WatchService service, Path fileName) {
+		while (true) {
+			WatchKey key;
+			try {
+				key = service.take();
+			} catch (InterruptedException e) {
+				return;
+			} catch (ClosedWatchServiceException e) {
+				return;
+			}
+			boolean changed = false;
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+					changed = true;
+				}
+			}
+			if (changed) {
+				try {
+					reload();
+				} catch (Exception e) {
+					// The file may be in the middle of being written, keep the previous snapshot
+					logger.warn("Cannot reload " + jsonFilePath + ": " + e.getMessage());
+				}
+			}
+			if (!key.reset()) {
+				return;
 			}
 		}
-
-		return node;
 	}
 
 	public GSUserInfo auth(String clusterName, String userId, String password) throws Exception {
@@ -0,0 +1,96 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.common.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.toshiba.mwcloud.gs.tools.common.GSCluster;
+import com.toshiba.mwcloud.gs.tools.common.GSNode;
+import com.toshiba.mwcloud.gs.tools.common.Repository;
+
+/**
+ * Parsed contents of the repository indexed by cluster name and node address.
+ * A snapshot is never modified after it is built; a changed repository file
+ * produces a new snapshot. The clusters and nodes it returns are shared and
+ * must not be modified.
+ */
+public final class RepositorySnapshot {
+
+	private final Map<String, GSCluster<GSNode>> clusters;
+
+	private final Map<String, GSNode> nodes;
+
+	RepositorySnapshot(Repository repository) {
+		Map<String, GSCluster<GSNode>> clusterMap = new HashMap<String, GSCluster<GSNode>>();
+		Map<String, List<GSNode>> clusterNodes = new HashMap<String, List<GSNode>>();
+		for (GSCluster<GSNode> cluster : repository.getClusters()) {
+			String name = cluster.getName();
+			// The first definition wins, as with a linear scan
+			if (name != null && !clusterMap.containsKey(name)) {
+				clusterMap.put(name, cluster);
+				clusterNodes.put(name, new ArrayList<GSNode>());
+			}
+		}
+
+		Map<String, GSNode> nodeMap = new HashMap<String, GSNode>();
+		for (GSNode node : repository.getNodes()) {
+			List<GSNode> list = clusterNodes.get(node.getClusterName());
+			if (list != null) {
+				list.add(new GSNode(node.getAddress(), node.getPort()));
+			}
+			String key = nodeKey(node.getAddress(), node.getPort());
+			if (!nodeMap.containsKey(key)) {
+				nodeMap.put(key, node);
+			}
+		}
+
+		for (Map.Entry<String, List<GSNode>> e : clusterNodes.entrySet()) {
+			clusterMap.get(e.getKey()).setNodes(Collections.unmodifiableList(e.getValue()));
+		}
+		this.clusters = Collections.unmodifiableMap(clusterMap);
+		this.nodes = Collections.unmodifiableMap(nodeMap);
+	}
+
+	/**
+	 * Get a cluster with its nodes.
+	 *
+	 * @param clusterName name of cluster
+	 * @return the cluster, or null if it is not defined
+	 */
+	public GSCluster<GSNode> getGSCluster(String clusterName) {
+		return clusters.get(clusterName);
+	}
+
+	/**
+	 * Get a node by its address.
+	 *
+	 * @param host address of node
+	 * @param port port of node
+	 * @return the node, or null if it is not defined
+	 */
+	public GSNode getGSNode(String host, int port) {
+		return nodes.get(nodeKey(host, port));
+	}
+
+	private static String nodeKey(String host, int port) {
+		return host + ":" + port;
+	}
+}
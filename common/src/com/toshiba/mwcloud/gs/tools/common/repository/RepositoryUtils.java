@@ -56,6 +56,22 @@ public class RepositoryUtils {
 
 	}
 
+	/**
+	 * リポジトリ情報の変更を監視し、変更時に再読み込みします。
+	 */
+	public static void startWatching() throws Exception {
+		m_repository.startWatching();
+	}
+
+	/**
+	 * リポジトリ情報の監視を終了します。
+	 */
+	public static void close() {
+		if (m_repository != null) {
+			m_repository.close();
+		}
+	}
+
 	public static GSCluster<GSNode> getGSCluster(String clusterName) throws Exception {
 		return m_repository.getGSCluster(clusterName);
 
@@ -0,0 +1,163 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.toshiba.mwcloud.gs.ColumnInfo;
+import com.toshiba.mwcloud.gs.ContainerInfo;
+import com.toshiba.mwcloud.gs.ContainerType;
+import com.toshiba.mwcloud.gs.GSType;
+import com.toshiba.mwcloud.gs.Row;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
+import com.toshiba.mwcloud.gs.tools.webapi.service.impl.WebAPIServiceImpl;
+
+/**
+ * Compare reading the rows of a request body with
+ * {@link RowConverter#read(JsonParser, Row)} against reading each row into a
+ * list with {@link GWJsonParser#readRow(JsonParser)} and then converting it,
+ * either with {@link RowConverter#convert(List, Row)} or cell by cell with the
+ * type switch of
+ * {@link WebAPIServiceImpl#setRowValue(com.toshiba.mwcloud.gs.Container, Row, GSType, Object, int, Boolean, String)}
+ * as rows were put before the converter was compiled per schema.
+ *
+ * <p>
+ * The rows are set to a {@link Row} which discards the values, so that only
+ * the parsing and the conversion are measured. Run with
+ * <code>./gradlew jmh</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowConverterBenchmark {
+
+	@Param({ "1000" })
+	int rowCount;
+
+	private final JsonFactory factory = new JsonFactory();
+
+	private final WebAPIServiceImpl service = new WebAPIServiceImpl();
+
+	private RowConverter converter;
+
+	private GSType[] types;
+
+	private Row row;
+
+	private byte[] body;
+
+	@Setup
+	public void setup() {
+		List<ColumnInfo> columns = Arrays.asList(new ColumnInfo("id", GSType.LONG),
+				new ColumnInfo("time", GSType.TIMESTAMP), new ColumnInfo("name", GSType.STRING),
+				new ColumnInfo("value", GSType.DOUBLE), new ColumnInfo("count", GSType.INTEGER),
+				new ColumnInfo("flag", GSType.BOOL), new ColumnInfo("samples", GSType.DOUBLE_ARRAY));
+		ContainerInfo containerInfo = new ContainerInfo("bench", ContainerType.COLLECTION, columns, true);
+		converter = RowConverter.compile(containerInfo);
+		types = new GSType[columns.size()];
+		for (int i = 0; i < types.length; i++) {
+			types[i] = columns.get(i).getType();
+		}
+		// setRowValue reads the schema of the row for TIMESTAMP columns
+		row = (Row) Proxy.newProxyInstance(Row.class.getClassLoader(), new Class<?>[] { Row.class },
+				(proxy, method, args) -> "getSchema".equals(method.getName()) ? containerInfo : null);
+
+		StringBuilder builder = new StringBuilder("[");
+		for (int i = 0; i < rowCount; i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			builder.append('[').append(i).append(",\"2024-01-01T00:00:")
+					.append(String.format("%02d", i % 60)).append(".000Z\",\"name").append(i).append("\",")
+					.append(i * 0.5).append(',').append(i % 1000).append(',').append(i % 2 == 0)
+					.append(",[").append(i * 0.1).append(',').append(i * 0.2).append(',').append(i * 0.3)
+					.append("]]");
+		}
+		body = builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Benchmark
+	public long rowConverterRead() throws IOException {
+		long size = 0;
+		try (JsonParser jp = factory.createParser(body)) {
+			jp.nextToken();
+			while (jp.nextToken() == JsonToken.START_ARRAY) {
+				size += converter.read(jp, row);
+			}
+		}
+		return size;
+	}
+
+	@Benchmark
+	public long jsonParserAndConvert() throws IOException {
+		long size = 0;
+		try (JsonParser jp = factory.createParser(body)) {
+			jp.nextToken();
+			while (jp.nextToken() == JsonToken.START_ARRAY) {
+				size += converter.convert(GWJsonParser.readRow(jp), row);
+			}
+		}
+		return size;
+	}
+
+	@Benchmark
+	public long jsonParserAndSetRowValue() throws IOException {
+		long size = 0;
+		try (JsonParser jp = factory.createParser(body)) {
+			jp.nextToken();
+			while (jp.nextToken() == JsonToken.START_ARRAY) {
+				List<Object> values = GWJsonParser.readRow(jp);
+				if (values.size() != types.length) {
+					throw new GWBadRequestException("Row data is invalid");
+				}
+				int i = 0;
+				for (Object value : values) {
+					try {
+						size += service.setRowValue(null, row, types[i], value, i, false, null);
+					} catch (Exception e) {
+						throw new GWBadRequestException(e.getMessage());
+					}
+					i++;
+				}
+			}
+		}
+		return size;
+	}
+}
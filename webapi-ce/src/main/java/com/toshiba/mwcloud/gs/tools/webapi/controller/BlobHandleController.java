@@ -16,26 +16,33 @@
 
 package com.toshiba.mwcloud.gs.tools.webapi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.toshiba.mwcloud.gs.GSException;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryParams;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
 import com.toshiba.mwcloud.gs.tools.webapi.service.impl.BlobHandleServiceImpl;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobResource;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobZipWriter;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants;
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.UUID;
 import javax.servlet.http.HttpServletResponse;
-import org.springframework.core.io.FileSystemResource;
+import javax.websocket.server.PathParam;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -51,11 +58,17 @@ import org.springframework.web.multipart.MultipartFile;
 @RequestMapping("${basePath}" + "/" + "${version}")
 public class BlobHandleController {
 
+  private static final byte[] CRLF = {'\r', '\n'};
+
   /** BLob handle Services. */
   private final BlobHandleServiceImpl blobServiceImpl;
 
-  public BlobHandleController(BlobHandleServiceImpl blobServiceImpl) {
+  /** Serializer of the rows part of a multipart response. */
+  private final ObjectMapper objectMapper;
+
+  public BlobHandleController(BlobHandleServiceImpl blobServiceImpl, ObjectMapper objectMapper) {
     this.blobServiceImpl = blobServiceImpl;
+    this.objectMapper = objectMapper;
   }
 
   /**
@@ -100,16 +113,19 @@ public class BlobHandleController {
    *
    * <ol>
    *   <li>Get rows by calling {@link BlobHandleServiceImpl#getRowsTypeBlob(String, String,String,
-   *       String, GWQueryParams)} function.
+   *       String, GWQueryParams, BlobZipWriter)} function.
+   *   <li>Write the rows as the first part of the response.
+   *   <li>Stream the BLOB data into a zip file as the second part of the response.
    * </ol>
    *
+   * <p>Every error of the query is thrown before the response is committed.
+   *
    * @param authorization basic authentication
    * @param cluster name of cluster
    * @param database name of database
    * @param container name of container
    * @param queryParams request for get blob data
    * @param httpResponse response for get blob data
-   * @return a {@link ResponseEntity} object with status {@link HttpStatus#OK}
    * @throws GSException internal GridStore GridDB exception
    * @throws SQLException internal Sql exception
    * @throws UnsupportedEncodingException unsupported encoding exception
@@ -117,8 +133,7 @@ public class BlobHandleController {
   @RequestMapping(
       value = "{cluster}/dbs/{database}/containers/{container}/rows/blob",
       method = {RequestMethod.POST})
-  @ResponseBody
-  public ResponseEntity<MultiValueMap<String, Object>> getRowsBlobMultipart(
+  public void getRowsBlobMultipart(
       @RequestHeader(name = "Authorization", required = false) String authorization,
       @PathVariable("cluster") String cluster,
       @PathVariable("database") String database,
@@ -127,18 +142,92 @@ public class BlobHandleController {
       HttpServletResponse httpResponse)
       throws GWException, SQLException, IOException {
 
-    MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+    BlobZipWriter blobs = new BlobZipWriter();
     GWQueryOutput output =
-        blobServiceImpl.getRowsTypeBlob(authorization, cluster, database, container, queryParams);
-
-    String serverLocation = output.getBlobPath();
-    File file = new File(serverLocation + Constants.ZIP_FILE_EXT);
-    Resource resource = new FileSystemResource(file);
-    output.setBlobPath(null);
-    form.add("rows", output);
-    form.add("file", resource);
-    httpResponse.setContentType(MediaType.MULTIPART_FORM_DATA_VALUE);
-    MediaType multiPart = MediaType.parseMediaType(MediaType.MULTIPART_FORM_DATA_VALUE);
-    return ResponseEntity.ok().contentType(multiPart).body(form);
+        blobServiceImpl.getRowsTypeBlob(
+            authorization, cluster, database, container, queryParams, blobs);
+    byte[] rows = objectMapper.writeValueAsBytes(output);
+
+    String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+    httpResponse.setStatus(HttpStatus.OK.value());
+    httpResponse.setContentType(MediaType.MULTIPART_FORM_DATA_VALUE + "; boundary=" + boundary);
+    OutputStream out = httpResponse.getOutputStream();
+    writePartHeader(out, boundary, "rows", null, MediaType.APPLICATION_JSON_VALUE);
+    out.write(rows);
+    out.write(CRLF);
+    writePartHeader(
+        out,
+        boundary,
+        "file",
+        UUID.randomUUID().toString() + Constants.ZIP_FILE_EXT,
+        Constants.ZIP_CONTENT_TYPE);
+    blobs.writeTo(out);
+    out.write(CRLF);
+    out.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    out.flush();
+  }
+
+  /**
+   * [SE20] Get the BLOB data of a column of a row. <br>
+   * <b>Processing flow:</b>
+   *
+   * <ol>
+   *   <li>Get the BLOB data by calling {@link BlobHandleServiceImpl#getBlob(String, String,
+   *       String, String, String, String)} function.
+   *   <li>Return it with an ETag computed from its content.
+   * </ol>
+   *
+   * <p>Spring MVC answers a matching <code>If-None-Match</code> with {@link
+   * HttpStatus#NOT_MODIFIED} and a <code>Range</code> with {@link HttpStatus#PARTIAL_CONTENT}.
+   *
+   * @param authorization basic authentication
+   * @param cluster name of cluster
+   * @param database name of database
+   * @param container name of container
+   * @param column name of the BLOB column
+   * @param key row key of the row
+   * @return a {@link ResponseEntity} object with status {@link HttpStatus#OK}, or {@link
+   *     HttpStatus#NO_CONTENT} if the value is null
+   * @throws GSException internal GridStore GridDB exception
+   * @throws IOException IO exception
+   */
+  @RequestMapping(
+      value = "{cluster}/dbs/{database}/containers/{container}/rows/blob/{column}",
+      method = RequestMethod.GET)
+  public ResponseEntity<Resource> getBlob(
+      @RequestHeader(name = "Authorization", required = false) String authorization,
+      @PathVariable("cluster") String cluster,
+      @PathVariable("database") String database,
+      @PathVariable("container") String container,
+      @PathVariable("column") String column,
+      @PathParam("key") String key)
+      throws GSException, IOException {
+    Blob blob = blobServiceImpl.getBlob(authorization, cluster, database, container, column, key);
+    if (blob == null) {
+      return ResponseEntity.noContent().build();
+    }
+    Resource resource = new BlobResource(blob, "BLOB [" + container + "." + column + "]");
+    String etag;
+    try (InputStream in = resource.getInputStream()) {
+      etag = "\"" + DigestUtils.md5DigestAsHex(in) + "\"";
+    }
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+        .eTag(etag)
+        .body(resource);
+  }
+
+  private static void writePartHeader(
+      OutputStream out, String boundary, String name, String filename, String contentType)
+      throws IOException {
+    StringBuilder header = new StringBuilder();
+    header.append("--").append(boundary).append("\r\n");
+    header.append("Content-Disposition: form-data; name=\"").append(name).append('"');
+    if (filename != null) {
+      header.append("; filename=\"").append(filename).append('"');
+    }
+    header.append("\r\n");
+    header.append("Content-Type: ").append(contentType).append("\r\n\r\n");
+    out.write(header.toString().getBytes(StandardCharsets.UTF_8));
   }
 }
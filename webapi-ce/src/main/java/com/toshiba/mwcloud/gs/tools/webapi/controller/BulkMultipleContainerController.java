@@ -25,11 +25,14 @@ import com.toshiba.mwcloud.gs.tools.webapi.dto.GWBulkPutRow;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWBulkPutRowOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
 import com.toshiba.mwcloud.gs.tools.webapi.service.BulkMultipleContainerService;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.IngestionQueue;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.List;
+import javax.websocket.server.PathParam;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -72,7 +75,12 @@ public class BulkMultipleContainerController {
   @RequestMapping(
       value = "{cluster}/dbs/{database}/containers/rows",
       method = RequestMethod.POST,
-      produces = "application/json; charset=UTF-8")
+      produces = {
+        Constants.MEDIA_TYPE_JSON,
+        Constants.MEDIA_TYPE_SMILE,
+        Constants.MEDIA_TYPE_CBOR,
+        Constants.MEDIA_TYPE_MSGPACK
+      })
   public ResponseEntity<?> getRowsMultipleContainers(
       @RequestHeader(name = "Authorization", required = false) String authorization,
       @PathVariable("cluster") String cluster,
@@ -93,15 +101,18 @@ public class BulkMultipleContainerController {
    *
    * <ol>
    *   <li>Put rows by calling {@link BulkMultipleContainerService#putRowsMultipleContainers(String,
-   *       String, String, List)} function.
+   *       String, String, List)} function, or queue them by calling {@link
+   *       BulkMultipleContainerService#enqueueRowsMultipleContainers(String, String, String, List,
+   *       String)} function if <code>ack</code> is specified.
    * </ol>
    *
    * @param authorization basic authentication
    * @param cluster name of cluster
    * @param database name of database
+   * @param ack "enqueue" or "commit" to put the rows through the ingestion queue (optional)
    * @param input a {@link GWBulkPutRow}
    * @return a {@link ResponseEntity} object with body is a {@link GWBulkPutRowOutput} object and
-   *     status {@link HttpStatus#OK}
+   *     status {@link HttpStatus#OK}, or {@link HttpStatus#ACCEPTED} if the rows are only queued
    * @throws IOException an {@link IOException}
    * @throws JsonMappingException mapping JSON failed
    * @throws JsonParseException parse JSON failed
@@ -109,18 +120,36 @@ public class BulkMultipleContainerController {
   @RequestMapping(
       value = "{cluster}/dbs/{database}/containers/rows",
       method = RequestMethod.PUT,
-      consumes = "application/json; charset=UTF-8",
-      produces = "application/json; charset=UTF-8")
+      consumes = {
+        Constants.MEDIA_TYPE_JSON,
+        Constants.MEDIA_TYPE_SMILE,
+        Constants.MEDIA_TYPE_CBOR,
+        Constants.MEDIA_TYPE_MSGPACK
+      },
+      produces = {
+        Constants.MEDIA_TYPE_JSON,
+        Constants.MEDIA_TYPE_SMILE,
+        Constants.MEDIA_TYPE_CBOR,
+        Constants.MEDIA_TYPE_MSGPACK
+      })
   public ResponseEntity<?> putRows(
       @RequestHeader(name = "Authorization", required = false) String authorization,
       @PathVariable("cluster") String cluster,
       @PathVariable("database") String database,
+      @PathParam("ack") String ack,
       @RequestBody List<GWBulkPutRow> input)
       throws JsonParseException, JsonMappingException, IOException {
 
+    if (ack == null) {
+      List<GWBulkPutRowOutput> output =
+          bulkMultipleContainerServiceImpl.putRowsMultipleContainers(
+              authorization, cluster, database, input);
+      return new ResponseEntity<>(output, HttpStatus.OK);
+    }
     List<GWBulkPutRowOutput> output =
-        bulkMultipleContainerServiceImpl.putRowsMultipleContainers(
-            authorization, cluster, database, input);
-    return new ResponseEntity<>(output, HttpStatus.OK);
+        bulkMultipleContainerServiceImpl.enqueueRowsMultipleContainers(
+            authorization, cluster, database, input, ack);
+    boolean queued = Constants.ACK_ENQUEUE.equals(ack) && IngestionQueue.isEnabled();
+    return new ResponseEntity<>(output, queued ? HttpStatus.ACCEPTED : HttpStatus.OK);
   }
 }
@@ -23,7 +23,10 @@ import com.toshiba.mwcloud.gs.tools.webapi.dto.SqlDdlDclOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.SqlUpdateOutput;
 import java.sql.SQLException;
 import java.util.List;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import javax.servlet.http.HttpServletResponse;
+import javax.websocket.server.PathParam;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +37,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import com.toshiba.mwcloud.gs.tools.webapi.service.ExecuteSqlService;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ArrowResultWriter;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants;
 
 /** Controller handles request for Sql update service. */
 @RestController
@@ -193,13 +198,14 @@ public class ExecuteSqlController {
    * <b>Processing flow:</b>
    *
    * <ol>
-   *   <li>Execute DMLs select by calling webApiServiceImpl.executeSQLs(String, String,
-   *       String, List) function.
+   *   <li>Execute DMLs select by calling executeSqlService.executeDmlQuery(String, String,
+   *       String, List, boolean) function.
    * </ol>
    *
    * @param authorization basic authentication
    * @param cluster name of cluster
    * @param database name of database
+   * @param parallel execute the SQLs concurrently (optional)
    * @param listSqlInput a {@link List} of {@link GWSQLInput}
    * @return a {@link ResponseEntity} object with body is a {@link List} of {@link GWSQLOutput} and
    *     status {@link HttpStatus#OK}
@@ -210,18 +216,61 @@ public class ExecuteSqlController {
   @RequestMapping(
       value = "{cluster}/dbs/{database}/sql/dml/query",
       method = RequestMethod.POST,
-      produces = "application/json; charset=UTF-8")
+      produces = {
+        Constants.MEDIA_TYPE_JSON,
+        Constants.MEDIA_TYPE_SMILE,
+        Constants.MEDIA_TYPE_CBOR,
+        Constants.MEDIA_TYPE_MSGPACK
+      })
   public ResponseEntity<?> executeDmlQuery(
       @RequestHeader(name = "Authorization", required = false) String authorization,
       @PathVariable("cluster") String cluster,
       @PathVariable("database") String database,
+      @PathParam("parallel") Boolean parallel,
       @RequestBody List<GWSQLInput> listSqlInput)
       throws GSException, SQLException, UnsupportedEncodingException {
 
     List<GWSQLOutput> gwOutput =
         executeSqlService.executeDmlQuery(
-            authorization, cluster, database, listSqlInput);
+            authorization, cluster, database, listSqlInput, Boolean.TRUE.equals(parallel));
     return new ResponseEntity<>(gwOutput, HttpStatus.OK);
   }
 
+  /**
+   * [SE19] Execute DML Query and return the results in Arrow format. <br>
+   * <br>
+   * <b>Processing flow:</b>
+   *
+   * <ol>
+   *   <li>Execute DMLs select by calling executeSqlService.writeDmlQueryArrow(String, String,
+   *       String, List, ArrowResultWriter) function.
+   * </ol>
+   *
+   * @param authorization basic authentication
+   * @param cluster name of cluster
+   * @param database name of database
+   * @param listSqlInput a {@link List} of {@link GWSQLInput}
+   * @param response the response to write to
+   * @throws GSException internal server exception {@link HttpStatus#INTERNAL_SERVER_ERROR}
+   * @throws SQLException a {@link SQLException}
+   * @throws IOException when writing the response failed
+   */
+  @RequestMapping(
+      value = "{cluster}/dbs/{database}/sql/dml/query",
+      method = RequestMethod.POST,
+      produces = Constants.MEDIA_TYPE_ARROW_STREAM)
+  public void executeDmlQueryArrow(
+      @RequestHeader(name = "Authorization", required = false) String authorization,
+      @PathVariable("cluster") String cluster,
+      @PathVariable("database") String database,
+      @RequestBody List<GWSQLInput> listSqlInput,
+      HttpServletResponse response)
+      throws GSException, SQLException, IOException {
+
+    try (ArrowResultWriter writer = ArrowResultWriter.open(response)) {
+      executeSqlService.writeDmlQueryArrow(
+          authorization, cluster, database, listSqlInput, writer);
+    }
+  }
+
 }
@@ -0,0 +1,169 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWBlobJanitorStatistics;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWCacheStatistics;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSessionPoolStatistics;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWNotFoundException;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobJanitor;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.CountCache;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.GWSettingInfo;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStorePool;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.JdbcConnectionPool;
+
+/**
+ * Controller handles request for statistics of the Web API.
+ * 
+ */
+
+@RestController
+@RequestMapping("${basePath}" + "/" + "${version}")
+public class StatisticsController {
+
+	/**
+	 * Get statistics of the GridStore session pool.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Check that the statistics endpoints are enabled.</li>
+	 * <li>Get statistics by calling {@link GridStorePool#getStatistics()}
+	 * function.</li>
+	 * </ol>
+	 * 
+	 * @return a {@link ResponseEntity} object with body is a
+	 *         {@link GWSessionPoolStatistics} and status {@link HttpStatus#OK}
+	 */
+	@RequestMapping(value = "statistics/sessions", method = RequestMethod.GET, produces = "application/json; charset=UTF-8")
+	public ResponseEntity<?> getSessionPoolStatistics() {
+
+		checkEnabled();
+		GWSessionPoolStatistics statistics = GridStorePool.getStatistics();
+		return new ResponseEntity<>(statistics, HttpStatus.OK);
+	}
+
+	/**
+	 * Get statistics of the JDBC connection pool.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Check that the statistics endpoints are enabled.</li>
+	 * <li>Get statistics by calling {@link JdbcConnectionPool#getStatistics()}
+	 * function.</li>
+	 * </ol>
+	 * 
+	 * @return a {@link ResponseEntity} object with body is a
+	 *         {@link GWSessionPoolStatistics} and status {@link HttpStatus#OK}
+	 */
+	@RequestMapping(value = "statistics/connections", method = RequestMethod.GET, produces = "application/json; charset=UTF-8")
+	public ResponseEntity<?> getConnectionPoolStatistics() {
+
+		checkEnabled();
+		GWSessionPoolStatistics statistics = JdbcConnectionPool.getStatistics();
+		return new ResponseEntity<>(statistics, HttpStatus.OK);
+	}
+
+	/**
+	 * Get statistics of the container schema cache.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Check that the statistics endpoints are enabled.</li>
+	 * <li>Get statistics by calling
+	 * {@link ContainerMetadataCache#getStatistics()} function.</li>
+	 * </ol>
+	 * 
+	 * @return a {@link ResponseEntity} object with body is a
+	 *         {@link GWCacheStatistics} and status {@link HttpStatus#OK}
+	 */
+	@RequestMapping(value = "statistics/metadata", method = RequestMethod.GET, produces = "application/json; charset=UTF-8")
+	public ResponseEntity<?> getMetadataCacheStatistics() {
+
+		checkEnabled();
+		GWCacheStatistics statistics = ContainerMetadataCache.getStatistics();
+		return new ResponseEntity<>(statistics, HttpStatus.OK);
+	}
+
+	/**
+	 * Get statistics of the row count cache.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Check that the statistics endpoints are enabled.</li>
+	 * <li>Get statistics by calling
+	 * {@link CountCache#getStatistics()} function.</li>
+	 * </ol>
+	 * 
+	 * @return a {@link ResponseEntity} object with body is a
+	 *         {@link GWCacheStatistics} and status {@link HttpStatus#OK}
+	 */
+	@RequestMapping(value = "statistics/counts", method = RequestMethod.GET, produces = "application/json; charset=UTF-8")
+	public ResponseEntity<?> getCountCacheStatistics() {
+
+		checkEnabled();
+		GWCacheStatistics statistics = CountCache.getStatistics();
+		return new ResponseEntity<>(statistics, HttpStatus.OK);
+	}
+
+	/**
+	 * Get statistics of the janitor of blobPath.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Check that the statistics endpoints are enabled.</li>
+	 * <li>Get statistics by calling
+	 * {@link BlobJanitor#getStatistics()} function.</li>
+	 * </ol>
+	 * 
+	 * @return a {@link ResponseEntity} object with body is a
+	 *         {@link GWBlobJanitorStatistics} and status {@link HttpStatus#OK}
+	 */
+	@RequestMapping(value = "statistics/blobs", method = RequestMethod.GET, produces = "application/json; charset=UTF-8")
+	public ResponseEntity<?> getBlobJanitorStatistics() {
+
+		checkEnabled();
+		GWBlobJanitorStatistics statistics = BlobJanitor.getStatistics();
+		return new ResponseEntity<>(statistics, HttpStatus.OK);
+	}
+
+	/**
+	 * The statistics endpoints do not take credentials, so they respond only
+	 * when enabled by the statisticsEnabled property.
+	 */
+	private void checkEnabled() {
+		if (!GWSettingInfo.isStatisticsEnabled()) {
+			throw new GWNotFoundException("Statistics are not enabled");
+		}
+	}
+}
@@ -17,11 +17,20 @@
 package com.toshiba.mwcloud.gs.tools.webapi.controller;
 
 
+import org.msgpack.jackson.dataformat.MessagePackFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWContextListener;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWJsonParser;
 
@@ -45,7 +54,54 @@ public class WebAPIConfiguration {
 	 */
 	@Bean
 	public ObjectMapper objectMapper() {
-		ObjectMapper mapper = new ObjectMapper();
+		return createObjectMapper(new JsonFactory());
+	}
+
+	/**
+	 * Create a bean to read and write Smile, selected by the
+	 * <code>Content-Type</code> and <code>Accept</code> headers
+	 * 
+	 * @return a {@link MappingJackson2SmileHttpMessageConverter}
+	 */
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+		return new MappingJackson2SmileHttpMessageConverter(createObjectMapper(new SmileFactory()));
+	}
+
+	/**
+	 * Create a bean to read and write CBOR, selected by the
+	 * <code>Content-Type</code> and <code>Accept</code> headers
+	 * 
+	 * @return a {@link MappingJackson2CborHttpMessageConverter}
+	 */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+		return new MappingJackson2CborHttpMessageConverter(createObjectMapper(new CBORFactory()));
+	}
+
+	/**
+	 * Create a bean to read and write MessagePack, selected by the
+	 * <code>Content-Type</code> and <code>Accept</code> headers
+	 * 
+	 * @return a {@link AbstractJackson2HttpMessageConverter}
+	 */
+	@Bean
+	public AbstractJackson2HttpMessageConverter messagePackHttpMessageConverter() {
+		return new AbstractJackson2HttpMessageConverter(createObjectMapper(new MessagePackFactory()),
+				MediaType.parseMediaType(Constants.MEDIA_TYPE_MSGPACK)) {
+		};
+	}
+
+	/**
+	 * Create an object mapper which reads the rows of a container with
+	 * {@link GWJsonParser}
+	 * 
+	 * @param factory
+	 *            a {@link JsonFactory} of the data format
+	 * @return a {@link ObjectMapper}
+	 */
+	private static ObjectMapper createObjectMapper(JsonFactory factory) {
+		ObjectMapper mapper = new ObjectMapper(factory);
 		GWJsonParser parser = new GWJsonParser();
 		SimpleModule simpleModule = new SimpleModule("GWJsonParser");
 		simpleModule.addDeserializer(Object[][].class, parser);
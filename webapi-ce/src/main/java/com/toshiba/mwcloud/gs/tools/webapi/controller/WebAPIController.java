@@ -17,18 +17,23 @@
 package com.toshiba.mwcloud.gs.tools.webapi.controller;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
-import java.text.ParseException;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.websocket.server.PathParam;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
@@ -36,17 +41,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.toshiba.mwcloud.gs.ContainerType;
 import com.toshiba.mwcloud.gs.GSException;
 import com.toshiba.mwcloud.gs.GSType;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerListOuput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerStatus;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDeleteRowsOutput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDownsampleInput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDownsampleOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowOutput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowStreamOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryParams;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWRangeQueryInput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSortCondition;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWTQLInput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLInput;
@@ -54,6 +66,10 @@ import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
 import com.toshiba.mwcloud.gs.tools.webapi.service.WebAPIService;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ArrowResultWriter;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.IngestionQueue;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.RowStreamReader;
 
 /**
  * Controller handles request.
@@ -76,6 +92,12 @@ public class WebAPIController {
 	@Autowired
 	private ObjectMapper objectMapper;
 
+	/**
+	 * Converters of JSON and the binary JSON formats
+	 */
+	@Autowired
+	private List<AbstractJackson2HttpMessageConverter> messageConverters;
+
 	/**
 	 * [SE3] Check connection to database.
 	 * 
@@ -118,7 +140,7 @@ public class WebAPIController {
 	 * <b>Processing flow:</b>
 	 * <ol>
 	 * <li>Get list of the containers in a database by calling
-	 * WebAPIService#getListContainers(String, String, String, ContainerType)
+	 * WebAPIService#getListContainers(String, String, String, ContainerType, String, int, Integer, GWSortCondition)
 	 * function.</li>
 	 * </ol>
 	 * 
@@ -130,6 +152,8 @@ public class WebAPIController {
 	 *            name of database
 	 * @param type
 	 *            type of {@link ContainerType} (optional)
+	 * @param name
+	 *            LIKE pattern of the container names (optional)
 	 * @param limit
 	 *            number of containers (required)
 	 * @param offset
@@ -145,14 +169,14 @@ public class WebAPIController {
 	public ResponseEntity<?> getContainerList(
 			@RequestHeader(name = "Authorization", required = false) String authorization,
 			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
-			@PathParam("type") ContainerType type, @PathParam("limit") Integer limit,
+			@PathParam("type") ContainerType type, @PathParam("name") String name, @PathParam("limit") Integer limit,
 			@PathParam("offset") Integer offset, @PathParam("sort") GWSortCondition sort) throws GSException {
 
 		if (null == limit) {
 			throw new GWBadRequestException("'limit' is required");
 		}
 		GWContainerListOuput listContainers = webAPIServiceImpl.getListContainers(authorization, cluster, database,
-				type, limit, offset, sort);
+				type, name, limit, offset, sort);
 		return new ResponseEntity<>(listContainers, HttpStatus.OK);
 	}
 
@@ -200,19 +224,33 @@ public class WebAPIController {
 	 * <b>Processing flow:</b>
 	 * <ol>
 	 * <li>Execute multiple TQLs by calling WebAPIService.executeTQLs(String,
-	 * String, String, List) function.</li>
+	 * String, String, List) function,
+	 * {@link WebAPIService#executeTQLsInParallel(String, String, String, List)}
+	 * function if parallel is true, or
+	 * {@link WebAPIService#streamTQLs(String, String, String, List, JsonGenerator)}
+	 * function if stream is true.</li>
 	 * </ol>
 	 * 
 	 * @param authorization
 	 *            basic authentication
+	 * @param accept
+	 *            value of the Accept header, selecting the format of the
+	 *            response in streaming mode (optional)
 	 * @param cluster
 	 *            name of cluster
 	 * @param database
 	 *            name of database
+	 * @param stream
+	 *            write the rows to the response as they are read (optional)
+	 * @param parallel
+	 *            execute the TQLs concurrently (optional)
 	 * @param listTQL
 	 *            a {@link List} of {@link GWTQLInput}
+	 * @param response
+	 *            the response to write to in streaming mode
 	 * @return a {@link ResponseEntity} object with body is a {@link List} of
-	 *         {@link Object} and status {@link HttpStatus#OK}
+	 *         {@link Object} and status {@link HttpStatus#OK}, or null in
+	 *         streaming mode
 	 * @throws GSException
 	 *             internal GridDB exception
 	 * @throws GWException
@@ -224,17 +262,78 @@ public class WebAPIController {
 	 * @throws SQLException
 	 *             exception when getting length of data with {@link GSType} is
 	 *             BLOB {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws IOException
+	 *             when writing the response failed in streaming mode
 	 */
-	@RequestMapping(value = "{cluster}/dbs/{database}/tql", method = RequestMethod.POST, produces = "application/json; charset=UTF-8")
+	@RequestMapping(value = "{cluster}/dbs/{database}/tql", method = RequestMethod.POST, produces = { Constants.MEDIA_TYPE_JSON, Constants.MEDIA_TYPE_SMILE, Constants.MEDIA_TYPE_CBOR, Constants.MEDIA_TYPE_MSGPACK })
 	public ResponseEntity<?> executeTQLs(@RequestHeader(name = "Authorization", required = false) String authorization,
-			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
-			@RequestBody List<GWTQLInput> listTQL)
-			throws GSException, GWException, UnsupportedEncodingException, SQLException {
+			@RequestHeader(name = "Accept", required = false) String accept, @PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@PathParam("stream") Boolean stream, @PathParam("parallel") Boolean parallel,
+			@RequestBody List<GWTQLInput> listTQL, HttpServletResponse response)
+			throws GSException, GWException, SQLException, IOException {
 
+		if (Boolean.TRUE.equals(stream) && Boolean.TRUE.equals(parallel)) {
+			throw new GWBadRequestException("'stream' and 'parallel' cannot be used together");
+		}
+		if (Boolean.TRUE.equals(parallel)) {
+			List<Object> gwTQLOutput = webAPIServiceImpl.executeTQLsInParallel(authorization, cluster, database,
+					listTQL);
+			return new ResponseEntity<>(gwTQLOutput, HttpStatus.OK);
+		}
+		if (Boolean.TRUE.equals(stream)) {
+			JsonGenerator generator = createGenerator(accept, response);
+			webAPIServiceImpl.streamTQLs(authorization, cluster, database, listTQL, generator);
+			generator.close();
+			return null;
+		}
 		List<Object> gwTQLOutput = webAPIServiceImpl.executeTQLs(authorization, cluster, database, listTQL);
 		return new ResponseEntity<>(gwTQLOutput, HttpStatus.OK);
 	}
 
+	/**
+	 * [SE1] Execute multiple TQLs and return the results in Arrow format.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Execute multiple TQLs by calling
+	 * {@link WebAPIService#writeTQLsArrow(String, String, String, List, ArrowResultWriter)}
+	 * function.</li>
+	 * </ol>
+	 * 
+	 * @param authorization
+	 *            basic authentication
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param listTQL
+	 *            a {@link List} of {@link GWTQLInput}
+	 * @param response
+	 *            the response to write to
+	 * @throws GSException
+	 *             internal GridDB exception
+	 * @throws GWException
+	 *             internal server exception
+	 *             {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws SQLException
+	 *             exception when reading data with {@link GSType} is BLOB
+	 *             {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws IOException
+	 *             when writing the response failed
+	 */
+	@RequestMapping(value = "{cluster}/dbs/{database}/tql", method = RequestMethod.POST, produces = Constants.MEDIA_TYPE_ARROW_STREAM)
+	public void executeTQLsArrow(@RequestHeader(name = "Authorization", required = false) String authorization,
+			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@RequestBody List<GWTQLInput> listTQL, HttpServletResponse response)
+			throws GSException, GWException, SQLException, IOException {
+
+		try (ArrowResultWriter writer = ArrowResultWriter.open(response)) {
+			webAPIServiceImpl.writeTQLsArrow(authorization, cluster, database, listTQL, writer);
+		}
+	}
+
 	/**
 	 * [SE1] Get rows.
 	 * 
@@ -243,22 +342,33 @@ public class WebAPIController {
 	 * <b>Processing flow:</b>
 	 * <ol>
 	 * <li>Get rows by calling
-	 * {@link WebAPIService#executeTQLs(String, String, String, List)} function.
+	 * {@link WebAPIService#executeTQLs(String, String, String, List)} function,
+	 * or
+	 * {@link WebAPIService#streamRows(String, String, String, String, GWQueryParams, JsonGenerator)}
+	 * function if stream is true.
 	 * </li>
 	 * </ol>
 	 * 
 	 * @param authorization
 	 *            basic authentication
+	 * @param accept
+	 *            value of the Accept header, selecting the format of the
+	 *            response in streaming mode (optional)
 	 * @param cluster
 	 *            name of cluster
 	 * @param database
 	 *            name of database
 	 * @param container
 	 *            name of container
+	 * @param stream
+	 *            write the rows to the response as they are read (optional)
 	 * @param queryParams
 	 *            a {@link GWQueryParams} object
+	 * @param response
+	 *            the response to write to in streaming mode
 	 * @return a {@link ResponseEntity} object with body is a
-	 *         {@link GWQueryOutput} object and status {@link HttpStatus#OK}
+	 *         {@link GWQueryOutput} object and status {@link HttpStatus#OK},
+	 *         or null in streaming mode
 	 * @throws GSException
 	 *             internal GridDB exception
 	 * @throws GWException
@@ -270,17 +380,158 @@ public class WebAPIController {
 	 * @throws SQLException
 	 *             exception when if there is an error accessing the length of
 	 *             the BLOB with {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws IOException
+	 *             when writing the response failed in streaming mode
 	 */
-	@RequestMapping(value = "{cluster}/dbs/{database}/containers/{container}/rows", method = RequestMethod.POST, produces = "application/json; charset=UTF-8")
+	@RequestMapping(value = "{cluster}/dbs/{database}/containers/{container}/rows", method = RequestMethod.POST, produces = { Constants.MEDIA_TYPE_JSON, Constants.MEDIA_TYPE_SMILE, Constants.MEDIA_TYPE_CBOR, Constants.MEDIA_TYPE_MSGPACK })
 	public ResponseEntity<?> getRows(@RequestHeader(name = "Authorization", required = false) String authorization,
-			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
-			@PathVariable("container") String container, @RequestBody GWQueryParams queryParams)
-			throws GSException, GWException, UnsupportedEncodingException, SQLException {
+			@RequestHeader(name = "Accept", required = false) String accept, @PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@PathVariable("container") String container, @PathParam("stream") Boolean stream,
+			@RequestBody GWQueryParams queryParams, HttpServletResponse response)
+			throws GSException, GWException, SQLException, IOException {
 
+		if (Boolean.TRUE.equals(stream)) {
+			JsonGenerator generator = createGenerator(accept, response);
+			webAPIServiceImpl.streamRows(authorization, cluster, database, container, queryParams, generator);
+			generator.close();
+			return null;
+		}
 		GWQueryOutput output = webAPIServiceImpl.getRows(authorization, cluster, database, container, queryParams);
 		return new ResponseEntity<>(output, HttpStatus.OK);
 	}
 
+	/**
+	 * [SE1] Get rows in Arrow format.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Get rows by calling
+	 * {@link WebAPIService#writeRowsArrow(String, String, String, String, GWQueryParams, ArrowResultWriter)}
+	 * function.</li>
+	 * </ol>
+	 * 
+	 * @param authorization
+	 *            basic authentication
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 * @param queryParams
+	 *            a {@link GWQueryParams} object
+	 * @param response
+	 *            the response to write to
+	 * @throws GSException
+	 *             internal GridDB exception
+	 * @throws GWException
+	 *             internal server exception
+	 *             {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws SQLException
+	 *             exception when reading data with {@link GSType} is BLOB
+	 *             {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws IOException
+	 *             when writing the response failed
+	 */
+	@RequestMapping(value = "{cluster}/dbs/{database}/containers/{container}/rows", method = RequestMethod.POST, produces = Constants.MEDIA_TYPE_ARROW_STREAM)
+	public void getRowsArrow(@RequestHeader(name = "Authorization", required = false) String authorization,
+			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@PathVariable("container") String container, @RequestBody GWQueryParams queryParams,
+			HttpServletResponse response) throws GSException, GWException, SQLException, IOException {
+
+		try (ArrowResultWriter writer = ArrowResultWriter.open(response)) {
+			webAPIServiceImpl.writeRowsArrow(authorization, cluster, database, container, queryParams, writer);
+		}
+	}
+
+	/**
+	 * [SE21] Get the rows of a time series container reduced to one row per
+	 * time bucket.
+	 *
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Reduce the rows by calling
+	 * {@link WebAPIService#downsampleRows(String, String, String, String, GWDownsampleInput)}
+	 * function.</li>
+	 * </ol>
+	 *
+	 * @param authorization
+	 *            basic authentication
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 * @param input
+	 *            a {@link GWDownsampleInput} object
+	 * @return a {@link ResponseEntity} object with body is a
+	 *         {@link GWDownsampleOutput} object and status {@link HttpStatus#OK}
+	 * @throws GSException
+	 *             internal GridDB exception
+	 */
+	@RequestMapping(value = "{cluster}/dbs/{database}/containers/{container}/rows/downsample", method = RequestMethod.POST, produces = { Constants.MEDIA_TYPE_JSON, Constants.MEDIA_TYPE_SMILE, Constants.MEDIA_TYPE_CBOR, Constants.MEDIA_TYPE_MSGPACK })
+	public ResponseEntity<?> downsampleRows(@RequestHeader(name = "Authorization", required = false) String authorization,
+			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@PathVariable("container") String container, @RequestBody GWDownsampleInput input)
+			throws GSException {
+
+		GWDownsampleOutput output = webAPIServiceImpl.downsampleRows(authorization, cluster, database, container,
+				input);
+		return new ResponseEntity<>(output, HttpStatus.OK);
+	}
+
+	/**
+	 * [SE22] Get the rows in a time range from multiple containers.
+	 *
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Write the rows to the response by calling
+	 * {@link WebAPIService#streamRangeRows(String, String, String, GWRangeQueryInput, JsonGenerator)}
+	 * function.</li>
+	 * </ol>
+	 *
+	 * @param authorization
+	 *            basic authentication
+	 * @param accept
+	 *            value of the Accept header, selecting the format of the
+	 *            response (optional)
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param input
+	 *            a {@link GWRangeQueryInput} object
+	 * @param response
+	 *            the response to write to
+	 * @throws GSException
+	 *             internal GridDB exception
+	 * @throws GWException
+	 *             internal server exception
+	 *             {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws SQLException
+	 *             exception when reading data with {@link GSType} is BLOB
+	 *             {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws IOException
+	 *             when writing the response failed
+	 */
+	@RequestMapping(value = "{cluster}/dbs/{database}/containers/rows/range", method = RequestMethod.POST, produces = { Constants.MEDIA_TYPE_JSON, Constants.MEDIA_TYPE_SMILE, Constants.MEDIA_TYPE_CBOR, Constants.MEDIA_TYPE_MSGPACK })
+	public void getRangeRows(@RequestHeader(name = "Authorization", required = false) String authorization,
+			@RequestHeader(name = "Accept", required = false) String accept, @PathVariable("cluster") String cluster,
+			@PathVariable("database") String database, @RequestBody GWRangeQueryInput input,
+			HttpServletResponse response) throws GSException, GWException, SQLException, IOException {
+
+		JsonGenerator generator = createGenerator(accept, response);
+		webAPIServiceImpl.streamRangeRows(authorization, cluster, database, input, generator);
+		generator.close();
+	}
+
 	/**
 	 * [SE2] Put rows.
 	 * 
@@ -289,8 +540,10 @@ public class WebAPIController {
 	 * <b>Processing flow:</b>
 	 * <ol>
 	 * <li>Put rows by calling
-	 * {@link WebAPIService#putRows(String, String, String, String, List)}
-	 * function.</li>
+	 * {@link WebAPIService#putRows(String, String, String, String, JsonParser)}
+	 * function, or queue them by calling
+	 * {@link WebAPIService#enqueueRows(String, String, String, String, JsonParser, String)}
+	 * function if <code>ack</code> is specified.</li>
 	 * </ol>
 	 * 
 	 * @param authorization
@@ -301,30 +554,90 @@ public class WebAPIController {
 	 *            name of database
 	 * @param container
 	 *            name of container
-	 * @param data
-	 *            a {@link String}
+	 * @param ack
+	 *            "enqueue" or "commit" to put the rows through the ingestion
+	 *            queue (optional)
+	 * @param request
+	 *            the request to read the rows from, in JSON, Smile, CBOR or
+	 *            MessagePack
 	 * @return a {@link ResponseEntity} object with body is a
-	 *         {@link GWPutRowOutput} object and status {@link HttpStatus#OK}
+	 *         {@link GWPutRowOutput} object and status {@link HttpStatus#OK},
+	 *         or {@link HttpStatus#ACCEPTED} if the rows are only queued
+	 * @throws GSException
+	 *             internal GridDB exception
 	 * @throws IOException
-	 *             an {@link IOException}
-	 * @throws JsonMappingException
-	 *             mapping JSON failed
-	 * @throws JsonParseException
-	 *             parse JSON failed
+	 *             when the request body can not be read or parsed
 	 */
-	@RequestMapping(value = "{cluster}/dbs/{database}/containers/{container}/rows", method = RequestMethod.PUT, consumes = "application/json; charset=UTF-8", produces = "application/json; charset=UTF-8")
+	@RequestMapping(value = "{cluster}/dbs/{database}/containers/{container}/rows", method = RequestMethod.PUT, consumes = { Constants.MEDIA_TYPE_JSON, Constants.MEDIA_TYPE_SMILE, Constants.MEDIA_TYPE_CBOR, Constants.MEDIA_TYPE_MSGPACK }, produces = { Constants.MEDIA_TYPE_JSON, Constants.MEDIA_TYPE_SMILE, Constants.MEDIA_TYPE_CBOR, Constants.MEDIA_TYPE_MSGPACK })
 	public ResponseEntity<?> putRows(@RequestHeader(name = "Authorization", required = false) String authorization,
 			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
-			@PathVariable("container") String container, @RequestBody String data)
-			throws JsonParseException, JsonMappingException, IOException {
+			@PathVariable("container") String container, @PathParam("ack") String ack,
+			HttpServletRequest request) throws GSException, IOException {
 
-		Object[][] _input = objectMapper.readValue(data, Object[][].class);
-		List<List<Object>> input = new ArrayList<List<Object>>();
-		for (Object[] row : _input) {
-			input.add(Arrays.asList(row));
+		try (JsonParser parser = createParser(request)) {
+			if (ack == null) {
+				GWPutRowOutput output = webAPIServiceImpl.putRows(authorization, cluster, database, container,
+						parser);
+				return new ResponseEntity<>(output, HttpStatus.OK);
+			}
+			GWPutRowOutput output = webAPIServiceImpl.enqueueRows(authorization, cluster, database, container,
+					parser, ack);
+			boolean queued = Constants.ACK_ENQUEUE.equals(ack) && IngestionQueue.isEnabled();
+			return new ResponseEntity<>(output, queued ? HttpStatus.ACCEPTED : HttpStatus.OK);
+		}
+	}
+
+	/**
+	 * [SE2] Put rows read incrementally from a request body in NDJSON or CSV.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Put rows by calling
+	 * {@link WebAPIService#putRowsStream(String, String, String, String, RowStreamReader, Integer)}
+	 * function.</li>
+	 * </ol>
+	 * 
+	 * @param authorization
+	 *            basic authentication
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 * @param batchSize
+	 *            number of rows put at once (optional)
+	 * @param header
+	 *            true if the first record of CSV is a header (optional)
+	 * @param request
+	 *            the request to read the rows from
+	 * @return a {@link ResponseEntity} object with body is a
+	 *         {@link GWPutRowStreamOutput} object and status {@link HttpStatus#OK}
+	 * @throws GSException
+	 *             internal GridDB exception
+	 * @throws IOException
+	 *             when the request body can not be read
+	 */
+	@RequestMapping(value = "{cluster}/dbs/{database}/containers/{container}/rows", method = RequestMethod.PUT, consumes = { Constants.MEDIA_TYPE_NDJSON, Constants.MEDIA_TYPE_CSV }, produces = Constants.MEDIA_TYPE_JSON)
+	public ResponseEntity<?> putRowsStream(@RequestHeader(name = "Authorization", required = false) String authorization,
+			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@PathVariable("container") String container, @PathParam("batchSize") Integer batchSize,
+			@PathParam("header") Boolean header, HttpServletRequest request) throws GSException, IOException {
+
+		MediaType contentType = MediaType.parseMediaType(request.getContentType());
+		Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+		RowStreamReader reader = MediaType.parseMediaType(Constants.MEDIA_TYPE_CSV).isCompatibleWith(contentType)
+				? RowStreamReader.csv(request.getInputStream(), charset, Boolean.TRUE.equals(header))
+				: RowStreamReader.ndjson(request.getInputStream(), charset, objectMapper.getFactory());
+		try {
+			GWPutRowStreamOutput output = webAPIServiceImpl.putRowsStream(authorization, cluster, database,
+					container, reader, batchSize);
+			return new ResponseEntity<>(output, HttpStatus.OK);
+		} finally {
+			reader.close();
 		}
-		GWPutRowOutput output = webAPIServiceImpl.putRows(authorization, cluster, database, container, input);
-		return new ResponseEntity<>(output, HttpStatus.OK);
 	}
 
 	/**
@@ -334,8 +647,13 @@ public class WebAPIController {
 	 * <br>
 	 * <b>Processing flow:</b>
 	 * <ol>
-	 * <li>Delete rows by calling
-	 * {@link WebAPIService#deleteRows(String, String, String, String, List)}
+	 * <li>If the request body is an array of row keys, delete the rows by
+	 * calling
+	 * {@link WebAPIService#deleteRows(String, String, String, String, List, Integer)}
+	 * function.</li>
+	 * <li>If the request body is an object with "start" and/or "finish", delete
+	 * the rows in the range by calling
+	 * {@link WebAPIService#deleteRowRange(String, String, String, String, Object, Object)}
 	 * function.</li>
 	 * </ol>
 	 * 
@@ -347,23 +665,39 @@ public class WebAPIController {
 	 *            name of database
 	 * @param container
 	 *            name of container
-	 * @param listRowKeys
-	 *            a {@link List} of row keys that's going to be deleted
-	 * @return a {@link ResponseEntity} object with status
-	 *         {@link HttpStatus#NO_CONTENT}
+	 * @param batchSize
+	 *            number of rows deleted in one transaction, or null for the
+	 *            default
+	 * @param body
+	 *            a {@link List} of row keys that's going to be deleted, or a
+	 *            {@link Map} with the range of row keys
+	 * @return a {@link ResponseEntity} object with a {@link GWDeleteRowsOutput}
+	 *         and status {@link HttpStatus#OK}
 	 * @throws GSException
 	 *             internal GridDB exception
-	 * @throws ParseException
-	 *             exception when converting {@link Object} to rowkey type
+	 * @throws SQLException
+	 *             when deleting the rows in a range failed
 	 */
 	@RequestMapping(value = "{cluster}/dbs/{database}/containers/{container}/rows", method = RequestMethod.DELETE, produces = "application/json; charset=UTF-8")
 	public ResponseEntity<?> deleteRows(@RequestHeader(name = "Authorization", required = false) String authorization,
 			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
-			@PathVariable("container") String container, @RequestBody List<Object> listRowKeys)
-			throws GSException, ParseException {
+			@PathVariable("container") String container, @PathParam("batchSize") Integer batchSize,
+			@RequestBody Object body) throws GSException, SQLException {
 
-		webAPIServiceImpl.deleteRows(authorization, cluster, database, container, listRowKeys);
-		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+		GWDeleteRowsOutput output;
+		if (body instanceof List) {
+			@SuppressWarnings("unchecked")
+			List<Object> listRowKeys = (List<Object>) body;
+			output = webAPIServiceImpl.deleteRows(authorization, cluster, database, container, listRowKeys,
+					batchSize);
+		} else if (body instanceof Map) {
+			Map<?, ?> range = (Map<?, ?>) body;
+			output = webAPIServiceImpl.deleteRowRange(authorization, cluster, database, container,
+					range.get("start"), range.get("finish"));
+		} else {
+			throw new GWBadRequestException("Request body must be an array of row keys or a range");
+		}
+		return new ResponseEntity<>(output, HttpStatus.OK);
 	}
 
 	/**
@@ -436,6 +770,110 @@ public class WebAPIController {
 		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
 	}
 
+	/**
+	 * Create containers.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Create containers concurrently by calling
+	 * {@link WebAPIService#createContainersBulk(String, String, String, List)}
+	 * function.</li>
+	 * </ol>
+	 * 
+	 * @param authorization
+	 *            basic authentication
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param listContainerInfo
+	 *            a {@link List} of {@link GWContainerInfo} objects
+	 * @return a {@link ResponseEntity} object with the result of each
+	 *         container and status {@link HttpStatus#OK}
+	 * @throws GSException
+	 *             internal GridDB exception
+	 */
+	@RequestMapping(value = "{cluster}/dbs/{database}/containers/bulk", method = RequestMethod.POST, produces = "application/json; charset=UTF-8")
+	public ResponseEntity<?> createContainersBulk(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@RequestBody List<GWContainerInfo> listContainerInfo) throws GSException {
+
+		List<GWContainerStatus> output = webAPIServiceImpl.createContainersBulk(authorization, cluster, database,
+				listContainerInfo);
+		return new ResponseEntity<>(output, HttpStatus.OK);
+	}
+
+	/**
+	 * Drop containers.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Drop containers concurrently by calling
+	 * {@link WebAPIService#deleteContainersBulk(String, String, String, List)}
+	 * function.</li>
+	 * </ol>
+	 * 
+	 * @param authorization
+	 *            basic authentication
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param listContainers
+	 *            a {@link List} of container names
+	 * @return a {@link ResponseEntity} object with the result of each
+	 *         container and status {@link HttpStatus#OK}
+	 * @throws GSException
+	 *             internal GridDB exception
+	 */
+	@RequestMapping(value = "{cluster}/dbs/{database}/containers/bulk", method = RequestMethod.DELETE, produces = "application/json; charset=UTF-8")
+	public ResponseEntity<?> deleteContainersBulk(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@RequestBody List<String> listContainers) throws GSException {
+
+		List<GWContainerStatus> output = webAPIServiceImpl.deleteContainersBulk(authorization, cluster, database,
+				listContainers);
+		return new ResponseEntity<>(output, HttpStatus.OK);
+	}
+
+	/**
+	 * Flush the cached container schemas of a database.
+	 * 
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Flush the cache by calling
+	 * {@link WebAPIService#flushMetadataCache(String, String, String)}
+	 * function.</li>
+	 * </ol>
+	 * 
+	 * @param authorization
+	 *            basic authentication
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @return a {@link ResponseEntity} object with status
+	 *         {@link HttpStatus#NO_CONTENT}
+	 * @throws GSException
+	 *             internal GridDB exception
+	 */
+	@RequestMapping(value = "{cluster}/dbs/{database}/cache", method = RequestMethod.DELETE, produces = "application/json; charset=UTF-8")
+	public ResponseEntity<?> flushMetadataCache(
+			@RequestHeader(name = "Authorization", required = false) String authorization,
+			@PathVariable("cluster") String cluster, @PathVariable("database") String database) throws GSException {
+
+		webAPIServiceImpl.flushMetadataCache(authorization, cluster, database);
+		return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+	}
+
 	/**
 	 * [CE] Execute multiple select-SQLs.
 	 *
@@ -444,7 +882,9 @@ public class WebAPIController {
 	 * <b>Processing flow:</b>
 	 * <ol>
 	 * <li>Execute SQLs by calling WebAPIService.executeSQLs(String, String,
-	 * String, List) function.</li>
+	 * String, List) function, or
+	 * {@link WebAPIService#executeSQLsInParallel(String, String, String, List)}
+	 * function if parallel is true.</li>
 	 * </ol>
 	 *
 	 * @param authorization
@@ -453,6 +893,8 @@ public class WebAPIController {
 	 *            name of cluster
 	 * @param database
 	 *            name of database
+	 * @param parallel
+	 *            execute the SQLs concurrently (optional)
 	 * @param listSQLInput
 	 *            a {@link List} of {@link GWSQLInput}
 	 * @return a {@link ResponseEntity} object with body is a {@link List} of
@@ -463,12 +905,15 @@ public class WebAPIController {
 	 * @throws SQLException a {@link SQLException}
 	 * @throws UnsupportedEncodingException a {@link UnsupportedEncodingException}
 	 */
-	@RequestMapping(value = "{cluster}/dbs/{database}/sql", method = RequestMethod.POST, produces = "application/json; charset=UTF-8")
+	@RequestMapping(value = "{cluster}/dbs/{database}/sql", method = RequestMethod.POST, produces = { Constants.MEDIA_TYPE_JSON, Constants.MEDIA_TYPE_SMILE, Constants.MEDIA_TYPE_CBOR, Constants.MEDIA_TYPE_MSGPACK })
 	public ResponseEntity<?> executeSQLs(@RequestHeader(name = "Authorization", required = false) String authorization,
 			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
-			@RequestBody List<GWSQLInput> listSQLInput) throws GSException, SQLException, UnsupportedEncodingException {
+			@PathParam("parallel") Boolean parallel, @RequestBody List<GWSQLInput> listSQLInput)
+			throws GSException, SQLException, UnsupportedEncodingException {
 
-		List<GWSQLOutput> gwOutput = webAPIServiceImpl.executeSQLs(authorization, cluster, database, listSQLInput);
+		List<GWSQLOutput> gwOutput = Boolean.TRUE.equals(parallel)
+				? webAPIServiceImpl.executeSQLsInParallel(authorization, cluster, database, listSQLInput)
+				: webAPIServiceImpl.executeSQLs(authorization, cluster, database, listSQLInput);
 		return new ResponseEntity<>(gwOutput, HttpStatus.OK);
 	}
 
@@ -478,12 +923,14 @@ public class WebAPIController {
 	 * <b>Processing flow:</b>
 	 *
 	 * <ol>
-	 *   <li>Execute SQLs select by calling webApiServiceImpl.executeSQLs(String, String, String, List) function.</li>
+	 *   <li>Execute SQLs select by calling webApiServiceImpl.executeSQLs(String, String, String, List) function,
+	 *       or webApiServiceImpl.executeSQLsInParallel(String, String, String, List) function if parallel is true.</li>
 	 * </ol>
 	 *
 	 * @param authorization basic authentication
 	 * @param cluster name of cluster
 	 * @param database name of database
+	 * @param parallel execute the SQLs concurrently (optional)
 	 * @param listSqlInput a {@link List} of {@link GWSQLInput}
 	 * @return a {@link ResponseEntity} object with body is a {@link List} of {@link GWSQLOutput} and
 	 *     status {@link HttpStatus#OK}
@@ -494,15 +941,129 @@ public class WebAPIController {
 	@RequestMapping(
 			value = "{cluster}/dbs/{database}/sql/select",
 			method = RequestMethod.POST,
-			produces = "application/json; charset=UTF-8")
+			produces = { Constants.MEDIA_TYPE_JSON, Constants.MEDIA_TYPE_SMILE, Constants.MEDIA_TYPE_CBOR, Constants.MEDIA_TYPE_MSGPACK })
 	public ResponseEntity<?> executeSqlSelect(
 			@RequestHeader(name = "Authorization", required = false) String authorization,
 			@PathVariable("cluster") String cluster,
 			@PathVariable("database") String database,
+			@PathParam("parallel") Boolean parallel,
 			@RequestBody List<GWSQLInput> listSqlInput) throws GSException, SQLException, UnsupportedEncodingException {
 
-		List<GWSQLOutput> gwOutput = webAPIServiceImpl.executeSQLs(authorization, cluster, database, listSqlInput);
+		List<GWSQLOutput> gwOutput = Boolean.TRUE.equals(parallel)
+				? webAPIServiceImpl.executeSQLsInParallel(authorization, cluster, database, listSqlInput)
+				: webAPIServiceImpl.executeSQLs(authorization, cluster, database, listSqlInput);
 		return new ResponseEntity<>(gwOutput, HttpStatus.OK);
 	}
 
+	/**
+	 * [CE] Execute multiple select-SQLs and return the results in Arrow format.
+	 *
+	 * <br>
+	 * <br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 * <li>Execute SQLs by calling
+	 * {@link WebAPIService#writeSQLsArrow(String, String, String, List, ArrowResultWriter)}
+	 * function.</li>
+	 * </ol>
+	 *
+	 * @param authorization
+	 *            basic authentication
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param listSQLInput
+	 *            a {@link List} of {@link GWSQLInput}
+	 * @param response
+	 *            the response to write to
+	 * @throws GSException
+	 *             internal server exception
+	 *             {@link HttpStatus#INTERNAL_SERVER_ERROR}
+	 * @throws SQLException a {@link SQLException}
+	 * @throws IOException
+	 *             when writing the response failed
+	 */
+	@RequestMapping(value = { "{cluster}/dbs/{database}/sql", "{cluster}/dbs/{database}/sql/select" }, method = RequestMethod.POST, produces = Constants.MEDIA_TYPE_ARROW_STREAM)
+	public void executeSQLsArrow(@RequestHeader(name = "Authorization", required = false) String authorization,
+			@PathVariable("cluster") String cluster, @PathVariable("database") String database,
+			@RequestBody List<GWSQLInput> listSQLInput, HttpServletResponse response)
+			throws GSException, SQLException, IOException {
+
+		try (ArrowResultWriter writer = ArrowResultWriter.open(response)) {
+			webAPIServiceImpl.writeSQLsArrow(authorization, cluster, database, listSQLInput, writer);
+		}
+	}
+
+	/**
+	 * Create a parser reading directly from the request body in the format of
+	 * its <code>Content-Type</code> header, JSON by default.
+	 * 
+	 * @param request
+	 *            the request to read from
+	 * @return a {@link JsonParser}
+	 * @throws IOException
+	 *             when the request body can not be read
+	 */
+	private JsonParser createParser(HttpServletRequest request) throws IOException {
+		if (request.getContentType() != null) {
+			MediaType contentType = MediaType.parseMediaType(request.getContentType());
+			if (contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+				Charset charset = contentType.getCharset();
+				if (charset != null && !StandardCharsets.UTF_8.equals(charset)) {
+					return objectMapper.getFactory()
+							.createParser(new InputStreamReader(request.getInputStream(), charset));
+				}
+			} else {
+				for (AbstractJackson2HttpMessageConverter converter : messageConverters) {
+					for (MediaType supportedType : converter.getSupportedMediaTypes()) {
+						if (!supportedType.isWildcardSubtype() && supportedType.includes(contentType)) {
+							return converter.getObjectMapper().getFactory().createParser(request.getInputStream());
+						}
+					}
+				}
+			}
+		}
+		return objectMapper.getFactory().createParser(request.getInputStream());
+	}
+
+	/**
+	 * Create a generator writing directly to the response in the format
+	 * requested by the <code>Accept</code> header, JSON by default. Nothing
+	 * is sent until the service starts writing, so errors detected before
+	 * that are still reported with their status code.
+	 * 
+	 * @param accept
+	 *            value of the <code>Accept</code> header (optional)
+	 * @param response
+	 *            the response to write to
+	 * @return a {@link JsonGenerator}
+	 * @throws IOException
+	 *             when the response can not be written
+	 */
+	private JsonGenerator createGenerator(String accept, HttpServletResponse response) throws IOException {
+		response.setStatus(HttpStatus.OK.value());
+		if (accept != null) {
+			List<MediaType> acceptedTypes = MediaType.parseMediaTypes(accept);
+			MediaType.sortBySpecificityAndQuality(acceptedTypes);
+			for (MediaType acceptedType : acceptedTypes) {
+				if (acceptedType.isWildcardType() || acceptedType.isWildcardSubtype()
+						|| acceptedType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+					break;
+				}
+				for (AbstractJackson2HttpMessageConverter converter : messageConverters) {
+					for (MediaType supportedType : converter.getSupportedMediaTypes()) {
+						if (!supportedType.isWildcardSubtype() && supportedType.includes(acceptedType)) {
+							response.setContentType(supportedType.toString());
+							return converter.getObjectMapper().getFactory()
+									.createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+						}
+					}
+				}
+			}
+		}
+		response.setContentType(Constants.MEDIA_TYPE_JSON);
+		return objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+	}
+
 }
@@ -0,0 +1,208 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+/**
+ * Statistics of the janitor of the BLOB data staged in blobPath.
+ */
+public class GWBlobJanitorStatistics {
+
+	/**
+	 * Whether the janitor is enabled
+	 */
+	private boolean enabled;
+
+	/**
+	 * Total size of the files in blobPath at the last run (bytes)
+	 */
+	private long stagedBytes;
+
+	/**
+	 * Number of files in blobPath at the last run
+	 */
+	private long stagedFiles;
+
+	/**
+	 * Total size of the files deleted (bytes)
+	 */
+	private long reclaimedBytes;
+
+	/**
+	 * Number of files deleted
+	 */
+	private long reclaimedFiles;
+
+	/**
+	 * Number of runs
+	 */
+	private long runs;
+
+	/**
+	 * Time taken by the last run (milliseconds)
+	 */
+	private long lastRunTimeMillis;
+
+	/**
+	 * Time by which the next run is overdue (milliseconds)
+	 */
+	private long lagMillis;
+
+	/**
+	 * Get the whether the janitor is enabled
+	 * 
+	 * @return whether the janitor is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the whether the janitor is enabled
+	 * 
+	 * @param enabled whether the janitor is enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the total size of the files in blobPath at the last run (bytes)
+	 * 
+	 * @return total size of the files in blobPath at the last run (bytes)
+	 */
+	public long getStagedBytes() {
+		return stagedBytes;
+	}
+
+	/**
+	 * Set the total size of the files in blobPath at the last run (bytes)
+	 * 
+	 * @param stagedBytes total size of the files in blobPath at the last run (bytes)
+	 */
+	public void setStagedBytes(long stagedBytes) {
+		this.stagedBytes = stagedBytes;
+	}
+
+	/**
+	 * Get the number of files in blobPath at the last run
+	 * 
+	 * @return number of files in blobPath at the last run
+	 */
+	public long getStagedFiles() {
+		return stagedFiles;
+	}
+
+	/**
+	 * Set the number of files in blobPath at the last run
+	 * 
+	 * @param stagedFiles number of files in blobPath at the last run
+	 */
+	public void setStagedFiles(long stagedFiles) {
+		this.stagedFiles = stagedFiles;
+	}
+
+	/**
+	 * Get the total size of the files deleted (bytes)
+	 * 
+	 * @return total size of the files deleted (bytes)
+	 */
+	public long getReclaimedBytes() {
+		return reclaimedBytes;
+	}
+
+	/**
+	 * Set the total size of the files deleted (bytes)
+	 * 
+	 * @param reclaimedBytes total size of the files deleted (bytes)
+	 */
+	public void setReclaimedBytes(long reclaimedBytes) {
+		this.reclaimedBytes = reclaimedBytes;
+	}
+
+	/**
+	 * Get the number of files deleted
+	 * 
+	 * @return number of files deleted
+	 */
+	public long getReclaimedFiles() {
+		return reclaimedFiles;
+	}
+
+	/**
+	 * Set the number of files deleted
+	 * 
+	 * @param reclaimedFiles number of files deleted
+	 */
+	public void setReclaimedFiles(long reclaimedFiles) {
+		this.reclaimedFiles = reclaimedFiles;
+	}
+
+	/**
+	 * Get the number of runs
+	 * 
+	 * @return number of runs
+	 */
+	public long getRuns() {
+		return runs;
+	}
+
+	/**
+	 * Set the number of runs
+	 * 
+	 * @param runs number of runs
+	 */
+	public void setRuns(long runs) {
+		this.runs = runs;
+	}
+
+	/**
+	 * Get the time taken by the last run (milliseconds)
+	 * 
+	 * @return time taken by the last run (milliseconds)
+	 */
+	public long getLastRunTimeMillis() {
+		return lastRunTimeMillis;
+	}
+
+	/**
+	 * Set the time taken by the last run (milliseconds)
+	 * 
+	 * @param lastRunTimeMillis time taken by the last run (milliseconds)
+	 */
+	public void setLastRunTimeMillis(long lastRunTimeMillis) {
+		this.lastRunTimeMillis = lastRunTimeMillis;
+	}
+
+	/**
+	 * Get the time by which the next run is overdue (milliseconds)
+	 * 
+	 * @return time by which the next run is overdue (milliseconds)
+	 */
+	public long getLagMillis() {
+		return lagMillis;
+	}
+
+	/**
+	 * Set the time by which the next run is overdue (milliseconds)
+	 * 
+	 * @param lagMillis time by which the next run is overdue (milliseconds)
+	 */
+	public void setLagMillis(long lagMillis) {
+		this.lagMillis = lagMillis;
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+/**
+ * Statistics of a cache.
+ */
+public class GWCacheStatistics {
+
+	/**
+	 * Whether the cache is enabled
+	 */
+	private boolean enabled;
+
+	/**
+	 * Number of cached entries
+	 */
+	private int size;
+
+	/**
+	 * Number of lookups served from the cache
+	 */
+	private long hits;
+
+	/**
+	 * Number of lookups which loaded from the server
+	 */
+	private long misses;
+
+	/**
+	 * Number of entries removed because of the size limit or expiry
+	 */
+	private long evictions;
+
+	/**
+	 * Number of entries removed by invalidation
+	 */
+	private long invalidations;
+
+	/**
+	 * Get the Whether the cache is enabled
+	 * 
+	 * @return Whether the cache is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the Whether the cache is enabled
+	 * 
+	 * @param enabled Whether the cache is enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the Number of cached entries
+	 * 
+	 * @return Number of cached entries
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Set the Number of cached entries
+	 * 
+	 * @param size Number of cached entries
+	 */
+	public void setSize(int size) {
+		this.size = size;
+	}
+
+	/**
+	 * Get the Number of lookups served from the cache
+	 * 
+	 * @return Number of lookups served from the cache
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Set the Number of lookups served from the cache
+	 * 
+	 * @param hits Number of lookups served from the cache
+	 */
+	public void setHits(long hits) {
+		this.hits = hits;
+	}
+
+	/**
+	 * Get the Number of lookups which loaded from the server
+	 * 
+	 * @return Number of lookups which loaded from the server
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Set the Number of lookups which loaded from the server
+	 * 
+	 * @param misses Number of lookups which loaded from the server
+	 */
+	public void setMisses(long misses) {
+		this.misses = misses;
+	}
+
+	/**
+	 * Get the Number of entries removed because of the size limit or expiry
+	 * 
+	 * @return Number of entries removed because of the size limit or expiry
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Set the Number of entries removed because of the size limit or expiry
+	 * 
+	 * @param evictions Number of entries removed because of the size limit or expiry
+	 */
+	public void setEvictions(long evictions) {
+		this.evictions = evictions;
+	}
+
+	/**
+	 * Get the Number of entries removed by invalidation
+	 * 
+	 * @return Number of entries removed by invalidation
+	 */
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	/**
+	 * Set the Number of entries removed by invalidation
+	 * 
+	 * @param invalidations Number of entries removed by invalidation
+	 */
+	public void setInvalidations(long invalidations) {
+		this.invalidations = invalidations;
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of creating or dropping one container of a bulk request
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GWContainerStatus {
+
+	/**
+	 * Name of container
+	 */
+	private String container;
+
+	/**
+	 * HTTP status code of the operation on the container
+	 */
+	private int status;
+
+	/**
+	 * Code of error, null if the operation succeeded or the error is not from GridDB
+	 */
+	private Integer errorCode;
+
+	/**
+	 * Message of error, null if the operation succeeded
+	 */
+	private String errorMessage;
+
+	public String getContainer() {
+		return container;
+	}
+
+	public void setContainer(String container) {
+		this.container = container;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public Integer getErrorCode() {
+		return errorCode;
+	}
+
+	public void setErrorCode(Integer errorCode) {
+		this.errorCode = errorCode;
+	}
+
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	public void setErrorMessage(String errorMessage) {
+		this.errorMessage = errorMessage;
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+/**
+ * Result of one batch of row deletion
+ */
+public class GWDeleteRowBatch {
+
+	/**
+	 * Index of the first row key of the batch in the request
+	 */
+	private int firstIndex;
+
+	/**
+	 * Index of the last row key of the batch in the request
+	 */
+	private int lastIndex;
+
+	/**
+	 * Number of rows deleted in the batch
+	 */
+	private int count;
+
+	/**
+	 * Number of row keys of the batch which could not be deleted
+	 */
+	private int failed;
+
+	public int getFirstIndex() {
+		return firstIndex;
+	}
+
+	public void setFirstIndex(int firstIndex) {
+		this.firstIndex = firstIndex;
+	}
+
+	public int getLastIndex() {
+		return lastIndex;
+	}
+
+	public void setLastIndex(int lastIndex) {
+		this.lastIndex = lastIndex;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public void setCount(int count) {
+		this.count = count;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	public void setFailed(int failed) {
+		this.failed = failed;
+	}
+
+}
@@ -0,0 +1,80 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of row deletion
+ */
+public class GWDeleteRowsOutput {
+
+	/**
+	 * Number of rows deleted
+	 */
+	private long count;
+
+	/**
+	 * Number of row keys which could not be deleted
+	 */
+	private long failed;
+
+	/**
+	 * Results of each batch, empty for deletion by a range
+	 */
+	private List<GWDeleteRowBatch> batches = new ArrayList<GWDeleteRowBatch>();
+
+	/**
+	 * Row keys which could not be deleted, as specified in the request
+	 */
+	private List<Object> failedKeys = new ArrayList<Object>();
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public void setFailed(long failed) {
+		this.failed = failed;
+	}
+
+	public List<GWDeleteRowBatch> getBatches() {
+		return batches;
+	}
+
+	public void setBatches(List<GWDeleteRowBatch> batches) {
+		this.batches = batches;
+	}
+
+	public List<Object> getFailedKeys() {
+		return failedKeys;
+	}
+
+	public void setFailedKeys(List<Object> failedKeys) {
+		this.failedKeys = failedKeys;
+	}
+
+}
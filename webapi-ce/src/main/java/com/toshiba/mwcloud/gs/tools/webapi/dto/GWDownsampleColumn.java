@@ -0,0 +1,52 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+/**
+ * A column reduced by downsampling
+ */
+public class GWDownsampleColumn {
+
+	/**
+	 * Name of column
+	 */
+	private String name;
+
+	/**
+	 * Aggregation of the values in a bucket: MIN, MAX, AVG, FIRST, LAST, COUNT
+	 * or LTTB
+	 */
+	private String aggregation;
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getAggregation() {
+		return aggregation;
+	}
+
+	public void setAggregation(String aggregation) {
+		this.aggregation = aggregation;
+	}
+
+}
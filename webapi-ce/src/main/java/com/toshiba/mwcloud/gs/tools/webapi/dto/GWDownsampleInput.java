@@ -0,0 +1,105 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+import java.util.List;
+
+/**
+ * Input of the downsampling of a time series container
+ */
+public class GWDownsampleInput {
+
+	/**
+	 * Start time of the range, inclusive
+	 */
+	private String start;
+
+	/**
+	 * End time of the range, exclusive
+	 */
+	private String end;
+
+	/**
+	 * Width of a bucket in units of {@link #unit}
+	 */
+	private int interval;
+
+	/**
+	 * Unit of the width of a bucket: DAY, HOUR, MINUTE, SECOND or MILLISECOND
+	 */
+	private String unit;
+
+	/**
+	 * Additional condition of the rows, optional
+	 */
+	private String condition;
+
+	/**
+	 * Columns reduced and their aggregation
+	 */
+	private List<GWDownsampleColumn> columns;
+
+	public String getStart() {
+		return start;
+	}
+
+	public void setStart(String start) {
+		this.start = start;
+	}
+
+	public String getEnd() {
+		return end;
+	}
+
+	public void setEnd(String end) {
+		this.end = end;
+	}
+
+	public int getInterval() {
+		return interval;
+	}
+
+	public void setInterval(int interval) {
+		this.interval = interval;
+	}
+
+	public String getUnit() {
+		return unit;
+	}
+
+	public void setUnit(String unit) {
+		this.unit = unit;
+	}
+
+	public String getCondition() {
+		return condition;
+	}
+
+	public void setCondition(String condition) {
+		this.condition = condition;
+	}
+
+	public List<GWDownsampleColumn> getColumns() {
+		return columns;
+	}
+
+	public void setColumns(List<GWDownsampleColumn> columns) {
+		this.columns = columns;
+	}
+
+}
@@ -0,0 +1,66 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+import java.util.List;
+
+/**
+ * Result of the downsampling of a time series container
+ */
+public class GWDownsampleOutput {
+
+	/**
+	 * Columns of the reduced rows, the start time of the bucket first
+	 */
+	private List<GWTQLColumnInfo> columns;
+
+	/**
+	 * Reduced rows, one per bucket which has rows
+	 */
+	private List<List<Object>> rows;
+
+	/**
+	 * Number of rows read from the container
+	 */
+	private long count;
+
+	public List<GWTQLColumnInfo> getColumns() {
+		return columns;
+	}
+
+	public void setColumns(List<GWTQLColumnInfo> columns) {
+		this.columns = columns;
+	}
+
+	public List<List<Object>> getRows() {
+		return rows;
+	}
+
+	public void setRows(List<List<Object>> rows) {
+		this.rows = rows;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+}
@@ -0,0 +1,142 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of one batch of streaming ingestion
+ */
+public class GWPutRowBatch {
+
+	/**
+	 * Line number of the first row of the batch
+	 */
+	private long firstLine;
+
+	/**
+	 * Line number of the last row of the batch
+	 */
+	private long lastLine;
+
+	/**
+	 * Number of rows put in the batch
+	 */
+	private int count;
+
+	/**
+	 * Number of rows of the batch which could not be put
+	 */
+	private int failed;
+
+	/**
+	 * First errors of the batch
+	 */
+	private List<GWPutRowError> errors = new ArrayList<GWPutRowError>();
+
+	/**
+	 * Get the line number of the first row of the batch
+	 * 
+	 * @return line number of the first row of the batch
+	 */
+	public long getFirstLine() {
+		return firstLine;
+	}
+
+	/**
+	 * Set the line number of the first row of the batch
+	 * 
+	 * @param firstLine line number of the first row of the batch
+	 */
+	public void setFirstLine(long firstLine) {
+		this.firstLine = firstLine;
+	}
+
+	/**
+	 * Get the line number of the last row of the batch
+	 * 
+	 * @return line number of the last row of the batch
+	 */
+	public long getLastLine() {
+		return lastLine;
+	}
+
+	/**
+	 * Set the line number of the last row of the batch
+	 * 
+	 * @param lastLine line number of the last row of the batch
+	 */
+	public void setLastLine(long lastLine) {
+		this.lastLine = lastLine;
+	}
+
+	/**
+	 * Get the number of rows put in the batch
+	 * 
+	 * @return number of rows put in the batch
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Set the number of rows put in the batch
+	 * 
+	 * @param count number of rows put in the batch
+	 */
+	public void setCount(int count) {
+		this.count = count;
+	}
+
+	/**
+	 * Get the number of rows of the batch which could not be put
+	 * 
+	 * @return number of rows of the batch which could not be put
+	 */
+	public int getFailed() {
+		return failed;
+	}
+
+	/**
+	 * Set the number of rows of the batch which could not be put
+	 * 
+	 * @param failed number of rows of the batch which could not be put
+	 */
+	public void setFailed(int failed) {
+		this.failed = failed;
+	}
+
+	/**
+	 * Get the first errors of the batch
+	 * 
+	 * @return first errors of the batch
+	 */
+	public List<GWPutRowError> getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Set the first errors of the batch
+	 * 
+	 * @param errors first errors of the batch
+	 */
+	public void setErrors(List<GWPutRowError> errors) {
+		this.errors = errors;
+	}
+
+}
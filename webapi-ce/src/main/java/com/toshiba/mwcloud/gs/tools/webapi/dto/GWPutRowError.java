@@ -0,0 +1,70 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+/**
+ * Error of a row which could not be put in streaming ingestion
+ */
+public class GWPutRowError {
+
+	/**
+	 * Line number of the row
+	 */
+	private long line;
+
+	/**
+	 * Error message
+	 */
+	private String message;
+
+	/**
+	 * Get the line number of the row
+	 * 
+	 * @return line number of the row
+	 */
+	public long getLine() {
+		return line;
+	}
+
+	/**
+	 * Set the line number of the row
+	 * 
+	 * @param line line number of the row
+	 */
+	public void setLine(long line) {
+		this.line = line;
+	}
+
+	/**
+	 * Get the error message
+	 * 
+	 * @return error message
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	/**
+	 * Set the error message
+	 * 
+	 * @param message error message
+	 */
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of streaming ingestion
+ */
+public class GWPutRowStreamOutput {
+
+	/**
+	 * Number of rows put
+	 */
+	private long count;
+
+	/**
+	 * Number of rows which could not be put
+	 */
+	private long failed;
+
+	/**
+	 * Results of each batch
+	 */
+	private List<GWPutRowBatch> batches = new ArrayList<GWPutRowBatch>();
+
+	/**
+	 * Get the number of rows put
+	 * 
+	 * @return number of rows put
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Set the number of rows put
+	 * 
+	 * @param count number of rows put
+	 */
+	public void setCount(long count) {
+		this.count = count;
+	}
+
+	/**
+	 * Get the number of rows which could not be put
+	 * 
+	 * @return number of rows which could not be put
+	 */
+	public long getFailed() {
+		return failed;
+	}
+
+	/**
+	 * Set the number of rows which could not be put
+	 * 
+	 * @param failed number of rows which could not be put
+	 */
+	public void setFailed(long failed) {
+		this.failed = failed;
+	}
+
+	/**
+	 * Get the results of each batch
+	 * 
+	 * @return results of each batch
+	 */
+	public List<GWPutRowBatch> getBatches() {
+		return batches;
+	}
+
+	/**
+	 * Set the results of each batch
+	 * 
+	 * @param batches results of each batch
+	 */
+	public void setBatches(List<GWPutRowBatch> batches) {
+		this.batches = batches;
+	}
+
+}
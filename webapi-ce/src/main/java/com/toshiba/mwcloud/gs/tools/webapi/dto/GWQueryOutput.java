@@ -47,8 +47,16 @@ public class GWQueryOutput {
 	 */
 	private long total;
 
-	/** where is store download blob data file. */
-	private String blobPath;
+	/**
+	 * Mode which produced the total rows (exact, skip or cached)
+	 */
+	private String totalMode;
+
+	/**
+	 * Continuation token of the next page, null if there are no more rows or
+	 * the rows are not sorted by the row key
+	 */
+	private String nextCursor;
 
 	/**
 	 * Get list of column information
@@ -146,21 +154,39 @@ public class GWQueryOutput {
 	}
 
 	/**
-	 * Get path folder for bob data file.
+	 * Get mode which produced the total rows
+	 * 
+	 * @return mode which produced the total rows
+	 */
+	public String getTotalMode() {
+		return totalMode;
+	}
+
+	/**
+	 * Set mode which produced the total rows
+	 * 
+	 * @param totalMode mode which produced the total rows
+	 */
+	public void setTotalMode(String totalMode) {
+		this.totalMode = totalMode;
+	}
+
+	/**
+	 * Get continuation token of the next page
 	 * 
-	 * @return path folder for bob data file
+	 * @return continuation token of the next page
 	 */
-	public String getBlobPath() {
-		return blobPath;
+	public String getNextCursor() {
+		return nextCursor;
 	}
 
 	/**
-	 * Set path folder for bob data file.
+	 * Set continuation token of the next page
 	 * 
-	 * @param blobPath path folder for bob data file
+	 * @param nextCursor continuation token of the next page
 	 */
-	public void setBlobPath(String blobPath) {
-		this.blobPath = blobPath;
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
 	}
 
 }
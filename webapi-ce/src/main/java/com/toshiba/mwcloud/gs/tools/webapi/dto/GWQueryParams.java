@@ -42,6 +42,16 @@ public class GWQueryParams {
 	/** which column to set file name of blob type when getting rows. */
 	private String fileNameCol;
 
+	/**
+	 * Mode of counting the total rows (exact, skip or cached)
+	 */
+	private String totalMode;
+
+	/**
+	 * Continuation token returned by the previous page (nextCursor)
+	 */
+	private String cursor;
+
 	/**
 	 * Get the limitation of the number of rows
 	 * 
@@ -135,4 +145,40 @@ public class GWQueryParams {
 		this.fileNameCol = fileNameCol;
 	}
 
+	/**
+	 * Get mode of counting the total rows
+	 * 
+	 * @return mode of counting the total rows (exact, skip or cached)
+	 */
+	public String getTotalMode() {
+		return totalMode;
+	}
+
+	/**
+	 * Set mode of counting the total rows
+	 * 
+	 * @param totalMode mode of counting the total rows (exact, skip or cached)
+	 */
+	public void setTotalMode(String totalMode) {
+		this.totalMode = totalMode;
+	}
+
+	/**
+	 * Get continuation token of keyset paging
+	 * 
+	 * @return continuation token returned as nextCursor of the previous page
+	 */
+	public String getCursor() {
+		return cursor;
+	}
+
+	/**
+	 * Set continuation token of keyset paging
+	 * 
+	 * @param cursor continuation token returned as nextCursor of the previous page
+	 */
+	public void setCursor(String cursor) {
+		this.cursor = cursor;
+	}
+
 }
@@ -0,0 +1,108 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+import java.util.List;
+
+/**
+ * Input of the acquisition of the rows in a time range from multiple
+ * containers
+ */
+public class GWRangeQueryInput {
+
+	/**
+	 * Names of the containers, cannot be used with {@link #pattern}
+	 */
+	private List<String> names;
+
+	/**
+	 * LIKE pattern of the names of the time series containers, cannot be used
+	 * with {@link #names}
+	 */
+	private String pattern;
+
+	/**
+	 * Start time of the range, inclusive
+	 */
+	private String start;
+
+	/**
+	 * End time of the range, exclusive
+	 */
+	private String end;
+
+	/**
+	 * Additional condition of the rows, optional
+	 */
+	private String condition;
+
+	/**
+	 * How the rows of the containers are merged: "container" (default) or
+	 * "time"
+	 */
+	private String merge;
+
+	public List<String> getNames() {
+		return names;
+	}
+
+	public void setNames(List<String> names) {
+		this.names = names;
+	}
+
+	public String getPattern() {
+		return pattern;
+	}
+
+	public void setPattern(String pattern) {
+		this.pattern = pattern;
+	}
+
+	public String getStart() {
+		return start;
+	}
+
+	public void setStart(String start) {
+		this.start = start;
+	}
+
+	public String getEnd() {
+		return end;
+	}
+
+	public void setEnd(String end) {
+		this.end = end;
+	}
+
+	public String getCondition() {
+		return condition;
+	}
+
+	public void setCondition(String condition) {
+		this.condition = condition;
+	}
+
+	public String getMerge() {
+		return merge;
+	}
+
+	public void setMerge(String merge) {
+		this.merge = merge;
+	}
+
+}
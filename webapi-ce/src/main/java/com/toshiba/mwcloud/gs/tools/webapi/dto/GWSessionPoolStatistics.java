@@ -0,0 +1,346 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.dto;
+
+/**
+ * Statistics of the GridStore session pool.
+ */
+public class GWSessionPoolStatistics {
+
+	/**
+	 * Whether the session pool is enabled
+	 */
+	private boolean enabled;
+
+	/**
+	 * Number of keys (cluster, database, user) in the pool
+	 */
+	private int keys;
+
+	/**
+	 * Number of idle sessions
+	 */
+	private int idle;
+
+	/**
+	 * Number of borrowed sessions
+	 */
+	private int active;
+
+	/**
+	 * Number of borrows served by an idle session
+	 */
+	private long hits;
+
+	/**
+	 * Number of borrows which created a new session
+	 */
+	private long misses;
+
+	/**
+	 * Number of borrows which waited for a free slot
+	 */
+	private long waits;
+
+	/**
+	 * Total time spent waiting for a free slot (milliseconds)
+	 */
+	private long waitTimeMillis;
+
+	/**
+	 * Longest time spent waiting for a free slot (milliseconds)
+	 */
+	private long maxWaitTimeMillis;
+
+	/**
+	 * Number of borrows which timed out
+	 */
+	private long timeouts;
+
+	/**
+	 * Number of idle sessions evicted
+	 */
+	private long evictions;
+
+	/**
+	 * Number of sessions which failed validation
+	 */
+	private long validationFailures;
+
+	/**
+	 * Number of sessions created
+	 */
+	private long created;
+
+	/**
+	 * Number of sessions closed
+	 */
+	private long destroyed;
+
+	/**
+	 * Get the whether the session pool is enabled
+	 * 
+	 * @return whether the session pool is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Set the whether the session pool is enabled
+	 * 
+	 * @param enabled whether the session pool is enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Get the number of keys (cluster, database, user) in the pool
+	 * 
+	 * @return number of keys (cluster, database, user) in the pool
+	 */
+	public int getKeys() {
+		return keys;
+	}
+
+	/**
+	 * Set the number of keys (cluster, database, user) in the pool
+	 * 
+	 * @param keys number of keys (cluster, database, user) in the pool
+	 */
+	public void setKeys(int keys) {
+		this.keys = keys;
+	}
+
+	/**
+	 * Get the number of idle sessions
+	 * 
+	 * @return number of idle sessions
+	 */
+	public int getIdle() {
+		return idle;
+	}
+
+	/**
+	 * Set the number of idle sessions
+	 * 
+	 * @param idle number of idle sessions
+	 */
+	public void setIdle(int idle) {
+		this.idle = idle;
+	}
+
+	/**
+	 * Get the number of borrowed sessions
+	 * 
+	 * @return number of borrowed sessions
+	 */
+	public int getActive() {
+		return active;
+	}
+
+	/**
+	 * Set the number of borrowed sessions
+	 * 
+	 * @param active number of borrowed sessions
+	 */
+	public void setActive(int active) {
+		this.active = active;
+	}
+
+	/**
+	 * Get the number of borrows served by an idle session
+	 * 
+	 * @return number of borrows served by an idle session
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Set the number of borrows served by an idle session
+	 * 
+	 * @param hits number of borrows served by an idle session
+	 */
+	public void setHits(long hits) {
+		this.hits = hits;
+	}
+
+	/**
+	 * Get the number of borrows which created a new session
+	 * 
+	 * @return number of borrows which created a new session
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Set the number of borrows which created a new session
+	 * 
+	 * @param misses number of borrows which created a new session
+	 */
+	public void setMisses(long misses) {
+		this.misses = misses;
+	}
+
+	/**
+	 * Get the number of borrows which waited for a free slot
+	 * 
+	 * @return number of borrows which waited for a free slot
+	 */
+	public long getWaits() {
+		return waits;
+	}
+
+	/**
+	 * Set the number of borrows which waited for a free slot
+	 * 
+	 * @param waits number of borrows which waited for a free slot
+	 */
+	public void setWaits(long waits) {
+		this.waits = waits;
+	}
+
+	/**
+	 * Get the total time spent waiting for a free slot (milliseconds)
+	 * 
+	 * @return total time spent waiting for a free slot (milliseconds)
+	 */
+	public long getWaitTimeMillis() {
+		return waitTimeMillis;
+	}
+
+	/**
+	 * Set the total time spent waiting for a free slot (milliseconds)
+	 * 
+	 * @param waitTimeMillis total time spent waiting for a free slot (milliseconds)
+	 */
+	public void setWaitTimeMillis(long waitTimeMillis) {
+		this.waitTimeMillis = waitTimeMillis;
+	}
+
+	/**
+	 * Get the longest time spent waiting for a free slot (milliseconds)
+	 * 
+	 * @return longest time spent waiting for a free slot (milliseconds)
+	 */
+	public long getMaxWaitTimeMillis() {
+		return maxWaitTimeMillis;
+	}
+
+	/**
+	 * Set the longest time spent waiting for a free slot (milliseconds)
+	 * 
+	 * @param maxWaitTimeMillis longest time spent waiting for a free slot (milliseconds)
+	 */
+	public void setMaxWaitTimeMillis(long maxWaitTimeMillis) {
+		this.maxWaitTimeMillis = maxWaitTimeMillis;
+	}
+
+	/**
+	 * Get the number of borrows which timed out
+	 * 
+	 * @return number of borrows which timed out
+	 */
+	public long getTimeouts() {
+		return timeouts;
+	}
+
+	/**
+	 * Set the number of borrows which timed out
+	 * 
+	 * @param timeouts number of borrows which timed out
+	 */
+	public void setTimeouts(long timeouts) {
+		this.timeouts = timeouts;
+	}
+
+	/**
+	 * Get the number of idle sessions evicted
+	 * 
+	 * @return number of idle sessions evicted
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Set the number of idle sessions evicted
+	 * 
+	 * @param evictions number of idle sessions evicted
+	 */
+	public void setEvictions(long evictions) {
+		this.evictions = evictions;
+	}
+
+	/**
+	 * Get the number of sessions which failed validation
+	 * 
+	 * @return number of sessions which failed validation
+	 */
+	public long getValidationFailures() {
+		return validationFailures;
+	}
+
+	/**
+	 * Set the number of sessions which failed validation
+	 * 
+	 * @param validationFailures number of sessions which failed validation
+	 */
+	public void setValidationFailures(long validationFailures) {
+		this.validationFailures = validationFailures;
+	}
+
+	/**
+	 * Get the number of sessions created
+	 * 
+	 * @return number of sessions created
+	 */
+	public long getCreated() {
+		return created;
+	}
+
+	/**
+	 * Set the number of sessions created
+	 * 
+	 * @param created number of sessions created
+	 */
+	public void setCreated(long created) {
+		this.created = created;
+	}
+
+	/**
+	 * Get the number of sessions closed
+	 * 
+	 * @return number of sessions closed
+	 */
+	public long getDestroyed() {
+		return destroyed;
+	}
+
+	/**
+	 * Set the number of sessions closed
+	 * 
+	 * @param destroyed number of sessions closed
+	 */
+	public void setDestroyed(long destroyed) {
+		this.destroyed = destroyed;
+	}
+
+}
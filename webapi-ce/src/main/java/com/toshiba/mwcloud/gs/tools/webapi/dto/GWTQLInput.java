@@ -39,6 +39,11 @@ public class GWTQLInput {
 	/** Partial execution option. */
 	private Boolean hasPartialExecution;
 
+	/**
+	 * Mode of counting the total rows (exact, skip or cached)
+	 */
+	private String totalMode;
+
 
 	/**
 	 * Get name of container
@@ -112,4 +117,22 @@ public class GWTQLInput {
 		this.hasPartialExecution = hasPartialExecution;
 	}
 
+	/**
+	 * Get mode of counting the total rows
+	 * 
+	 * @return mode of counting the total rows (exact, skip or cached)
+	 */
+	public String getTotalMode() {
+		return totalMode;
+	}
+
+	/**
+	 * Set mode of counting the total rows
+	 * 
+	 * @param totalMode mode of counting the total rows (exact, skip or cached)
+	 */
+	public void setTotalMode(String totalMode) {
+		this.totalMode = totalMode;
+	}
+
 }
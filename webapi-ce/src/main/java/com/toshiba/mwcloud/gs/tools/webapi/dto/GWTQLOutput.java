@@ -48,6 +48,11 @@ public class GWTQLOutput {
 	/** Size of the result (byte). */
 	private long responseSizeByte;
 
+	/**
+	 * Mode which produced the total rows (exact, skip or cached)
+	 */
+	private String totalMode;
+
 	/**
 	 * Get list of column information
 	 * 
@@ -155,6 +160,23 @@ public class GWTQLOutput {
 	public void setResponseSizeByte(long size) {
 		this.responseSizeByte = size;
 	}
-	
-	
+
+	/**
+	 * Get mode which produced the total rows
+	 * 
+	 * @return mode which produced the total rows
+	 */
+	public String getTotalMode() {
+		return totalMode;
+	}
+
+	/**
+	 * Set mode which produced the total rows
+	 * 
+	 * @param totalMode mode which produced the total rows
+	 */
+	public void setTotalMode(String totalMode) {
+		this.totalMode = totalMode;
+	}
+
 }
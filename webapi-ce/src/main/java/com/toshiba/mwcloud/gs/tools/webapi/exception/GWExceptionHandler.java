@@ -24,6 +24,7 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
@@ -62,7 +63,7 @@ public class GWExceptionHandler {
 	public ResponseEntity<?> handleRequestException(Exception e) {
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(0);
-		return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+		return toResponse(HttpStatus.INTERNAL_SERVER_ERROR);
 	}
 
 	/**
@@ -80,7 +81,7 @@ public class GWExceptionHandler {
 
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(0);
-		return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+		return toResponse(HttpStatus.BAD_REQUEST);
 	}
 
 	/**
@@ -97,7 +98,7 @@ public class GWExceptionHandler {
 
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(0);
-		return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
+		return toResponse(HttpStatus.UNAUTHORIZED);
 	}
 
 	/**
@@ -113,7 +114,7 @@ public class GWExceptionHandler {
 
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(0);
-		return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+		return toResponse(HttpStatus.NOT_FOUND);
 	}
 
 	/**
@@ -128,7 +129,23 @@ public class GWExceptionHandler {
 	public ResponseEntity<?> handleGWResourceConflictedException(GWResourceConflictedException e) {
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(0);
-		return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+		return toResponse(HttpStatus.CONFLICT);
+	}
+
+	/**
+	 * Handle GWTooManyRequestsException
+	 * 
+	 * @param e
+	 *            a {@link GWTooManyRequestsException} exception
+	 * @return {@link ResponseEntity} object with
+	 *         {@link HttpStatus#TOO_MANY_REQUESTS}
+	 */
+	@ExceptionHandler({ GWTooManyRequestsException.class })
+	@ResponseBody
+	public ResponseEntity<?> handleGWTooManyRequestsException(GWTooManyRequestsException e) {
+		error.setErrorMessage(e.getMessage());
+		error.setErrorCode(0);
+		return toResponse(HttpStatus.TOO_MANY_REQUESTS);
 	}
 
 	/**
@@ -144,7 +161,7 @@ public class GWExceptionHandler {
 	public ResponseEntity<?> handleGWHttpMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException e) {
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(0);
-		return new ResponseEntity<>(error, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+		return toResponse(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
 	}
 
 	/**
@@ -161,7 +178,7 @@ public class GWExceptionHandler {
 
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(0);
-		return new ResponseEntity<>(error, HttpStatus.METHOD_NOT_ALLOWED);
+		return toResponse(HttpStatus.METHOD_NOT_ALLOWED);
 	}
 
 	/**
@@ -200,7 +217,7 @@ public class GWExceptionHandler {
 			message = e.getMessage();
 		}
 		error.setErrorMessage(message);
-		return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+		return toResponse(HttpStatus.BAD_REQUEST);
 	}
 
 	/**
@@ -217,7 +234,7 @@ public class GWExceptionHandler {
 
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(0);
-		return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+		return toResponse(HttpStatus.INTERNAL_SERVER_ERROR);
 	}
 
 	/**
@@ -234,7 +251,7 @@ public class GWExceptionHandler {
 		error.setErrorMessage(e.getMessage());
 		error.setErrorCode(e.getErrorCode());
 		e.getErrorCode();
-		return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+		return toResponse(HttpStatus.BAD_REQUEST);
 	}
 
 	/**
@@ -248,13 +265,22 @@ public class GWExceptionHandler {
 	@ResponseBody
 	public ResponseEntity<?> handleGSException(GSException e) {
 		error.setErrorMessage(e.getMessage());
-		int errCode = e.getErrorCode();
-		error.setErrorCode(errCode);
+		error.setErrorCode(e.getErrorCode());
+		return toResponse(getStatus(e));
+	}
 
-		switch (errCode) {
+	/**
+	 * Get the status of the response to a GSException from GridDB
+	 * 
+	 * @param e
+	 *            a GSException
+	 * @return the {@link HttpStatus}
+	 */
+	public static HttpStatus getStatus(GSException e) {
+		switch (e.getErrorCode()) {
 		case 10005:
 		case 10053:
-			return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
+			return HttpStatus.UNAUTHORIZED;
 		case 0:
 		case 1007:
 		case 1008:
@@ -267,9 +293,33 @@ public class GWExceptionHandler {
 		case 150020:
 		case 151001:
 		case 151002:
-			return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+			return HttpStatus.BAD_REQUEST;
 		default:
-			return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+			return HttpStatus.INTERNAL_SERVER_ERROR;
+		}
+	}
+
+	/**
+	 * Get the status of the response to an exception of the Web API, as the
+	 * handlers of this class return it
+	 * 
+	 * @param e
+	 *            a RuntimeException
+	 * @return the {@link HttpStatus}
+	 */
+	public static HttpStatus getStatus(RuntimeException e) {
+		if (e instanceof GWBadRequestException) {
+			return HttpStatus.BAD_REQUEST;
+		} else if (e instanceof GWUnauthorizedException) {
+			return HttpStatus.UNAUTHORIZED;
+		} else if (e instanceof GWNotFoundException) {
+			return HttpStatus.NOT_FOUND;
+		} else if (e instanceof GWResourceConflictedException) {
+			return HttpStatus.CONFLICT;
+		} else if (e instanceof GWTooManyRequestsException) {
+			return HttpStatus.TOO_MANY_REQUESTS;
+		} else {
+			return HttpStatus.INTERNAL_SERVER_ERROR;
 		}
 	}
 
@@ -290,10 +340,22 @@ public class GWExceptionHandler {
 		case 10053:
 		case 10100:
 		case 10102:
-			return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
+			return toResponse(HttpStatus.UNAUTHORIZED);
 
 		default:
-			return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+			return toResponse(HttpStatus.BAD_REQUEST);
 		}
 	}
+
+	/**
+	 * Create the response of an error. Errors are always returned as JSON,
+	 * even if the request accepts another format such as Arrow.
+	 * 
+	 * @param status
+	 *            status of the response
+	 * @return a {@link ResponseEntity} object with the error
+	 */
+	private ResponseEntity<?> toResponse(HttpStatus status) {
+		return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(error);
+	}
 }
@@ -0,0 +1,35 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.exception;
+
+public class GWTooManyRequestsException extends RuntimeException{
+
+	/**
+	 * Exception when the request can not be accepted until the pending work is done
+	 */
+	private static final long serialVersionUID = 1L;
+
+	public GWTooManyRequestsException(){}
+	
+	public GWTooManyRequestsException(String msg) {
+		super(msg);
+	}
+
+	public GWTooManyRequestsException(String msg, Throwable t) {
+		super(msg, t);
+	}
+}
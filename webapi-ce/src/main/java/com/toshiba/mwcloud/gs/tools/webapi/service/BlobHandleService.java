@@ -28,11 +28,13 @@ import com.toshiba.mwcloud.gs.tools.webapi.dto.GWTQLOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWNotFoundException;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobZipWriter;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWUser;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStoreUtils;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Validation;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.sql.Blob;
 import java.sql.SQLException;
 import java.util.List;
 import org.springframework.web.multipart.MultipartFile;
@@ -96,15 +98,19 @@ public interface BlobHandleService {
    *   <li>If container is partition container, throw a {@link GWBadRequestException} exception
    *   <li>Call function Container.query(String) to execute query
    *   <li>Call function {@code rowSetToTqlResult(RowSet, ContainerInfo)} set the result of query to
-   *       {@link GWTQLOutput}
+   *       {@link GWTQLOutput} and add BLOB data to {@code blobs}
    *   <li>Return the TQL result
    * </ol>
    *
+   * <p>The BLOB data is not read until {@link BlobZipWriter#writeTo(java.io.OutputStream)} is
+   * called, so that it can be streamed into the response.
+   *
    * @param authorization basic authentication
    * @param cluster name of cluster
    * @param database name of database
    * @param container name of container
    * @param queryParams a {@link GWQueryParams} object
+   * @param blobs zip file where to add BLOB data
    * @return a {@link GWQueryOutput} object
    * @throws GSException internal server exception
    * @throws GWException internal server exception
@@ -116,6 +122,42 @@ public interface BlobHandleService {
       String cluster,
       String database,
       String container,
-      GWQueryParams queryParams)
+      GWQueryParams queryParams,
+      BlobZipWriter blobs)
       throws GSException, GWException, UnsupportedEncodingException, SQLException, IOException;
+
+  /**
+   * Get the BLOB data of a column of a row. <br>
+   * <br>
+   * <b>Processing flow:</b>
+   *
+   * <ol>
+   *   <li>Check authorization
+   *   <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get
+   *       the information of the target cluster
+   *   <li>If container information is null, throw a {@link GWNotFoundException} exception
+   *   <li>If container is partition container, or the column is not a BLOB column, throw a {@link
+   *       GWBadRequestException} exception
+   *   <li>Convert the row key to the type of the row key column
+   *   <li>Call function {@link Container#get(Object)} to get the row
+   *   <li>If the row does not exist, throw a {@link GWNotFoundException} exception
+   * </ol>
+   *
+   * @param authorization basic authentication
+   * @param cluster name of cluster
+   * @param database name of database
+   * @param container name of container
+   * @param column name of the BLOB column
+   * @param rowKey row key of the row as a string
+   * @return the BLOB data, or null if the value is null
+   * @throws GSException internal server exception
+   */
+  Blob getBlob(
+      String authorization,
+      String cluster,
+      String database,
+      String container,
+      String column,
+      String rowKey)
+      throws GSException;
 }
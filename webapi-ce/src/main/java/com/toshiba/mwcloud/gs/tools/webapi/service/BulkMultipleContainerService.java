@@ -98,4 +98,31 @@ public interface BulkMultipleContainerService {
   public List<GWBulkPutRowOutput> putRowsMultipleContainers(
       String authorization, String cluster, String database, List<GWBulkPutRow> input)
       throws GSException, UnsupportedEncodingException;
+
+  /**
+   * Put data into multiple container in database through the ingestion queue. <br>
+   * <br>
+   * <b>Processing flow:</b>
+   *
+   * <ol>
+   *   <li>If the ingestion queue is disabled, put the rows as {@link
+   *       #putRowsMultipleContainers(String, String, String, List)}
+   *   <li>Convert the rows of each container with its schema as {@link
+   *       #putRowsMultipleContainers(String, String, String, List)}
+   *   <li>Queue the rows with {@link com.toshiba.mwcloud.gs.tools.webapi.utils.IngestionQueue}
+   *   <li>If {@code ack} is "commit", wait until the rows are put
+   * </ol>
+   *
+   * @param authorization basic authentication
+   * @param cluster name of cluster
+   * @param database name of database
+   * @param input a {@link List} of {@link GWBulkPutRow}
+   * @param ack "enqueue" to return once the rows are queued, "commit" to return once they are put
+   * @return {@link List} of {@link GWBulkPutRowOutput}
+   * @throws GSException internal server exception
+   * @throws UnsupportedEncodingException exception when encoding data type {@link String}
+   */
+  public List<GWBulkPutRowOutput> enqueueRowsMultipleContainers(
+      String authorization, String cluster, String database, List<GWBulkPutRow> input, String ack)
+      throws GSException, UnsupportedEncodingException;
 }
@@ -22,9 +22,11 @@ import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.SqlDdlDclOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.SqlUpdateOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ArrowResultWriter;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWUser;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStoreUtils;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.util.List;
@@ -179,7 +181,8 @@ public interface ExecuteSqlService {
    *   <li>If the total size of executed result of {@code listSQLInput} is greater than maximum limit,
    *       throw a {@link GWBadRequestException}
    *   <li>For each {@link GWSQLInput} in the {@code listSQLInput}, call function {@code
-   *       executeSQL(String, String, String, String, GWSQLOutput)} to execute each SQL
+   *       executeSQL(String, String, String, String, GWSQLOutput)} to execute each SQL, concurrently
+   *       if {@code parallel} is true
    *   <li>Return a list of {@link GWSQLOutput}
    * </ol>
    *
@@ -187,6 +190,7 @@ public interface ExecuteSqlService {
    * @param cluster name of cluster
    * @param database name of database
    * @param listSQLInput a {@link List} of {@link GWSQLInput}
+   * @param parallel execute the SQLs concurrently
    * @return a {@link List} of {@link GWSQLOutput}
    * @throws GSException internal server exception
    * @throws SQLException a {@link SQLException}
@@ -194,6 +198,34 @@ public interface ExecuteSqlService {
    * @throws GWBadRequestException a {@link GWBadRequestException}
    */
   public List<GWSQLOutput> executeDmlQuery(
-      String authorization, String cluster, String database, List<GWSQLInput> listSQLInput)
+      String authorization, String cluster, String database, List<GWSQLInput> listSQLInput,
+      boolean parallel)
       throws GSException, SQLException, UnsupportedEncodingException;
+
+  /**
+   * Execute DML Query and write the results in Arrow format. <br>
+   * <br>
+   * <b>Processing flow:</b>
+   *
+   * <ol>
+   *   <li>If the statement of {@code listSQLInput} is not SELECT,
+   *       throw a {@link GWBadRequestException}
+   *   <li>Call function {@code writeSQLsArrow(String, String, String, List, ArrowResultWriter)}
+   *       to execute the SQLs and write their results
+   * </ol>
+   *
+   * @param authorization basic authentication
+   * @param cluster name of cluster
+   * @param database name of database
+   * @param listSQLInput a {@link List} of {@link GWSQLInput}
+   * @param writer the {@link ArrowResultWriter} to write the results to
+   * @throws GSException internal server exception
+   * @throws SQLException a {@link SQLException}
+   * @throws IOException when writing the results failed
+   * @throws GWBadRequestException a {@link GWBadRequestException}
+   */
+  public void writeDmlQueryArrow(
+      String authorization, String cluster, String database, List<GWSQLInput> listSQLInput,
+      ArrowResultWriter writer)
+      throws GSException, SQLException, IOException;
 }
@@ -16,11 +16,13 @@
 
 package com.toshiba.mwcloud.gs.tools.webapi.service;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
-import java.text.ParseException;
 import java.util.List;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.toshiba.mwcloud.gs.Container;
 import com.toshiba.mwcloud.gs.ContainerInfo;
 import com.toshiba.mwcloud.gs.ContainerType;
@@ -30,9 +32,15 @@ import com.toshiba.mwcloud.gs.GridStore;
 import com.toshiba.mwcloud.gs.experimental.ExperimentalTool;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerListOuput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerStatus;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDeleteRowsOutput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDownsampleInput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDownsampleOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowOutput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowStreamOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryParams;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWRangeQueryInput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLInput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSortCondition;
@@ -41,9 +49,16 @@ import com.toshiba.mwcloud.gs.tools.webapi.dto.GWTQLOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWNotFoundException;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ArrowResultWriter;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.ConversionUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.CountCache;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.Downsampler;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWUser;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.RowStreamReader;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStoreUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ParallelExecutor;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.RowCursor;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Validation;
 
 public interface WebAPIService {
@@ -79,7 +94,8 @@ public interface WebAPIService {
 	 *  <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get the information of the target cluster</li>
 	 *  <li>Check parameters: {@code offset}, {@code limit}. If they are not valid, throw {@link GWBadRequestException}</li>
 	 *  <li>Get the partition count</li>
-	 *  <li>For each partition, get all container names from containers that theirs type is specified</li>
+	 *  <li>Divide the partitions among up to maxParallelism sessions and get the container names matching {@code name} concurrently by calling {@link ParallelExecutor#invokeAll(String, List)}, within the limit of maxParallelismPerUser of the user</li>
+	 *  <li>If {@code type} is specified, get the types in batches by calling {@link ContainerMetadataCache#getContainerType(GridStore, String, String, String)} and keep the containers of the type</li>
 	 *  <li>If the list of container names obtained is empty, return an empty list</li>
 	 *  <li>Sort the list if {@code sort} is not null. If it is, sort ASCENDING</li>
 	 *  <li>If offset and/or limit is specified, get the list with offset and limit</li>
@@ -89,6 +105,7 @@ public interface WebAPIService {
 	 * @param cluster name of cluster
 	 * @param database name of database
 	 * @param type type of container
+	 * @param name LIKE pattern of the container names, null for all containers
 	 * @param limit limit number of the list of containers
 	 * @param offset offset of the list of containers
 	 * @param sort type of sorting the list of containers
@@ -96,7 +113,7 @@ public interface WebAPIService {
 	 * @throws GSException unable to get list of containers
 	 */
 	public GWContainerListOuput getListContainers(String authorization, String cluster, String database, ContainerType type,
-			int limit, Integer offset, GWSortCondition sort) throws GSException;
+			String name, int limit, Integer offset, GWSortCondition sort) throws GSException;
 
 	/**
 	 * Get container information.
@@ -148,6 +165,68 @@ public interface WebAPIService {
 	public List<Object> executeTQLs(String authorization, String cluster, String database,
 			List<GWTQLInput> listTQLs) throws GSException, GWException, UnsupportedEncodingException, SQLException;
 
+	/**
+	 * Execute multiple TQLs concurrently.
+	 * 
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>If the size of {@code listTQLs} is larger than the maximum of number of TQLs that can be executed, throw a {@link GWBadRequestException}</li>
+	 *  <li>Call function {@link ParallelExecutor#invokeAll(String, List)} to execute up to maxParallelism queries at once, each with its own session obtained by {@link GridStoreUtils#getGridStore(String, String, String, String)}, within the limit of maxParallelismPerUser of the user</li>
+	 *  <li>Add the size of each result to a total shared by the queries, if it is over the limitation, throw a {@link GWBadRequestException} and cancel the other queries</li>
+	 *  <li>Return a list of {@link GWTQLOutput} in the order of {@code listTQLs}</li>
+	 * </ol>
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param listTQLs a {@link List} of {@link GWTQLInput}
+	 * @return a {@link List} of {@link GWTQLOutput}
+	 * @throws GSException internal server exception
+	 * @throws GWException internal server exception
+	 * @throws UnsupportedEncodingException exception when encoding data type {@link String}
+	 * @throws SQLException exception when getting length of data with {@link GSType} is BLOB
+	 */
+	public List<Object> executeTQLsInParallel(String authorization, String cluster, String database,
+			List<GWTQLInput> listTQLs) throws GSException, GWException, UnsupportedEncodingException, SQLException;
+
+	/**
+	 * Execute multiple TQLs and write the results to a JSON generator one row
+	 * at a time. The output has the same form as the result of
+	 * {@link #executeTQLs(String, String, String, List)}, but the rows are not
+	 * held in memory and the response size limits are not applied.
+	 * 
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param listTQLs a {@link List} of {@link GWTQLInput}
+	 * @param generator the {@link JsonGenerator} to write the results to
+	 * @throws GSException internal server exception
+	 * @throws GWException internal server exception
+	 * @throws SQLException exception when getting length of data with {@link GSType} is BLOB
+	 * @throws IOException when writing the results failed
+	 */
+	public void streamTQLs(String authorization, String cluster, String database, List<GWTQLInput> listTQLs,
+			JsonGenerator generator) throws GSException, GWException, SQLException, IOException;
+
+	/**
+	 * Execute multiple TQLs and write the results in Arrow format one row at
+	 * a time. Each result is written as an Arrow stream whose schema has the
+	 * offset, limit and total in its metadata.
+	 * 
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param listTQLs a {@link List} of {@link GWTQLInput}
+	 * @param writer the {@link ArrowResultWriter} to write the results to
+	 * @throws GSException internal server exception
+	 * @throws GWException internal server exception
+	 * @throws SQLException exception when reading data with {@link GSType} is BLOB
+	 * @throws IOException when writing the results failed
+	 */
+	public void writeTQLsArrow(String authorization, String cluster, String database, List<GWTQLInput> listTQLs,
+			ArrowResultWriter writer) throws GSException, GWException, SQLException, IOException;
+
 	/**
 	 * Get rows with limit, offset, condition and sort.
 	 * 
@@ -161,8 +240,9 @@ public interface WebAPIService {
 	 *  <li>Call function {@link ExperimentalTool#getExtendedContainerInfo(GridStore, String)} to get the extended container information</li>
 	 *  <li>Call function {@link GridStore#getContainerInfo(String)} to get the container information</li>
 	 *  <li>If container information is null, throw a {@link GWNotFoundException} exception</li>
+	 *  <li>If the request has a cursor or is sorted by the row key, call function {@link RowCursor#decode(String, ContainerInfo)} or {@link RowCursor#start(ContainerInfo, String)} to get the position of keyset paging</li>
 	 *  <li>Call function Container.query(String) to execute query</li>
-	 *  <li>Call function {@code rowSetToTqlResult(RowSet, ContainerInfo)} set the result of query to {@link GWTQLOutput}</li>
+	 *  <li>Call function {@code rowSetToTqlResult(RowSet, ContainerInfo, RowCursor, GWQueryOutput)} set the result of query and the next cursor to {@link GWQueryOutput}</li>
 	 *  <li>Return the TQL result</li>
 	 * </ol>
 	 * @param authorization basic authentication
@@ -179,6 +259,102 @@ public interface WebAPIService {
 	public GWQueryOutput getRows(String authorization, String cluster, String database, String container,
 			GWQueryParams queryParams) throws GSException, GWException, UnsupportedEncodingException, SQLException;
 
+	/**
+	 * Get rows with limit, offset, condition and sort and write them to a JSON
+	 * generator one row at a time. The output has the same form as
+	 * {@link GWQueryOutput}, but the rows are not held in memory and the
+	 * response size limit is not applied.
+	 * 
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param container name of container
+	 * @param queryParams a {@link GWQueryParams} object
+	 * @param generator the {@link JsonGenerator} to write the rows to
+	 * @throws GSException internal server exception
+	 * @throws GWException internal server exception
+	 * @throws SQLException exception when getting length of data with {@link GSType} is BLOB
+	 * @throws IOException when writing the rows failed
+	 */
+	public void streamRows(String authorization, String cluster, String database, String container,
+			GWQueryParams queryParams, JsonGenerator generator)
+			throws GSException, GWException, SQLException, IOException;
+
+	/**
+	 * Get rows of a container and write them in Arrow format one row at a
+	 * time. The schema has the offset, limit and total in its metadata. A
+	 * cursor can not be used because nextCursor is only known after the rows
+	 * are written.
+	 * 
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param container name of container
+	 * @param queryParams a {@link GWQueryParams} object
+	 * @param writer the {@link ArrowResultWriter} to write the rows to
+	 * @throws GSException internal server exception
+	 * @throws GWException internal server exception
+	 * @throws SQLException exception when reading data with {@link GSType} is BLOB
+	 * @throws IOException when writing the rows failed
+	 */
+	public void writeRowsArrow(String authorization, String cluster, String database, String container,
+			GWQueryParams queryParams, ArrowResultWriter writer)
+			throws GSException, GWException, SQLException, IOException;
+
+	/**
+	 * Reduce the rows of a time series container in a time range to one row
+	 * per time bucket.
+	 *
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Check authorization</li>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get the information of the container</li>
+	 *  <li>Execute a TQL selecting the rows of the range in ascending order of the row key</li>
+	 *  <li>Aggregate each bucket with {@link Downsampler} while the rows are read, so that only the reduced rows are kept</li>
+	 * </ol>
+	 *
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param container name of container
+	 * @param input a {@link GWDownsampleInput} object
+	 * @return the reduced rows
+	 * @throws GSException internal server exception
+	 */
+	public GWDownsampleOutput downsampleRows(String authorization, String cluster, String database,
+			String container, GWDownsampleInput input) throws GSException;
+
+	/**
+	 * Get the rows in a time range from multiple containers and write them to
+	 * a stream.
+	 *
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Check authorization</li>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>Get the names of the containers as specified, or the time series containers matching the pattern</li>
+	 *  <li>Check that every container exists and has a TIMESTAMP row key before writing the response</li>
+	 *  <li>If merge is "container", execute a TQL selecting the rows of the range of each container concurrently by calling {@link ParallelExecutor#invokeAll(String, List)}, each with its own session, and write the rows of each container while they are read by the query holding the response</li>
+	 *  <li>If merge is "time", divide the containers among up to maxParallelism sessions started by {@link ParallelExecutor#start(String, List)}, which read the rows of each container ahead into a bounded queue, and write the rows of all the containers in order of the row key while merging the queues</li>
+	 *  <li>The size of all the rows is limited by maxTotalResponseSize, each row is counted before it is written</li>
+	 *  <li>If an error occurs once the response has started, end the response with the error</li>
+	 * </ol>
+	 *
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param input a {@link GWRangeQueryInput} object
+	 * @param generator the {@link JsonGenerator} to write the rows to
+	 * @throws GSException internal server exception
+	 * @throws GWException internal server exception
+	 * @throws SQLException exception when reading data with {@link GSType} is BLOB
+	 * @throws IOException when writing the rows failed
+	 */
+	public void streamRangeRows(String authorization, String cluster, String database, GWRangeQueryInput input,
+			JsonGenerator generator) throws GSException, GWException, SQLException, IOException;
 
 	/**
 	 * Put data into database.
@@ -191,20 +367,75 @@ public interface WebAPIService {
 	 *  <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get the information of the target cluster</li>
 	 *  <li>If container info is null, throw a {@link GWNotFoundException} exception</li>
 	 *  <li>For each column in the container info, if its type is BLOB, throw a {@link GWException} exception</li>
-	 *  <li>For each list of object in {@code input}, call function setRowValue() to put it into a {@link List} of Row</li>
+	 *  <li>Read each row from {@code parser} straight into a Row with the {@link com.toshiba.mwcloud.gs.tools.webapi.utils.RowConverter} of the container</li>
 	 *  <li>Call function {@link Container#put(Object)} to put data into database</li>
 	 * </ol>
 	 * @param authorization basic authentication
 	 * @param cluster name of cluster
 	 * @param database name of database
 	 * @param container name of container
-	 * @param input a {@link List} of {@link List} of {@link Object}
+	 * @param parser a {@link JsonParser} of the request body, an array of the arrays of the values of each row
 	 * @return number of input rows
 	 * @throws GSException internal server exception
-	 * @throws UnsupportedEncodingException exception when encoding data type {@link String}
+	 * @throws IOException when the request body can not be read or parsed
 	 */
 	public GWPutRowOutput putRows(String authorization, String cluster, String database, String container,
-			List<List<Object>> input) throws GSException, UnsupportedEncodingException;
+			JsonParser parser) throws GSException, IOException;
+
+	/**
+	 * Put rows through the ingestion queue.
+	 * 
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>If the ingestion queue is disabled, put the rows as {@link #putRows(String, String, String, String, JsonParser)}</li>
+	 *  <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get the information of the target cluster</li>
+	 *  <li>If container info is null, throw a {@link GWNotFoundException} exception</li>
+	 *  <li>Convert the rows with the container schema and queue them with {@link com.toshiba.mwcloud.gs.tools.webapi.utils.IngestionQueue}</li>
+	 *  <li>If {@code ack} is "commit", wait until the rows are put</li>
+	 * </ol>
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param container name of container
+	 * @param parser a {@link JsonParser} of the request body, an array of the arrays of the values of each row
+	 * @param ack "enqueue" to return once the rows are queued, "commit" to return once they are put
+	 * @return number of input rows
+	 * @throws GSException internal server exception
+	 * @throws IOException when the request body can not be read or parsed
+	 */
+	public GWPutRowOutput enqueueRows(String authorization, String cluster, String database, String container,
+			JsonParser parser, String ack) throws GSException, IOException;
+
+	/**
+	 * Put rows read from a request body in NDJSON or CSV.
+	 * 
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get the information of the target cluster</li>
+	 *  <li>If container info is null, throw a {@link GWNotFoundException} exception</li>
+	 *  <li>Read the rows one by one and convert them with the container schema, a row which can not be read or converted is reported as failed</li>
+	 *  <li>Call function {@link Container#put(java.util.Collection)} every {@code batchSize} rows, or when the rows reach maxRequestSize</li>
+	 * </ol>
+	 * Only one batch of rows is held at a time, so the request body may be of
+	 * any size. The rows of the batches which were put are not rolled back when
+	 * a later batch fails.
+	 * 
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param container name of container
+	 * @param reader the {@link RowStreamReader} to read the rows from
+	 * @param batchSize number of rows put at once, or null for the default
+	 * @return numbers of the rows put and failed in each batch
+	 * @throws GSException internal server exception
+	 * @throws IOException when the request body can not be read
+	 */
+	public GWPutRowStreamOutput putRowsStream(String authorization, String cluster, String database,
+			String container, RowStreamReader reader, Integer batchSize) throws GSException, IOException;
 
 	/**
 	 * Delete rows by row keys.
@@ -215,18 +446,50 @@ public interface WebAPIService {
 	 *  <li>Check authorization</li>
 	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
 	 *  <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get the information of the target cluster</li>
-	 *  <li>For each row key in {@code listRowKeys}, call function GridStore.getContainer(String).remove(String) to delete corresponding row</li>
+	 *  <li>Get the container once and turn off its auto commit mode</li>
+	 *  <li>For every {@code batchSize} row keys, call function {@link Container#remove(Object)} for each row key and commit the transaction</li>
 	 * </ol>
+	 * A row key which can not be converted to the type of the row key, and
+	 * every row key of a batch whose transaction fails, is reported as failed.
+	 * The rows of the batches which were committed are not restored when a
+	 * later batch fails.
+	 * 
 	 * @param authorization basic authentication
 	 * @param cluster name of cluster
 	 * @param database name of database
 	 * @param container name of container
 	 * @param listRowKeys a {@link List} of row keys
+	 * @param batchSize number of rows deleted in one transaction, or null for the default
+	 * @return numbers of the rows deleted in each batch and the row keys which could not be deleted
+	 * @throws GSException internal server exception
+	 */
+	public GWDeleteRowsOutput deleteRows(String authorization, String cluster, String database, String container,
+			List<Object> listRowKeys, Integer batchSize) throws GSException;
+
+	/**
+	 * Delete the rows whose row key is in a range.
+	 * 
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Check authorization</li>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get the row key of the container</li>
+	 *  <li>Execute an SQL DELETE statement with the range as its condition, so that the rows are deleted by the server without reading them</li>
+	 * </ol>
+	 * 
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param container name of container
+	 * @param startKey the smallest row key deleted, or null for no lower bound
+	 * @param finishKey the largest row key deleted, or null for no upper bound
+	 * @return number of the rows deleted
 	 * @throws GSException internal server exception
-	 * @throws ParseException when parsing row key failed
+	 * @throws SQLException when the SQL statement fails
 	 */
-	public void deleteRows(String authorization, String cluster, String database, String container,
-			List<Object> listRowKeys) throws GSException, ParseException;
+	public GWDeleteRowsOutput deleteRowRange(String authorization, String cluster, String database,
+			String container, Object startKey, Object finishKey) throws GSException, SQLException;
 
 	/**
 	 * Delete containers.
@@ -247,6 +510,27 @@ public interface WebAPIService {
 	 */
 	public void deleteContainers(String authorization, String cluster, String database, List<String> listContainers) throws GSException;
 
+	/**
+	 * Drop containers and return the result of each container.
+	 * 
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Check authorization</li>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>Divide the containers into batches and call function {@link ParallelExecutor#invokeAll(String, List)} to drop up to maxParallelism batches at once, each with its own session, within the limit of maxParallelismPerUser of the user</li>
+	 *  <li>For each container name in the batch, call function {@link GridStore#dropContainer(String)} and record the result</li>
+	 * </ol>
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param listContainers list of containers
+	 * @return the result of each container, in the order of the request
+	 * @throws GSException when the user is not authorized
+	 */
+	public List<GWContainerStatus> deleteContainersBulk(String authorization, String cluster, String database,
+			List<String> listContainers) throws GSException;
+
 	/**
 	 * Create a container.
 	 * 
@@ -269,6 +553,30 @@ public interface WebAPIService {
 	 * @throws GSException list of containers
 	 */
 	public void createContainer(String authorization, String cluster, String database, GWContainerInfo gwContainerInfo) throws GSException;
+
+	/**
+	 * Create containers and return the result of each container.
+	 * 
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Check authorization</li>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>Divide the containers into batches and call function {@link ParallelExecutor#invokeAll(String, List)} to create up to maxParallelism batches at once, each with its own session, within the limit of maxParallelismPerUser of the user</li>
+	 *  <li>Create each container of the batch and its indexes as in {@link #createContainer(String, String, String, GWContainerInfo)} and record the result</li>
+	 * </ol>
+	 * A container whose name already appears earlier in the request is not
+	 * created.
+	 * 
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param listContainerInfo a {@link List} of {@link GWContainerInfo} objects
+	 * @return the result of each container, in the order of the request
+	 * @throws GSException when the user is not authorized
+	 */
+	public List<GWContainerStatus> createContainersBulk(String authorization, String cluster, String database,
+			List<GWContainerInfo> listContainerInfo) throws GSException;
 	
 	/**
 	 * Execute multiple SQLs.
@@ -294,4 +602,63 @@ public interface WebAPIService {
 	 * @throws UnsupportedEncodingException a {@link UnsupportedEncodingException}
 	 */
 	public List<GWSQLOutput> executeSQLs(String authorization, String cluster, String database, List<GWSQLInput> listSQLInput) throws GSException, SQLException, UnsupportedEncodingException;
+
+	/**
+	 * Execute multiple SQLs concurrently.
+	 * 
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>If the {@code listSQLInput} is empty or its size is larger than the maximum of number of SQLs that can be executed, throw a {@link GWBadRequestException}</li>
+	 *  <li>Call function {@link ParallelExecutor#invokeAll(String, List)} to execute up to maxParallelism SQLs at once, each with its own connection, within the limit of maxParallelismPerUser of the user</li>
+	 *  <li>Add the size of each result to a total shared by the SQLs, if it is over the limitation, throw a {@link GWBadRequestException} and cancel the other SQLs</li>
+	 *  <li>Return a list of {@link GWSQLOutput} in the order of {@code listSQLInput}</li>
+	 * </ol>
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param listSQLInput a {@link List} of {@link GWSQLInput}
+	 * @return a {@link List} of {@link GWSQLOutput}
+	 * @throws GSException internal server exception
+	 * @throws SQLException exception when executing SQL
+	 * @throws UnsupportedEncodingException exception when encoding data type {@link String}
+	 */
+	public List<GWSQLOutput> executeSQLsInParallel(String authorization, String cluster, String database, List<GWSQLInput> listSQLInput) throws GSException, SQLException, UnsupportedEncodingException;
+
+	/**
+	 * Execute multiple SQLs and write the results in Arrow format one row at
+	 * a time. Each result is written as an Arrow stream, the rows are not held
+	 * in memory and the response size limits are not applied.
+	 * 
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param listSQLInput a {@link List} of {@link GWSQLInput}
+	 * @param writer the {@link ArrowResultWriter} to write the results to
+	 * @throws GSException internal server exception
+	 * @throws SQLException exception when executing SQL
+	 * @throws IOException when writing the results failed
+	 */
+	public void writeSQLsArrow(String authorization, String cluster, String database, List<GWSQLInput> listSQLInput, ArrowResultWriter writer) throws GSException, SQLException, IOException;
+
+	/**
+	 * Flush the cached container schemas and row counts of a database.
+	 *
+	 * <br><br>
+	 * <b>Processing flow:</b>
+	 * <ol>
+	 *  <li>Check authorization</li>
+	 *  <li>Call function {@link GWUser#getUserfromAuthorization(String)} to get {@link GWUser} from authorization</li>
+	 *  <li>Call function {@link GridStoreUtils#getGridStore(String, String, String, String)} to get the information of the target cluster</li>
+	 *  <li>Call function {@link GridStore#getPartitionController()} to check the authentication</li>
+	 *  <li>Call function {@link ContainerMetadataCache#invalidate(String, String)} to remove the cached schemas</li>
+	 *  <li>Call function {@link CountCache#invalidate(String, String)} to remove the cached row counts</li>
+	 * </ol>
+	 * @param authorization basic authentication
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @throws GSException internal server exception
+	 */
+	public void flushMetadataCache(String authorization, String cluster, String database) throws GSException;
 }
@@ -20,11 +20,11 @@ import ch.qos.logback.classic.Logger;
 import com.toshiba.mwcloud.gs.Container;
 import com.toshiba.mwcloud.gs.ContainerInfo;
 import com.toshiba.mwcloud.gs.GSException;
+import com.toshiba.mwcloud.gs.GSType;
 import com.toshiba.mwcloud.gs.GridStore;
 import com.toshiba.mwcloud.gs.Query;
 import com.toshiba.mwcloud.gs.Row;
 import com.toshiba.mwcloud.gs.RowSet;
-import com.toshiba.mwcloud.gs.experimental.ExperimentalTool;
 import com.toshiba.mwcloud.gs.experimental.ExtendedContainerInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryOutput;
@@ -34,8 +34,14 @@ import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWNotFoundException;
 import com.toshiba.mwcloud.gs.tools.webapi.service.BlobHandleService;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobJanitor;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobZipWriter;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache.ContainerMetadata;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.CountCache;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.DateFormatUtils;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWSettingInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWUser;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStoreUtils;
@@ -45,11 +51,17 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.sql.Blob;
 import java.sql.SQLException;
+import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -64,7 +76,6 @@ public class BlobHandleServiceImpl implements BlobHandleService {
   private static final Logger logger =
       (Logger) LoggerFactory.getLogger(BlobHandleServiceImpl.class);
   private static final String rootPath = GWSettingInfo.getBlobPath();
-  private static final int ONE_HOUR = 1;
 
   /**
    * Get rows with BLOB data.
@@ -74,6 +85,7 @@ public class BlobHandleServiceImpl implements BlobHandleService {
    * @param database database name in cluster
    * @param container container name in database
    * @param queryParams a {@link GWQueryParams} object
+   * @param blobs zip file where to add BLOB data
    * @return result a {@link GWQueryOutput} object
    * @throws IOException IO exception
    * @throws GWException GW exception
@@ -87,7 +99,8 @@ public class BlobHandleServiceImpl implements BlobHandleService {
       String cluster,
       String database,
       String container,
-      GWQueryParams queryParams)
+      GWQueryParams queryParams,
+      BlobZipWriter blobs)
       throws GSException, GWException, UnsupportedEncodingException, SQLException, IOException {
 
     logger.info(
@@ -108,9 +121,11 @@ public class BlobHandleServiceImpl implements BlobHandleService {
             + queryParams.getCondition());
 
     long start = System.nanoTime();
-    String sourcePath = BlobUtils.createSource();
     GWUser user = GWUser.getUserfromAuthorization(authorization);
     Validation.validateInputParams(queryParams);
+    if (queryParams.getCursor() != null) {
+      throw new GWBadRequestException("'cursor' is not supported");
+    }
     GWQueryOutput result = new GWQueryOutput();
 
     if (queryParams.getFileNameCol() != null) {
@@ -121,12 +136,13 @@ public class BlobHandleServiceImpl implements BlobHandleService {
 
     try (GridStore gridStore =
         GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword())) {
-      ExtendedContainerInfo extendContainerInfo =
-          ExperimentalTool.getExtendedContainerInfo(gridStore, container);
-      ContainerInfo containerInfo = gridStore.getContainerInfo(container);
-      if (extendContainerInfo == null || containerInfo == null) {
+      ContainerMetadata metadata =
+          ContainerMetadataCache.get(gridStore, cluster, database, container);
+      if (metadata == null) {
         throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
       }
+      ExtendedContainerInfo extendContainerInfo = metadata.getExtendedContainerInfo();
+      ContainerInfo containerInfo = metadata.getContainerInfo();
       Container<Object, Row> cont;
       switch (extendContainerInfo.getAttribute()) {
         case SINGLE:
@@ -138,7 +154,7 @@ public class BlobHandleServiceImpl implements BlobHandleService {
           RowSet<Row> rowSet = query.fetch();
           List<List<Object>> rows =
               rowSetToTqlResult(
-                  rowSet, containerInfo, queryParams.getFileNameCol(), sourcePath);
+                  rowSet, containerInfo, queryParams.getFileNameCol(), blobs);
           result.setRows(rows);
 
           List<GWTQLColumnInfo> columns = new ArrayList<>(containerInfo.getColumnCount());
@@ -163,20 +179,17 @@ public class BlobHandleServiceImpl implements BlobHandleService {
           webApiServiceImpl.getRowsCount(
               cont,
               webApiServiceImpl.buildQueryStringWithoutLimitAndOffset(container, queryParams)));
-      result.setBlobPath(sourcePath);
-      BlobUtils.deleteDirectory(sourcePath);
       return result;
     } catch (GSException gsException) {
       throw gsException;
     } finally {
-      BlobUtils.deleteHistoryFile(ONE_HOUR);
       long end = System.nanoTime();
       logger.debug("getRows : time=" + (end - start) / 1000000f);
     }
   }
 
   private List<List<Object>> rowSetToTqlResult(
-      RowSet<Row> rowSet, ContainerInfo containerInfo, String columnName, String sourcePath)
+      RowSet<Row> rowSet, ContainerInfo containerInfo, String columnName, BlobZipWriter blobs)
       throws GWException, SQLException, IOException {
 
     List<List<Object>> rows = new ArrayList<>();
@@ -205,23 +218,15 @@ public class BlobHandleServiceImpl implements BlobHandleService {
                 columnName,
                 row,
                 columnNames,
-                sourcePath);
+                blobs);
         rowsize += size;
       }
-      if (rowsize > rowMaxSize) {
+      // The zip file is not written yet, the BLOB data is counted instead
+      if (rowsize + blobs.getTotalSize() > rowMaxSize) {
         throw new GWBadRequestException(Messages.TOO_MANY_RESULTS);
       }
       rows.add(list);
     }
-
-    BlobUtils.makeDirectory(sourcePath);
-    BlobUtils.pack(sourcePath);
-    double fileSize = BlobUtils.getFileSize(sourcePath + Constants.ZIP_FILE_EXT);
-    rowsize += fileSize;
-    if (rowsize > rowMaxSize) {
-      BlobUtils.deleteDirectory(sourcePath);
-      throw new GWBadRequestException(Messages.TOO_MANY_RESULTS);
-    }
     return rows;
   }
 
@@ -249,10 +254,10 @@ public class BlobHandleServiceImpl implements BlobHandleService {
       throw new GWBadRequestException(Messages.FILE_TYPE_INVALID);
     }
 
-    String filename = UUID.randomUUID().toString();
-    String filePath = rootPath + File.separator + filename;
-    unZipFile(file, filePath);
-
+    // Without a buffer the zip file is extracted into blobPath
+    boolean staged = GWSettingInfo.getBlobUploadBufferSize() == 0;
+    String filename = null;
+    String filePath = null;
 
     GWUser user = GWUser.getUserfromAuthorization(authorization);
     Validation.validatePutRowsInput(input);
@@ -260,18 +265,32 @@ public class BlobHandleServiceImpl implements BlobHandleService {
     int rowNumber = 0;
     try (GridStore gridStore =
         GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword())) {
+      if (staged) {
+        filename = UUID.randomUUID().toString();
+        filePath = rootPath + File.separator + filename;
+        BlobJanitor.acquire(filename);
+        unZipFile(file, filePath);
+      }
 
-      ContainerInfo containerInfo = gridStore.getContainerInfo(container);
-      if (null == containerInfo) {
+      ContainerMetadata metadata =
+          ContainerMetadataCache.get(gridStore, cluster, database, container);
+      if (null == metadata) {
         throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
       }
+      ContainerInfo containerInfo = metadata.getContainerInfo();
 
       cont = gridStore.getContainer(container);
+      Map<String, Blob> blobs = null;
+      if (!staged) {
+        blobs = readZipEntries(file, getBlobFileNames(input, containerInfo), cont);
+      }
       List<Row> listRows = new ArrayList<>(input.size());
       long rowsize = 0;
       long rowMaxSize = GWSettingInfo.getMaxPutRowSize();
       for (List<Object> rows : input) {
-        rowsize = setRowValue(rows, listRows, cont, containerInfo, rowsize, rowMaxSize, filePath);
+        rowsize =
+            setRowValue(
+                rows, listRows, cont, containerInfo, rowsize, rowMaxSize, filePath, blobs);
         rowNumber++;
       }
 
@@ -283,7 +302,12 @@ public class BlobHandleServiceImpl implements BlobHandleService {
     } catch (GSException gsException) {
       throw gsException;
     } finally {
-      BlobUtils.deleteData(filename);
+      // Rows may have been put even if an error occurred
+      CountCache.invalidate(cluster, database, container);
+      if (filename != null) {
+        BlobUtils.deleteData(filename);
+        BlobJanitor.release(filename);
+      }
       long end = System.nanoTime();
       if (GWSettingInfo.getLogger().isDebugEnabled()) {
         logger.debug("putRows : time=" + (end - start) / 1000000f);
@@ -291,6 +315,116 @@ public class BlobHandleServiceImpl implements BlobHandleService {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @throws GSException {@inheritDoc}
+   */
+  @Override
+  public Blob getBlob(
+      String authorization,
+      String cluster,
+      String database,
+      String container,
+      String column,
+      String rowKey)
+      throws GSException {
+
+    if (GWSettingInfo.getLogger().isInfoEnabled()) {
+      logger.info(
+          "getBlob : cluster="
+              + cluster
+              + " database="
+              + database
+              + " container="
+              + container
+              + " column="
+              + column);
+    }
+
+    long start = System.nanoTime();
+    GWUser user = GWUser.getUserfromAuthorization(authorization);
+    if (rowKey == null) {
+      throw new GWBadRequestException("'key' is required");
+    }
+    try (GridStore gridStore =
+        GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword())) {
+      ContainerMetadata metadata =
+          ContainerMetadataCache.get(gridStore, cluster, database, container);
+      if (metadata == null) {
+        throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
+      }
+      switch (metadata.getExtendedContainerInfo().getAttribute()) {
+        case SINGLE:
+          break;
+        case LARGE:
+          throw new GWBadRequestException(Messages.UNSUPPORTED_PARTITION_TABLE_TYPE);
+        default:
+          throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
+      }
+      ContainerInfo containerInfo = metadata.getContainerInfo();
+      if (!containerInfo.isRowKeyAssigned()) {
+        throw new GWBadRequestException("Row key does not exist");
+      }
+      if (containerInfo.getRowKeyColumnList().size() > 1) {
+        throw new GWBadRequestException("Composite row key is not supported");
+      }
+      int columnIndex = -1;
+      for (int i = 0; i < containerInfo.getColumnCount(); i++) {
+        if (containerInfo.getColumnInfo(i).getName().equalsIgnoreCase(column)) {
+          columnIndex = i;
+          break;
+        }
+      }
+      if (columnIndex < 0 || containerInfo.getColumnInfo(columnIndex).getType() != GSType.BLOB) {
+        throw new GWBadRequestException("'" + column + "' is not a BLOB column");
+      }
+
+      Container<Object, Row> cont = gridStore.getContainer(container);
+      if (null == cont) {
+        throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
+      }
+      Row row = cont.get(parseRowKey(containerInfo.getColumnInfo(0).getType(), rowKey));
+      if (row == null) {
+        throw new GWNotFoundException(Messages.ROW_NOT_EXISTED);
+      }
+      return row.getBlob(columnIndex);
+    } finally {
+      long end = System.nanoTime();
+      if (GWSettingInfo.getLogger().isDebugEnabled()) {
+        logger.debug("getBlob : time=" + (end - start) / 1000000f);
+      }
+    }
+  }
+
+  /**
+   * Convert a row key given as a string to the type of the row key.
+   *
+   * @param keyType type of the row key
+   * @param rowKey row key as a string
+   * @return the converted row key
+   * @throws GWBadRequestException when the row key does not match the type
+   */
+  private static Object parseRowKey(GSType keyType, String rowKey) {
+    try {
+      switch (keyType) {
+        case INTEGER:
+          return Integer.valueOf(rowKey);
+        case LONG:
+          return Long.valueOf(rowKey);
+        case TIMESTAMP:
+          return DateFormatUtils.parse(rowKey);
+        case STRING:
+          return rowKey;
+        default:
+          break;
+      }
+    } catch (NumberFormatException | ParseException e) {
+      // Reported below
+    }
+    throw new GWBadRequestException("Invalid row key '" + rowKey + "'");
+  }
+
   private void unZipFile(MultipartFile file, String filePath) {
     File serverFile = new File(filePath + Constants.ZIP_FILE_EXT);
     try (BufferedOutputStream stream =
@@ -305,6 +439,56 @@ public class BlobHandleServiceImpl implements BlobHandleService {
     }
   }
 
+  /**
+   * Read the BLOB data files referenced by the rows from the uploaded zip file.
+   *
+   * @param file uploaded zip file
+   * @param fileNames names of the files referenced by the rows
+   * @param container container to store blob
+   * @return a {@link Map} of file name to blob
+   */
+  private Map<String, Blob> readZipEntries(
+      MultipartFile file, Set<String> fileNames, Container<Object, Row> container) {
+    try (InputStream stream = file.getInputStream()) {
+      return BlobUtils.readZipEntries(
+          stream,
+          fileNames,
+          container,
+          GWSettingInfo.getBlobUploadMaxEntrySize(),
+          GWSettingInfo.getBlobUploadBufferSize());
+    } catch (GWBadRequestException ex) {
+      throw ex;
+    } catch (Exception ex) {
+      logger.error(ex.getMessage(), ex);
+      throw new GWException(Messages.EXTRACT_FILE_INVALID);
+    }
+  }
+
+  /**
+   * Get the names of the BLOB data files referenced by the rows.
+   *
+   * @param input list of rows
+   * @param containerInfo container information
+   * @return names of the files
+   */
+  private static Set<String> getBlobFileNames(
+      List<List<Object>> input, ContainerInfo containerInfo) {
+    Set<String> fileNames = new HashSet<>();
+    for (List<Object> values : input) {
+      if (values == null) {
+        continue;
+      }
+      int columnCount = Math.min(values.size(), containerInfo.getColumnCount());
+      for (int i = 0; i < columnCount; i++) {
+        Object value = values.get(i);
+        if (containerInfo.getColumnInfo(i).getType() == GSType.BLOB && value instanceof String) {
+          fileNames.add((String) value);
+        }
+      }
+    }
+    return fileNames;
+  }
+
   /**
    * Set value for row.
    *
@@ -314,6 +498,8 @@ public class BlobHandleServiceImpl implements BlobHandleService {
    * @param containerInfo container infoRmation
    * @param rowSize size of row
    * @param rowMaxSize max size of rows
+   * @param filePath directory where the zip file is extracted, null if it is read in memory
+   * @param blobs BLOB data read in memory by file name, null if the zip file is extracted
    * @return size of rows
    * @throws GSException internal server exception
    * @throws UnsupportedEncodingException exception when encoding data type {@link String}
@@ -325,7 +511,8 @@ public class BlobHandleServiceImpl implements BlobHandleService {
       ContainerInfo containerInfo,
       long rowSize,
       long rowMaxSize,
-      String filePath)
+      String filePath,
+      Map<String, Blob> blobs)
       throws GSException {
 
     if (values == null || values.size() != containerInfo.getColumnCount()) {
@@ -335,15 +522,13 @@ public class BlobHandleServiceImpl implements BlobHandleService {
     int i = 0;
     for (Object value : values) {
       try {
-        rowSize +=
-            webApiServiceImpl.setRowValue(
-                container,
-                row,
-                containerInfo.getColumnInfo(i).getType(),
-                value,
-                i++,
-                true,
-                filePath);
+        GSType type = containerInfo.getColumnInfo(i).getType();
+        if (blobs != null && type == GSType.BLOB) {
+          setBlobValue(row, value, i++, blobs);
+        } else {
+          rowSize +=
+              webApiServiceImpl.setRowValue(container, row, type, value, i++, true, filePath);
+        }
       } catch (Exception e) {
         throw new GWBadRequestException(e.getMessage());
       }
@@ -354,4 +539,30 @@ public class BlobHandleServiceImpl implements BlobHandleService {
     rows.add(row);
     return rowSize;
   }
+
+  /**
+   * Set the BLOB data file named by the value to a BLOB column.
+   *
+   * @param row row need set value
+   * @param value name of the file
+   * @param columnNum index of the column
+   * @param blobs BLOB data read in memory by file name
+   * @throws GSException internal server exception
+   */
+  private static void setBlobValue(Row row, Object value, int columnNum, Map<String, Blob> blobs)
+      throws GSException {
+    if (!(value instanceof String)) {
+      throw new GWException("Can not read blob file.");
+    }
+    String fileName = (String) value;
+    if (fileName.trim().isEmpty()) {
+      row.setNull(columnNum);
+      return;
+    }
+    Blob blob = blobs.get(fileName);
+    if (blob == null) {
+      throw new GWException(Messages.FILE_BLOB_NOT_FOUND + ": " + value);
+    }
+    row.setBlob(columnNum, blob);
+  }
 }
@@ -25,8 +25,6 @@ import com.toshiba.mwcloud.gs.GridStore;
 import com.toshiba.mwcloud.gs.Row;
 import com.toshiba.mwcloud.gs.RowKeyPredicate;
 import com.toshiba.mwcloud.gs.TimeUnit;
-import com.toshiba.mwcloud.gs.experimental.ExperimentalTool;
-import com.toshiba.mwcloud.gs.experimental.ExtendedContainerInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWBulkMultipleContainerInput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWBulkMultipleContainerOuput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWBulkPutRow;
@@ -36,12 +34,18 @@ import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWNotFoundException;
 import com.toshiba.mwcloud.gs.tools.webapi.service.BulkMultipleContainerService;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache.ContainerMetadata;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.ConversionUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.CountCache;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.DateFormatUtils;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWSettingInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWUser;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStoreUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.IngestionQueue;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Messages;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.Validation;
 import java.io.UnsupportedEncodingException;
 import java.sql.SQLException;
 import java.text.ParseException;
@@ -49,8 +53,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -76,10 +82,11 @@ public class BulkMultipleContainerServiceImpl implements BulkMultipleContainerSe
         GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword()); ) {
 
       Map<String, RowKeyPredicate<?>> predMap = new HashMap<String, RowKeyPredicate<?>>();
-      setRowKeyPredicate(bulkMultipleContainerInput, gridStore, predMap);
-      List<GWBulkMultipleContainerOuput> results = new ArrayList<>();
+      Map<String, ContainerRequest> requests =
+          setRowKeyPredicate(bulkMultipleContainerInput, gridStore, cluster, database, predMap);
+      List<GWBulkMultipleContainerOuput> results = new ArrayList<>(requests.size());
       Map<String, List<Row>> outMap = gridStore.multiGet(predMap);
-      getResultRowsMultipleContainers(bulkMultipleContainerInput, gridStore, results, outMap);
+      getResultRowsMultipleContainers(requests, results, outMap);
       return results;
     } catch (GSException gsException) {
       logger.error(gsException.getMessage(), gsException);
@@ -90,82 +97,72 @@ public class BulkMultipleContainerServiceImpl implements BulkMultipleContainerSe
     }
   }
 
+  /**
+   * Convert the rows of each container in the order of the request. Only the rows between offset
+   * and limit are visited, and the rows of a container are released once they are converted.
+   *
+   * @param requests the request and the schema of each container, by container name
+   * @param results list to add the result of each container to
+   * @param outMap rows of each container returned by {@link GridStore#multiGet(Map)}
+   * @throws GSException internal server exception
+   * @throws UnsupportedEncodingException exception when encoding data type {@link String}
+   */
   private void getResultRowsMultipleContainers(
-      List<GWBulkMultipleContainerInput> bulkMultipleContainerInput,
-      GridStore gridStore,
+      Map<String, ContainerRequest> requests,
       List<GWBulkMultipleContainerOuput> results,
       Map<String, List<Row>> outMap)
-      throws GSException, SQLException, UnsupportedEncodingException {
+      throws GSException, UnsupportedEncodingException {
 
     long rowMaxSize = GWSettingInfo.getMaxGetRowSize();
     long totalSize = 0;
-    for (Map.Entry<String, List<Row>> entry : outMap.entrySet()) {
+    for (Map.Entry<String, ContainerRequest> entry : requests.entrySet()) {
       long rowSize = 0;
       String containerName = entry.getKey();
+      GWBulkMultipleContainerInput bulkMultipleContainer = entry.getValue().input;
+      ContainerInfo containerInfo = entry.getValue().containerInfo;
 
-      // Find last element match filter
-      Collections.reverse(bulkMultipleContainerInput);
-      GWBulkMultipleContainerInput bulkMultipleContainer =
-          bulkMultipleContainerInput
-              .stream()
-              .filter(bulk -> containerName.equals(bulk.getName()))
-              .findAny()
-              .orElse(null);
-
+      List<Row> rows = outMap.remove(containerName);
+      if (rows == null) {
+        rows = Collections.emptyList();
+      }
       int offset = bulkMultipleContainer.getOffset();
       int limit = Math.min(bulkMultipleContainer.getLimit(), GWSettingInfo.getMaxLimit());
-      int total = entry.getValue().size();
+      int total = rows.size();
 
       GWBulkMultipleContainerOuput containerOuput =
           initContainerOuput(containerName, total, limit, offset);
+      containerOuput.setColumns(getColumnInfo(containerInfo));
 
-      ContainerInfo containerInfo = gridStore.getContainerInfo(containerName);
-      List<GWTQLColumnInfo> columnInfoAll = getColumnInfo(containerInfo);
-
-      List<List<Object>> rowsResult = new ArrayList<>();
-      if (offset >= total) {
-        containerOuput.setResults(rowsResult);
-        containerOuput.setColumns(columnInfoAll);
-        results.add(containerOuput);
-        continue;
+      int columnCount = containerInfo.getColumnCount();
+      GSType[] types = new GSType[columnCount];
+      for (int colNo = 0; colNo < columnCount; ++colNo) {
+        types[colNo] = containerInfo.getColumnInfo(colNo).getType();
       }
 
-      int rowNumber = 0;
-
-      for (Row row : entry.getValue()) {
-        int columnCount = row.getSchema().getColumnCount();
+      int end = (int) Math.min(total, (long) offset + limit);
+      List<Row> page = offset < end ? rows.subList(offset, end) : Collections.<Row>emptyList();
+      List<List<Object>> rowsResult = new ArrayList<>(page.size());
+      for (Row row : page) {
         List<Object> list = new ArrayList<Object>(columnCount);
-        if ((rowNumber >= offset) && (rowNumber < offset + limit)) {
-          for (int colNo = 0; colNo < columnCount; ++colNo) {
-            long size = 0;
-            GSType type = containerInfo.getColumnInfo(colNo).getType();
-            if (type == GSType.TIMESTAMP) {
-              size = webApiServiceImpl.stringifyTimestamp(row, colNo, list);
-            } else {
-              size =
+        for (int colNo = 0; colNo < columnCount; ++colNo) {
+          long size = 0;
+          if (types[colNo] == GSType.TIMESTAMP) {
+            size = webApiServiceImpl.stringifyTimestamp(row, colNo, list);
+          } else {
+            size =
                 webApiServiceImpl.stringify(
-                    list,
-                    row.getValue(colNo),
-                    type,
-                    false,
-                    null,
-                    null,
-                    null,
-                    null);
-            }
-            rowSize += size;
-            totalSize += size;
+                    list, row.getValue(colNo), types[colNo], false, null, null, null, null);
           }
-          if (rowSize > rowMaxSize || totalSize > GWSettingInfo.getMaxTotalResponseSize()) {
-            throw new GWBadRequestException(Messages.GET_BULK_ROWS_CONTAINER_TOO_MANY);
-          }
-          rowsResult.add(list);
+          rowSize += size;
+          totalSize += size;
+        }
+        if (rowSize > rowMaxSize || totalSize > GWSettingInfo.getMaxTotalResponseSize()) {
+          throw new GWBadRequestException(Messages.GET_BULK_ROWS_CONTAINER_TOO_MANY);
         }
-        ++rowNumber;
+        rowsResult.add(list);
       }
 
       containerOuput.setResults(rowsResult);
-      containerOuput.setColumns(columnInfoAll);
       results.add(containerOuput);
     }
   }
@@ -195,17 +192,32 @@ public class BulkMultipleContainerServiceImpl implements BulkMultipleContainerSe
     return columnInfoAll;
   }
 
-  private void setRowKeyPredicate(
+  /**
+   * Create the row key predicate of each container. When a container is specified more than once,
+   * the last one is used.
+   *
+   * @return the request and the schema of each container by container name, in the order of the
+   *     request
+   */
+  private Map<String, ContainerRequest> setRowKeyPredicate(
       List<GWBulkMultipleContainerInput> bulkMultipleContainerInput,
       GridStore gridStore,
+      String cluster,
+      String database,
       Map<String, RowKeyPredicate<?>> predMap)
       throws GSException, ParseException {
+    Map<String, ContainerRequest> requests = new LinkedHashMap<String, ContainerRequest>();
     ContainerInfo containerInfo;
     for (GWBulkMultipleContainerInput bulkMultipleContainer : bulkMultipleContainerInput) {
       String containerName = bulkMultipleContainer.getName();
       validateBulkMultipleContainerInput(bulkMultipleContainer);
-      containerInfo = gridStore.getContainerInfo(containerName);
-      checkContainerExist(gridStore, containerName, containerInfo);
+      ContainerMetadata metadata =
+          ContainerMetadataCache.get(gridStore, cluster, database, containerName);
+      if (metadata == null) {
+        throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
+      }
+      containerInfo = metadata.getContainerInfo();
+      requests.put(containerName, new ContainerRequest(bulkMultipleContainer, containerInfo));
       List<Integer> listKeyColumn = containerInfo.getRowKeyColumnList();
       if (listKeyColumn.size() != 1) {
         RowKeyPredicate<?> predicate = RowKeyPredicate.create(containerInfo);
@@ -216,6 +228,7 @@ public class BulkMultipleContainerServiceImpl implements BulkMultipleContainerSe
         setKeyValues(bulkMultipleContainer, columnType, predMap);
       }
     }
+    return requests;
   }
 
   private void setKeyValues(
@@ -300,15 +313,6 @@ public class BulkMultipleContainerServiceImpl implements BulkMultipleContainerSe
     }
   }
 
-  private void checkContainerExist(
-      GridStore gridStore, String container, ContainerInfo containerInfo) throws GSException {
-    ExtendedContainerInfo extendContainerInfo =
-        ExperimentalTool.getExtendedContainerInfo(gridStore, container);
-    if (extendContainerInfo == null || containerInfo == null) {
-      throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
-    }
-  }
-
   @Override
   public List<GWBulkPutRowOutput> putRowsMultipleContainers(
       String authorization, String cluster, String database, List<GWBulkPutRow> input)
@@ -321,34 +325,15 @@ public class BulkMultipleContainerServiceImpl implements BulkMultipleContainerSe
         GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword()); ) {
 
       Map<String, List<Row>> paramMap = new HashMap<String, List<Row>>();
-
-      List<GWBulkPutRowOutput> output = new ArrayList<GWBulkPutRowOutput>();
-
-      long rowsize = 0;
-      long rowMaxSize = GWSettingInfo.getMaxPutRowSize();
-      for (GWBulkPutRow inputContainer : input) {
-        validatePutRows(inputContainer);
-        int rowNumber = 1;
-        String containerName = inputContainer.getContainerName();
-
-        ContainerInfo containerInfo = gridStore.getContainerInfo(containerName);
-        if (null == containerInfo) {
-          throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
-        }
-        output.add(new GWBulkPutRowOutput(containerName, inputContainer.getRows().size()));
-        try (Container<Object, Row> cont = gridStore.getContainer(containerName); ) {
-          List<Row> listRows = new ArrayList<Row>(inputContainer.getRows().size());
-
-          for (List<Object> rows : inputContainer.getRows()) {
-            rowsize =
-                webApiServiceImpl.setRowValue(
-                    rows, listRows, cont, containerInfo, rowNumber, rowsize, rowMaxSize);
-            rowNumber++;
-          }
-          paramMap.put(containerName, listRows);
+      List<GWBulkPutRowOutput> output = convertRows(gridStore, cluster, database, input, paramMap);
+      try {
+        gridStore.multiPut(paramMap);
+      } finally {
+        // Rows may have been put even if an error occurred
+        for (String containerName : paramMap.keySet()) {
+          CountCache.invalidate(cluster, database, containerName);
         }
       }
-      gridStore.multiPut(paramMap);
       return output;
 
     } catch (GSException gsException) {
@@ -357,6 +342,94 @@ public class BulkMultipleContainerServiceImpl implements BulkMultipleContainerSe
     }
   }
 
+  @Override
+  public List<GWBulkPutRowOutput> enqueueRowsMultipleContainers(
+      String authorization, String cluster, String database, List<GWBulkPutRow> input, String ack)
+      throws GSException, UnsupportedEncodingException {
+
+    Validation.validateAck(ack);
+    if (!IngestionQueue.isEnabled()) {
+      return putRowsMultipleContainers(authorization, cluster, database, input);
+    }
+    logger.info("enqueueRows : cluster=" + cluster + " database=" + database + " ack=" + ack);
+
+    GWUser user = GWUser.getUserfromAuthorization(authorization);
+    Map<String, List<Row>> paramMap = new HashMap<String, List<Row>>();
+    List<GWBulkPutRowOutput> output;
+    try (GridStore gridStore =
+        GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword()); ) {
+      output = convertRows(gridStore, cluster, database, input, paramMap);
+    }
+
+    // The values are kept for the spill file of the queue
+    Map<String, List<List<Object>>> values = new HashMap<String, List<List<Object>>>();
+    for (GWBulkPutRow inputContainer : input) {
+      values.put(inputContainer.getContainerName(), inputContainer.getRows());
+    }
+    Future<Void> future =
+        IngestionQueue.enqueue(
+            cluster,
+            database,
+            user.getUsername(),
+            user.getPassword(),
+            paramMap,
+            values,
+            Constants.ACK_ENQUEUE.equals(ack));
+    if (Constants.ACK_COMMIT.equals(ack)) {
+      IngestionQueue.await(future);
+    }
+    return output;
+  }
+
+  /**
+   * Convert the rows of each container with its schema.
+   *
+   * @param gridStore a GridStore object of the cluster and database
+   * @param cluster name of cluster
+   * @param database name of database
+   * @param input a {@link List} of {@link GWBulkPutRow}
+   * @param paramMap map to put the converted rows to by container name
+   * @return {@link List} of {@link GWBulkPutRowOutput}
+   * @throws GSException internal server exception
+   * @throws UnsupportedEncodingException exception when encoding data type {@link String}
+   */
+  private List<GWBulkPutRowOutput> convertRows(
+      GridStore gridStore,
+      String cluster,
+      String database,
+      List<GWBulkPutRow> input,
+      Map<String, List<Row>> paramMap)
+      throws GSException, UnsupportedEncodingException {
+    List<GWBulkPutRowOutput> output = new ArrayList<GWBulkPutRowOutput>();
+
+    long rowsize = 0;
+    long rowMaxSize = GWSettingInfo.getMaxPutRowSize();
+    for (GWBulkPutRow inputContainer : input) {
+      validatePutRows(inputContainer);
+      int rowNumber = 1;
+      String containerName = inputContainer.getContainerName();
+
+      ContainerMetadata metadata =
+          ContainerMetadataCache.get(gridStore, cluster, database, containerName);
+      if (null == metadata) {
+        throw new GWNotFoundException(Messages.CONTAINER_NOT_EXISTED);
+      }
+      output.add(new GWBulkPutRowOutput(containerName, inputContainer.getRows().size()));
+      try (Container<Object, Row> cont = gridStore.getContainer(containerName); ) {
+        List<Row> listRows = new ArrayList<Row>(inputContainer.getRows().size());
+
+        for (List<Object> rows : inputContainer.getRows()) {
+          rowsize =
+              webApiServiceImpl.setRowValue(
+                  rows, listRows, cont, metadata, rowNumber, rowsize, rowMaxSize);
+          rowNumber++;
+        }
+        paramMap.put(containerName, listRows);
+      }
+    }
+    return output;
+  }
+
   private void validatePutRows(GWBulkPutRow inputContainer) {
     String container = inputContainer.getContainerName();
     if (container == null || container.trim().isEmpty()) {
@@ -379,4 +452,16 @@ public class BulkMultipleContainerServiceImpl implements BulkMultipleContainerSe
       throw new GWBadRequestException(Messages.OFFSET_FIELD_INVALID);
     }
   }
+
+  /** Request of rows of one container and the schema of the container. */
+  private static final class ContainerRequest {
+
+    private final GWBulkMultipleContainerInput input;
+    private final ContainerInfo containerInfo;
+
+    ContainerRequest(GWBulkMultipleContainerInput input, ContainerInfo containerInfo) {
+      this.input = input;
+      this.containerInfo = containerInfo;
+    }
+  }
 }
@@ -24,11 +24,17 @@ import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.SqlDdlDclOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.SqlUpdateOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ArrowResultWriter;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.ConnectionUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.CountCache;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWSettingInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWUser;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStorePool;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.JdbcConnectionPool;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Messages;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -92,6 +98,9 @@ public class ExecuteSqlServiceImpl implements ExecuteSqlService {
     }
     catch (SQLException e) {
       throw e;
+    } finally {
+      // Rows may have been updated even if an error occurred
+      CountCache.invalidate(cluster, database);
     }
 
     long end = System.nanoTime();
@@ -156,6 +165,12 @@ public class ExecuteSqlServiceImpl implements ExecuteSqlService {
         result.add(executeDdlAndDcl(statement, sqlInput));
       }
     }
+    // Users may have been dropped or altered, do not reuse pooled sessions
+    GridStorePool.clear(cluster);
+    JdbcConnectionPool.clear(cluster);
+    // Tables may have been created, dropped or altered
+    ContainerMetadataCache.invalidate(cluster, database);
+    CountCache.invalidate(cluster, database);
 
     long end = System.nanoTime();
     logger.debug("executeDDLs : time=" + (end - start) / 1000000f);
@@ -207,6 +222,9 @@ public class ExecuteSqlServiceImpl implements ExecuteSqlService {
         result.add(executeDdlAndDcl(statement, sqlInput));
       }
     }
+    // Users and privileges may have changed, do not reuse pooled sessions
+    GridStorePool.clear(cluster);
+    JdbcConnectionPool.clear(cluster);
 
     long end = System.nanoTime();
     logger.debug("executeDCLs : time=" + (end - start) / 1000000f);
@@ -231,6 +249,9 @@ public class ExecuteSqlServiceImpl implements ExecuteSqlService {
       for (GWSQLInput sqlInput : listDmlInput) {
         result.add(executeSql(statement, sqlInput));
       }
+    } finally {
+      // Rows may have been updated even if an error occurred
+      CountCache.invalidate(cluster, database);
     }
 
     long end = System.nanoTime();
@@ -240,10 +261,23 @@ public class ExecuteSqlServiceImpl implements ExecuteSqlService {
 
   @Override
   public List<GWSQLOutput> executeDmlQuery(String authorization, String cluster, String database,
-      List<GWSQLInput> listSQLInput) throws GSException, SQLException, UnsupportedEncodingException {
+      List<GWSQLInput> listSQLInput, boolean parallel)
+      throws GSException, SQLException, UnsupportedEncodingException {
     validateInput(listSQLInput);
     validateSqlByType(listSQLInput,DML_QUERY_REGEX);
+    if (parallel) {
+      return webAPIServiceImpl.executeSQLsInParallel(authorization, cluster, database, listSQLInput);
+    }
     return webAPIServiceImpl.executeSQLs(authorization, cluster, database, listSQLInput);
   }
 
+  @Override
+  public void writeDmlQueryArrow(String authorization, String cluster, String database,
+      List<GWSQLInput> listSQLInput, ArrowResultWriter writer)
+      throws GSException, SQLException, IOException {
+    validateInput(listSQLInput);
+    validateSqlByType(listSQLInput,DML_QUERY_REGEX);
+    webAPIServiceImpl.writeSQLsArrow(authorization, cluster, database, listSQLInput, writer);
+  }
+
 }
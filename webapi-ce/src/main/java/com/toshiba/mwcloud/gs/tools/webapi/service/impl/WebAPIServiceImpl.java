@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.sql.Blob;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -35,13 +36,35 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import org.apache.arrow.vector.types.pojo.Field;
 
 
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
 import com.toshiba.mwcloud.gs.AggregationResult;
 import com.toshiba.mwcloud.gs.ColumnInfo;
 import com.toshiba.mwcloud.gs.Container;
@@ -53,19 +76,29 @@ import com.toshiba.mwcloud.gs.GSType;
 import com.toshiba.mwcloud.gs.Geometry;
 import com.toshiba.mwcloud.gs.GridStore;
 import com.toshiba.mwcloud.gs.IndexType;
+import com.toshiba.mwcloud.gs.PartitionController;
 import com.toshiba.mwcloud.gs.Query;
 import com.toshiba.mwcloud.gs.Row;
 import com.toshiba.mwcloud.gs.RowSet;
 import com.toshiba.mwcloud.gs.TimeUnit;
 import com.toshiba.mwcloud.gs.TimestampUtils;
-import com.toshiba.mwcloud.gs.experimental.ExperimentalTool;
 import com.toshiba.mwcloud.gs.experimental.ExtendedContainerInfo;
 import com.toshiba.mwcloud.gs.tools.common.data.MetaContainerFileIO;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerListOuput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWContainerStatus;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDeleteRowBatch;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDeleteRowsOutput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDownsampleColumn;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDownsampleInput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWDownsampleOutput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowBatch;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowError;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowOutput;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWPutRowStreamOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWQueryParams;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWRangeQueryInput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLColumnInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLInput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLOutput;
@@ -76,20 +109,34 @@ import com.toshiba.mwcloud.gs.tools.webapi.dto.GWTQLOutput;
 import com.toshiba.mwcloud.gs.tools.webapi.dto.GWTQLOutputAggregation;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWExceptionHandler;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWNotFoundException;
 import com.toshiba.mwcloud.gs.tools.webapi.exception.GWResourceConflictedException;
 import com.toshiba.mwcloud.gs.tools.webapi.service.WebAPIService;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ArrowResultWriter;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.BlobZipWriter;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.ConnectionThread;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.ConnectionUtils;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache.ContainerMetadata;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.ConversionUtils;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.ConversionUtils.TQLStatementType;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.CountCache;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.DateFormatUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.Downsampler;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.GWJsonParser;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWSettingInfo;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GWUser;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStorePool;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.GridStoreUtils;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.IngestionQueue;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Messages;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ParallelExecutor;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.RowConverter;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.RowCursor;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.RowStreamReader;
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Validation;
 
 import ch.qos.logback.classic.Logger;
@@ -130,6 +177,8 @@ public class WebAPIServiceImpl implements WebAPIService {
 					throw new GWException(e.getMessage());
 				}
 				if (thread.isAlive()) {
+					// The session is still in use by the connection thread
+					GridStorePool.invalidate(gridStore);
 					throw new GWException("Exceeded timeout");
 				} else {
 					Object result = connectionThread.getResult();
@@ -162,11 +211,11 @@ public class WebAPIServiceImpl implements WebAPIService {
 
 	@Override
 	public GWContainerListOuput getListContainers(String authorization, String cluster, String database,
-			ContainerType type, int limit, Integer offset, GWSortCondition sort) throws GSException {
+			ContainerType type, String name, int limit, Integer offset, GWSortCondition sort) throws GSException {
 
 		if (GWSettingInfo.getLogger().isInfoEnabled()) {
 			logger.info("getListContainers : cluster=" + cluster + " database=" + database + " containertype=" + type
-					+ " limit=" + limit + " offset=" + offset + " sort=" + sort);
+					+ " name=" + name + " limit=" + limit + " offset=" + offset + " sort=" + sort);
 		}
 		long start = System.nanoTime();
 
@@ -185,30 +234,27 @@ public class WebAPIServiceImpl implements WebAPIService {
 			if (limit < 0) {
 				throw new GWBadRequestException("'limit' is invalid");
 			}
+			Pattern namePattern = null;
+			if (name != null && !name.isEmpty()) {
+				namePattern = ConversionUtils.likeToPattern(name);
+			}
 
-			int partitionCount = gridStore.getPartitionController().getPartitionCount();
-			List<String> listContainer = new ArrayList<>();
+			PartitionController partitionController = gridStore.getPartitionController();
+			int partitionCount = partitionController.getPartitionCount();
+			partitionController.close();
+			// Release the session before the partitions are read by other sessions
+			gridStore.close();
+			gridStore = null;
 
-			for (int i = 0; i < partitionCount; i++) {
-				List<String> temp = new ArrayList<String>();
-				temp = gridStore.getPartitionController().getContainerNames(i, 0L, null);
-				if (null == type) {
-					for (int j = 0; j < temp.size(); j++) {
-						listContainer.add(temp.get(j));
-					}
-				} else {
-					for (int j = 0; j < temp.size(); j++) {
-						if (gridStore.getContainerInfo(temp.get(j)).getType() == type) {
-							listContainer.add(temp.get(j));
-						}
-					}
-				}
+			List<String> listContainer = getContainerNames(cluster, database, user, partitionCount, namePattern);
+			Collections.sort(listContainer);
+			if (type != null) {
+				listContainer = filterContainersByType(cluster, database, user, listContainer, type);
 			}
 			int total = listContainer.size();
 			containerListOutput.setTotal(total);
 			containerListOutput.setLimit(Math.min(limit, GWSettingInfo.getMaxLimit()));
 			containerListOutput.setOffset(offset);
-			Collections.sort(listContainer);
 			if (sort == GWSortCondition.DESC) {
 				Collections.reverse(listContainer);
 			}
@@ -251,6 +297,102 @@ public class WebAPIServiceImpl implements WebAPIService {
 		}
 	}
 
+	/**
+	 * Get the names of the containers in every partition. The partitions are
+	 * divided among up to maxParallelism sessions which read them
+	 * concurrently.
+	 *
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param user user of the request
+	 * @param partitionCount number of partitions
+	 * @param namePattern pattern of the names to return, or null for all names
+	 * @return the names of the containers, not sorted
+	 * @throws GSException GSException
+	 */
+	private List<String> getContainerNames(final String cluster, final String database, final GWUser user,
+			int partitionCount, final Pattern namePattern) throws GSException {
+		int taskCount = Math.max(1, Math.min(partitionCount, GWSettingInfo.getMaxParallelism()));
+		List<Callable<List<String>>> tasks = new ArrayList<>(taskCount);
+		for (int task = 0; task < taskCount; task++) {
+			final int first = task;
+			final int step = taskCount;
+			final int last = partitionCount;
+			tasks.add(() -> {
+				List<String> names = new ArrayList<String>();
+				try (GridStore taskStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+						user.getPassword());
+						PartitionController controller = taskStore.getPartitionController()) {
+					for (int i = first; i < last; i += step) {
+						for (String containerName : controller.getContainerNames(i, 0L, null)) {
+							if (namePattern == null || namePattern.matcher(containerName).matches()) {
+								names.add(containerName);
+							}
+						}
+					}
+				}
+				return names;
+			});
+		}
+
+		List<String> listContainer = new ArrayList<String>();
+		for (List<String> names : invokeAll(cluster, user, tasks)) {
+			listContainer.addAll(names);
+		}
+		return listContainer;
+	}
+
+	/**
+	 * Keep the containers of a type. The types are read in batches by up to
+	 * maxParallelism sessions, from {@link ContainerMetadataCache} if possible.
+	 *
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param user user of the request
+	 * @param names names of the containers
+	 * @param type type of container
+	 * @return the names of the containers of the type, in the same order
+	 * @throws GSException GSException
+	 */
+	private List<String> filterContainersByType(final String cluster, final String database, final GWUser user,
+			List<String> names, final ContainerType type) throws GSException {
+		int taskCount = Math.max(1, Math.min(names.size(), GWSettingInfo.getMaxParallelism()));
+		int batchSize = (names.size() + taskCount - 1) / taskCount;
+		List<Callable<List<String>>> tasks = new ArrayList<>(taskCount);
+		for (int from = 0; from < names.size(); from += batchSize) {
+			final List<String> batch = names.subList(from, Math.min(names.size(), from + batchSize));
+			tasks.add(() -> {
+				List<String> matched = new ArrayList<String>();
+				try (GridStore taskStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+						user.getPassword())) {
+					for (String containerName : batch) {
+						if (ContainerMetadataCache.getContainerType(taskStore, cluster, database,
+								containerName) == type) {
+							matched.add(containerName);
+						}
+					}
+				}
+				return matched;
+			});
+		}
+
+		List<String> listContainer = new ArrayList<String>();
+		for (List<String> matched : invokeAll(cluster, user, tasks)) {
+			listContainer.addAll(matched);
+		}
+		return listContainer;
+	}
+
+	private <T> List<T> invokeAll(String cluster, GWUser user, List<? extends Callable<T>> tasks)
+			throws GSException {
+		try {
+			return ParallelExecutor.invokeAll(cluster + "/" + user.getUsername(), tasks);
+		} catch (ExecutionException e) {
+			ParallelExecutor.throwIfInstanceOf(e, GSException.class);
+			throw new GWException("Failed to get list of containers", e.getCause());
+		}
+	}
+
 	private long countResponseSize(List<String> limitedListContainer) throws GSException {
 		long coutSize = 0;
 
@@ -277,11 +419,11 @@ public class WebAPIServiceImpl implements WebAPIService {
 		GridStore gridStore = null;
 		try {
 			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
-			ContainerInfo containerInfo = gridStore.getContainerInfo(container);
-			if (null == containerInfo) {
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (null == metadata) {
 				throw new GWNotFoundException("Container not existed");
 			}
-			GWContainerInfo gwContainerInfo = ConversionUtils.convertToGWContainerInfo(containerInfo);
+			GWContainerInfo gwContainerInfo = ConversionUtils.convertToGWContainerInfo(metadata.getContainerInfo());
 			gridStore.close();
 			return gwContainerInfo;
 		} catch (GSException gsException) {
@@ -312,17 +454,7 @@ public class WebAPIServiceImpl implements WebAPIService {
 		long start = System.nanoTime();
 
 		GWUser user = GWUser.getUserfromAuthorization(authorization);
-		if (listTQLs == null || listTQLs.size() == 0) {
-			throw new GWBadRequestException("List of TQL is empty");
-		}
-		if (listTQLs.size() > GWSettingInfo.getMaxQueryNum()) {
-			throw new GWBadRequestException("Exceed maximum of TQLs that can be executed");
-		}
-
-		// Validate list TQLs
-		for (int i = 0; i < listTQLs.size(); i++) {
-			Validation.validateGWTQLInput(listTQLs.get(i));
-		}
+		validateTQLs(listTQLs);
 
 		GridStore gridStore = null;
 		try {
@@ -335,7 +467,9 @@ public class WebAPIServiceImpl implements WebAPIService {
 				String statement = listTQLs.get(i).getStmt();
 				Boolean hasPartialExecution = listTQLs.get(i).getHasPartialExecution();
 				ArrayList<String> selectedFields = listTQLs.get(i).getColumns();
-				Object gwTQLOutput = executeTQL(gridStore, container, statement, selectedFields, hasPartialExecution);
+				String totalMode = listTQLs.get(i).getTotalMode();
+				Object gwTQLOutput = executeTQL(gridStore, cluster, database, container, statement, selectedFields,
+						hasPartialExecution, totalMode);
 				result.add(gwTQLOutput);
 				// Add size of each result that is not Aggregation to totalSize
 				if (!(gwTQLOutput instanceof GWTQLOutputAggregation)) {
@@ -366,15 +500,191 @@ public class WebAPIServiceImpl implements WebAPIService {
 		}
 	}
 
-	private Object executeTQL(GridStore gridStore, String container, String statement, ArrayList<String> selectedFields,
-			Boolean hasPartialExecution)
+	@Override
+	public List<Object> executeTQLsInParallel(final String authorization, final String cluster,
+			final String database, List<GWTQLInput> listTQLs)
+			throws GSException, GWException, UnsupportedEncodingException, SQLException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("executeTQLsInParallel : cluster=" + cluster + " database=" + database);
+		}
+		long start = System.nanoTime();
+
+		final GWUser user = GWUser.getUserfromAuthorization(authorization);
+		validateTQLs(listTQLs);
+
+		// Size of the results shared by all the queries
+		final AtomicLong totalSize = new AtomicLong();
+		List<Callable<Object>> tasks = new ArrayList<>(listTQLs.size());
+		for (final GWTQLInput tql : listTQLs) {
+			tasks.add(() -> {
+				// GridStore is not thread-safe, every query uses its own session
+				try (GridStore gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+						user.getPassword())) {
+					Object gwTQLOutput = executeTQL(gridStore, cluster, database, tql.getName(), tql.getStmt(),
+							tql.getColumns(), tql.getHasPartialExecution(), tql.getTotalMode());
+					// Add size of each result that is not Aggregation to totalSize
+					if (!(gwTQLOutput instanceof GWTQLOutputAggregation)
+							&& totalSize.addAndGet(((GWTQLOutput) gwTQLOutput)
+									.getResponseSizeByte()) > GWSettingInfo.getMaxTotalResponseSize()) {
+						throw new GWBadRequestException("Too many result");
+					}
+					return gwTQLOutput;
+				}
+			});
+		}
+
+		try {
+			return ParallelExecutor.invokeAll(cluster + "/" + user.getUsername(), tasks);
+		} catch (ExecutionException e) {
+			ParallelExecutor.throwIfInstanceOf(e, GSException.class);
+			ParallelExecutor.throwIfInstanceOf(e, UnsupportedEncodingException.class);
+			ParallelExecutor.throwIfInstanceOf(e, SQLException.class);
+			throw new GWException("Failed to execute TQL", e.getCause());
+		} finally {
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("executeTQLsInParallel : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	@Override
+	public void streamTQLs(String authorization, String cluster, String database, List<GWTQLInput> listTQLs,
+			JsonGenerator generator) throws GSException, GWException, SQLException, IOException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("streamTQLs : cluster=" + cluster + " database=" + database);
+		}
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		validateTQLs(listTQLs);
+
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			generator.writeStartArray();
+			for (GWTQLInput tql : listTQLs) {
+				TQLQuery tqlQuery = queryTQL(gridStore, cluster, database, tql.getName(), tql.getStmt(),
+						tql.getColumns(), tql.getHasPartialExecution(), tql.getTotalMode());
+				writeTQLResult(tqlQuery, generator);
+			}
+			generator.writeEndArray();
+		} finally {
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("streamTQLs : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	@Override
+	public void writeTQLsArrow(String authorization, String cluster, String database, List<GWTQLInput> listTQLs,
+			ArrowResultWriter writer) throws GSException, GWException, SQLException, IOException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("writeTQLsArrow : cluster=" + cluster + " database=" + database);
+		}
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		validateTQLs(listTQLs);
+
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			for (GWTQLInput tql : listTQLs) {
+				TQLQuery tqlQuery = queryTQL(gridStore, cluster, database, tql.getName(), tql.getStmt(),
+						tql.getColumns(), tql.getHasPartialExecution(), tql.getTotalMode());
+				writeTQLResult(tqlQuery, writer);
+			}
+		} finally {
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("writeTQLsArrow : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	private void validateTQLs(List<GWTQLInput> listTQLs) {
+		if (listTQLs == null || listTQLs.size() == 0) {
+			throw new GWBadRequestException("List of TQL is empty");
+		}
+		if (listTQLs.size() > GWSettingInfo.getMaxQueryNum()) {
+			throw new GWBadRequestException("Exceed maximum of TQLs that can be executed");
+		}
+
+		// Validate list TQLs
+		for (int i = 0; i < listTQLs.size(); i++) {
+			Validation.validateGWTQLInput(listTQLs.get(i));
+		}
+	}
+
+	private Object executeTQL(GridStore gridStore, String cluster, String database, String container,
+			String statement, ArrayList<String> selectedFields, Boolean hasPartialExecution, String totalMode)
 			throws GSException, GWException, UnsupportedEncodingException, SQLException {
+		TQLQuery tqlQuery = queryTQL(gridStore, cluster, database, container, statement, selectedFields,
+				hasPartialExecution, totalMode);
+		GWTQLOutput result = tqlQuery.result;
+		ContainerInfo containerInfo = tqlQuery.containerInfo;
+		ArrayList<Integer> selectedColumns = tqlQuery.selectedColumns;
+		RowSet<?> rowSet = tqlQuery.rowSet;
+
+		List<Object> fetchResult = new ArrayList<>();
+		while (rowSet.hasNext()) {
+			fetchResult.add(rowSet.next());
+		}
+
+		// In case of aggregation result
+		if (fetchResult.size() > 0) {
+			Object object = fetchResult.get(0);
+			if (object instanceof AggregationResult) {
+				return toAggregationOutput((AggregationResult) object, rowSet);
+			}
+		}
+
+		// Convert TQL result to List<List<Object>>
+		if (selectedFields != null && selectedFields.size() > 0 && selectedColumns.size() == 0) {
+			result.setColumns(null);
+		} else if (selectedFields != null && selectedFields.size() > 0 && selectedColumns.size() != 0) {
+			result.setResults(getSelectedColumnsByTQL(fetchResult, selectedColumns, containerInfo, result));
+		} else {
+			result.setResults(rowSetToTqlResult(fetchResult, containerInfo, result));
+		}
+		return result;
+	}
+
+	/**
+	 * Check the container and columns of a TQL, count the total and execute it.
+	 * The rows are left in the returned row set.
+	 */
+	private TQLQuery queryTQL(GridStore gridStore, String cluster, String database, String container,
+			String statement, ArrayList<String> selectedFields, Boolean hasPartialExecution, String totalMode)
+			throws GSException, GWException {
 		GWTQLOutput result = new GWTQLOutput();
-		ExtendedContainerInfo extendedContainerInfo = ExperimentalTool.getExtendedContainerInfo(gridStore, container);
-		ContainerInfo containerInfo = gridStore.getContainerInfo(container);
-		if (null == extendedContainerInfo || null == containerInfo) {
+		ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+		if (null == metadata) {
 			throw new GWNotFoundException("Container not existed");
 		}
+		ExtendedContainerInfo extendedContainerInfo = metadata.getExtendedContainerInfo();
+		ContainerInfo containerInfo = metadata.getContainerInfo();
 
 		ArrayList<Integer> selectedColumns = new ArrayList<Integer>();
 		ArrayList<GWTQLColumnInfo> columns = new ArrayList<GWTQLColumnInfo>();
@@ -443,7 +753,9 @@ public class WebAPIServiceImpl implements WebAPIService {
 		}
 
 		// Set total
-		result.setTotal(countTotalOfBaseTQL(cont, statement));
+		Total total = countTotalOfBaseTQL(gridStore, cluster, database, container, cont, statement, totalMode);
+		result.setTotal(total.value);
+		result.setTotalMode(total.mode);
 
 		// Execute query
 		Query<?> query = cont.query(newStatement, null);
@@ -454,93 +766,203 @@ public class WebAPIServiceImpl implements WebAPIService {
 		}
 
 		RowSet<?> rowSet = query.fetch();
-		List<Object> fetchResult = new ArrayList<>();
-		while (rowSet.hasNext()) {
-			fetchResult.add(rowSet.next());
+		return new TQLQuery(result, containerInfo,
+				selectedFields != null && selectedFields.size() > 0 ? selectedColumns : null, rowSet);
+	}
+
+	private GWTQLOutputAggregation toAggregationOutput(AggregationResult aggregationResult, RowSet<?> rowSet)
+			throws GSException {
+		GWTQLOutputAggregation resultAggregation = new GWTQLOutputAggregation();
+		List<List<Object>> rows = new ArrayList<>();
+		GSType type = null;
+		TimeUnit precision = null;
+		if (aggregationResult.getDouble() != null) {
+			Object row = aggregationResult.getDouble();
+			List<Object> listObject = new ArrayList<>();
+			listObject.add(row);
+			rows.add(listObject);
+			type = GSType.DOUBLE;
+		} else if (aggregationResult.getTimestamp() != null) {
+			// AggregationResult has exactly 1 column
+			ColumnInfo columnInfo = rowSet.getSchema().getColumnInfo(0);
+			precision = columnInfo.getTimePrecision();
+			String timeStr = "";
+			if(MetaContainerFileIO.isPreciseColumn(columnInfo)) {
+				Timestamp timestamp = aggregationResult.getPreciseTimestamp();
+				timeStr = formatTimestamp(timestamp, precision);
+			} else {
+				Date timestamp = aggregationResult.getTimestamp();
+				timeStr = formatDate(timestamp);
+			}
+
+			List<Object> listObject = new ArrayList<>();
+			listObject.add(timeStr);
+			rows.add(listObject);
+			type = GSType.TIMESTAMP;
 		}
+		resultAggregation.setResults(rows);
+		GWTQLColumnInfo colInf = new GWTQLColumnInfo();
+		colInf.setName("aggregationResult");
+		colInf.setType(type);
+		colInf.setTimePrecision(precision);
+		List<GWTQLColumnInfo> colInfList = new ArrayList<>();
+		colInfList.add(colInf);
+		resultAggregation.setColumns(colInfList);
+		return resultAggregation;
+	}
 
-		// In case of aggregation result
-		if (fetchResult.size() > 0) {
-			Object object = fetchResult.get(0);
-			if (object instanceof AggregationResult) {
-				GWTQLOutputAggregation resultAggregation = new GWTQLOutputAggregation();
-				List<List<Object>> rows = new ArrayList<>();
-				GSType type = null;
-				TimeUnit precision = null;
-				if (((AggregationResult) object).getDouble() != null) {
-					Object row = ((AggregationResult) object).getDouble();
-					List<Object> listObject = new ArrayList<>();
-					listObject.add(row);
-					rows.add(listObject);
-					type = GSType.DOUBLE;
-				} else if (((AggregationResult) object).getTimestamp() != null) {
-					AggregationResult agg = (AggregationResult) object;
-					// AggregationResult has exactly 1 column
-					ColumnInfo columnInfo = rowSet.getSchema().getColumnInfo(0);
-					precision = columnInfo.getTimePrecision();
-					String timeStr = "";
-					if(MetaContainerFileIO.isPreciseColumn(columnInfo)) {
-						Timestamp timestamp = agg.getPreciseTimestamp();
-						timeStr = formatTimestamp(timestamp, precision);
-					} else {
-						Date timestamp = agg.getTimestamp();
-						timeStr = formatDate(timestamp);
-					}
+	/**
+	 * Write the result of a TQL in the same form as {@link GWTQLOutput} or
+	 * {@link GWTQLOutputAggregation}, converting one row at a time.
+	 */
+	private void writeTQLResult(TQLQuery tqlQuery, JsonGenerator generator)
+			throws GSException, GWException, UnsupportedEncodingException, SQLException, IOException {
+		GWTQLOutput result = tqlQuery.result;
+		RowSet<?> rowSet = tqlQuery.rowSet;
+		Object object = rowSet.hasNext() ? rowSet.next() : null;
+		if (object instanceof AggregationResult) {
+			generator.writeObject(toAggregationOutput((AggregationResult) object, rowSet));
+			return;
+		}
 
-					List<Object> listObject = new ArrayList<>();
-					listObject.add(timeStr);
-					rows.add(listObject);
-					type = GSType.TIMESTAMP;
-				}
-				resultAggregation.setResults(rows);
-				GWTQLColumnInfo colInf = new GWTQLColumnInfo();
-				colInf.setName("aggregationResult");
-				colInf.setType(type);
-				colInf.setTimePrecision(precision);
-				List<GWTQLColumnInfo> colInfList = new ArrayList<>();
-				colInfList.add(colInf);
-				resultAggregation.setColumns(colInfList);
-				return resultAggregation;
+		generator.writeStartObject();
+		if (tqlQuery.selectedColumns != null && tqlQuery.selectedColumns.size() == 0) {
+			generator.writeNullField("columns");
+			generator.writeNullField("results");
+		} else {
+			generator.writeObjectField("columns", result.getColumns());
+			generator.writeArrayFieldStart("results");
+			long rowsize = 0;
+			while (object != null) {
+				List<Object> list = new ArrayList<Object>();
+				rowsize += convertRow((Row) object, tqlQuery.containerInfo, tqlQuery.selectedColumns, list);
+				generator.writeObject(list);
+				object = rowSet.hasNext() ? rowSet.next() : null;
 			}
+			generator.writeEndArray();
+			result.setResponseSizeByte(rowsize);
 		}
+		generator.writeNumberField("offset", result.getOffset());
+		generator.writeNumberField("limit", result.getLimit());
+		generator.writeNumberField("total", result.getTotal());
+		generator.writeNumberField("responseSizeByte", result.getResponseSizeByte());
+		generator.writeStringField("totalMode", result.getTotalMode());
+		generator.writeEndObject();
+	}
 
-		// Convert TQL result to List<List<Object>>
-		if (selectedFields != null && selectedFields.size() > 0 && selectedColumns.size() == 0) {
-			result.setColumns(null);
-		} else if (selectedFields != null && selectedFields.size() > 0 && selectedColumns.size() != 0) {
-			result.setResults(getSelectedColumnsByTQL(fetchResult, selectedColumns, containerInfo, result));
-		} else {
-			result.setResults(rowSetToTqlResult(fetchResult, containerInfo, result));
+	/**
+	 * Write the result of a TQL as an Arrow stream, converting one row at a
+	 * time. The offset, limit and total are written in the metadata of the
+	 * schema.
+	 */
+	private void writeTQLResult(TQLQuery tqlQuery, ArrowResultWriter writer)
+			throws GSException, SQLException, IOException {
+		GWTQLOutput result = tqlQuery.result;
+		RowSet<?> rowSet = tqlQuery.rowSet;
+		Object object = rowSet.hasNext() ? rowSet.next() : null;
+		if (object instanceof AggregationResult) {
+			AggregationResult aggregationResult = (AggregationResult) object;
+			GWTQLColumnInfo column = toAggregationOutput(aggregationResult, rowSet).getColumns().get(0);
+			Object value = aggregationResult.getDouble();
+			if (column.getType() == GSType.TIMESTAMP) {
+				TimeUnit precision = column.getTimePrecision();
+				value = precision == TimeUnit.MICROSECOND || precision == TimeUnit.NANOSECOND
+						? aggregationResult.getPreciseTimestamp()
+						: aggregationResult.getTimestamp();
+			} else if (column.getType() == null) {
+				column.setType(GSType.DOUBLE);
+			}
+			writer.start(ArrowResultWriter.toFields(Collections.singletonList(column)), null);
+			writer.setValue(0, value);
+			writer.endRow();
+			writer.end();
+			return;
 		}
-		return result;
+
+		ArrayList<Integer> selectedColumns = tqlQuery.selectedColumns;
+		List<GWTQLColumnInfo> columns = selectedColumns != null && selectedColumns.size() == 0
+				? Collections.<GWTQLColumnInfo>emptyList()
+				: result.getColumns();
+		writer.start(ArrowResultWriter.toFields(columns),
+				toArrowMetadata(result.getOffset(), result.getLimit(), result.getTotal(), result.getTotalMode()));
+		while (object != null && !columns.isEmpty()) {
+			Row row = (Row) object;
+			for (int i = 0; i < columns.size(); i++) {
+				writer.setValue(i, row.getValue(selectedColumns != null ? selectedColumns.get(i) : i));
+			}
+			writer.endRow();
+			object = rowSet.hasNext() ? rowSet.next() : null;
+		}
+		writer.end();
+	}
+
+	/**
+	 * Create the metadata of an Arrow schema holding the values which the
+	 * JSON response has besides the rows.
+	 */
+	private static Map<String, String> toArrowMetadata(int offset, int limit, long total, String totalMode) {
+		Map<String, String> metadata = new LinkedHashMap<String, String>();
+		metadata.put("offset", String.valueOf(offset));
+		metadata.put("limit", String.valueOf(limit));
+		metadata.put("total", String.valueOf(total));
+		metadata.put("totalMode", totalMode);
+		return metadata;
 	}
 
 	/**
 	 * Count the total result from TQL without limit and offset option
 	 * 
+	 * @param gridStore a GridStore object
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param container name of container
 	 * @param cont container information
 	 * @param statement statement
-	 * @return total result from TQL
+	 * @param totalMode mode of counting the total rows
+	 * @return total result from TQL and the mode which produced it
 	 * @throws GSException GSException
 	 */
-	private long countTotalOfBaseTQL(Container<?, ?> cont, String statement) throws GSException {
-		long total = 0;
+	private Total countTotalOfBaseTQL(GridStore gridStore, String cluster, String database, String container,
+			Container<?, ?> cont, String statement, String totalMode) throws GSException {
 		TQLStatementType stmtType = ConversionUtils.checkStatementType(statement);
 		switch (stmtType) {
 		case SELECT_ALL:
 			String noLimitStmt = ConversionUtils.removeTQLLimitOffSet(statement);
 			String totalStmt = ConversionUtils.convertToCountTQL(noLimitStmt);
-			total = getRowsCount(cont, totalStmt);
-			break;
+			return countTotal(gridStore, cluster, database, container, cont, totalStmt, totalMode);
 		case AGGREGATION:
-			total = 1;
-			break;
+			return new Total(1, Constants.TOTAL_MODE_EXACT);
 		case TIME_SERIES_INTERPOLATION:
 		default:
-			total = -1;
+			return new Total(-1, Constants.TOTAL_MODE_SKIP);
 		}
+	}
 
-		return total;
+	/**
+	 * Count the rows of a TQL according to <code>totalMode</code>.
+	 * <ul>
+	 * <li>skip: the rows are not counted and the total is -1.</li>
+	 * <li>cached: a count cached by {@link CountCache} is returned if
+	 * available, otherwise the rows are counted as exact.</li>
+	 * <li>exact (default): the rows are counted and the count is cached.</li>
+	 * </ul>
+	 */
+	private Total countTotal(GridStore gridStore, String cluster, String database, String container,
+			Container<?, ?> cont, String statement, String totalMode) throws GSException {
+		String mode = totalMode != null ? totalMode.toLowerCase(Locale.ROOT) : Constants.TOTAL_MODE_EXACT;
+		if (Constants.TOTAL_MODE_SKIP.equals(mode)) {
+			return new Total(-1, Constants.TOTAL_MODE_SKIP);
+		}
+		if (Constants.TOTAL_MODE_CACHED.equals(mode)) {
+			Long cached = CountCache.get(gridStore, cluster, database, container, statement);
+			if (cached != null) {
+				return new Total(cached, Constants.TOTAL_MODE_CACHED);
+			}
+		}
+		long loadGeneration = CountCache.getGeneration();
+		long count = getRowsCount(cont, statement);
+		CountCache.put(cluster, database, container, statement, count, loadGeneration);
+		return new Total(count, Constants.TOTAL_MODE_EXACT);
 	}
 
 	private List<List<Object>> getSelectedColumnsByTQL(List<Object> fetchResult, ArrayList<Integer> selectedColumns,
@@ -553,26 +975,8 @@ public class WebAPIServiceImpl implements WebAPIService {
 		long rowMaxSize = GWSettingInfo.getMaxGetRowSize();
 		long rowsize = 0;
 		for (Object object : fetchResult) {
-			Row row = (Row) object;
 			List<Object> listObject = new ArrayList<Object>();
-			for (int colNo : selectedColumns) {
-				long size = 0;
-				GSType type = containerInfo.getColumnInfo(colNo).getType();
-				if (type == GSType.TIMESTAMP) {
-					size = stringifyTimestamp(row, colNo, listObject);
-				} else {
-					size = stringify(
-							listObject,
-							row.getValue(colNo),
-							type,
-							false,
-							null,
-							null,
-							null,
-							null);
-				}
-				rowsize += size;
-			}
+			rowsize += convertRow((Row) object, containerInfo, selectedColumns, listObject);
 			if (rowsize > rowMaxSize) {
 				throw new GWBadRequestException("Too many result");
 			}
@@ -599,12 +1003,12 @@ public class WebAPIServiceImpl implements WebAPIService {
 		GridStore gridStore = null;
 		try {
 			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
-		ExtendedContainerInfo extendContainerInfo =
-				ExperimentalTool.getExtendedContainerInfo(gridStore, container);
-			ContainerInfo containerInfo = gridStore.getContainerInfo(container);
-			if (extendContainerInfo == null || containerInfo == null) {
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (metadata == null) {
 				throw new GWNotFoundException("Container not existed");
 			}
+			ExtendedContainerInfo extendContainerInfo = metadata.getExtendedContainerInfo();
+			ContainerInfo containerInfo = metadata.getContainerInfo();
 			Container<Object, Row> cont = null;
 		switch (extendContainerInfo.getAttribute()) {
 		case SINGLE:
@@ -613,21 +1017,13 @@ public class WebAPIServiceImpl implements WebAPIService {
 				throw new GWNotFoundException("Container not existed");
 			}
 
-			Query<Row> query = cont.query(buildQueryString(container, queryParams));
+			RowCursor cursor = getRowCursor(containerInfo, queryParams);
+			result.setLimit(Math.min(queryParams.getLimit(), GWSettingInfo.getMaxLimit()));
+			Query<Row> query = cont.query(buildQueryString(container, queryParams, cursor));
 			RowSet<Row> rowSet = query.fetch();
-			List<List<Object>> rows = rowSetToTqlResult(rowSet, containerInfo);
+			List<List<Object>> rows = rowSetToTqlResult(rowSet, containerInfo, cursor, result);
 			result.setRows(rows);
-
-			List<GWTQLColumnInfo> columns = new ArrayList<GWTQLColumnInfo>(containerInfo.getColumnCount());
-			for (int i = 0; i < containerInfo.getColumnCount(); i++) {
-				GWTQLColumnInfo gwTQLColumnInfo = new GWTQLColumnInfo();
-				gwTQLColumnInfo.setName(containerInfo.getColumnInfo(i).getName());
-				gwTQLColumnInfo.setType(containerInfo.getColumnInfo(i).getType());
-				gwTQLColumnInfo.setTimePrecision(containerInfo.getColumnInfo(i).getTimePrecision());
-				columns.add(gwTQLColumnInfo);
-			}
-
-			result.setColumns(columns);
+			result.setColumns(getColumnInfoList(containerInfo));
 			break;
 		case LARGE:
 			throw new GWBadRequestException("Unsupported partition table type");
@@ -635,9 +1031,11 @@ public class WebAPIServiceImpl implements WebAPIService {
 			throw new GWNotFoundException("Container not existed");
 		}
 
-			result.setLimit(Math.min(queryParams.getLimit(), GWSettingInfo.getMaxLimit()));
 			result.setOffset(queryParams.getOffset());
-			result.setTotal(getRowsCount(cont, buildQueryStringWithoutLimitAndOffset(container, queryParams)));
+			Total total = countTotal(gridStore, cluster, database, container, cont,
+					buildQueryStringWithoutLimitAndOffset(container, queryParams), queryParams.getTotalMode());
+			result.setTotal(total.value);
+			result.setTotalMode(total.mode);
 			return result;
 		} catch (GSException gsException) {
 			throw gsException;
@@ -657,36 +1055,753 @@ public class WebAPIServiceImpl implements WebAPIService {
 		}
 	}
 
-	private List<List<Object>> rowSetToTqlResult(List<Object> fetchResult, ContainerInfo containerInfo, GWTQLOutput result)
-			throws GSException, GWException, UnsupportedEncodingException, SQLException {
-		if (fetchResult == null) {
-			return null;
+	@Override
+	public void streamRows(String authorization, String cluster, String database, String container,
+			GWQueryParams queryParams, JsonGenerator generator)
+			throws GSException, GWException, SQLException, IOException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("streamRows : cluster=" + cluster + " database=" + database + " container=" + container
+					+ " queryParams: " + "limit=" + queryParams.getLimit() + ",offset=" + queryParams.getOffset()
+					+ ",sort=" + queryParams.getSort() + ",condition=" + queryParams.getCondition());
 		}
-		List<List<Object>> rows = new ArrayList<List<Object>>();
-		long rowMaxSize = GWSettingInfo.getMaxGetRowSize();
-		long rowsize = 0;
-		for (Object object : fetchResult) {
-			Row row = (Row) object;
-			int columnCount = containerInfo.getColumnCount();
-			List<Object> list = new ArrayList<Object>(columnCount);
-			for (int colNo = 0; colNo < columnCount; ++colNo) {
-				long size = 0;
-				GSType type = containerInfo.getColumnInfo(colNo).getType();
-				if (type == GSType.TIMESTAMP) {
-					size = stringifyTimestamp(row, colNo, list);
-				} else {
-					size = stringify(
-							list,
-							row.getValue(colNo),
-							type,
-							false,
-							null,
-							null,
-							null,
-							null);
-				}
-				rowsize += size;
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		Validation.validateInputParams(queryParams);
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (metadata == null) {
+				throw new GWNotFoundException("Container not existed");
 			}
+			switch (metadata.getExtendedContainerInfo().getAttribute()) {
+			case SINGLE:
+				break;
+			case LARGE:
+				throw new GWBadRequestException("Unsupported partition table type");
+			default:
+				throw new GWNotFoundException("Container not existed");
+			}
+			ContainerInfo containerInfo = metadata.getContainerInfo();
+			Container<Object, Row> cont = gridStore.getContainer(container);
+			if (null == cont) {
+				throw new GWNotFoundException("Container not existed");
+			}
+
+			RowCursor cursor = getRowCursor(containerInfo, queryParams);
+			int limit = Math.min(queryParams.getLimit(), GWSettingInfo.getMaxLimit());
+			// Counted before the response starts, so that an error can still be reported
+			Total total = countTotal(gridStore, cluster, database, container, cont,
+					buildQueryStringWithoutLimitAndOffset(container, queryParams), queryParams.getTotalMode());
+			RowSet<Row> rowSet = cont.query(buildQueryString(container, queryParams, cursor)).fetch();
+			generator.writeStartObject();
+			generator.writeObjectField("columns", getColumnInfoList(containerInfo));
+			generator.writeArrayFieldStart("rows");
+			Row row = null;
+			int rowCount = 0;
+			while (rowSet.hasNext()) {
+				row = rowSet.next();
+				List<Object> list = new ArrayList<Object>(containerInfo.getColumnCount());
+				convertRow(row, containerInfo, null, list);
+				generator.writeObject(list);
+				rowCount++;
+			}
+			generator.writeEndArray();
+			generator.writeNumberField("offset", queryParams.getOffset());
+			generator.writeNumberField("limit", limit);
+			generator.writeNumberField("total", total.value);
+			generator.writeStringField("totalMode", total.mode);
+			if (cursor != null && rowCount >= limit) {
+				generator.writeStringField("nextCursor", cursor.next(row).encode());
+			}
+			generator.writeEndObject();
+		} finally {
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("streamRows : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	@Override
+	public void writeRowsArrow(String authorization, String cluster, String database, String container,
+			GWQueryParams queryParams, ArrowResultWriter writer)
+			throws GSException, GWException, SQLException, IOException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("writeRowsArrow : cluster=" + cluster + " database=" + database + " container=" + container
+					+ " queryParams: " + "limit=" + queryParams.getLimit() + ",offset=" + queryParams.getOffset()
+					+ ",sort=" + queryParams.getSort() + ",condition=" + queryParams.getCondition());
+		}
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		Validation.validateInputParams(queryParams);
+		// nextCursor is only known after the rows, but the metadata is written before them
+		if (queryParams.getCursor() != null) {
+			throw new GWBadRequestException("'cursor' is not supported in Arrow format");
+		}
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (metadata == null) {
+				throw new GWNotFoundException("Container not existed");
+			}
+			switch (metadata.getExtendedContainerInfo().getAttribute()) {
+			case SINGLE:
+				break;
+			case LARGE:
+				throw new GWBadRequestException("Unsupported partition table type");
+			default:
+				throw new GWNotFoundException("Container not existed");
+			}
+			ContainerInfo containerInfo = metadata.getContainerInfo();
+			Container<Object, Row> cont = gridStore.getContainer(container);
+			if (null == cont) {
+				throw new GWNotFoundException("Container not existed");
+			}
+
+			int limit = Math.min(queryParams.getLimit(), GWSettingInfo.getMaxLimit());
+			Total total = countTotal(gridStore, cluster, database, container, cont,
+					buildQueryStringWithoutLimitAndOffset(container, queryParams), queryParams.getTotalMode());
+			RowSet<Row> rowSet = cont.query(buildQueryString(container, queryParams, null)).fetch();
+			writer.start(ArrowResultWriter.toFields(getColumnInfoList(containerInfo)),
+					toArrowMetadata(queryParams.getOffset(), limit, total.value, total.mode));
+			int columnCount = containerInfo.getColumnCount();
+			while (rowSet.hasNext()) {
+				Row row = rowSet.next();
+				for (int i = 0; i < columnCount; i++) {
+					writer.setValue(i, row.getValue(i));
+				}
+				writer.endRow();
+			}
+			writer.end();
+		} finally {
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("writeRowsArrow : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	@Override
+	public GWDownsampleOutput downsampleRows(String authorization, String cluster, String database,
+			String container, GWDownsampleInput input) throws GSException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("downsampleRows : cluster=" + cluster + " database=" + database + " container=" + container
+					+ " start=" + input.getStart() + " end=" + input.getEnd() + " interval=" + input.getInterval()
+					+ " unit=" + input.getUnit() + " condition=" + input.getCondition());
+		}
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		Date startTime = parseRangeTime(input.getStart(), "start");
+		Date endTime = parseRangeTime(input.getEnd(), "end");
+		if (!endTime.after(startTime)) {
+			throw new GWBadRequestException("'end' must be later than 'start'");
+		}
+		if (input.getInterval() <= 0) {
+			throw new GWBadRequestException("'interval' must be a positive number");
+		}
+		long width = input.getInterval() * getUnitMillis(input.getUnit());
+		// The reduced rows are kept in memory, at most one per bucket
+		long bucketCount = (endTime.getTime() - startTime.getTime() + width - 1) / width;
+		if (bucketCount > GWSettingInfo.getMaxLimit()) {
+			throw new GWBadRequestException("Too many buckets, the maximum is " + GWSettingInfo.getMaxLimit());
+		}
+		if (input.getColumns() == null || input.getColumns().isEmpty()) {
+			throw new GWBadRequestException("'columns' must be specified");
+		}
+
+		GWDownsampleOutput output = new GWDownsampleOutput();
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (metadata == null) {
+				throw new GWNotFoundException("Container not existed");
+			}
+			switch (metadata.getExtendedContainerInfo().getAttribute()) {
+			case SINGLE:
+				break;
+			case LARGE:
+				throw new GWBadRequestException("Unsupported partition table type");
+			default:
+				throw new GWNotFoundException("Container not existed");
+			}
+			ContainerInfo containerInfo = metadata.getContainerInfo();
+			if (containerInfo.getType() != ContainerType.TIME_SERIES) {
+				throw new GWBadRequestException("Container is not a time series container");
+			}
+
+			int columnCount = input.getColumns().size();
+			int[] columnIndexes = new int[columnCount];
+			Downsampler.Aggregation[] aggregations = new Downsampler.Aggregation[columnCount];
+			List<GWTQLColumnInfo> columns = new ArrayList<GWTQLColumnInfo>(columnCount + 1);
+			ColumnInfo keyColumn = containerInfo.getColumnInfo(0);
+			GWTQLColumnInfo timeColumn = new GWTQLColumnInfo();
+			timeColumn.setName(keyColumn.getName());
+			timeColumn.setType(GSType.TIMESTAMP);
+			columns.add(timeColumn);
+			for (int i = 0; i < columnCount; i++) {
+				GWDownsampleColumn column = input.getColumns().get(i);
+				columnIndexes[i] = getColumnIndex(containerInfo, column.getName());
+				aggregations[i] = getAggregation(column.getAggregation());
+				ColumnInfo columnInfo = containerInfo.getColumnInfo(columnIndexes[i]);
+				GSType type = Downsampler.getResultType(aggregations[i], columnInfo.getType());
+				if (type == null) {
+					throw new GWBadRequestException("Aggregation " + aggregations[i] + " is not supported for column '"
+							+ columnInfo.getName() + "' of type " + columnInfo.getType());
+				}
+				GWTQLColumnInfo gwTQLColumnInfo = new GWTQLColumnInfo();
+				gwTQLColumnInfo.setName(columnInfo.getName() + "_" + aggregations[i].name().toLowerCase(Locale.ROOT));
+				gwTQLColumnInfo.setType(type);
+				columns.add(gwTQLColumnInfo);
+			}
+
+			Container<Object, Row> cont = gridStore.getContainer(container);
+			if (null == cont) {
+				throw new GWNotFoundException("Container not existed");
+			}
+			// The rows are fetched in parts and reduced as they are read
+			Query<Row> tql = cont.query(buildTimeRangeQueryString(container, keyColumn.getName(), startTime,
+					endTime, input.getCondition()));
+			tql.setFetchOption(FetchOption.PARTIAL_EXECUTION, true);
+			RowSet<Row> rowSet = tql.fetch();
+			Downsampler downsampler = new Downsampler(startTime.getTime(), width, columnIndexes, aggregations);
+			while (rowSet.hasNext()) {
+				downsampler.add(rowSet.next());
+			}
+			List<List<Object>> rows = downsampler.finish();
+			for (List<Object> row : rows) {
+				for (int i = 0; i < row.size(); i++) {
+					if (row.get(i) instanceof Date) {
+						row.set(i, formatDate((Date) row.get(i)));
+					}
+				}
+			}
+			output.setColumns(columns);
+			output.setRows(rows);
+			output.setCount(downsampler.getCount());
+			return output;
+		} finally {
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("downsampleRows : count=" + output.getCount() + " time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	/**
+	 * Build a TQL selecting the rows of a time range in ascending order of
+	 * the row key.
+	 *
+	 * @param containerName container name
+	 * @param keyColumn name of the TIMESTAMP row key
+	 * @param startTime start of the range, inclusive
+	 * @param endTime end of the range, exclusive
+	 * @param condition additional condition, or null
+	 * @return the TQL
+	 */
+	private static String buildTimeRangeQueryString(String containerName, String keyColumn, Date startTime,
+			Date endTime, String condition) {
+		String key = "\"" + keyColumn + "\"";
+		String query = "select * from " + containerName + " where " + key + " >= TIMESTAMP('"
+				+ DateFormatUtils.format(startTime) + "') and " + key + " < TIMESTAMP('"
+				+ DateFormatUtils.format(endTime) + "')";
+		if (condition != null && !condition.trim().isEmpty()) {
+			query += " and (" + condition + ")";
+		}
+		return query + " order by " + key + " asc";
+	}
+
+	private static Date parseRangeTime(String value, String name) {
+		if (value == null) {
+			throw new GWBadRequestException("'" + name + "' must be specified");
+		}
+		try {
+			return DateFormatUtils.parse(value);
+		} catch (ParseException e) {
+			throw new GWBadRequestException("'" + name + "' is invalid timestamp: " + value);
+		}
+	}
+
+	/**
+	 * Get the length of a unit of the bucket width, as in TIME_SAMPLING.
+	 */
+	private static long getUnitMillis(String unit) {
+		if (unit == null) {
+			throw new GWBadRequestException("'unit' must be specified");
+		}
+		switch (unit.toUpperCase(Locale.ROOT)) {
+		case "DAY":
+			return 24L * 60 * 60 * 1000;
+		case "HOUR":
+			return 60L * 60 * 1000;
+		case "MINUTE":
+			return 60L * 1000;
+		case "SECOND":
+			return 1000L;
+		case "MILLISECOND":
+			return 1L;
+		default:
+			throw new GWBadRequestException("'unit' is invalid: " + unit);
+		}
+	}
+
+	private static int getColumnIndex(ContainerInfo containerInfo, String name) {
+		if (name == null) {
+			throw new GWBadRequestException("Column name must be specified");
+		}
+		// Column names are case-insensitive
+		for (int i = 0; i < containerInfo.getColumnCount(); i++) {
+			if (containerInfo.getColumnInfo(i).getName().equalsIgnoreCase(name)) {
+				return i;
+			}
+		}
+		throw new GWBadRequestException("Column '" + name + "' not existed");
+	}
+
+	private static Downsampler.Aggregation getAggregation(String aggregation) {
+		if (aggregation == null) {
+			throw new GWBadRequestException("'aggregation' must be specified");
+		}
+		try {
+			return Downsampler.Aggregation.valueOf(aggregation.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new GWBadRequestException("'aggregation' is invalid: " + aggregation);
+		}
+	}
+
+	@Override
+	public void streamRangeRows(String authorization, final String cluster, final String database,
+			GWRangeQueryInput input, final JsonGenerator generator)
+			throws GSException, GWException, SQLException, IOException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("streamRangeRows : cluster=" + cluster + " database=" + database + " pattern="
+					+ input.getPattern() + " start=" + input.getStart() + " end=" + input.getEnd() + " condition="
+					+ input.getCondition() + " merge=" + input.getMerge());
+		}
+		long start = System.nanoTime();
+
+		final GWUser user = GWUser.getUserfromAuthorization(authorization);
+		final Date startTime = parseRangeTime(input.getStart(), "start");
+		final Date endTime = parseRangeTime(input.getEnd(), "end");
+		if (!endTime.after(startTime)) {
+			throw new GWBadRequestException("'end' must be later than 'start'");
+		}
+		String merge = input.getMerge() != null ? input.getMerge().toLowerCase(Locale.ROOT)
+				: Constants.MERGE_CONTAINER;
+		if (!Constants.MERGE_CONTAINER.equals(merge) && !Constants.MERGE_TIME.equals(merge)) {
+			throw new GWBadRequestException("'merge' is invalid: " + input.getMerge());
+		}
+		final boolean byContainer = Constants.MERGE_CONTAINER.equals(merge);
+		final String condition = input.getCondition();
+
+		// Rows read and their size, shared by all the queries of the request
+		final AtomicLong count = new AtomicLong();
+		final AtomicLong totalSize = new AtomicLong();
+		try {
+			List<String> names = getRangeContainerNames(cluster, database, user, input);
+			if (byContainer) {
+				writeRangeByContainer(cluster, database, user, names, startTime, endTime, condition, count,
+						totalSize, generator);
+			} else {
+				writeRangeByTime(cluster, database, user, names, startTime, endTime, condition, count, totalSize,
+						generator);
+			}
+			generator.writeNumberField("count", count.get());
+			generator.writeNumberField("responseSizeByte", totalSize.get());
+			generator.writeEndObject();
+		} finally {
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("streamRangeRows : count=" + count.get() + " time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	/**
+	 * Write the rows of each container in its own section. The containers are
+	 * queried in parallel. The query holding the lock of the response writes
+	 * its section while its rows are read, the others keep their rows until
+	 * they get the lock. An error which occurs once the response has started
+	 * is written at the end of the response.
+	 */
+	private void writeRangeByContainer(final String cluster, final String database, final GWUser user,
+			List<String> names, final Date startTime, final Date endTime, final String condition,
+			final AtomicLong count, final AtomicLong totalSize, final JsonGenerator generator)
+			throws GSException, GWException, SQLException, IOException {
+		// Checked before the response starts, so that an invalid container is reported as an error
+		final List<ContainerInfo> infos;
+		try (GridStore gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+				user.getPassword())) {
+			infos = getRangeContainerInfos(gridStore, cluster, database, names);
+		}
+
+		final ReentrantLock lock = new ReentrantLock();
+		// Set with the lock once the queries must not write anymore
+		final AtomicBoolean closed = new AtomicBoolean();
+		generator.writeStartObject();
+		generator.writeArrayFieldStart("containers");
+		List<Callable<Object>> tasks = new ArrayList<>(names.size());
+		for (int i = 0; i < names.size(); i++) {
+			final String name = names.get(i);
+			final ContainerInfo containerInfo = infos.get(i);
+			tasks.add(() -> {
+				// GridStore is not thread-safe, every query uses its own session
+				try (GridStore gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+						user.getPassword())) {
+					Container<Object, Row> cont = getRangeContainer(gridStore, name);
+					boolean locked = false;
+					try {
+						RowSet<Row> rowSet = queryTimeRange(cont, name, containerInfo, startTime, endTime,
+								condition);
+						// Rows read while another container holds the lock
+						List<List<Object>> rows = new ArrayList<List<Object>>();
+						while (rowSet.hasNext()) {
+							// Counted in the size of the response before it is written
+							List<Object> row = convertRangeRow(rowSet.next(), containerInfo, totalSize);
+							count.incrementAndGet();
+							if (!locked && lock.tryLock()) {
+								locked = true;
+								if (!startRangeSection(name, containerInfo, rows, closed, generator)) {
+									return null;
+								}
+							}
+							if (locked) {
+								generator.writeObject(row);
+							} else {
+								rows.add(row);
+							}
+						}
+						if (!locked) {
+							lock.lockInterruptibly();
+							locked = true;
+							if (!startRangeSection(name, containerInfo, rows, closed, generator)) {
+								return null;
+							}
+						}
+						return null;
+					} finally {
+						try {
+							// Also ends the section of a failed query, the error is written after it
+							if (locked && !closed.get()) {
+								generator.writeEndArray();
+								generator.writeEndObject();
+							}
+						} finally {
+							if (locked) {
+								lock.unlock();
+							}
+							cont.close();
+						}
+					}
+				}
+			});
+		}
+
+		Exception failure = null;
+		try {
+			ParallelExecutor.invokeAll(cluster + "/" + user.getUsername(), tasks);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException && !(e.getCause() instanceof UnsupportedEncodingException)) {
+				// The response can not be written
+				throw (IOException) e.getCause();
+			}
+			failure = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+		} catch (RuntimeException e) {
+			failure = e;
+		} finally {
+			// The queries cancelled after a failure may still be running
+			lock.lock();
+			try {
+				closed.set(true);
+			} finally {
+				lock.unlock();
+			}
+		}
+		generator.writeEndArray();
+		if (failure != null) {
+			writeRangeError(failure, generator);
+		}
+	}
+
+	/**
+	 * Start the section of a container merged by container and write the rows
+	 * already read. Called with the lock of the response.
+	 *
+	 * @return false if the response is already completed
+	 */
+	private boolean startRangeSection(String name, ContainerInfo containerInfo, List<List<Object>> rows,
+			AtomicBoolean closed, JsonGenerator generator) throws IOException {
+		if (closed.get()) {
+			return false;
+		}
+		generator.writeStartObject();
+		generator.writeStringField("name", name);
+		generator.writeObjectField("columns", getColumnInfoList(containerInfo));
+		generator.writeArrayFieldStart("rows");
+		for (List<Object> row : rows) {
+			generator.writeObject(row);
+		}
+		rows.clear();
+		return true;
+	}
+
+	/**
+	 * Write the rows of all containers in order of the row key, each preceded
+	 * by the name of its container. The containers are divided among up to
+	 * maxParallelism sessions, which read the rows of each container ahead into
+	 * a small queue in the background, and the queues are merged with a heap
+	 * of the next row of each container. The sessions which are not run in the
+	 * background are read by the thread of the request when their rows are
+	 * needed.
+	 */
+	private void writeRangeByTime(String cluster, String database, GWUser user, List<String> names,
+			Date startTime, Date endTime, String condition, AtomicLong count, AtomicLong totalSize,
+			JsonGenerator generator) throws GSException, GWException, SQLException, IOException {
+		List<ContainerInfo> infos;
+		try (GridStore gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+				user.getPassword())) {
+			infos = getRangeContainerInfos(gridStore, cluster, database, names);
+		}
+		int producerCount = Math.min(names.size(), GWSettingInfo.getMaxParallelism());
+		List<RangeProducer> producers = new ArrayList<RangeProducer>(producerCount);
+		for (int i = 0; i < producerCount; i++) {
+			producers.add(new RangeProducer(cluster, database, user, startTime, endTime, condition));
+		}
+		List<RangeCursor> cursors = new ArrayList<RangeCursor>(names.size());
+		for (int i = 0; i < names.size(); i++) {
+			cursors.add(producers.get(i % producerCount).add(i, names.get(i), infos.get(i)));
+		}
+
+		generator.writeStartObject();
+		generator.writeArrayFieldStart("containers");
+		for (int i = 0; i < names.size(); i++) {
+			writeRangeSection(names.get(i), infos.get(i), generator);
+		}
+		generator.writeEndArray();
+		generator.writeArrayFieldStart("rows");
+		Exception failure = null;
+		try (ParallelExecutor.Background background = ParallelExecutor.start(cluster + "/" + user.getUsername(),
+				producers)) {
+			for (int i = 0; i < background.getStarted(); i++) {
+				producers.get(i).started = true;
+			}
+			try {
+				// Rows of the same time in the order of the containers
+				PriorityQueue<RangeCursor> heap = new PriorityQueue<RangeCursor>(Math.max(1, names.size()),
+						(a, b) -> {
+							int order = Long.compare(a.millis, b.millis);
+							if (order == 0) {
+								order = Integer.compare(a.nanos, b.nanos);
+							}
+							return order != 0 ? order : Integer.compare(a.index, b.index);
+						});
+				for (RangeCursor cursor : cursors) {
+					if (cursor.next()) {
+						heap.add(cursor);
+					}
+				}
+				while (!heap.isEmpty()) {
+					RangeCursor cursor = heap.poll();
+					// Counted in the size of the response before it is written
+					List<Object> row = convertRangeRow(cursor.row, cursor.containerInfo, totalSize);
+					generator.writeStartArray();
+					generator.writeString(cursor.name);
+					for (Object value : row) {
+						generator.writeObject(value);
+					}
+					generator.writeEndArray();
+					count.incrementAndGet();
+					if (cursor.next()) {
+						heap.add(cursor);
+					}
+				}
+			} catch (GSException | SQLException | RuntimeException e) {
+				failure = e;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				failure = new GWException("Interrupted while waiting for the queries");
+			} finally {
+				// The sessions run in the background are closed by their threads
+				for (RangeProducer producer : producers) {
+					producer.closeIfReadByRequest();
+				}
+			}
+		}
+		generator.writeEndArray();
+		if (failure != null) {
+			writeRangeError(failure, generator);
+		}
+	}
+
+	/**
+	 * Get the names of the containers of a time range query, either as
+	 * specified or the time series containers matching the pattern.
+	 */
+	private List<String> getRangeContainerNames(String cluster, String database, GWUser user,
+			GWRangeQueryInput input) throws GSException {
+		boolean hasNames = input.getNames() != null && !input.getNames().isEmpty();
+		boolean hasPattern = input.getPattern() != null && !input.getPattern().isEmpty();
+		if (hasNames == hasPattern) {
+			throw new GWBadRequestException("Either 'names' or 'pattern' must be specified");
+		}
+		if (hasNames) {
+			return new ArrayList<String>(new LinkedHashSet<String>(input.getNames()));
+		}
+
+		int partitionCount;
+		try (GridStore gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+				user.getPassword()); PartitionController controller = gridStore.getPartitionController()) {
+			partitionCount = controller.getPartitionCount();
+		}
+		List<String> names = getContainerNames(cluster, database, user, partitionCount,
+				ConversionUtils.likeToPattern(input.getPattern()));
+		Collections.sort(names);
+		return filterContainersByType(cluster, database, user, names, ContainerType.TIME_SERIES);
+	}
+
+	/**
+	 * Get the schemas of the containers of a time range query, checking that
+	 * each container exists, is not partitioned and has a TIMESTAMP row key.
+	 */
+	private List<ContainerInfo> getRangeContainerInfos(GridStore gridStore, String cluster, String database,
+			List<String> names) throws GSException {
+		List<ContainerInfo> infos = new ArrayList<ContainerInfo>(names.size());
+		for (String container : names) {
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (metadata == null) {
+				throw new GWNotFoundException("Container '" + container + "' not existed");
+			}
+			switch (metadata.getExtendedContainerInfo().getAttribute()) {
+			case SINGLE:
+				break;
+			case LARGE:
+				throw new GWBadRequestException("Unsupported partition table type");
+			default:
+				throw new GWNotFoundException("Container '" + container + "' not existed");
+			}
+			ContainerInfo containerInfo = metadata.getContainerInfo();
+			if (!containerInfo.isRowKeyAssigned() || containerInfo.getColumnInfo(0).getType() != GSType.TIMESTAMP) {
+				throw new GWBadRequestException("Container '" + container + "' does not have a TIMESTAMP row key");
+			}
+			infos.add(containerInfo);
+		}
+		return infos;
+	}
+
+	/**
+	 * Get a container of a time range query, to be closed by the caller.
+	 */
+	private static Container<Object, Row> getRangeContainer(GridStore gridStore, String container)
+			throws GSException {
+		Container<Object, Row> cont = gridStore.getContainer(container);
+		if (null == cont) {
+			throw new GWNotFoundException("Container '" + container + "' not existed");
+		}
+		return cont;
+	}
+
+	/**
+	 * Query the rows of a container in a time range, up to maxLimit rows.
+	 */
+	private static RowSet<Row> queryTimeRange(Container<Object, Row> cont, String container,
+			ContainerInfo containerInfo, Date startTime, Date endTime, String condition) throws GSException {
+		Query<Row> query = cont.query(buildTimeRangeQueryString(container, containerInfo.getColumnInfo(0).getName(),
+				startTime, endTime, condition) + " limit " + GWSettingInfo.getMaxLimit());
+		query.setFetchOption(FetchOption.PARTIAL_EXECUTION, true);
+		return query.fetch();
+	}
+
+	/**
+	 * Convert a row of a time range query. The size of the row is added to the
+	 * size shared by the request, which must not exceed maxTotalResponseSize.
+	 */
+	private List<Object> convertRangeRow(Row row, ContainerInfo containerInfo, AtomicLong totalSize)
+			throws GSException, GWException, UnsupportedEncodingException, SQLException {
+		List<Object> list = new ArrayList<Object>(containerInfo.getColumnCount());
+		long rowsize = convertRow(row, containerInfo, null, list);
+		if (totalSize.addAndGet(rowsize) > GWSettingInfo.getMaxTotalResponseSize()) {
+			throw new GWBadRequestException("Too many result");
+		}
+		return list;
+	}
+
+	/**
+	 * Write the name and columns of a container merged by time.
+	 */
+	private void writeRangeSection(String name, ContainerInfo containerInfo, JsonGenerator generator)
+			throws IOException {
+		generator.writeStartObject();
+		generator.writeStringField("name", name);
+		generator.writeObjectField("columns", getColumnInfoList(containerInfo));
+		generator.writeEndObject();
+	}
+
+	/**
+	 * Write an error of a time range query which occurred once the response
+	 * has started, when it can no longer be reported with the status of the
+	 * response.
+	 */
+	private static void writeRangeError(Exception e, JsonGenerator generator) throws IOException {
+		logger.warn("Failed to get rows in a time range: " + e.getMessage());
+		generator.writeObjectField("error", getErrorStatus(null, e));
+	}
+
+	private List<GWTQLColumnInfo> getColumnInfoList(ContainerInfo containerInfo) {
+		List<GWTQLColumnInfo> columns = new ArrayList<GWTQLColumnInfo>(containerInfo.getColumnCount());
+		for (int i = 0; i < containerInfo.getColumnCount(); i++) {
+			GWTQLColumnInfo gwTQLColumnInfo = new GWTQLColumnInfo();
+			gwTQLColumnInfo.setName(containerInfo.getColumnInfo(i).getName());
+			gwTQLColumnInfo.setType(containerInfo.getColumnInfo(i).getType());
+			gwTQLColumnInfo.setTimePrecision(containerInfo.getColumnInfo(i).getTimePrecision());
+			columns.add(gwTQLColumnInfo);
+		}
+		return columns;
+	}
+
+	private List<List<Object>> rowSetToTqlResult(List<Object> fetchResult, ContainerInfo containerInfo, GWTQLOutput result)
+			throws GSException, GWException, UnsupportedEncodingException, SQLException {
+		if (fetchResult == null) {
+			return null;
+		}
+		List<List<Object>> rows = new ArrayList<List<Object>>();
+		long rowMaxSize = GWSettingInfo.getMaxGetRowSize();
+		long rowsize = 0;
+		for (Object object : fetchResult) {
+			List<Object> list = new ArrayList<Object>(containerInfo.getColumnCount());
+			rowsize += convertRow((Row) object, containerInfo, null, list);
 			if (rowsize > rowMaxSize) {
 				throw new GWBadRequestException("Too many result");
 			}
@@ -696,44 +1811,64 @@ public class WebAPIServiceImpl implements WebAPIService {
 		return rows;
 	}
 
-	private List<List<Object>> rowSetToTqlResult(RowSet<Row> rowSet, ContainerInfo containerInfo)
-			throws GSException, GWException, UnsupportedEncodingException, SQLException {
+	private List<List<Object>> rowSetToTqlResult(RowSet<Row> rowSet, ContainerInfo containerInfo, RowCursor cursor,
+			GWQueryOutput result) throws GSException, GWException, UnsupportedEncodingException, SQLException {
 		if (rowSet == null) {
 			return null;
 		}
 		List<List<Object>> rows = new ArrayList<List<Object>>();
 		long rowMaxSize = GWSettingInfo.getMaxGetRowSize();
 		long rowsize = 0;
+		Row row = null;
 		while (rowSet.hasNext()) {
-			Row row = rowSet.next();
-			int columnCount = containerInfo.getColumnCount();
-			List<Object> list = new ArrayList<Object>(columnCount);
-			for (int colNo = 0; colNo < columnCount; ++colNo) {
-				long size = 0;
-				GSType type = containerInfo.getColumnInfo(colNo).getType();
-				if (type == GSType.TIMESTAMP) {
-					size = stringifyTimestamp(row, colNo, list);
-				} else {
-					size = stringify(
-							list,
-							row.getValue(colNo),
-							type,
-							false,
-							null,
- 							null,
-							null,
-							null);
-				}
-				rowsize += size;
-			}
+			row = rowSet.next();
+			List<Object> list = new ArrayList<Object>(containerInfo.getColumnCount());
+			rowsize += convertRow(row, containerInfo, null, list);
 			if (rowsize > rowMaxSize) {
 				throw new GWBadRequestException("Too many result");
 			}
 			rows.add(list);
 		}
+		// A full page may be followed by more rows
+		if (cursor != null && rows.size() >= result.getLimit()) {
+			result.setNextCursor(cursor.next(row).encode());
+		}
 		return rows;
 	}
 
+	/**
+	 * Convert the values of a row and add them to a list.
+	 *
+	 * @param row a row
+	 * @param containerInfo container information
+	 * @param selectedColumns indexes of the columns to convert, or null for all columns
+	 * @param list list to add the converted values to
+	 * @return size of the converted values
+	 */
+	private long convertRow(Row row, ContainerInfo containerInfo, List<Integer> selectedColumns, List<Object> list)
+			throws GSException, GWException, UnsupportedEncodingException, SQLException {
+		long rowsize = 0;
+		int columnCount = selectedColumns != null ? selectedColumns.size() : containerInfo.getColumnCount();
+		for (int i = 0; i < columnCount; ++i) {
+			int colNo = selectedColumns != null ? selectedColumns.get(i) : i;
+			GSType type = containerInfo.getColumnInfo(colNo).getType();
+			if (type == GSType.TIMESTAMP) {
+				rowsize += stringifyTimestamp(row, colNo, list);
+			} else {
+				rowsize += stringify(
+						list,
+						row.getValue(colNo),
+						type,
+						false,
+						null,
+						null,
+						null,
+						null);
+			}
+		}
+		return rowsize;
+	}
+
 	/**
 	 * Convert object to specific data type.
 	 *
@@ -744,7 +1879,7 @@ public class WebAPIServiceImpl implements WebAPIService {
 	 * @param columnName which column is used for set the name of BLOB data file.
 	 * @param row current row
 	 * @param columnNames list column of a row
-	 * @param sourcePath directory where to save BLOB data
+	 * @param blobs zip file where to add BLOB data
 	 * @return size of data
 	 * @throws GWException internal server exception
 	 * @throws SQLException internal SQL exception
@@ -758,7 +1893,7 @@ public class WebAPIServiceImpl implements WebAPIService {
 			String columnName,
 			Row row,
 			List<String> columnNames,
-			String sourcePath)
+			BlobZipWriter blobs)
 			throws GWException, SQLException, UnsupportedEncodingException {
 
 		Object reObj = data;
@@ -795,7 +1930,7 @@ public class WebAPIServiceImpl implements WebAPIService {
 				}
 			else {
 				try {
-					reObj = "(BLOB)" + getBlobData(columnNames, columnName, row, blob, sourcePath);
+					reObj = "(BLOB)" + getBlobData(columnNames, columnName, row, blob, blobs);
 					} catch (IOException e) {
 						logger.error(e.getMessage(), e);
 					} catch (SQLException e) {
@@ -954,6 +2089,60 @@ public class WebAPIServiceImpl implements WebAPIService {
 		return query;
 	}
 
+	/**
+	 * Get the position of keyset paging of getRows.
+	 *
+	 * @param containerInfo container information
+	 * @param queryParams a {@link GWQueryParams} object
+	 * @return the cursor of the request, the cursor before the first row if the
+	 *         rows are sorted by the row key only, or null if the rows are not
+	 *         paged by the row key
+	 */
+	private RowCursor getRowCursor(ContainerInfo containerInfo, GWQueryParams queryParams) {
+		String sort = queryParams.getSort();
+		if (queryParams.getCursor() == null) {
+			// A page after the first one requested by offset keeps the offset query
+			if (queryParams.getOffset() > 0) {
+				return null;
+			}
+			return RowCursor.start(containerInfo, sort);
+		}
+		RowCursor cursor = RowCursor.decode(queryParams.getCursor(), containerInfo);
+		if (sort != null && !sort.trim().isEmpty() && !cursor.matchesSort(sort)) {
+			throw new GWBadRequestException("'sort' does not match 'cursor'");
+		}
+		return cursor;
+	}
+
+	/**
+	 * build Query string of a page of keyset paging. The rows after the cursor
+	 * are selected by a range condition on the row key instead of an offset.
+	 *
+	 * @param containerName container name
+	 * @param queryParams a {@link GWQueryParams} object
+	 * @param cursor position of keyset paging, or null if the rows are not paged by the row key
+	 * @return result a {@link String}
+	 */
+	private String buildQueryString(String containerName, GWQueryParams queryParams, RowCursor cursor) {
+		if (cursor == null) {
+			return buildQueryString(containerName, queryParams);
+		}
+		String query = "select * from " + containerName;
+		String condition = queryParams.getCondition();
+		boolean hasCondition = condition != null && !condition.isEmpty();
+		String cursorCondition = cursor.getCondition();
+		if (hasCondition && cursorCondition != null) {
+			query += " where (" + condition + ") and " + cursorCondition;
+		} else if (hasCondition) {
+			query += " where " + condition;
+		} else if (cursorCondition != null) {
+			query += " where " + cursorCondition;
+		}
+		query += " order by " + cursor.getSort();
+		query += " limit " + Math.min(queryParams.getLimit(), GWSettingInfo.getMaxLimit());
+		return query;
+	}
+
 	/**
 	 * build Query string without limit and offset.
 	 *
@@ -968,47 +2157,226 @@ public class WebAPIServiceImpl implements WebAPIService {
 				query += " where " + queryParams.getCondition();
 			}
 		}
-		return query;
+		return query;
+	}
+
+	@Override
+	public GWPutRowOutput putRows(String authorization, String cluster, String database, String container,
+			JsonParser parser) throws GSException, IOException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("putRows : cluster=" + cluster + " database=" + database + " container=" + container);
+		}
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		Container<Object, Row> cont = null;
+		int rowNumber = 1;
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (null == metadata) {
+				throw new GWNotFoundException("Container not existed");
+			}
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new GWBadRequestException("Rows data is empty");
+			}
+			cont = gridStore.getContainer(container);
+			RowConverter converter = metadata.getRowConverter();
+			List<Row> listRows = new ArrayList<Row>();
+			long rowsize = 0;
+			long rowMaxSize = GWSettingInfo.getMaxPutRowSize();
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				if (token != JsonToken.START_ARRAY) {
+					throw new GWBadRequestException("Row data is invalid");
+				}
+				Row row = cont.createRow();
+				rowsize += converter.read(parser, row);
+				if (rowsize > rowMaxSize) {
+					throw new GWBadRequestException("Too many rows data");
+				}
+				listRows.add(row);
+				rowNumber++;
+			}
+			if (listRows.isEmpty()) {
+				throw new GWBadRequestException("Rows data is empty");
+			}
+
+			cont.put(listRows);
+			GWPutRowOutput output = new GWPutRowOutput();
+			output.setCount((rowNumber - 1));
+			return output;
+		} catch (GSException gsException) {
+			throw gsException;
+		} finally {
+			// Rows may have been modified even if an error occurred
+			CountCache.invalidate(cluster, database, container);
+			if (cont != null) {
+				try {
+					cont.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("putRows : time=" + (end - start) / 1000000f);
+			}
+		}
+
+	}
+
+	@Override
+	public GWPutRowOutput enqueueRows(String authorization, String cluster, String database, String container,
+			JsonParser parser, String ack) throws GSException, IOException {
+
+		Validation.validateAck(ack);
+		if (!IngestionQueue.isEnabled()) {
+			return putRows(authorization, cluster, database, container, parser);
+		}
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("enqueueRows : cluster=" + cluster + " database=" + database + " container=" + container
+					+ " ack=" + ack);
+		}
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		// The values are kept for the spill file of the queue
+		List<List<Object>> input = new ArrayList<List<Object>>();
+		if (parser.nextToken() == JsonToken.START_ARRAY) {
+			JsonToken token;
+			while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+				if (token != JsonToken.START_ARRAY) {
+					throw new GWBadRequestException("Row data is invalid");
+				}
+				input.add(GWJsonParser.readRow(parser));
+			}
+		}
+		Validation.validatePutRowsInput(input);
+
+		Future<Void> future;
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (null == metadata) {
+				throw new GWNotFoundException("Container not existed");
+			}
+			Container<Object, Row> cont = gridStore.getContainer(container);
+			List<Row> listRows = new ArrayList<Row>(input.size());
+			try {
+				long rowsize = 0;
+				long rowMaxSize = GWSettingInfo.getMaxPutRowSize();
+				int rowNumber = 1;
+				for (List<Object> rows : input) {
+					rowsize = setRowValue(rows, listRows, cont, metadata, rowNumber, rowsize, rowMaxSize);
+					rowNumber++;
+				}
+			} finally {
+				// The rows are put later with another session
+				cont.close();
+			}
+			future = IngestionQueue.enqueue(cluster, database, user.getUsername(), user.getPassword(),
+					Collections.singletonMap(container, listRows), Collections.singletonMap(container, input),
+					Constants.ACK_ENQUEUE.equals(ack));
+		} finally {
+			// The session is not held while waiting for the queue
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+		}
+
+		try {
+			if (Constants.ACK_COMMIT.equals(ack)) {
+				IngestionQueue.await(future);
+			}
+			GWPutRowOutput output = new GWPutRowOutput();
+			output.setCount(input.size());
+			return output;
+		} finally {
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("enqueueRows : time=" + (end - start) / 1000000f);
+			}
+		}
 	}
 
 	@Override
-	public GWPutRowOutput putRows(String authorization, String cluster, String database, String container,
-			List<List<Object>> input) throws GSException, UnsupportedEncodingException {
+	public GWPutRowStreamOutput putRowsStream(String authorization, String cluster, String database,
+			String container, RowStreamReader reader, Integer batchSize) throws GSException, IOException {
 
 		if (GWSettingInfo.getLogger().isInfoEnabled()) {
-			logger.info("putRows : cluster=" + cluster + " database=" + database + " container=" + container + " input="
-					+ input);
+			logger.info("putRowsStream : cluster=" + cluster + " database=" + database + " container=" + container
+					+ " batchSize=" + batchSize);
 		}
 		long start = System.nanoTime();
 
 		GWUser user = GWUser.getUserfromAuthorization(authorization);
-		Validation.validatePutRowsInput(input);
-		Container<Object, Row> cont = null;
-		int rowNumber = 1;
+		if (batchSize != null && batchSize < 1) {
+			throw new GWBadRequestException("'batchSize' must be 1 or more");
+		}
+		int maxBatchRows = batchSize != null ? batchSize : GWSettingInfo.getPutRowsBatchSize();
+		long rowMaxSize = GWSettingInfo.getMaxPutRowSize();
+		GWPutRowStreamOutput output = new GWPutRowStreamOutput();
 		GridStore gridStore = null;
 		try {
 			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
-			ContainerInfo containerInfo = gridStore.getContainerInfo(container);
-			if (null == containerInfo) {
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+			if (null == metadata) {
 				throw new GWNotFoundException("Container not existed");
 			}
+			Container<Object, Row> cont = gridStore.getContainer(container);
 
-			cont = gridStore.getContainer(container);
-			List<Row> listRows = new ArrayList<Row>(input.size());
-			long rowsize = 0;
-			long rowMaxSize = GWSettingInfo.getMaxPutRowSize();
-			for (List<Object> rows : input) {
-				rowsize = setRowValue(rows, listRows, cont, containerInfo, rowNumber, rowsize, rowMaxSize);
-				rowNumber++;
+			List<Row> listRows = new ArrayList<Row>(maxBatchRows);
+			GWPutRowBatch batch = null;
+			long batchSizeInBytes = 0;
+			while (true) {
+				List<Object> values;
+				try {
+					values = reader.next();
+				} catch (GWBadRequestException e) {
+					batch = startBatch(batch, reader.getLineNumber());
+					addPutRowError(batch, reader.getLineNumber(), e.getMessage());
+					continue;
+				}
+				if (values == null) {
+					break;
+				}
+				batch = startBatch(batch, reader.getLineNumber());
+				try {
+					batchSizeInBytes += setRowValue(values, listRows, cont, metadata, listRows.size() + 1, 0,
+							rowMaxSize);
+				} catch (GWBadRequestException e) {
+					addPutRowError(batch, reader.getLineNumber(), e.getMessage());
+					continue;
+				}
+				if (listRows.size() >= maxBatchRows || batchSizeInBytes >= rowMaxSize) {
+					flushPutRowBatch(cont, listRows, batch, output);
+					batch = null;
+					batchSizeInBytes = 0;
+				}
+			}
+			if (batch != null) {
+				flushPutRowBatch(cont, listRows, batch, output);
 			}
-
-			cont.put(listRows);
-			GWPutRowOutput output = new GWPutRowOutput();
-			output.setCount((rowNumber - 1));
 			return output;
-		} catch (GSException gsException) {
-			throw gsException;
 		} finally {
+			// Rows may have been modified even if an error occurred
+			CountCache.invalidate(cluster, database, container);
 			if (gridStore != null) {
 				try {
 					gridStore.close();
@@ -1019,10 +2387,76 @@ public class WebAPIServiceImpl implements WebAPIService {
 
 			long end = System.nanoTime();
 			if (GWSettingInfo.getLogger().isDebugEnabled()) {
-				logger.debug("putRows : time=" + (end - start) / 1000000f);
+				logger.debug("putRowsStream : count=" + output.getCount() + " failed=" + output.getFailed()
+						+ " time=" + (end - start) / 1000000f);
 			}
 		}
+	}
+
+	/**
+	 * Start a batch of streaming ingestion unless one is already started.
+	 *
+	 * @param batch the current batch, or null
+	 * @param line line number of the row read
+	 * @return the current batch
+	 */
+	private static GWPutRowBatch startBatch(GWPutRowBatch batch, long line) {
+		if (batch == null) {
+			batch = new GWPutRowBatch();
+			batch.setFirstLine(line);
+		}
+		batch.setLastLine(line);
+		return batch;
+	}
+
+	/**
+	 * Record a row which could not be put. Only the first errors of a batch
+	 * are kept so that the response stays small.
+	 *
+	 * @param batch the current batch
+	 * @param line line number of the row
+	 * @param message error message
+	 */
+	private static void addPutRowError(GWPutRowBatch batch, long line, String message) {
+		batch.setFailed(batch.getFailed() + 1);
+		if (batch.getErrors().size() < Constants.MAX_PUT_ROW_ERRORS) {
+			GWPutRowError error = new GWPutRowError();
+			error.setLine(line);
+			error.setMessage(message);
+			batch.getErrors().add(error);
+		}
+	}
 
+	/**
+	 * Put the rows of a batch and add the result of the batch to the output.
+	 * When the put fails every row of the batch is reported as failed and the
+	 * following batches are still put.
+	 *
+	 * @param cont the container to put the rows into
+	 * @param listRows rows of the batch, cleared on return
+	 * @param batch the current batch
+	 * @param output the output of streaming ingestion
+	 */
+	private void flushPutRowBatch(Container<Object, Row> cont, List<Row> listRows, GWPutRowBatch batch,
+			GWPutRowStreamOutput output) {
+		if (!listRows.isEmpty()) {
+			try {
+				cont.put(listRows);
+				batch.setCount(listRows.size());
+			} catch (GSException e) {
+				logger.warn("putRowsStream : failed to put rows of lines " + batch.getFirstLine() + "-"
+						+ batch.getLastLine() + ": " + e.getMessage());
+				batch.setFailed(batch.getFailed() + listRows.size());
+				GWPutRowError error = new GWPutRowError();
+				error.setLine(batch.getFirstLine());
+				error.setMessage(e.getMessage());
+				batch.getErrors().add(0, error);
+			}
+			listRows.clear();
+		}
+		output.setCount(output.getCount() + batch.getCount());
+		output.setFailed(output.getFailed() + batch.getFailed());
+		output.getBatches().add(batch);
 	}
 
 	/**
@@ -1031,7 +2465,7 @@ public class WebAPIServiceImpl implements WebAPIService {
 	 * @param values list of value
 	 * @param rows list of row need set value
 	 * @param container container contain rows
-	 * @param containerInfo container infomation
+	 * @param metadata schema of the container, whose {@link RowConverter} converts the values
 	 * @param rowNumber number of rows
 	 * @param rowSize size of row
 	 * @param rowMaxSize max size of rows
@@ -1040,21 +2474,11 @@ public class WebAPIServiceImpl implements WebAPIService {
 	 * @throws UnsupportedEncodingException exception when encoding data type {@link String}
 	 */
 	public long setRowValue(List<Object> values, List<Row> rows, Container<Object, Row> container,
-			ContainerInfo containerInfo, int rowNumber, long rowSize, long rowMaxSize)
+			ContainerMetadata metadata, int rowNumber, long rowSize, long rowMaxSize)
 			throws GSException, UnsupportedEncodingException {
 
-		if (values == null || values.size() != containerInfo.getColumnCount()) {
-			throw new GWBadRequestException("Row data is invalid");
-		}
 		Row row = container.createRow();
-		int i = 0;
-		for (Object value : values) {
-			try {
-				rowSize += setRowValue(container, row, containerInfo.getColumnInfo(i).getType(), value, i++, false, null);
-			} catch (Exception e) {
-				throw new GWBadRequestException(e.getMessage());
-			}
-		}
+		rowSize += metadata.getRowConverter().convert(values, row);
 		if (rowSize > rowMaxSize) {
 			throw new GWBadRequestException("Too many rows data");
 		}
@@ -1170,6 +2594,10 @@ public class WebAPIServiceImpl implements WebAPIService {
 					} catch (Exception e) {
 						throw new GWException("The specified data cannot be converted to BLOB type.");
 					}
+				} else if (value instanceof byte[]) {
+					// Binary value of Smile, CBOR or MessagePack
+					row.setBlob(columnNum, BlobUtils.toBlob((byte[]) value));
+					size = ((byte[]) value).length;
 				} else {
 					throw new GWException("The specified data cannot be converted to BLOB type.");
 				}
@@ -1350,22 +2778,130 @@ public class WebAPIServiceImpl implements WebAPIService {
 		}
 		long start = System.nanoTime();
 
+		try {
+			// Containers which could not be dropped are only logged
+			dropContainers(GWUser.getUserfromAuthorization(authorization), cluster, database, listContainers);
+		} finally {
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("deleteContainers : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	@Override
+	public List<GWContainerStatus> deleteContainersBulk(String authorization, String cluster, String database,
+			List<String> listContainers) throws GSException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("deleteContainersBulk : cluster=" + cluster + " database=" + database + " containers="
+					+ listContainers.size());
+		}
+		long start = System.nanoTime();
+
+		try {
+			return dropContainers(GWUser.getUserfromAuthorization(authorization), cluster, database,
+					listContainers);
+		} finally {
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("deleteContainersBulk : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	/**
+	 * Drop containers in batches by up to maxParallelism sessions.
+	 *
+	 * @param user user of the request
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param listContainers names of the containers
+	 * @return the result of each container, in the same order
+	 * @throws GSException when the user is not authorized
+	 */
+	private List<GWContainerStatus> dropContainers(final GWUser user, final String cluster, final String database,
+			final List<String> listContainers) throws GSException {
+		try (GridStore gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+				user.getPassword()); PartitionController controller = gridStore.getPartitionController()) {
+			// Check authorization
+			controller.getPartitionCount();
+		}
+
+		return invokeContainerTasks(cluster, database, user, listContainers,
+				(gridStore, index) -> {
+					String container = listContainers.get(index);
+					try {
+						gridStore.dropContainer(container);
+					} finally {
+						ContainerMetadataCache.invalidate(cluster, database, container);
+						CountCache.invalidate(cluster, database, container);
+					}
+					return HttpStatus.NO_CONTENT;
+				});
+	}
+
+	@Override
+	public void flushMetadataCache(String authorization, String cluster, String database) throws GSException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("flushMetadataCache : cluster=" + cluster + " database=" + database);
+		}
+
 		GWUser user = GWUser.getUserfromAuthorization(authorization);
 		GridStore gridStore = null;
 		try {
 			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
 			// Check authorization
 			gridStore.getPartitionController().getPartitionCount();
-			for (String container : listContainers) {
+			ContainerMetadataCache.invalidate(cluster, database);
+			CountCache.invalidate(cluster, database);
+		} finally {
+			if (gridStore != null) {
 				try {
-					gridStore.dropContainer(container);
-				} catch (GSException ex) {
-					ex.printStackTrace();
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
 				}
 			}
-		} catch (GSException gsException) {
-			throw gsException;
+		}
+	}
+
+	@Override
+	public GWDeleteRowsOutput deleteRows(String authorization, String cluster, String database, String container,
+			List<Object> listRowKeys, Integer batchSize) throws GSException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("deleteRows : cluster=" + cluster + " database=" + database + " container=" + container
+					+ " rowKeys=" + listRowKeys.size() + " batchSize=" + batchSize);
+		}
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		if (batchSize != null && batchSize < 1) {
+			throw new GWBadRequestException("'batchSize' must be 1 or more");
+		}
+		int maxBatchRows = batchSize != null ? batchSize : GWSettingInfo.getDeleteRowsBatchSize();
+		GWDeleteRowsOutput output = new GWDeleteRowsOutput();
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			GSType keyType = getRowKeyColumn(gridStore, cluster, database, container).getType();
+
+			Container<Object, Row> cont = gridStore.getContainer(container);
+			cont.setAutoCommit(false);
+			try {
+				for (int first = 0; first < listRowKeys.size(); first += maxBatchRows) {
+					int last = Math.min(first + maxBatchRows, listRowKeys.size()) - 1;
+					deleteRowBatch(cont, keyType, listRowKeys, first, last, output);
+				}
+			} finally {
+				cont.close();
+			}
+			return output;
 		} finally {
+			// Rows may have been modified even if an error occurred
+			CountCache.invalidate(cluster, database, container);
 			if (gridStore != null) {
 				try {
 					gridStore.close();
@@ -1376,72 +2912,116 @@ public class WebAPIServiceImpl implements WebAPIService {
 
 			long end = System.nanoTime();
 			if (GWSettingInfo.getLogger().isDebugEnabled()) {
-				logger.debug("deleteContainers : time=" + (end - start) / 1000000f);
+				logger.debug("deleteRows : count=" + output.getCount() + " failed=" + output.getFailed()
+						+ " time=" + (end - start) / 1000000f);
 			}
 		}
 	}
 
+	/**
+	 * Delete the rows of a batch of row keys in one transaction and add the
+	 * result of the batch to the output. A row key which can not be converted
+	 * is reported as failed; when the transaction fails every row key of the
+	 * batch is reported as failed and the following batches are still deleted.
+	 *
+	 * @param cont the container to delete the rows from, in manual commit mode
+	 * @param keyType type of the row key
+	 * @param listRowKeys row keys of the request
+	 * @param first index of the first row key of the batch
+	 * @param last index of the last row key of the batch
+	 * @param output the output of row deletion
+	 */
+	private void deleteRowBatch(Container<Object, Row> cont, GSType keyType, List<Object> listRowKeys, int first,
+			int last, GWDeleteRowsOutput output) {
+		GWDeleteRowBatch batch = new GWDeleteRowBatch();
+		batch.setFirstIndex(first);
+		batch.setLastIndex(last);
+		List<Object> removedKeys = new ArrayList<Object>(last - first + 1);
+		int count = 0;
+		try {
+			for (int i = first; i <= last; i++) {
+				Object rowKey;
+				try {
+					rowKey = convertRowKey(keyType, listRowKeys.get(i));
+				} catch (GWBadRequestException e) {
+					batch.setFailed(batch.getFailed() + 1);
+					output.getFailedKeys().add(listRowKeys.get(i));
+					continue;
+				}
+				removedKeys.add(listRowKeys.get(i));
+				if (cont.remove(rowKey)) {
+					count++;
+				}
+			}
+			cont.commit();
+			batch.setCount(count);
+		} catch (GSException e) {
+			logger.warn("deleteRows : failed to delete rows of row keys " + first + "-" + last + ": "
+					+ e.getMessage());
+			try {
+				cont.abort();
+			} catch (GSException exception) {
+				logger.debug("Failed to abort transaction: " + exception.getMessage());
+			}
+			batch.setFailed(batch.getFailed() + removedKeys.size());
+			output.getFailedKeys().addAll(removedKeys);
+		}
+		output.setCount(output.getCount() + batch.getCount());
+		output.setFailed(output.getFailed() + batch.getFailed());
+		output.getBatches().add(batch);
+	}
+
 	@Override
-	public void deleteRows(String authorization, String cluster, String database, String container,
-			List<Object> listRowKeys) throws GSException, ParseException {
+	public GWDeleteRowsOutput deleteRowRange(String authorization, String cluster, String database,
+			String container, Object startKey, Object finishKey) throws GSException, SQLException {
 
 		if (GWSettingInfo.getLogger().isInfoEnabled()) {
-			logger.info("deleteRows : cluster=" + cluster + " database=" + database + " listRowKeys=" + listRowKeys);
+			logger.info("deleteRowRange : cluster=" + cluster + " database=" + database + " container=" + container
+					+ " start=" + startKey + " finish=" + finishKey);
 		}
 		long start = System.nanoTime();
 
 		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		if (startKey == null && finishKey == null) {
+			throw new GWBadRequestException("'start' or 'finish' must be specified");
+		}
+		GWDeleteRowsOutput output = new GWDeleteRowsOutput();
 		GridStore gridStore = null;
 		try {
 			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
-			// Check existence of container
-			ExtendedContainerInfo extendedContainerInfo =
-					ExperimentalTool.getExtendedContainerInfo(gridStore, container);
-			ContainerInfo containerInfo = gridStore.getContainerInfo(container);
-			if (null == extendedContainerInfo || null == containerInfo) {
-				throw new GWNotFoundException("Container not existed");
+			ColumnInfo keyColumnInfo = getRowKeyColumn(gridStore, cluster, database, container);
+			GSType keyType = keyColumnInfo.getType();
+			String keyColumn = keyColumnInfo.getName();
+			Object startValue = startKey != null ? convertRowKey(keyType, startKey) : null;
+			Object finishValue = finishKey != null ? convertRowKey(keyType, finishKey) : null;
+
+			// The rows are deleted by the server without reading them
+			StringBuilder sql = new StringBuilder("DELETE FROM ").append(quoteSqlIdentifier(container))
+					.append(" WHERE ");
+			if (startValue != null) {
+				sql.append(quoteSqlIdentifier(keyColumn)).append(" >= ?");
 			}
-			if (!containerInfo.isRowKeyAssigned()) {
-				throw new GWBadRequestException("Row key does not exist");
+			if (finishValue != null) {
+				sql.append(startValue != null ? " AND " : "").append(quoteSqlIdentifier(keyColumn)).append(" <= ?");
 			}
-
-			GSType columnType = gridStore.getContainerInfo(container).getColumnInfo(0).getType();
-			if (columnType == GSType.LONG) {
-				for (Object object : listRowKeys) {
-					if (object instanceof Integer) {
-						try {
-							gridStore.getContainer(container).remove(((Integer) object).longValue());
-						} catch (Exception e) {
-							e.printStackTrace();
-						}
-					} else {
-						try {
-							gridStore.getContainer(container).remove(object);
-						} catch (Exception e) {
-							e.printStackTrace();
-						}
-					}
+			try (Connection connection = ConnectionUtils.getConnection(cluster, database, user.getUsername(),
+					user.getPassword()); PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+				if (sqlTimeOut != 0) {
+					statement.setQueryTimeout(sqlTimeOut);
 				}
-			} else if (columnType == GSType.TIMESTAMP) {
-				for (Object object : listRowKeys) {
-					try {
-						gridStore.getContainer(container).remove(DateFormatUtils.parse((String) object));
-					} catch (Exception e) {
-						e.printStackTrace();
-					}
+				int index = 1;
+				if (startValue != null) {
+					setSqlRowKey(statement, index++, startValue);
 				}
-			} else {
-				for (Object object : listRowKeys) {
-					try {
-						gridStore.getContainer(container).remove(object);
-					} catch (Exception e) {
-						e.printStackTrace();
-					}
+				if (finishValue != null) {
+					setSqlRowKey(statement, index, finishValue);
 				}
+				output.setCount(statement.executeUpdate());
 			}
-		} catch (GSException gsException) {
-			throw gsException;
+			return output;
 		} finally {
+			// Rows may have been modified even if an error occurred
+			CountCache.invalidate(cluster, database, container);
 			if (gridStore != null) {
 				try {
 					gridStore.close();
@@ -1452,11 +3032,100 @@ public class WebAPIServiceImpl implements WebAPIService {
 
 			long end = System.nanoTime();
 			if (GWSettingInfo.getLogger().isDebugEnabled()) {
-				logger.debug("deleteRows : time=" + (end - start) / 1000000f);
+				logger.debug("deleteRowRange : count=" + output.getCount() + " time=" + (end - start) / 1000000f);
 			}
 		}
 	}
 
+	/**
+	 * Get the row key column of a container.
+	 *
+	 * @param gridStore a GridStore object of the cluster and database
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param container name of container
+	 * @return the {@link ColumnInfo} of the row key
+	 * @throws GSException when unable to get the container information
+	 */
+	private static ColumnInfo getRowKeyColumn(GridStore gridStore, String cluster, String database, String container)
+			throws GSException {
+		ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, cluster, database, container);
+		if (null == metadata) {
+			throw new GWNotFoundException("Container not existed");
+		}
+		ContainerInfo containerInfo = metadata.getContainerInfo();
+		if (!containerInfo.isRowKeyAssigned()) {
+			throw new GWBadRequestException("Row key does not exist");
+		}
+		if (containerInfo.getRowKeyColumnList().size() > 1) {
+			throw new GWBadRequestException("Composite row key is not supported");
+		}
+		return containerInfo.getColumnInfo(0);
+	}
+
+	/**
+	 * Convert a row key of a request to the type of the row key.
+	 *
+	 * @param keyType type of the row key
+	 * @param rowKey row key as read from JSON
+	 * @return the converted row key
+	 * @throws GWBadRequestException when the row key does not match the type
+	 */
+	private static Object convertRowKey(GSType keyType, Object rowKey) {
+		switch (keyType) {
+		case INTEGER:
+			if (rowKey instanceof Integer) {
+				return rowKey;
+			}
+			break;
+		case LONG:
+			if (rowKey instanceof Integer || rowKey instanceof Long) {
+				return ((Number) rowKey).longValue();
+			}
+			break;
+		case TIMESTAMP:
+			if (rowKey instanceof String) {
+				try {
+					return DateFormatUtils.parse((String) rowKey);
+				} catch (ParseException e) {
+					throw new GWBadRequestException("Invalid row key '" + rowKey + "'");
+				}
+			}
+			break;
+		case STRING:
+			if (rowKey instanceof String) {
+				return rowKey;
+			}
+			break;
+		default:
+			return rowKey;
+		}
+		throw new GWBadRequestException("Invalid row key '" + rowKey + "'");
+	}
+
+	/**
+	 * Set a row key converted by {@link #convertRowKey(GSType, Object)} to a
+	 * parameter of an SQL statement.
+	 */
+	private static void setSqlRowKey(PreparedStatement statement, int index, Object value) throws SQLException {
+		if (value instanceof Date) {
+			statement.setTimestamp(index, new Timestamp(((Date) value).getTime()));
+		} else if (value instanceof Long) {
+			statement.setLong(index, (Long) value);
+		} else if (value instanceof Integer) {
+			statement.setInt(index, (Integer) value);
+		} else {
+			statement.setString(index, value.toString());
+		}
+	}
+
+	/**
+	 * Quote a container or column name to be used in an SQL statement.
+	 */
+	private static String quoteSqlIdentifier(String name) {
+		return "\"" + name.replace("\"", "\"\"") + "\"";
+	}
+
 	@Override
 	public void createContainer(String authorization, String cluster, String database, GWContainerInfo gwContainerInfo)
 			throws GSException {
@@ -1471,47 +3140,226 @@ public class WebAPIServiceImpl implements WebAPIService {
 		GridStore gridStore = null;
 		try {
 			gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			createContainerWithIndexes(gridStore, cluster, database, gwContainerInfo);
+		} finally {
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+			}
+
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("createContainer : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	@Override
+	public List<GWContainerStatus> createContainersBulk(String authorization, String cluster, String database,
+			List<GWContainerInfo> listContainerInfo) throws GSException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("createContainersBulk : cluster=" + cluster + " database=" + database + " containers="
+					+ listContainerInfo.size());
+		}
+		long start = System.nanoTime();
+
+		final GWUser user = GWUser.getUserfromAuthorization(authorization);
+		try {
+			try (GridStore gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+					user.getPassword()); PartitionController controller = gridStore.getPartitionController()) {
+				// Check authorization
+				controller.getPartitionCount();
+			}
+
+			// Container names are case-insensitive, a name is only created once
+			final List<GWContainerInfo> containerInfos = new ArrayList<GWContainerInfo>(listContainerInfo);
+			final boolean[] duplicated = new boolean[containerInfos.size()];
+			List<String> names = new ArrayList<String>(containerInfos.size());
+			Set<String> seen = new HashSet<String>();
+			for (int i = 0; i < containerInfos.size(); i++) {
+				String name = containerInfos.get(i) != null ? containerInfos.get(i).getContainer_name() : null;
+				names.add(name);
+				duplicated[i] = name != null && !seen.add(name.toLowerCase(Locale.ROOT));
+			}
+
+			return invokeContainerTasks(cluster, database, user, names, (gridStore, index) -> {
+				if (duplicated[index]) {
+					throw new GWBadRequestException("Duplicate container name");
+				}
+				GWContainerInfo gwContainerInfo = containerInfos.get(index);
+				Validation.validateGWContainerInfo(gwContainerInfo);
+				createContainerWithIndexes(gridStore, cluster, database, gwContainerInfo);
+				return HttpStatus.CREATED;
+			});
+		} finally {
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("createContainersBulk : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	/**
+	 * Create a container and its indexes. If an index can not be created the
+	 * container is dropped.
+	 *
+	 * @param gridStore a GridStore object of the cluster and database
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param gwContainerInfo a validated {@link GWContainerInfo} object
+	 * @throws GSException when the container can not be created
+	 */
+	private static void createContainerWithIndexes(GridStore gridStore, String cluster, String database,
+			GWContainerInfo gwContainerInfo) throws GSException {
+		String containername = gwContainerInfo.getContainer_name();
+		try {
 			// Check if container name is already existed
-			String containername = gwContainerInfo.getContainer_name();
-			ExtendedContainerInfo extendedContainerInfo = ExperimentalTool.getExtendedContainerInfo(gridStore, containername);
+			ExtendedContainerInfo extendedContainerInfo = GridStoreUtils.getExtendedContainerInfo(gridStore,
+					containername);
 			ContainerInfo containerInfo = gridStore.getContainerInfo(containername);
 			if (null != extendedContainerInfo || null != containerInfo) {
 				throw new GWResourceConflictedException("Container already existed");
-			} else {
-				ContainerInfo contInfo = ConversionUtils.convertToContainerInfo(gwContainerInfo);
-				Container<Object, Row> container = gridStore.putContainer(containername, contInfo, true);
-				// Create column index
+			}
+			ContainerInfo contInfo = ConversionUtils.convertToContainerInfo(gwContainerInfo);
+			Container<Object, Row> container = gridStore.putContainer(containername, contInfo, true);
+			// Create column index
+			try {
+				for (int i = 0; i < contInfo.getColumnCount(); i++) {
+					ColumnInfo colInfo = contInfo.getColumnInfo(i);
+					if (colInfo.getIndexTypes() != null) {
+						for (IndexType indexType : colInfo.getIndexTypes()) {
+							container.createIndex(colInfo.getName(), indexType);
+						}
+					}
+				}
+			} catch (GSException e) {
+				gridStore.dropContainer((contInfo.getName()));
+				throw e;
+			} finally {
+				container.close();
+			}
+		} finally {
+			// The container may have been dropped and created by another client
+			ContainerMetadataCache.invalidate(cluster, database, containername);
+			CountCache.invalidate(cluster, database, containername);
+		}
+	}
+
+	/**
+	 * Operation on one container of a bulk request.
+	 */
+	private interface ContainerTask {
+
+		/**
+		 * Run the operation.
+		 *
+		 * @param gridStore a session used by one thread only
+		 * @param index index of the container in the request
+		 * @return the status of a successful operation
+		 * @throws GSException when the operation fails
+		 */
+		HttpStatus run(GridStore gridStore, int index) throws GSException;
+	}
+
+	/**
+	 * Run an operation on containers. The containers are divided into batches
+	 * run concurrently by up to maxParallelism sessions, within the limit of
+	 * maxParallelismPerUser of the user. The failure of a container does not
+	 * stop the others, and if the session of a batch can not be obtained, each
+	 * container of the batch is reported with the error.
+	 *
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param user user of the request
+	 * @param names names of the containers
+	 * @param task the operation
+	 * @return the result of each container, in the same order
+	 * @throws GSException when a batch fails unexpectedly
+	 */
+	private List<GWContainerStatus> invokeContainerTasks(final String cluster, final String database,
+			final GWUser user, final List<String> names, final ContainerTask task) throws GSException {
+		int taskCount = Math.max(1, Math.min(names.size(), GWSettingInfo.getMaxParallelism()));
+		int batchSize = Math.max(1, (names.size() + taskCount - 1) / taskCount);
+		List<Callable<List<GWContainerStatus>>> tasks = new ArrayList<>(taskCount);
+		for (int from = 0; from < names.size(); from += batchSize) {
+			final int first = from;
+			final int last = Math.min(names.size(), from + batchSize);
+			tasks.add(() -> {
+				List<GWContainerStatus> statuses = new ArrayList<GWContainerStatus>(last - first);
+				GridStore taskStore;
 				try {
-					for (int i = 0; i < contInfo.getColumnCount(); i++) {
-						ColumnInfo colInfo = contInfo.getColumnInfo(i);
-						if (colInfo.getIndexTypes() != null) {
-							for (int j = 0; j < colInfo.getIndexTypes().size(); j++) {
-								container.createIndex(colInfo.getName(),
-										(IndexType) colInfo.getIndexTypes().toArray()[j]);
-							}
-						}
+					taskStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(),
+							user.getPassword());
+				} catch (GSException | RuntimeException e) {
+					// None of the containers of the batch is run
+					logger.warn("Failed to create or drop containers: " + e.getMessage());
+					for (int index = first; index < last; index++) {
+						statuses.add(getErrorStatus(names.get(index), e));
 					}
-				} catch (GSException e) {
-					gridStore.dropContainer((contInfo.getName()));
-					throw e;
+					return statuses;
 				}
-			}
-		} catch (GSException gsException) {
-			throw gsException;
-		} finally {
-			if (gridStore != null) {
 				try {
-					gridStore.close();
-				} catch (GSException exception) {
-					exception.printStackTrace();
+					for (int index = first; index < last; index++) {
+						String container = names.get(index);
+						GWContainerStatus status;
+						try {
+							status = new GWContainerStatus();
+							status.setContainer(container);
+							status.setStatus(task.run(taskStore, index).value());
+						} catch (GSException | RuntimeException e) {
+							logger.warn("Failed to create or drop container " + container + ": " + e.getMessage());
+							status = getErrorStatus(container, e);
+						}
+						statuses.add(status);
+					}
+				} finally {
+					try {
+						taskStore.close();
+					} catch (GSException exception) {
+						exception.printStackTrace();
+					}
 				}
-			}
+				return statuses;
+			});
+		}
 
-			long end = System.nanoTime();
-			if (GWSettingInfo.getLogger().isDebugEnabled()) {
-				logger.debug("createContainer : time=" + (end - start) / 1000000f);
+		List<GWContainerStatus> result = new ArrayList<GWContainerStatus>(names.size());
+		try {
+			for (List<GWContainerStatus> statuses : ParallelExecutor.invokeAll(cluster + "/" + user.getUsername(),
+					tasks)) {
+				result.addAll(statuses);
 			}
+		} catch (ExecutionException e) {
+			ParallelExecutor.throwIfInstanceOf(e, GSException.class);
+			throw new GWException("Failed to create or drop containers", e.getCause());
+		}
+		return result;
+	}
+
+	/**
+	 * Get the result of an operation on a container which failed.
+	 *
+	 * @param container name of the container, or null if it is not known
+	 * @param e the failure
+	 * @return the status of the container with the error
+	 */
+	private static GWContainerStatus getErrorStatus(String container, Exception e) {
+		GWContainerStatus status = new GWContainerStatus();
+		status.setContainer(container);
+		if (e instanceof GSException) {
+			status.setStatus(GWExceptionHandler.getStatus((GSException) e).value());
+			status.setErrorCode(((GSException) e).getErrorCode());
+		} else if (e instanceof RuntimeException) {
+			status.setStatus(GWExceptionHandler.getStatus((RuntimeException) e).value());
+		} else {
+			status.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
 		}
+		status.setErrorMessage(e.getMessage());
+		return status;
 	}
 
 	/**
@@ -1573,6 +3421,165 @@ public class WebAPIServiceImpl implements WebAPIService {
 		return result;
 	}
 
+	@Override
+	public List<GWSQLOutput> executeSQLsInParallel(String authorization, final String cluster,
+			final String database, List<GWSQLInput> listSQLInput)
+			throws GSException, SQLException, UnsupportedEncodingException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("executeSQLsInParallel : cluster=" + cluster + " database=" + database);
+		}
+		long start = System.nanoTime();
+
+		final GWUser user = GWUser.getUserfromAuthorization(authorization);
+		if (listSQLInput == null || listSQLInput.size() == 0) {
+			throw new GWBadRequestException("List of SQL is empty");
+		}
+
+		if (listSQLInput.size() > GWSettingInfo.getMaxQueryNum()) {
+			throw new GWBadRequestException("Exceed maximum of SQLs that can be executed");
+		}
+
+		for (GWSQLInput sqlInput : listSQLInput) {
+			Validation.validateGWSQLInput(sqlInput);
+		}
+
+		// Size of the results shared by all the SQLs
+		final AtomicLong totalSize = new AtomicLong();
+		List<Callable<GWSQLOutput>> tasks = new ArrayList<>(listSQLInput.size());
+		for (final GWSQLInput sqlInput : listSQLInput) {
+			// executeSQL() gets its own connection for each SQL
+			tasks.add(() -> {
+				GWSQLOutput output = executeSQL(user.getUsername(), user.getPassword(), cluster, database, sqlInput);
+				if (totalSize.addAndGet(output.getResponseSizeByte()) > GWSettingInfo.getMaxTotalResponseSize()) {
+					throw new GWBadRequestException("Too many result");
+				}
+				return output;
+			});
+		}
+
+		try {
+			return ParallelExecutor.invokeAll(cluster + "/" + user.getUsername(), tasks);
+		} catch (ExecutionException e) {
+			ParallelExecutor.throwIfInstanceOf(e, SQLException.class);
+			ParallelExecutor.throwIfInstanceOf(e, UnsupportedEncodingException.class);
+			throw new GWException("Failed to execute SQL", e.getCause());
+		} finally {
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("executeSQLsInParallel : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	@Override
+	public void writeSQLsArrow(String authorization, String cluster, String database,
+			List<GWSQLInput> listSQLInput, ArrowResultWriter writer)
+			throws GSException, SQLException, IOException {
+
+		if (GWSettingInfo.getLogger().isInfoEnabled()) {
+			logger.info("writeSQLsArrow : cluster=" + cluster + " database=" + database);
+		}
+		long start = System.nanoTime();
+
+		GWUser user = GWUser.getUserfromAuthorization(authorization);
+		if (listSQLInput == null || listSQLInput.size() == 0) {
+			throw new GWBadRequestException("List of SQL is empty");
+		}
+
+		if (listSQLInput.size() > GWSettingInfo.getMaxQueryNum()) {
+			throw new GWBadRequestException("Exceed maximum of SQLs that can be executed");
+		}
+
+		for (GWSQLInput sqlInput : listSQLInput) {
+			Validation.validateGWSQLInput(sqlInput);
+		}
+
+		try {
+			for (GWSQLInput sqlInput : listSQLInput) {
+				try (Connection connection = ConnectionUtils.getConnection(cluster, database, user.getUsername(),
+						user.getPassword()); Statement statement = connection.createStatement()) {
+					if (sqlTimeOut != 0) {
+						statement.setQueryTimeout(sqlTimeOut);
+					}
+					try (ResultSet resultSet = statement.executeQuery(sqlInput.getStmt())) {
+						writeSQLResult(resultSet, writer);
+					}
+				}
+			}
+		} finally {
+			long end = System.nanoTime();
+			if (GWSettingInfo.getLogger().isDebugEnabled()) {
+				logger.debug("writeSQLsArrow : time=" + (end - start) / 1000000f);
+			}
+		}
+	}
+
+	/**
+	 * Write the result of an SQL as an Arrow stream, converting one row at a
+	 * time.
+	 */
+	private void writeSQLResult(ResultSet rs, ArrowResultWriter writer) throws SQLException, IOException {
+		ResultSetMetaData md = rs.getMetaData();
+		List<GWSQLColumnInfo> columns = getSqlColumnInfoList(md);
+		List<Field> fields = new ArrayList<Field>(columns.size());
+		for (int i = 1; i <= columns.size(); i++) {
+			fields.add(ArrowResultWriter.toField(columns.get(i - 1), md.getColumnType(i)));
+		}
+		writer.start(fields, null);
+		while (rs.next()) {
+			for (int i = 1; i <= columns.size(); i++) {
+				writer.setValue(i - 1, getSqlValue(rs, i, md.getColumnType(i)));
+			}
+			writer.endRow();
+		}
+		writer.end();
+	}
+
+	/**
+	 * Get a value of an SQL result without converting it to a string.
+	 */
+	private static Object getSqlValue(ResultSet rs, int i, int type) throws SQLException {
+		Object value;
+		switch (type) {
+		case Types.BIGINT:
+			value = rs.getLong(i);
+			break;
+		case Types.BIT:
+			value = rs.getBoolean(i);
+			break;
+		case Types.BLOB:
+			value = rs.getBlob(i);
+			break;
+		case Types.DOUBLE:
+			value = rs.getDouble(i);
+			break;
+		case Types.FLOAT:
+			value = rs.getFloat(i);
+			break;
+		case Types.INTEGER:
+			value = rs.getInt(i);
+			break;
+		case Types.OTHER:
+			return null;
+		case Types.SMALLINT:
+			value = rs.getShort(i);
+			break;
+		case Types.TIMESTAMP:
+			value = rs.getTimestamp(i);
+			break;
+		case Types.TINYINT:
+			value = rs.getByte(i);
+			break;
+		case Types.VARCHAR:
+			value = rs.getString(i);
+			break;
+		default:
+			throw new SQLException("Unknown type(" + type + ") at column(" + i + ")");
+		}
+		return rs.wasNull() ? null : value;
+	}
+
 	/**
 	 * Execute SQL select.
 	 *
@@ -1658,6 +3665,29 @@ public class WebAPIServiceImpl implements WebAPIService {
 			throws SQLException, UnsupportedEncodingException {
 
 		GWSQLOutput result = new GWSQLOutput();
+		List<GWSQLColumnInfo> columns = getSqlColumnInfoList(md);
+
+		List<List<Object>> rows = new ArrayList<List<Object>>();
+		long rowMaxSize = GWSettingInfo.getMaxGetRowSize();
+		long rowsize = 0;
+		while (rs.next()) {
+			List<Object> list = new ArrayList<Object>(md.getColumnCount());
+			for (int i = 1; i <= md.getColumnCount(); i++) {
+				long size = stringify(list, rs, i, md.getColumnType(i));
+				rowsize += size;
+			}
+			if (rowsize > rowMaxSize) {
+				throw new GWBadRequestException("Too many result");
+			}
+			rows.add(list);
+		}
+		result.setResponseSizeByte(rowsize);
+		result.setColumns(columns);
+		result.setResults(rows);
+		return result;
+	}
+
+	private static List<GWSQLColumnInfo> getSqlColumnInfoList(ResultSetMetaData md) throws SQLException {
 		List<GWSQLColumnInfo> columns = new ArrayList<GWSQLColumnInfo>(md.getColumnCount());
 		for (int i = 1; i <= md.getColumnCount(); i++) {
 			GWSQLColumnInfo columnInfo = new GWSQLColumnInfo();
@@ -1685,25 +3715,7 @@ public class WebAPIServiceImpl implements WebAPIService {
 
 			columns.add(columnInfo);
 		}
-
-		List<List<Object>> rows = new ArrayList<List<Object>>();
-		long rowMaxSize = GWSettingInfo.getMaxGetRowSize();
-		long rowsize = 0;
-		while (rs.next()) {
-			List<Object> list = new ArrayList<Object>(md.getColumnCount());
-			for (int i = 1; i <= md.getColumnCount(); i++) {
-				long size = stringify(list, rs, i, md.getColumnType(i));
-				rowsize += size;
-			}
-			if (rowsize > rowMaxSize) {
-				throw new GWBadRequestException("Too many result");
-			}
-			rows.add(list);
-		}
-		result.setResponseSizeByte(rowsize);
-		result.setColumns(columns);
-		result.setResults(rows);
-		return result;
+		return columns;
 	}
 
 	private static long stringify(List<Object> list, ResultSet rs, int i, int type)
@@ -1870,34 +3882,311 @@ public class WebAPIServiceImpl implements WebAPIService {
 	}
 
 	private String getBlobData(
-			List<String> columns, String columnName, Row row, Blob data, String sourcePath)
+			List<String> columns, String columnName, Row row, Blob data, BlobZipWriter blobs)
 			throws IOException, SQLException {
-		if (columnName == null) {
-			return BlobUtils.writeBlob(data, null, sourcePath + "/");
-		}
-		int prefixNumber = 1;
-		String fileName = null;
-		if (columns.contains(columnName)) {
-			int index = columns.indexOf(columnName);
-			Object value = row.getValue(index);
-			String name = "";
+		String name = null;
+		if (columnName != null && columns.contains(columnName)) {
+			Object value = row.getValue(columns.indexOf(columnName));
 			if (value != null) {
 				name = value.toString();
-			} else {
-				return BlobUtils.writeBlob(data, null, sourcePath + "/");
 			}
-			if (BlobUtils.fileExists(name, sourcePath)) {
-				while (BlobUtils.fileExists(prefixNumber + "_" + name, sourcePath)) {
-					prefixNumber += 1;
+		}
+		return blobs.add(data, name);
+	}
+
+	/**
+	 * A TQL which has been executed but whose rows have not been read yet.
+	 */
+	private static final class TQLQuery {
+
+		private final GWTQLOutput result;
+		private final ContainerInfo containerInfo;
+		// Indexes of the selected columns, null if all columns are returned
+		private final ArrayList<Integer> selectedColumns;
+		private final RowSet<?> rowSet;
+
+		TQLQuery(GWTQLOutput result, ContainerInfo containerInfo, ArrayList<Integer> selectedColumns,
+				RowSet<?> rowSet) {
+			this.result = result;
+			this.containerInfo = containerInfo;
+			this.selectedColumns = selectedColumns;
+			this.rowSet = rowSet;
+		}
+	}
+
+	/**
+	 * Rows of a container in a time range query merged by time. The rows are
+	 * read ahead into the queue by the {@link RangeProducer} of the container,
+	 * and taken from it by the thread of the request.
+	 */
+	private static final class RangeCursor {
+
+		// Marks the end of the rows in the queue
+		private static final Object END = new Object();
+
+		private final int index;
+		private final String name;
+		private final ContainerInfo containerInfo;
+		private final RangeProducer producer;
+		private final ArrayBlockingQueue<Object> queue = new ArrayBlockingQueue<Object>(RangeProducer.READ_AHEAD_ROWS);
+
+		// Used by the thread of the request
+		private Row row;
+		// Row key of the row, in milliseconds and the nanoseconds within the millisecond
+		private long millis;
+		private int nanos;
+
+		// Used by the thread reading the rows
+		private Container<Object, Row> container;
+		private RowSet<Row> rowSet;
+		private boolean drained;
+
+		RangeCursor(int index, String name, ContainerInfo containerInfo, RangeProducer producer) {
+			this.index = index;
+			this.name = name;
+			this.containerInfo = containerInfo;
+			this.producer = producer;
+		}
+
+		/**
+		 * Take the next row. Called by the thread of the request.
+		 *
+		 * @return false if there are no more rows
+		 */
+		boolean next() throws GSException, InterruptedException {
+			Object next = queue.poll();
+			if (next == null) {
+				next = producer.take(this);
+			}
+			if (queue.remainingCapacity() == 1) {
+				// The queue was full, the producer may be waiting for room
+				producer.wakeUp();
+			}
+			if (next == END) {
+				row = null;
+				return false;
+			}
+			row = (Row) next;
+			Object value = row.getValue(0);
+			millis = ((Date) value).getTime();
+			nanos = value instanceof Timestamp ? ((Timestamp) value).getNanos() % 1000000 : 0;
+			return true;
+		}
+
+		/**
+		 * Read rows until the queue is full, starting the query if needed.
+		 * Called by the thread reading the rows.
+		 *
+		 * @return false once all the rows are queued
+		 */
+		boolean fill(GridStore gridStore, Date startTime, Date endTime, String condition) throws GSException {
+			if (drained) {
+				return false;
+			}
+			if (container == null) {
+				container = getRangeContainer(gridStore, name);
+				rowSet = queryTimeRange(container, name, containerInfo, startTime, endTime, condition);
+			}
+			while (queue.remainingCapacity() > 0) {
+				if (!rowSet.hasNext()) {
+					// The container is not needed anymore
+					close();
+					queue.add(END);
+					drained = true;
+					return false;
 				}
-				fileName = BlobUtils.writeBlob(data, prefixNumber + "_" + name, sourcePath + "/");
-			} else {
-				fileName = BlobUtils.writeBlob(data, name, sourcePath + "/");
+				queue.add(rowSet.next());
+			}
+			return true;
+		}
+
+		boolean hasRoom() {
+			return !drained && queue.remainingCapacity() > 0;
+		}
+
+		void close() {
+			if (container != null) {
+				try {
+					container.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+				container = null;
+				rowSet = null;
+			}
+		}
+	}
+
+	/**
+	 * Session reading the rows of some containers of a time range query merged
+	 * by time. It is run in the background by a worker thread, or read by the
+	 * thread of the request when the rows are needed and no worker thread has
+	 * started it, e.g. because the user has no room left.
+	 */
+	private static final class RangeProducer implements Callable<Void> {
+
+		// Rows read ahead per container
+		private static final int READ_AHEAD_ROWS = 256;
+
+		// Interval at which the thread of the request checks the failure of the worker thread (milliseconds)
+		private static final long POLL_INTERVAL = 100;
+
+		private static final int WORKER = 1;
+		private static final int REQUEST = 2;
+
+		private final String cluster;
+		private final String database;
+		private final GWUser user;
+		private final Date startTime;
+		private final Date endTime;
+		private final String condition;
+		private final List<RangeCursor> cursors = new ArrayList<RangeCursor>();
+
+		// Thread reading the rows, set once
+		private final AtomicInteger owner = new AtomicInteger();
+		// Whether a worker thread was asked to run it, set before it is read
+		private boolean started;
+		// Failure of the worker thread
+		private volatile Exception failure;
+		// Used by the thread reading the rows
+		private GridStore gridStore;
+
+		RangeProducer(String cluster, String database, GWUser user, Date startTime, Date endTime,
+				String condition) {
+			this.cluster = cluster;
+			this.database = database;
+			this.user = user;
+			this.startTime = startTime;
+			this.endTime = endTime;
+			this.condition = condition;
+		}
+
+		RangeCursor add(int index, String name, ContainerInfo containerInfo) {
+			RangeCursor cursor = new RangeCursor(index, name, containerInfo, this);
+			cursors.add(cursor);
+			return cursor;
+		}
+
+		@Override
+		public Void call() {
+			if (!owner.compareAndSet(0, WORKER)) {
+				return null;
+			}
+			try {
+				while (fill()) {
+					synchronized (this) {
+						while (!hasRoom()) {
+							wait();
+						}
+					}
+				}
+			} catch (Exception e) {
+				failure = e;
+			} catch (Error e) {
+				failure = new GWException("Failed to get rows", e);
+				throw e;
+			} finally {
+				close();
+			}
+			return null;
+		}
+
+		/**
+		 * Take the next row of a container whose queue is empty. Called by the
+		 * thread of the request.
+		 */
+		Object take(RangeCursor cursor) throws GSException, InterruptedException {
+			// Give a worker thread asked to run it some time to start
+			boolean waitForWorker = started;
+			while (true) {
+				if (!waitForWorker) {
+					owner.compareAndSet(0, REQUEST);
+				}
+				if (owner.get() == REQUEST) {
+					fill();
+					Object next = cursor.queue.poll();
+					if (next != null) {
+						return next;
+					}
+				} else {
+					Object next = cursor.queue.poll(POLL_INTERVAL, java.util.concurrent.TimeUnit.MILLISECONDS);
+					if (next != null) {
+						return next;
+					}
+					Exception e = failure;
+					if (e instanceof GSException) {
+						throw (GSException) e;
+					} else if (e instanceof RuntimeException) {
+						throw (RuntimeException) e;
+					} else if (e != null) {
+						throw new GWException("Failed to get rows", e);
+					}
+					waitForWorker = false;
+				}
+			}
+		}
+
+		synchronized void wakeUp() {
+			notifyAll();
+		}
+
+		/**
+		 * Close the session if it is read by the thread of the request.
+		 */
+		void closeIfReadByRequest() {
+			if (owner.get() == REQUEST) {
+				close();
+			}
+		}
+
+		private boolean fill() throws GSException {
+			if (gridStore == null) {
+				gridStore = GridStoreUtils.getGridStore(cluster, database, user.getUsername(), user.getPassword());
+			}
+			boolean remaining = false;
+			for (RangeCursor cursor : cursors) {
+				if (cursor.fill(gridStore, startTime, endTime, condition)) {
+					remaining = true;
+				}
+			}
+			return remaining;
+		}
+
+		private boolean hasRoom() {
+			for (RangeCursor cursor : cursors) {
+				if (cursor.hasRoom()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void close() {
+			for (RangeCursor cursor : cursors) {
+				cursor.close();
+			}
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException exception) {
+					exception.printStackTrace();
+				}
+				gridStore = null;
 			}
-		} else {
-			fileName = BlobUtils.writeBlob(data, null, sourcePath + "/");
 		}
-		return fileName;
 	}
 
+	/**
+	 * Total rows of a query and the <code>totalMode</code> which produced it.
+	 */
+	private static final class Total {
+
+		private final long value;
+		private final String mode;
+
+		Total(long value, String mode) {
+			this.value = value;
+			this.mode = mode;
+		}
+	}
 }
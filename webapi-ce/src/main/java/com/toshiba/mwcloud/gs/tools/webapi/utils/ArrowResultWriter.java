@@ -0,0 +1,449 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BaseFixedWidthVector;
+import org.apache.arrow.vector.BaseVariableWidthVector;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.ProxyOutputStream;
+
+import com.toshiba.mwcloud.gs.GSType;
+import com.toshiba.mwcloud.gs.TimeUnit;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSQLColumnInfo;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWTQLColumnInfo;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
+
+/**
+ * Writer of query results in the Apache Arrow IPC streaming format.
+ *
+ * <p>
+ * Each result is written as one stream: the schema, record batches of up to
+ * <code>arrowBatchSize</code> rows and the end-of-stream marker. The results
+ * of a request with several queries are written one after another. Only one
+ * batch is held in memory at a time.
+ *
+ * <p>
+ * Numbers, booleans and timestamps are written as Arrow values of the same
+ * width, timestamps in UTC with the precision of the column. STRING and
+ * GEOMETRY columns are written as UTF-8 strings, BLOB columns as binary and
+ * array columns as lists. The type of the column in GridDB is kept in the
+ * metadata of each field under <code>type</code>.
+ */
+public class ArrowResultWriter implements Closeable {
+
+	/**
+	 * Metadata key of the type of a column in GridDB
+	 */
+	public static final String METADATA_TYPE = "type";
+
+	private static final BufferAllocator rootAllocator = new RootAllocator();
+
+	private final OutputStream out;
+
+	private final BufferAllocator allocator;
+
+	private final int batchSize;
+
+	private VectorSchemaRoot root;
+
+	private ArrowStreamWriter writer;
+
+	private int rowCount;
+
+	/**
+	 * Create a writer.
+	 *
+	 * @param out stream to write to, which is not closed by the writer
+	 */
+	public ArrowResultWriter(OutputStream out) {
+		this.out = out;
+		this.allocator = rootAllocator.newChildAllocator("arrow-result", 0, Long.MAX_VALUE);
+		this.batchSize = GWSettingInfo.getArrowBatchSize();
+	}
+
+	/**
+	 * Create a writer writing directly to a response. The content type is set
+	 * when the first result is written, so errors detected before that are
+	 * still reported as JSON with their status code.
+	 *
+	 * @param response the response to write to
+	 * @return an {@link ArrowResultWriter}
+	 * @throws IOException when the response can not be written
+	 */
+	public static ArrowResultWriter open(final HttpServletResponse response) throws IOException {
+		return new ArrowResultWriter(new ProxyOutputStream(response.getOutputStream()) {
+
+			@Override
+			protected void beforeWrite(int n) {
+				if (!response.isCommitted() && response.getContentType() == null) {
+					response.setStatus(HttpServletResponse.SC_OK);
+					response.setContentType(Constants.MEDIA_TYPE_ARROW_STREAM);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Start a result by writing its schema.
+	 *
+	 * @param fields fields of the result
+	 * @param metadata metadata of the result such as offset and total, or null
+	 * @throws IOException when the stream can not be written
+	 */
+	public void start(List<Field> fields, Map<String, String> metadata) throws IOException {
+		root = VectorSchemaRoot.create(new Schema(fields, metadata), allocator);
+		// Closing the writer of a result must not close the response
+		writer = new ArrowStreamWriter(root, null, CloseShieldOutputStream.wrap(out));
+		writer.start();
+		root.allocateNew();
+		rowCount = 0;
+	}
+
+	/**
+	 * Set a value of the current row.
+	 *
+	 * @param column index of the column
+	 * @param value value read from GridDB, or null
+	 * @throws SQLException when a BLOB can not be read
+	 */
+	public void setValue(int column, Object value) throws SQLException {
+		setValue(root.getVector(column), rowCount, value);
+	}
+
+	/**
+	 * End the current row, writing a record batch if it is full.
+	 *
+	 * @throws IOException when the stream can not be written
+	 */
+	public void endRow() throws IOException {
+		rowCount++;
+		if (rowCount >= batchSize) {
+			writeBatch();
+		}
+	}
+
+	/**
+	 * End the result by writing the rows left and the end-of-stream marker.
+	 *
+	 * @throws IOException when the stream can not be written
+	 */
+	public void end() throws IOException {
+		if (rowCount > 0) {
+			writeBatch();
+		}
+		writer.end();
+		closeResult();
+	}
+
+	@Override
+	public void close() {
+		closeResult();
+		allocator.close();
+	}
+
+	/**
+	 * Create the fields of the columns of a container.
+	 *
+	 * @param columns a {@link List} of {@link GWTQLColumnInfo}
+	 * @return a {@link List} of {@link Field}
+	 */
+	public static List<Field> toFields(List<GWTQLColumnInfo> columns) {
+		List<Field> fields = new ArrayList<Field>(columns.size());
+		for (GWTQLColumnInfo column : columns) {
+			fields.add(toField(column));
+		}
+		return fields;
+	}
+
+	/**
+	 * Get the field of a column of a container.
+	 *
+	 * @param column a {@link GWTQLColumnInfo}
+	 * @return a {@link Field}
+	 */
+	public static Field toField(GWTQLColumnInfo column) {
+		ArrowType type;
+		ArrowType elementType = null;
+		switch (column.getType()) {
+		case BOOL_ARRAY:
+			elementType = ArrowType.Bool.INSTANCE;
+			type = ArrowType.List.INSTANCE;
+			break;
+		case STRING_ARRAY:
+			elementType = ArrowType.Utf8.INSTANCE;
+			type = ArrowType.List.INSTANCE;
+			break;
+		case BYTE_ARRAY:
+			elementType = new ArrowType.Int(8, true);
+			type = ArrowType.List.INSTANCE;
+			break;
+		case SHORT_ARRAY:
+			elementType = new ArrowType.Int(16, true);
+			type = ArrowType.List.INSTANCE;
+			break;
+		case INTEGER_ARRAY:
+			elementType = new ArrowType.Int(32, true);
+			type = ArrowType.List.INSTANCE;
+			break;
+		case LONG_ARRAY:
+			elementType = new ArrowType.Int(64, true);
+			type = ArrowType.List.INSTANCE;
+			break;
+		case FLOAT_ARRAY:
+			elementType = new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+			type = ArrowType.List.INSTANCE;
+			break;
+		case DOUBLE_ARRAY:
+			elementType = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+			type = ArrowType.List.INSTANCE;
+			break;
+		case TIMESTAMP_ARRAY:
+			elementType = toTimestampType(null);
+			type = ArrowType.List.INSTANCE;
+			break;
+		default:
+			type = toArrowType(column.getType(), column.getTimePrecision());
+			break;
+		}
+		return toField(column.getName(), column.getType().name(), type, elementType);
+	}
+
+	/**
+	 * Get the field of a column of an SQL result.
+	 *
+	 * @param column a {@link GWSQLColumnInfo}
+	 * @param jdbcType type of the column in {@link Types}
+	 * @return a {@link Field}
+	 * @throws SQLException when the type is not supported
+	 */
+	public static Field toField(GWSQLColumnInfo column, int jdbcType) throws SQLException {
+		ArrowType type;
+		switch (jdbcType) {
+		case Types.BIGINT:
+			type = toArrowType(GSType.LONG, null);
+			break;
+		case Types.BIT:
+			type = toArrowType(GSType.BOOL, null);
+			break;
+		case Types.BLOB:
+			type = toArrowType(GSType.BLOB, null);
+			break;
+		case Types.DOUBLE:
+			type = toArrowType(GSType.DOUBLE, null);
+			break;
+		case Types.FLOAT:
+			type = toArrowType(GSType.FLOAT, null);
+			break;
+		case Types.INTEGER:
+			type = toArrowType(GSType.INTEGER, null);
+			break;
+		case Types.SMALLINT:
+			type = toArrowType(GSType.SHORT, null);
+			break;
+		case Types.TIMESTAMP:
+			type = toArrowType(GSType.TIMESTAMP, column.getTimePrecision());
+			break;
+		case Types.TINYINT:
+			type = toArrowType(GSType.BYTE, null);
+			break;
+		case Types.OTHER:
+		case Types.VARCHAR:
+			type = toArrowType(GSType.STRING, null);
+			break;
+		default:
+			throw new SQLException("Unknown type(" + jdbcType + ") at column(" + column.getName() + ")");
+		}
+		return toField(column.getName(), column.getType(), type, null);
+	}
+
+	private static Field toField(String name, String gridDBType, ArrowType type, ArrowType elementType) {
+		FieldType fieldType = new FieldType(true, type, null,
+				Collections.singletonMap(METADATA_TYPE, gridDBType));
+		List<Field> children = null;
+		if (elementType != null) {
+			children = Collections.singletonList(new Field("item", FieldType.nullable(elementType), null));
+		}
+		return new Field(name, fieldType, children);
+	}
+
+	private static ArrowType toArrowType(GSType type, TimeUnit precision) {
+		switch (type) {
+		case BOOL:
+			return ArrowType.Bool.INSTANCE;
+		case BYTE:
+			return new ArrowType.Int(8, true);
+		case SHORT:
+			return new ArrowType.Int(16, true);
+		case INTEGER:
+			return new ArrowType.Int(32, true);
+		case LONG:
+			return new ArrowType.Int(64, true);
+		case FLOAT:
+			return new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+		case DOUBLE:
+			return new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+		case TIMESTAMP:
+			return toTimestampType(precision);
+		case BLOB:
+			return ArrowType.Binary.INSTANCE;
+		case STRING:
+		case GEOMETRY:
+		default:
+			return ArrowType.Utf8.INSTANCE;
+		}
+	}
+
+	private static ArrowType toTimestampType(TimeUnit precision) {
+		org.apache.arrow.vector.types.TimeUnit unit;
+		if (precision == TimeUnit.NANOSECOND) {
+			unit = org.apache.arrow.vector.types.TimeUnit.NANOSECOND;
+		} else if (precision == TimeUnit.MICROSECOND) {
+			unit = org.apache.arrow.vector.types.TimeUnit.MICROSECOND;
+		} else {
+			unit = org.apache.arrow.vector.types.TimeUnit.MILLISECOND;
+		}
+		return new ArrowType.Timestamp(unit, "UTC");
+	}
+
+	private void setValue(FieldVector vector, int index, Object value) throws SQLException {
+		if (value == null) {
+			setNull(vector, index);
+		} else if (vector instanceof BitVector) {
+			((BitVector) vector).setSafe(index, (Boolean) value ? 1 : 0);
+		} else if (vector instanceof TinyIntVector) {
+			((TinyIntVector) vector).setSafe(index, ((Number) value).byteValue());
+		} else if (vector instanceof SmallIntVector) {
+			((SmallIntVector) vector).setSafe(index, ((Number) value).shortValue());
+		} else if (vector instanceof IntVector) {
+			((IntVector) vector).setSafe(index, ((Number) value).intValue());
+		} else if (vector instanceof BigIntVector) {
+			((BigIntVector) vector).setSafe(index, ((Number) value).longValue());
+		} else if (vector instanceof Float4Vector) {
+			((Float4Vector) vector).setSafe(index, ((Number) value).floatValue());
+		} else if (vector instanceof Float8Vector) {
+			((Float8Vector) vector).setSafe(index, ((Number) value).doubleValue());
+		} else if (vector instanceof TimeStampVector) {
+			ArrowType.Timestamp type = (ArrowType.Timestamp) vector.getField().getType();
+			((TimeStampVector) vector).setSafe(index, toEpoch((Date) value, type.getUnit()));
+		} else if (vector instanceof VarBinaryVector) {
+			byte[] bytes;
+			if (value instanceof Blob) {
+				Blob blob = (Blob) value;
+				bytes = blob.getBytes(1, (int) blob.length());
+			} else {
+				bytes = (byte[]) value;
+			}
+			((VarBinaryVector) vector).setSafe(index, bytes);
+		} else if (vector instanceof VarCharVector) {
+			((VarCharVector) vector).setSafe(index, value.toString().getBytes(StandardCharsets.UTF_8));
+		} else if (vector instanceof ListVector) {
+			ListVector listVector = (ListVector) vector;
+			int length = Array.getLength(value);
+			int offset = listVector.startNewValue(index);
+			for (int i = 0; i < length; i++) {
+				setValue(listVector.getDataVector(), offset + i, Array.get(value, i));
+			}
+			listVector.endValue(index, length);
+		} else {
+			throw new GWException("Type is invalid");
+		}
+	}
+
+	private static void setNull(FieldVector vector, int index) {
+		if (vector instanceof BaseFixedWidthVector) {
+			((BaseFixedWidthVector) vector).setNull(index);
+		} else if (vector instanceof BaseVariableWidthVector) {
+			((BaseVariableWidthVector) vector).setNull(index);
+		} else if (vector instanceof ListVector) {
+			((ListVector) vector).setNull(index);
+		}
+	}
+
+	private static long toEpoch(Date date, org.apache.arrow.vector.types.TimeUnit unit) {
+		long millis = date.getTime();
+		long seconds = Math.floorDiv(millis, 1000L);
+		// Timestamp keeps the whole fraction of the second in nanos
+		long nanos = date instanceof Timestamp ? ((Timestamp) date).getNanos()
+				: Math.floorMod(millis, 1000L) * 1000000L;
+		switch (unit) {
+		case NANOSECOND:
+			return seconds * 1000000000L + nanos;
+		case MICROSECOND:
+			return seconds * 1000000L + nanos / 1000L;
+		default:
+			return millis;
+		}
+	}
+
+	private void writeBatch() throws IOException {
+		root.setRowCount(rowCount);
+		writer.writeBatch();
+		root.allocateNew();
+		rowCount = 0;
+	}
+
+	private void closeResult() {
+		if (writer != null) {
+			writer.close();
+			writer = null;
+		}
+		if (root != null) {
+			root.close();
+			root = null;
+		}
+	}
+
+}
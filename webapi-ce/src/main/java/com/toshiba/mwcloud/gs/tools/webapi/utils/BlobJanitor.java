@@ -0,0 +1,257 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWBlobJanitorStatistics;
+
+/**
+ * Background janitor of the BLOB data staged in <code>blobPath</code>.
+ *
+ * <p>
+ * Every <code>blobJanitorInterval</code> seconds, the janitor deletes the
+ * files and directories of <code>blobPath</code> older than
+ * <code>blobRetention</code> seconds. If <code>blobPath</code> is still larger
+ * than <code>blobHighWatermark</code>, the oldest ones are deleted until it is
+ * not larger than <code>blobLowWatermark</code>. Data staged by a request in
+ * progress is never deleted, see {@link #acquire(String)}.
+ */
+public class BlobJanitor {
+
+	private static final Logger logger = LoggerFactory.getLogger(BlobJanitor.class);
+
+	// Names of the data staged by requests in progress
+	private static final Set<String> active = ConcurrentHashMap.newKeySet();
+
+	private static ScheduledExecutorService executor;
+
+	private static volatile long stagedBytes;
+	private static volatile long stagedFiles;
+	private static final AtomicLong reclaimedBytes = new AtomicLong();
+	private static final AtomicLong reclaimedFiles = new AtomicLong();
+	private static final AtomicLong runs = new AtomicLong();
+	private static volatile long lastRunTimeMillis;
+	private static volatile long lastRunEnd;
+
+	/**
+	 * Start the janitor. Called once the settings are loaded.
+	 */
+	public static synchronized void init() {
+		int interval = GWSettingInfo.getBlobJanitorInterval();
+		if (executor != null || GWSettingInfo.getBlobPath() == null || interval <= 0) {
+			return;
+		}
+		lastRunEnd = System.currentTimeMillis();
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "blob-janitor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(BlobJanitor::run, 0, interval, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Stop the janitor.
+	 */
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Whether the janitor is running. Setting <code>blobJanitorInterval</code>
+	 * to 0 disables the janitor.
+	 *
+	 * @return true if the janitor is enabled
+	 */
+	public static synchronized boolean isEnabled() {
+		return executor != null;
+	}
+
+	/**
+	 * Protect data of <code>blobPath</code> from the janitor while a request
+	 * stages it. Call this before the data is created.
+	 *
+	 * @param name name of the file or directory, without the
+	 *            <code>.zip</code> extension
+	 */
+	public static void acquire(String name) {
+		active.add(name);
+	}
+
+	/**
+	 * Release data protected by {@link #acquire(String)}. Call this after the
+	 * data is deleted.
+	 *
+	 * @param name name of the file or directory, without the
+	 *            <code>.zip</code> extension
+	 */
+	public static void release(String name) {
+		active.remove(name);
+	}
+
+	/**
+	 * Get the current statistics of the janitor.
+	 *
+	 * @return a {@link GWBlobJanitorStatistics}
+	 */
+	public static GWBlobJanitorStatistics getStatistics() {
+		GWBlobJanitorStatistics statistics = new GWBlobJanitorStatistics();
+		if (!isEnabled()) {
+			return statistics;
+		}
+		statistics.setEnabled(true);
+		statistics.setStagedBytes(stagedBytes);
+		statistics.setStagedFiles(stagedFiles);
+		statistics.setReclaimedBytes(reclaimedBytes.get());
+		statistics.setReclaimedFiles(reclaimedFiles.get());
+		statistics.setRuns(runs.get());
+		statistics.setLastRunTimeMillis(lastRunTimeMillis);
+		long overdue = System.currentTimeMillis() - lastRunEnd
+				- TimeUnit.SECONDS.toMillis(GWSettingInfo.getBlobJanitorInterval());
+		statistics.setLagMillis(Math.max(0, overdue));
+		return statistics;
+	}
+
+	private static void run() {
+		long start = System.currentTimeMillis();
+		try {
+			clean(new File(GWSettingInfo.getBlobPath()), start);
+		} catch (RuntimeException e) {
+			logger.warn("Failed to clean blobPath: " + e.getMessage(), e);
+		} finally {
+			long end = System.currentTimeMillis();
+			runs.incrementAndGet();
+			lastRunTimeMillis = end - start;
+			lastRunEnd = end;
+		}
+	}
+
+	private static void clean(File folder, long now) {
+		File[] files = folder.listFiles();
+		if (files == null) {
+			stagedBytes = 0;
+			stagedFiles = 0;
+			return;
+		}
+
+		long expiry = now - TimeUnit.SECONDS.toMillis(GWSettingInfo.getBlobRetention());
+		List<StagedData> kept = new ArrayList<>(files.length);
+		long totalBytes = 0;
+		long totalFiles = 0;
+		for (File file : files) {
+			StagedData data;
+			try {
+				data = new StagedData(file);
+			} catch (RuntimeException e) {
+				// Deleted by its request while being listed
+				logger.debug("Failed to list " + file + ": " + e.getMessage());
+				continue;
+			}
+			if (data.lastModified < expiry && !isActive(file) && reclaim(data)) {
+				continue;
+			}
+			kept.add(data);
+			totalBytes += data.bytes;
+			totalFiles += data.files;
+		}
+
+		long highWatermark = GWSettingInfo.getBlobHighWatermark();
+		if (highWatermark > 0 && totalBytes > highWatermark) {
+			long lowWatermark = GWSettingInfo.getBlobLowWatermark();
+			kept.sort(Comparator.comparingLong(data -> data.lastModified));
+			for (StagedData data : kept) {
+				if (totalBytes <= lowWatermark) {
+					break;
+				}
+				if (!isActive(data.file) && reclaim(data)) {
+					totalBytes -= data.bytes;
+					totalFiles -= data.files;
+				}
+			}
+			if (totalBytes > lowWatermark) {
+				logger.warn("blobPath uses " + totalBytes + " bytes which are still in use");
+			}
+		}
+		stagedBytes = totalBytes;
+		stagedFiles = totalFiles;
+	}
+
+	private static boolean isActive(File file) {
+		String name = file.getName();
+		if (name.endsWith(Constants.ZIP_FILE_EXT)) {
+			name = name.substring(0, name.length() - Constants.ZIP_FILE_EXT.length());
+		}
+		return active.contains(name);
+	}
+
+	private static boolean reclaim(StagedData data) {
+		if (!FileUtils.deleteQuietly(data.file)) {
+			logger.debug("Failed to delete " + data.file);
+			return false;
+		}
+		reclaimedBytes.addAndGet(data.bytes);
+		reclaimedFiles.addAndGet(data.files);
+		return true;
+	}
+
+	/**
+	 * A file or directory of <code>blobPath</code>.
+	 */
+	private static final class StagedData {
+
+		private final File file;
+		private final long lastModified;
+		private final long bytes;
+		private final long files;
+
+		StagedData(File file) {
+			this.file = file;
+			this.lastModified = file.lastModified();
+			if (file.isDirectory()) {
+				long size = 0;
+				long count = 0;
+				for (File child : FileUtils.listFiles(file, null, true)) {
+					size += child.length();
+					count++;
+				}
+				this.bytes = size;
+				this.files = count;
+			} else {
+				this.bytes = file.length();
+				this.files = 1;
+			}
+		}
+	}
+
+}
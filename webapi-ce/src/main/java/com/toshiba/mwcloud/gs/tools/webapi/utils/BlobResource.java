@@ -0,0 +1,75 @@
+/*
+    Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * A {@link org.springframework.core.io.Resource} reading BLOB data.
+ *
+ * <p>The stream can be opened more than once, so that Spring MVC can serve the byte ranges of a
+ * <code>Range</code> request from it.
+ */
+public class BlobResource extends AbstractResource {
+
+  private final Blob blob;
+
+  private final String description;
+
+  /**
+   * Create a resource.
+   *
+   * @param blob BLOB data
+   * @param description description of the BLOB data used in error messages
+   */
+  public BlobResource(Blob blob, String description) {
+    this.blob = blob;
+    this.description = description;
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    try {
+      return blob.getBinaryStream();
+    } catch (SQLException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public long contentLength() throws IOException {
+    try {
+      return blob.length();
+    } catch (SQLException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public boolean exists() {
+    return true;
+  }
+
+  @Override
+  public String getDescription() {
+    return description;
+  }
+}
@@ -19,22 +19,22 @@ package com.toshiba.mwcloud.gs.tools.webapi.utils;
 import ch.qos.logback.classic.Logger;
 import com.toshiba.mwcloud.gs.Container;
 import com.toshiba.mwcloud.gs.Row;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.sql.Blob;
 import java.sql.SQLException;
-import java.util.UUID;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
 import javax.sql.rowset.serial.SerialBlob;
 import javax.sql.rowset.serial.SerialException;
 import org.apache.commons.codec.binary.Base64;
@@ -71,150 +71,6 @@ public class BlobUtils {
     return blob;
   }
 
-  /**
-   * Write blob data to file.
-   *
-   * @param blob blob data
-   * @param filename blob file name
-   * @param sourcePath blob file path
-   * @return file name
-   * @throws IOException a {@link IOException}
-   * @throws SQLException a {@link SQLException}
-   */
-  public static String writeBlob(Blob blob, String filename, String sourcePath)
-      throws IOException, SQLException {
-    String outputFileName;
-    if (filename == null || filename.trim().isEmpty() || isValidFilename(filename) == false) {
-      outputFileName = UUID.randomUUID().toString();
-    } else {
-      outputFileName = filename;
-    }
-    Files.createDirectories(Paths.get(sourcePath));
-    String savePath = sourcePath + outputFileName;
-    byte[] byteArray = blob.getBytes(1, (int) blob.length());
-    FileOutputStream outPutStream = new FileOutputStream(savePath);
-    outPutStream.write(byteArray);
-    outPutStream.close();
-    return outputFileName;
-  }
-
-  /**
-   * Zip a directory.
-   *
-   * @param sourceDirPath directory's path
-   * @throws IOException a {@link IOException}
-   */
-  public static void pack(String sourceDirPath) throws IOException {
-    Path dirPath = Paths.get(sourceDirPath);
-    Path zipFilePath =
-        Files.createFile(Paths.get(SOURCE_PATH + dirPath.getFileName() + Constants.ZIP_FILE_EXT));
-    try (ZipOutputStream zs = new ZipOutputStream(Files.newOutputStream(zipFilePath))) {
-      Files.walk(dirPath)
-          .forEach(
-              path -> {
-                ZipEntry zipEntry = new ZipEntry(dirPath.relativize(path).toString());
-                if (!Files.isDirectory(dirPath.relativize(path))) {
-                  try {
-                    zs.putNextEntry(zipEntry);
-                    Files.copy(path, zs);
-                    zs.closeEntry();
-                  } catch (IOException e) {
-                    logger.error(e.getMessage(), e);
-                  }
-                }
-              });
-    }
-  }
-
-  /**
-   * Delete a directory.
-   *
-   * @param directoryFilePath - String: directory's path
-   * @throws IOException a {@link IOException}
-   */
-  public static void deleteDirectory(String directoryFilePath) throws IOException {
-    File file = new File(directoryFilePath);
-    Path directory = Paths.get(directoryFilePath);
-    if (Files.exists(directory)) {
-      FileUtils.deleteDirectory(file);
-    }
-  }
-
-  /**
-   * Check file existed.
-   *
-   * @param filename file need to check
-   * @param sourcePath parent folder path
-   * @return true if file existed
-   */
-  public static boolean fileExists(String filename, String sourcePath) {
-    return new File(sourcePath, filename).exists();
-  }
-
-  /**
-   * Make directory in case not has blob data.
-   *
-   * @param path - String: directory's path
-   */
-  public static void makeDirectory(String path) {
-    new File(path).mkdir();
-  }
-
-  /**
-   * Create source directory to save BLOB data file.
-   *
-   * @return a directory path
-   */
-  public static String createSource() {
-    return SOURCE_PATH + UUID.randomUUID().toString();
-  }
-
-  /**
-   * Delete history file before a period of time.
-   *
-   * @param hours time setting
-   */
-  public static void deleteHistoryFile(double hours) {
-
-    File folder = new File(SOURCE_PATH);
-    if (folder.exists()) {
-      File[] listFiles = folder.listFiles();
-      double eligibleForDeletion = System.currentTimeMillis() - (hours * 60 * 60 * 1000);
-      for (File listFile : listFiles != null ? listFiles : new File[0]) {
-        if (listFile.lastModified() < eligibleForDeletion) {
-          listFile.delete();
-        }
-      }
-    }
-  }
-
-  /**
-   * get size of file.
-   *
-   * @param filename file need to check size
-   * @return size of file - bytes
-   */
-  public static double getFileSize(String filename) {
-    File file = new File(filename);
-    return file.length();
-  }
-
-  /**
-   * Check file name valid.
-   *
-   * @param file file need to check
-   * @return true if file name is valid
-   */
-  private static boolean isValidFilename(String file) {
-    File f = new File(file);
-    try {
-      f.getCanonicalPath();
-      return true;
-    } catch (IOException e) {
-      return false;
-    }
-  }
-
   /**
    * delete files.
    *
@@ -298,6 +154,64 @@ public class BlobUtils {
     zipIn.close();
   }
 
+  /**
+   * Read the BLOB data files of a zip file in memory, without extracting it to a directory.
+   *
+   * <p>Only the files whose name is in {@code fileNames} are read, the others are skipped. Each
+   * file is copied into a Blob of the container in chunks of {@value #BUFFER_SIZE} bytes.
+   *
+   * @param zipStream input zip file
+   * @param fileNames names of the files to read
+   * @param container container to store blob
+   * @param maxEntrySize maximum size of a file (bytes)
+   * @param maxTotalSize maximum total size of the files (bytes)
+   * @return a {@link Map} of file name to blob
+   * @throws IOException IO exception
+   * @throws SQLException SQL exception
+   * @throws GWBadRequestException when a file or the files are too large
+   */
+  public static Map<String, Blob> readZipEntries(
+      InputStream zipStream,
+      Set<String> fileNames,
+      Container<?, Row> container,
+      long maxEntrySize,
+      long maxTotalSize)
+      throws IOException, SQLException {
+    Map<String, Blob> blobs = new HashMap<>();
+    Charset cp886 = Charset.forName("CP866");
+    ZipInputStream zipIn = new ZipInputStream(zipStream, cp886);
+    byte[] bytesIn = new byte[BUFFER_SIZE];
+    long totalSize = 0;
+    ZipEntry entry;
+    while ((entry = zipIn.getNextEntry()) != null) {
+      String name = entry.getName();
+      if (entry.isDirectory() || !fileNames.contains(name) || blobs.containsKey(name)) {
+        continue;
+      }
+      if (entry.getSize() > maxEntrySize) {
+        throw new GWBadRequestException(Messages.FILE_BLOB_TOO_LARGE + ": " + name);
+      }
+      Blob blob = container.createBlob();
+      long entrySize = 0;
+      try (OutputStream blobBuffer = blob.setBinaryStream(1)) {
+        int read;
+        while ((read = zipIn.read(bytesIn)) != -1) {
+          entrySize += read;
+          totalSize += read;
+          if (entrySize > maxEntrySize) {
+            throw new GWBadRequestException(Messages.FILE_BLOB_TOO_LARGE + ": " + name);
+          }
+          if (totalSize > maxTotalSize) {
+            throw new GWBadRequestException(Messages.FILES_BLOB_TOO_LARGE);
+          }
+          blobBuffer.write(bytesIn, 0, read);
+        }
+      }
+      blobs.put(name, blob);
+    }
+    return blobs;
+  }
+
   /**
    * Convert String base 64 to blob type.
    *
@@ -312,6 +226,18 @@ public class BlobUtils {
     return blob;
   }
 
+  /**
+   * Convert binary data to blob type.
+   *
+   * @param bytes input binary data
+   * @return blob type data
+   * @throws SerialException SerialException
+   * @throws SQLException SQLException
+   */
+  public static Blob toBlob(byte[] bytes) throws SerialException, SQLException {
+    return new SerialBlob(bytes);
+  }
+
   /**
    * Convert Blob data to String base 64.
    *
@@ -0,0 +1,196 @@
+/*
+    Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Collects the BLOB data of a query result and writes it as a zip file.
+ *
+ * <p>Nothing is written to disk: each BLOB is streamed into the zip entry when {@link
+ * #writeTo(OutputStream)} is called. BLOBs whose head does not compress well, such as images or
+ * archives, are STORED instead of being deflated again.
+ */
+public class BlobZipWriter {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  /** Size of the head of a BLOB compressed to decide whether to deflate it. */
+  private static final int SAMPLE_SIZE = 16 * 1024;
+
+  /** A BLOB is deflated only if its head shrinks below this ratio. */
+  private static final double DEFLATE_RATIO = 0.9;
+
+  private final Map<String, Blob> entries = new LinkedHashMap<>();
+
+  private long totalSize;
+
+  /**
+   * Add a BLOB as a zip entry.
+   *
+   * <p>If another entry already has the name, the smallest number not used yet is prefixed, e.g.
+   * <code>1_picture.jpg</code>. A random name is used if the name is null or not a plain file name.
+   *
+   * @param blob BLOB data
+   * @param name name of the entry, or null for a random name
+   * @return the name of the entry
+   * @throws SQLException when unable to get the length of the BLOB
+   */
+  public String add(Blob blob, String name) throws SQLException {
+    String entryName;
+    if (!isValidName(name)) {
+      entryName = UUID.randomUUID().toString();
+    } else if (entries.containsKey(name)) {
+      int prefixNumber = 1;
+      while (entries.containsKey(prefixNumber + "_" + name)) {
+        prefixNumber += 1;
+      }
+      entryName = prefixNumber + "_" + name;
+    } else {
+      entryName = name;
+    }
+    totalSize += blob.length();
+    entries.put(entryName, blob);
+    return entryName;
+  }
+
+  /**
+   * Get the total size of the BLOBs added so far.
+   *
+   * @return size of BLOB data - bytes
+   */
+  public long getTotalSize() {
+    return totalSize;
+  }
+
+  /**
+   * Write the zip file. The output stream is not closed.
+   *
+   * @param out output stream
+   * @throws IOException when unable to read a BLOB or to write the zip file
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (ZipOutputStream zip = new ZipOutputStream(StreamUtils.nonClosing(out))) {
+      for (Map.Entry<String, Blob> entry : entries.entrySet()) {
+        Blob blob = entry.getValue();
+        ZipEntry zipEntry = new ZipEntry(entry.getKey());
+        if (isCompressible(blob)) {
+          zipEntry.setMethod(ZipEntry.DEFLATED);
+        } else {
+          // A STORED entry needs its size and CRC before the data
+          CRC32 crc = new CRC32();
+          long size = 0;
+          try (InputStream in = openStream(blob)) {
+            int len;
+            while ((len = in.read(buffer)) > -1) {
+              crc.update(buffer, 0, len);
+              size += len;
+            }
+          }
+          zipEntry.setMethod(ZipEntry.STORED);
+          zipEntry.setSize(size);
+          zipEntry.setCompressedSize(size);
+          zipEntry.setCrc(crc.getValue());
+        }
+        zip.putNextEntry(zipEntry);
+        try (InputStream in = openStream(blob)) {
+          int len;
+          while ((len = in.read(buffer)) > -1) {
+            zip.write(buffer, 0, len);
+          }
+        }
+        zip.closeEntry();
+      }
+    }
+  }
+
+  /**
+   * Check whether the head of a BLOB is worth deflating.
+   *
+   * @param blob BLOB data
+   * @return true if the head shrinks below {@link #DEFLATE_RATIO}
+   * @throws IOException when unable to read the BLOB
+   */
+  private static boolean isCompressible(Blob blob) throws IOException {
+    byte[] sample = new byte[SAMPLE_SIZE];
+    int length = 0;
+    try (InputStream in = openStream(blob)) {
+      int len;
+      while (length < sample.length
+          && (len = in.read(sample, length, sample.length - length)) > -1) {
+        length += len;
+      }
+    }
+    if (length == 0) {
+      return false;
+    }
+    long limit = (long) (length * DEFLATE_RATIO);
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    try {
+      deflater.setInput(sample, 0, length);
+      deflater.finish();
+      byte[] compressed = new byte[BUFFER_SIZE];
+      long compressedSize = 0;
+      while (!deflater.finished()) {
+        compressedSize += deflater.deflate(compressed);
+        if (compressedSize >= limit) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static InputStream openStream(Blob blob) throws IOException {
+    try {
+      return blob.getBinaryStream();
+    } catch (SQLException e) {
+      throw new IOException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Check that a name can be used as a zip entry without creating a directory.
+   *
+   * @param name name of the entry
+   * @return true if the name is a plain file name
+   */
+  private static boolean isValidName(String name) {
+    return name != null
+        && !name.trim().isEmpty()
+        && !name.equals(".")
+        && !name.equals("..")
+        && name.indexOf('/') < 0
+        && name.indexOf('\\') < 0
+        && name.indexOf('\0') < 0;
+  }
+}
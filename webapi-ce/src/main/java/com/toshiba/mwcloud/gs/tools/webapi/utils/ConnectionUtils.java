@@ -36,8 +36,20 @@ public class ConnectionUtils {
 
 	private static final int TXN_CLUSTER_NAME_INVALID = 10053;
 
+	private static final String PROPERTY_LOGIN_TIMEOUT = "loginTimeout";
+
 	/**
-	 * Get connection to a GridDB cluster
+	 * Set the login timeout of the JDBC driver. Called once the settings are
+	 * loaded.
+	 */
+	public static void init() {
+		DriverManager.setLoginTimeout(GWSettingInfo.getLoginTimeout());
+	}
+
+	/**
+	 * Get connection to a GridDB cluster. When the connection pool is enabled
+	 * the connection is borrowed from {@link JdbcConnectionPool} and closing it
+	 * returns it to the pool.
 	 *
 	 * @param clusterName cluster name
 	 * @param dbName database name
@@ -46,6 +58,22 @@ public class ConnectionUtils {
 	 * @return a {@link Connection} to GridDB cluster
 	 */
 	public static Connection getConnection(String clusterName, String dbName, String userid, String password) {
+		if (JdbcConnectionPool.isEnabled()) {
+			return JdbcConnectionPool.borrow(clusterName, dbName, userid, password);
+		}
+		return createConnection(clusterName, dbName, userid, password);
+	}
+
+	/**
+	 * Open a new connection to a GridDB cluster
+	 *
+	 * @param clusterName cluster name
+	 * @param dbName database name
+	 * @param userid user name
+	 * @param password password
+	 * @return a {@link Connection} to GridDB cluster
+	 */
+	static Connection createConnection(String clusterName, String dbName, String userid, String password) {
 
 		GSCluster<GSNode> cluster = null;
 		try {
@@ -91,7 +119,7 @@ public class ConnectionUtils {
 
 		// updated 4.5.0 version
 		GWSettingInfo.setOptionalProperty(props);
-		DriverManager.setLoginTimeout(GWSettingInfo.getLoginTimeout());
+		props.setProperty(PROPERTY_LOGIN_TIMEOUT, Integer.toString(GWSettingInfo.getLoginTimeout()));
 
 		try {
 			conn = java.sql.DriverManager.getConnection(url, props);
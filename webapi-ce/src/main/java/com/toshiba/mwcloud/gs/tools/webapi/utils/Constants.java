@@ -67,6 +67,97 @@ public class Constants {
 
 	public static final String PROP_PORT = "port";
 
+	// Maximum number of GridStore sessions borrowed at the same time per cluster, database and user (0 disables the pool)
+	public static final String PROP_SESSION_POOL_MAX_PER_KEY = "sessionPoolMaxPerKey";
+	// Maximum number of idle GridStore sessions kept over all keys
+	public static final String PROP_SESSION_POOL_MAX_TOTAL = "sessionPoolMaxTotal";
+	// Maximum time to wait for a free GridStore session (milliseconds)
+	public static final String PROP_SESSION_POOL_MAX_WAIT = "sessionPoolMaxWait";
+	// Time after which an idle GridStore session is closed (seconds)
+	public static final String PROP_SESSION_POOL_IDLE_TIMEOUT = "sessionPoolIdleTimeout";
+	// Idle time after which a GridStore session is validated before reuse (seconds)
+	public static final String PROP_SESSION_POOL_VALIDATION_INTERVAL = "sessionPoolValidationInterval";
+	// Time after which a GridStore session is closed regardless of use (seconds, 0 for unlimited)
+	public static final String PROP_SESSION_POOL_MAX_LIFETIME = "sessionPoolMaxLifetime";
+
+	// Maximum number of JDBC connections borrowed at the same time per cluster, database and user (0 disables the pool)
+	public static final String PROP_JDBC_POOL_MAX_PER_KEY = "jdbcPoolMaxPerKey";
+	// Maximum number of idle JDBC connections kept over all keys
+	public static final String PROP_JDBC_POOL_MAX_TOTAL = "jdbcPoolMaxTotal";
+	// Maximum time to wait for a free JDBC connection (milliseconds)
+	public static final String PROP_JDBC_POOL_MAX_WAIT = "jdbcPoolMaxWait";
+	// Time after which an idle JDBC connection is closed (seconds)
+	public static final String PROP_JDBC_POOL_IDLE_TIMEOUT = "jdbcPoolIdleTimeout";
+	// Idle time after which a JDBC connection is validated before reuse (seconds)
+	public static final String PROP_JDBC_POOL_VALIDATION_INTERVAL = "jdbcPoolValidationInterval";
+	// Time after which a JDBC connection is closed regardless of use (seconds, 0 for unlimited)
+	public static final String PROP_JDBC_POOL_MAX_LIFETIME = "jdbcPoolMaxLifetime";
+
+	// Maximum number of container schemas cached (0 disables the cache)
+	public static final String PROP_METADATA_CACHE_SIZE = "metadataCacheSize";
+	// Time after which a cached container schema is reloaded (seconds)
+	public static final String PROP_METADATA_CACHE_TTL = "metadataCacheTtl";
+	// Maximum number of row counts cached for totalMode=cached (0 disables the cache)
+	public static final String PROP_COUNT_CACHE_SIZE = "countCacheSize";
+	// Time after which a cached row count is recounted (seconds)
+	public static final String PROP_COUNT_CACHE_TTL = "countCacheTtl";
+
+	// Number of worker threads shared by parallel queries (0 disables parallel execution)
+	public static final String PROP_PARALLEL_THREADS = "parallelThreads";
+	// Maximum number of queries of one request run at once
+	public static final String PROP_MAX_PARALLELISM = "maxParallelism";
+	// Maximum number of queries of one user run at once across requests
+	public static final String PROP_MAX_PARALLELISM_PER_USER = "maxParallelismPerUser";
+
+	// Number of rows of a record batch in Arrow format
+	public static final String PROP_ARROW_BATCH_SIZE = "arrowBatchSize";
+
+	// Number of rows put at once in streaming ingestion
+	public static final String PROP_PUT_ROWS_BATCH_SIZE = "putRowsBatchSize";
+
+	// Number of rows deleted in one transaction by row deletion
+	public static final String PROP_DELETE_ROWS_BATCH_SIZE = "deleteRowsBatchSize";
+
+	// Maximum number of rows waiting in the ingestion queue (0 disables the queue)
+	public static final String PROP_INGEST_QUEUE_MAX_ROWS = "ingestQueueMaxRows";
+	// Number of rows of a container which triggers a flush of the ingestion queue
+	public static final String PROP_INGEST_FLUSH_ROWS = "ingestFlushRows";
+	// Maximum time rows wait in the ingestion queue (milliseconds)
+	public static final String PROP_INGEST_FLUSH_INTERVAL = "ingestFlushInterval";
+	// Directory of the spill files of the ingestion queue (rows are not spilled if not set)
+	public static final String PROP_INGEST_SPILL_PATH = "ingestSpillPath";
+	// Base64 AES key encrypting the credentials in the spill files (required with ingestSpillPath)
+	public static final String PROP_INGEST_SPILL_KEY = "ingestSpillKey";
+	// Maximum size of a BLOB data file in a zip file of row registration (MB)
+	public static final String PROP_BLOB_UPLOAD_MAX_ENTRY_SIZE = "blobUploadMaxEntrySize";
+	// Maximum size of the BLOB data files of a zip file read in memory (MB, 0 extracts them into blobPath)
+	public static final String PROP_BLOB_UPLOAD_BUFFER_SIZE = "blobUploadBufferSize";
+	// Interval of the janitor of blobPath (seconds, 0 disables the janitor)
+	public static final String PROP_BLOB_JANITOR_INTERVAL = "blobJanitorInterval";
+	// Time after which data left in blobPath is deleted (seconds)
+	public static final String PROP_BLOB_RETENTION = "blobRetention";
+	// Size of blobPath above which the oldest data is deleted (MB, 0 for unlimited)
+	public static final String PROP_BLOB_HIGH_WATERMARK = "blobHighWatermark";
+	// Size of blobPath down to which the oldest data is deleted (MB)
+	public static final String PROP_BLOB_LOW_WATERMARK = "blobLowWatermark";
+	// Whether the statistics endpoints are available (true or false)
+	public static final String PROP_STATISTICS_ENABLED = "statisticsEnabled";
+
+	// Media type of the Arrow IPC streaming format
+	public static final String MEDIA_TYPE_ARROW_STREAM = "application/vnd.apache.arrow.stream";
+
+	// Media type of JSON
+	public static final String MEDIA_TYPE_JSON = "application/json; charset=UTF-8";
+
+	// Media types of the binary JSON formats
+	public static final String MEDIA_TYPE_SMILE = "application/x-jackson-smile";
+	public static final String MEDIA_TYPE_CBOR = "application/cbor";
+	public static final String MEDIA_TYPE_MSGPACK = "application/x-msgpack";
+
+	// Media types of streaming ingestion
+	public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+	public static final String MEDIA_TYPE_CSV = "text/csv";
+
 	// Driver name for JDBC
 	public static final String DRIVER_NAME = "com.toshiba.mwcloud.gs.sql.Driver";
 
@@ -112,6 +203,78 @@ public class Constants {
 	
 	public static final int PORT_DEFAULT = 8081;
 
+	public static final int SESSION_POOL_MAX_PER_KEY_DEFAULT = 8;
+
+	public static final int SESSION_POOL_MAX_TOTAL_DEFAULT = 128;
+
+	public static final int SESSION_POOL_MAX_WAIT_DEFAULT = 5000;
+
+	public static final int SESSION_POOL_IDLE_TIMEOUT_DEFAULT = 300;
+
+	public static final int SESSION_POOL_VALIDATION_INTERVAL_DEFAULT = 30;
+
+	public static final int SESSION_POOL_MAX_LIFETIME_DEFAULT = 1800;
+
+	public static final int JDBC_POOL_MAX_PER_KEY_DEFAULT = 4;
+
+	public static final int JDBC_POOL_MAX_TOTAL_DEFAULT = 64;
+
+	public static final int JDBC_POOL_MAX_WAIT_DEFAULT = 5000;
+
+	public static final int JDBC_POOL_IDLE_TIMEOUT_DEFAULT = 300;
+
+	public static final int JDBC_POOL_VALIDATION_INTERVAL_DEFAULT = 30;
+
+	public static final int JDBC_POOL_MAX_LIFETIME_DEFAULT = 1800;
+
+	public static final int METADATA_CACHE_SIZE_DEFAULT = 10000;
+
+	public static final int METADATA_CACHE_TTL_DEFAULT = 60;
+
+	public static final int COUNT_CACHE_SIZE_DEFAULT = 1000;
+
+	public static final int COUNT_CACHE_TTL_DEFAULT = 30;
+
+	public static final int PARALLEL_THREADS_DEFAULT = 32;
+
+	public static final int MAX_PARALLELISM_DEFAULT = 4;
+	// Default maximum number of queries of one user run at once
+	public static final int MAX_PARALLELISM_PER_USER_DEFAULT = 4;
+	// Default number of rows of a record batch in Arrow format
+	public static final int ARROW_BATCH_SIZE_DEFAULT = 4096;
+	// Default number of rows put at once in streaming ingestion
+	public static final int PUT_ROWS_BATCH_SIZE_DEFAULT = 1000;
+	// Maximum number of errors reported for a batch of streaming ingestion
+	public static final int MAX_PUT_ROW_ERRORS = 10;
+	// Default number of rows deleted in one transaction
+	public static final int DELETE_ROWS_BATCH_SIZE_DEFAULT = 1000;
+	// Default maximum number of rows waiting in the ingestion queue
+	public static final int INGEST_QUEUE_MAX_ROWS_DEFAULT = 100000;
+	// Default number of rows of a container which triggers a flush
+	public static final int INGEST_FLUSH_ROWS_DEFAULT = 1000;
+	// Default maximum time rows wait in the ingestion queue (milliseconds)
+	public static final int INGEST_FLUSH_INTERVAL_DEFAULT = 100;
+	// Number of times rows acknowledged on enqueue are retried before they are dropped
+	public static final int INGEST_MAX_RETRIES = 10;
+	// Default maximum size of a BLOB data file in a zip file of row registration (MB)
+	public static final int BLOB_UPLOAD_MAX_ENTRY_SIZE_DEFAULT = 64;
+	// Default maximum size of the BLOB data files of a zip file read in memory (MB)
+	public static final int BLOB_UPLOAD_BUFFER_SIZE_DEFAULT = 256;
+	// Default interval of the janitor of blobPath (seconds)
+	public static final int BLOB_JANITOR_INTERVAL_DEFAULT = 60;
+	// Default time after which data left in blobPath is deleted (seconds)
+	public static final int BLOB_RETENTION_DEFAULT = 3600;
+	// Default size of blobPath above which the oldest data is deleted (MB)
+	public static final int BLOB_HIGH_WATERMARK_DEFAULT = 0;
+	// Default size of blobPath down to which the oldest data is deleted (MB)
+	public static final int BLOB_LOW_WATERMARK_DEFAULT = 0;
+	// The statistics endpoints do not authenticate, so they are disabled by default
+	public static final boolean STATISTICS_ENABLED_DEFAULT = false;
+
+	// Acknowledgement modes of row registration through the ingestion queue
+	public static final String ACK_ENQUEUE = "enqueue";
+	public static final String ACK_COMMIT = "commit";
+
 	/**
 	 * Limit number of rows in each TQL/SQL of function executeTQL/SQL()
 	 */
@@ -172,6 +335,11 @@ public class Constants {
 	 */
 	public static final String ZIP_FILE_EXT = ".zip";
 
+	/**
+	 * Zip file content type.
+	 */
+	public static final String ZIP_CONTENT_TYPE = "application/zip";
+
 	/**
 	 * directory path of blob data.
 	 */
@@ -185,6 +353,21 @@ public class Constants {
 	/** application name value in grid store */
 	public static final String WEBAPI_DEFAULT_NAME= "webapi";
 
+	/** totalMode: count the total rows on every request */
+	public static final String TOTAL_MODE_EXACT = "exact";
+
+	/** totalMode: do not count the total rows */
+	public static final String TOTAL_MODE_SKIP = "skip";
+
+	/** totalMode: reuse a recent count of the total rows if available */
+	public static final String TOTAL_MODE_CACHED = "cached";
+
+	/** merge: return the rows of each container in its own section */
+	public static final String MERGE_CONTAINER = "container";
+
+	/** merge: return the rows of all containers in order of the row key */
+	public static final String MERGE_TIME = "time";
+
 	/** The Enum AuthenticationMethod. */
 	public enum AuthenticationMethod {
 
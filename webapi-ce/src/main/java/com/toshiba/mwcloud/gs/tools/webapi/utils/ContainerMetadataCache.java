@@ -0,0 +1,278 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.util.Locale;
+
+import com.toshiba.mwcloud.gs.ContainerInfo;
+import com.toshiba.mwcloud.gs.ContainerType;
+import com.toshiba.mwcloud.gs.GSException;
+import com.toshiba.mwcloud.gs.GridStore;
+import com.toshiba.mwcloud.gs.experimental.ExtendedContainerInfo;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWCacheStatistics;
+
+/**
+ * Cache of container schemas keyed by cluster, database and container name.
+ *
+ * <p>
+ * Entries expire after <code>metadataCacheTtl</code> seconds and the least
+ * recently used entry is evicted once <code>metadataCacheSize</code> entries
+ * are cached. Containers created, dropped or altered through this API are
+ * invalidated immediately; changes made by other clients are seen after the
+ * entry expires.
+ *
+ * <p>
+ * Cached schemas are only served to pooled sessions whose credentials the
+ * server has already accepted, other sessions always load them from the
+ * server.
+ */
+public class ContainerMetadataCache {
+
+	private static volatile TtlCache<Key, Key, ContainerMetadata> cache;
+
+	/**
+	 * Create the cache. Called once the settings are loaded.
+	 */
+	public static synchronized void init() {
+		int maxSize = GWSettingInfo.getMetadataCacheSize();
+		cache = maxSize > 0
+				? new TtlCache<Key, Key, ContainerMetadata>(maxSize, GWSettingInfo.getMetadataCacheTtl() * 1000L,
+						key -> key)
+				: null;
+	}
+
+	/**
+	 * Whether schemas are cached. Setting <code>metadataCacheSize</code> to 0
+	 * disables the cache.
+	 *
+	 * @return true if the cache is enabled
+	 */
+	public static boolean isEnabled() {
+		return cache != null;
+	}
+
+	/**
+	 * Get the schema of a container, from the cache if possible.
+	 *
+	 * @param gridStore
+	 *            a GridStore object of the cluster and database
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 * @return a {@link ContainerMetadata}, or null if the container does not exist
+	 * @throws GSException
+	 *             when unable to get the container information
+	 */
+	public static ContainerMetadata get(GridStore gridStore, String cluster, String database, String container)
+			throws GSException {
+		TtlCache<Key, Key, ContainerMetadata> current = cache;
+		Key key = new Key(cluster, database, container);
+		long loadGeneration = 0;
+		if (current != null) {
+			if (GridStorePool.isVerified(gridStore)) {
+				ContainerMetadata metadata = current.get(key);
+				if (metadata != null) {
+					return metadata;
+				}
+			} else {
+				current.recordMiss();
+			}
+			loadGeneration = current.getGeneration();
+		}
+
+		ExtendedContainerInfo extendedContainerInfo = GridStoreUtils.getExtendedContainerInfo(gridStore, container);
+		ContainerInfo containerInfo = gridStore.getContainerInfo(container);
+		GridStorePool.markVerified(gridStore);
+		if (extendedContainerInfo == null || containerInfo == null) {
+			return null;
+		}
+
+		ContainerMetadata metadata = new ContainerMetadata(containerInfo, extendedContainerInfo);
+		if (current != null) {
+			current.put(key, metadata, loadGeneration);
+		}
+		return metadata;
+	}
+
+	/**
+	 * Get the type of a container, from the cached schema if possible. A
+	 * schema which is not cached is not loaded, only the container information
+	 * is read from the server.
+	 *
+	 * @param gridStore
+	 *            a GridStore object of the cluster and database
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 * @return a {@link ContainerType}, or null if the container does not exist
+	 * @throws GSException
+	 *             when unable to get the container information
+	 */
+	public static ContainerType getContainerType(GridStore gridStore, String cluster, String database,
+			String container) throws GSException {
+		TtlCache<Key, Key, ContainerMetadata> current = cache;
+		if (current != null && GridStorePool.isVerified(gridStore)) {
+			ContainerMetadata metadata = current.get(new Key(cluster, database, container));
+			if (metadata != null) {
+				return metadata.getContainerInfo().getType();
+			}
+		}
+		ContainerInfo containerInfo = gridStore.getContainerInfo(container);
+		GridStorePool.markVerified(gridStore);
+		return containerInfo != null ? containerInfo.getType() : null;
+	}
+
+	/**
+	 * Remove the schema of a container, e.g. after it is created or dropped.
+	 *
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 */
+	public static void invalidate(String cluster, String database, String container) {
+		TtlCache<Key, Key, ContainerMetadata> current = cache;
+		if (current != null) {
+			current.invalidate(new Key(cluster, database, container));
+		}
+	}
+
+	/**
+	 * Remove the schemas of every container in a database, e.g. after a DDL
+	 * statement is executed.
+	 *
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 */
+	public static void invalidate(final String cluster, final String database) {
+		TtlCache<Key, Key, ContainerMetadata> current = cache;
+		if (current != null) {
+			current.invalidateGroups(key -> key.cluster.equals(cluster) && key.database.equals(database));
+		}
+	}
+
+	/**
+	 * Remove every cached schema.
+	 */
+	public static void clear() {
+		TtlCache<Key, Key, ContainerMetadata> current = cache;
+		if (current != null) {
+			current.clear();
+		}
+	}
+
+	/**
+	 * Get the current statistics of the cache.
+	 *
+	 * @return a {@link GWCacheStatistics}
+	 */
+	public static GWCacheStatistics getStatistics() {
+		TtlCache<Key, Key, ContainerMetadata> current = cache;
+		return current != null ? current.getStatistics() : new GWCacheStatistics();
+	}
+
+	/**
+	 * Schema of a container. The objects are shared between requests and must
+	 * not be modified.
+	 */
+	public static final class ContainerMetadata {
+
+		private final ContainerInfo containerInfo;
+		private final ExtendedContainerInfo extendedContainerInfo;
+
+		private volatile RowConverter rowConverter;
+
+		ContainerMetadata(ContainerInfo containerInfo, ExtendedContainerInfo extendedContainerInfo) {
+			this.containerInfo = containerInfo;
+			this.extendedContainerInfo = extendedContainerInfo;
+		}
+
+		/**
+		 * Get the container information
+		 *
+		 * @return a {@link ContainerInfo}
+		 */
+		public ContainerInfo getContainerInfo() {
+			return containerInfo;
+		}
+
+		/**
+		 * Get the extended container information
+		 *
+		 * @return an {@link ExtendedContainerInfo}
+		 */
+		public ExtendedContainerInfo getExtendedContainerInfo() {
+			return extendedContainerInfo;
+		}
+
+		/**
+		 * Get the converter of the rows put into the container, compiling it
+		 * on first use
+		 *
+		 * @return a {@link RowConverter}
+		 */
+		public RowConverter getRowConverter() {
+			RowConverter converter = rowConverter;
+			if (converter == null) {
+				// Compiling twice on a race is harmless
+				converter = RowConverter.compile(containerInfo);
+				rowConverter = converter;
+			}
+			return converter;
+		}
+	}
+
+	private static final class Key {
+
+		private final String cluster;
+		private final String database;
+		private final String container;
+
+		Key(String cluster, String database, String container) {
+			this.cluster = cluster;
+			this.database = database;
+			// Container names are case-insensitive
+			this.container = container.toLowerCase(Locale.ROOT);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return cluster.equals(other.cluster) && database.equals(other.database)
+					&& container.equals(other.container);
+		}
+
+		@Override
+		public int hashCode() {
+			return (cluster.hashCode() * 31 + database.hashCode()) * 31 + container.hashCode();
+		}
+	}
+
+}
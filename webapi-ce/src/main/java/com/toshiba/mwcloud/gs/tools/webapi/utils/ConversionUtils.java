@@ -116,6 +116,13 @@ public class ConversionUtils {
 			}
 			return Byte.parseByte(String.valueOf(intValue));
 
+		} else if ((value instanceof Integer) || (value instanceof Long)) {
+			long longValue = ((Number) value).longValue();
+			if (longValue < Byte.MIN_VALUE || longValue > Byte.MAX_VALUE) {
+				throw new GWException("The specified data cannot be converted to BYTE type.");
+			}
+			return (byte) longValue;
+
 		} else {
 			try {
 				return Byte.parseByte(String.valueOf(value));
@@ -151,6 +158,13 @@ public class ConversionUtils {
 
 			return Short.parseShort(String.valueOf(intValue));
 
+		} else if ((value instanceof Integer) || (value instanceof Long)) {
+			long longValue = ((Number) value).longValue();
+			if (longValue < Short.MIN_VALUE || longValue > Short.MAX_VALUE) {
+				throw new GWException("The specified data cannot be converted to SHORT type.");
+			}
+			return (short) longValue;
+
 		} else {
 			try {
 				return Short.parseShort(String.valueOf(value));
@@ -187,7 +201,15 @@ public class ConversionUtils {
 			return Integer.parseInt(String.valueOf(value));
 
 		} else if (value instanceof Integer) {
-			return Integer.parseInt(String.valueOf(value));
+			return ((Integer) value).intValue();
+
+		} else if (value instanceof Long) {
+			long longValue = ((Long) value).longValue();
+			if (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE) {
+				throw new GWException("The specified data cannot be converted to INTEGER type.");
+			}
+			return (int) longValue;
+
 		} else {
 			try {
 				return Integer.parseInt(String.valueOf(value));
@@ -214,11 +236,11 @@ public class ConversionUtils {
 				throw new GWException("The specified data cannot be converted to LONG type.");
 			}
 
-		} else if ((value instanceof BigInteger) || (value instanceof Long)) {
+		} else if (value instanceof BigInteger) {
 			return Long.parseLong(String.valueOf(value));
 
-		} else if ((value instanceof Integer)) {
-			return Long.parseLong(String.valueOf(value));
+		} else if ((value instanceof Integer) || (value instanceof Long)) {
+			return ((Number) value).longValue();
 		} else {
 			try {
 				return Long.parseLong(String.valueOf(value));
@@ -254,8 +276,19 @@ public class ConversionUtils {
 			} catch (Exception e) {
 				throw new GWException("The specified data cannot be converted to FLOAT type.");
 			}
-		} else if ((value instanceof Integer) || (value instanceof Long) || (value instanceof Float)) {
-			return Float.parseFloat(String.valueOf(value));
+		} else if (value instanceof Float) {
+			return ((Float) value).floatValue();
+
+		} else if ((value instanceof Integer) || (value instanceof Long)) {
+			return ((Number) value).floatValue();
+
+		} else if (value instanceof Double) {
+			double d = ((Double) value).doubleValue();
+			float f = (float) d;
+			if (Float.isInfinite(f) || ((f == 0F) && (d != 0D))) {
+				throw new GWException("The specified data cannot be converted to FLOAT type.");
+			}
+			return f;
 
 		} else if (value instanceof BigDecimal || value instanceof BigInteger) {
 			String a = null;
@@ -313,9 +346,19 @@ public class ConversionUtils {
 				throw new GWException("The specified data cannot be converted to DOUBLE type.");
 			}
 
-		} else if ((value instanceof Integer) || (value instanceof Long) || (value instanceof Float)) {
+		} else if ((value instanceof Integer) || (value instanceof Long)) {
+			return ((Number) value).doubleValue();
+
+		} else if (value instanceof Float) {
 			return Double.parseDouble(String.valueOf(value));
 
+		} else if (value instanceof Double) {
+			double d = ((Double) value).doubleValue();
+			if (Double.isInfinite(d)) {
+				throw new GWException("The specified data cannot be converted to DOUBLE type.");
+			}
+			return d;
+
 		} else if (value instanceof BigDecimal) {
 			BigDecimal bigDec = (BigDecimal) value;
 			double doubleValue = bigDec.doubleValue();
@@ -622,4 +665,29 @@ public class ConversionUtils {
 		return outputIPAddress.substring(0, outputIPAddress.length() - 1);
 	}
 
+	/**
+	 * Convert a LIKE pattern to a regular expression. '%' matches any string,
+	 * '_' matches any character and '\' escapes the next character. The case
+	 * is ignored as container names are case-insensitive.
+	 *
+	 * @param like the LIKE pattern
+	 * @return a {@link Pattern} which matches the whole name
+	 */
+	public static Pattern likeToPattern(String like) {
+		StringBuilder regex = new StringBuilder();
+		for (int i = 0; i < like.length(); i++) {
+			char c = like.charAt(i);
+			if (c == '\\' && i + 1 < like.length()) {
+				regex.append(Pattern.quote(String.valueOf(like.charAt(++i))));
+			} else if (c == '%') {
+				regex.append(".*");
+			} else if (c == '_') {
+				regex.append('.');
+			} else {
+				regex.append(Pattern.quote(String.valueOf(c)));
+			}
+		}
+		return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+	}
+
 }
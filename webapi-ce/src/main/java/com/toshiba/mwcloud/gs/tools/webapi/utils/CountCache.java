@@ -0,0 +1,231 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.util.Locale;
+
+import com.toshiba.mwcloud.gs.GridStore;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWCacheStatistics;
+
+/**
+ * Cache of row counts keyed by cluster, database, container name and the TQL
+ * statement which counted them. Used when <code>totalMode</code> is
+ * <code>cached</code>.
+ *
+ * <p>
+ * Entries expire after <code>countCacheTtl</code> seconds and the least
+ * recently used entry is evicted once <code>countCacheSize</code> entries are
+ * cached. Rows put or deleted through this API invalidate the counts of the
+ * container immediately; changes made by other clients are seen after the
+ * entry expires.
+ *
+ * <p>
+ * Cached counts are only served to pooled sessions whose credentials the
+ * server has already accepted.
+ */
+public class CountCache {
+
+	private static volatile TtlCache<Key, ContainerKey, Long> cache;
+
+	/**
+	 * Create the cache. Called once the settings are loaded.
+	 */
+	public static synchronized void init() {
+		int maxSize = GWSettingInfo.getCountCacheSize();
+		cache = maxSize > 0
+				? new TtlCache<Key, ContainerKey, Long>(maxSize, GWSettingInfo.getCountCacheTtl() * 1000L,
+						key -> key.container)
+				: null;
+	}
+
+	/**
+	 * Whether row counts are cached. Setting <code>countCacheSize</code> to 0
+	 * disables the cache.
+	 *
+	 * @return true if the cache is enabled
+	 */
+	public static boolean isEnabled() {
+		return cache != null;
+	}
+
+	/**
+	 * Get a cached row count.
+	 *
+	 * @param gridStore
+	 *            a GridStore object of the cluster and database
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 * @param statement
+	 *            TQL statement which counts the rows
+	 * @return the row count, or null if it is not cached
+	 */
+	public static Long get(GridStore gridStore, String cluster, String database, String container,
+			String statement) {
+		TtlCache<Key, ContainerKey, Long> current = cache;
+		if (current == null) {
+			return null;
+		}
+		if (!GridStorePool.isVerified(gridStore)) {
+			current.recordMiss();
+			return null;
+		}
+		return current.get(new Key(cluster, database, container, statement));
+	}
+
+	/**
+	 * Get the current generation of the cache. Call this before counting the
+	 * rows to be put by {@link #put(String, String, String, String, long, long)}.
+	 *
+	 * @return the generation
+	 */
+	public static long getGeneration() {
+		TtlCache<Key, ContainerKey, Long> current = cache;
+		return current != null ? current.getGeneration() : 0;
+	}
+
+	/**
+	 * Cache a row count unless the container was invalidated since it was
+	 * counted.
+	 *
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 * @param statement
+	 *            TQL statement which counted the rows
+	 * @param count
+	 *            the row count
+	 * @param loadGeneration
+	 *            the generation obtained by {@link #getGeneration()} before
+	 *            counting
+	 */
+	public static void put(String cluster, String database, String container, String statement, long count,
+			long loadGeneration) {
+		TtlCache<Key, ContainerKey, Long> current = cache;
+		if (current != null) {
+			current.put(new Key(cluster, database, container, statement), count, loadGeneration);
+		}
+	}
+
+	/**
+	 * Remove the row counts of a container, e.g. after rows are put or
+	 * deleted.
+	 *
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param container
+	 *            name of container
+	 */
+	public static void invalidate(String cluster, String database, String container) {
+		TtlCache<Key, ContainerKey, Long> current = cache;
+		if (current != null) {
+			current.invalidate(new ContainerKey(cluster, database, container));
+		}
+	}
+
+	/**
+	 * Remove the row counts of every container in a database, e.g. after a
+	 * SQL statement modified rows.
+	 *
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 */
+	public static void invalidate(final String cluster, final String database) {
+		TtlCache<Key, ContainerKey, Long> current = cache;
+		if (current != null) {
+			current.invalidateGroups(key -> key.cluster.equals(cluster) && key.database.equals(database));
+		}
+	}
+
+	/**
+	 * Get the current statistics of the cache.
+	 *
+	 * @return a {@link GWCacheStatistics}
+	 */
+	public static GWCacheStatistics getStatistics() {
+		TtlCache<Key, ContainerKey, Long> current = cache;
+		return current != null ? current.getStatistics() : new GWCacheStatistics();
+	}
+
+	private static final class Key {
+
+		private final ContainerKey container;
+		private final String statement;
+
+		Key(String cluster, String database, String container, String statement) {
+			this.container = new ContainerKey(cluster, database, container);
+			this.statement = statement;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return container.equals(other.container) && statement.equals(other.statement);
+		}
+
+		@Override
+		public int hashCode() {
+			return container.hashCode() * 31 + statement.hashCode();
+		}
+	}
+
+	/**
+	 * Container of a row count, by which the counts are invalidated
+	 */
+	private static final class ContainerKey {
+
+		private final String cluster;
+		private final String database;
+		private final String container;
+
+		ContainerKey(String cluster, String database, String container) {
+			this.cluster = cluster;
+			this.database = database;
+			// Container names are case-insensitive
+			this.container = container.toLowerCase(Locale.ROOT);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ContainerKey)) {
+				return false;
+			}
+			ContainerKey other = (ContainerKey) obj;
+			return cluster.equals(other.cluster) && database.equals(other.database)
+					&& container.equals(other.container);
+		}
+
+		@Override
+		public int hashCode() {
+			return (cluster.hashCode() * 31 + database.hashCode()) * 31 + container.hashCode();
+		}
+	}
+
+}
@@ -0,0 +1,428 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import com.toshiba.mwcloud.gs.GSException;
+import com.toshiba.mwcloud.gs.GSType;
+import com.toshiba.mwcloud.gs.Row;
+
+/**
+ * Reduction of the rows of a time series to one row per time bucket.
+ *
+ * <p>
+ * Rows must be added in ascending order of their row key. Each bucket is
+ * aggregated while its rows are added, so only the reduced rows are kept, and
+ * the points of up to two buckets for each column reduced by LTTB (Largest
+ * Triangle Three Buckets). Buckets without rows are omitted.
+ *
+ * <p>
+ * The first value of a reduced row is the start time of its bucket, followed
+ * by one value per reduced column. Null values are ignored.
+ */
+public class Downsampler {
+
+	/**
+	 * Aggregation of the values of a column in a bucket
+	 */
+	public enum Aggregation {
+		MIN, MAX, AVG, FIRST, LAST, COUNT, LTTB
+	}
+
+	private final long start;
+
+	private final long width;
+
+	private final int[] columnIndexes;
+
+	private final Accumulator[] accumulators;
+
+	private final List<List<Object>> rows = new ArrayList<List<Object>>();
+
+	private long bucket = -1;
+
+	private List<Object> current;
+
+	private long count;
+
+	/**
+	 * Create a downsampler.
+	 *
+	 * @param start start time of the first bucket (milliseconds)
+	 * @param width width of a bucket (milliseconds)
+	 * @param columnIndexes indexes of the reduced columns
+	 * @param aggregations aggregation of each reduced column
+	 */
+	public Downsampler(long start, long width, int[] columnIndexes, Aggregation[] aggregations) {
+		this.start = start;
+		this.width = width;
+		this.columnIndexes = columnIndexes;
+		this.accumulators = new Accumulator[aggregations.length];
+		for (int i = 0; i < aggregations.length; i++) {
+			accumulators[i] = createAccumulator(aggregations[i]);
+		}
+	}
+
+	/**
+	 * Get the type of the reduced values of a column.
+	 *
+	 * @param aggregation aggregation of the column
+	 * @param type type of the column
+	 * @return the type of the reduced values, or null if the aggregation is
+	 *         not supported for the type
+	 */
+	public static GSType getResultType(Aggregation aggregation, GSType type) {
+		boolean numeric = isNumeric(type);
+		switch (aggregation) {
+		case COUNT:
+			return GSType.LONG;
+		case AVG:
+			return numeric ? GSType.DOUBLE : null;
+		case MIN:
+		case MAX:
+		case LTTB:
+			return numeric ? type : null;
+		case FIRST:
+		case LAST:
+			return numeric || type == GSType.BOOL || type == GSType.STRING || type == GSType.TIMESTAMP ? type
+					: null;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Add the next row of the time series.
+	 *
+	 * @param row a row whose row key is not earlier than that of the previous row
+	 * @throws GSException when a value can not be read
+	 */
+	public void add(Row row) throws GSException {
+		long time = row.getTimestamp(0).getTime();
+		if (time < start) {
+			return;
+		}
+		long index = (time - start) / width;
+		if (index != bucket) {
+			closeBucket();
+			bucket = index;
+			current = new ArrayList<Object>(Arrays.asList(new Object[columnIndexes.length + 1]));
+			current.set(0, new Date(start + index * width));
+		}
+		count++;
+		for (int i = 0; i < columnIndexes.length; i++) {
+			Object value = row.getValue(columnIndexes[i]);
+			if (value != null) {
+				accumulators[i].add(time, value);
+			}
+		}
+	}
+
+	/**
+	 * Close the last bucket and get the reduced rows.
+	 *
+	 * @return the reduced rows in ascending order of time
+	 */
+	public List<List<Object>> finish() {
+		closeBucket();
+		for (Accumulator accumulator : accumulators) {
+			accumulator.finish();
+		}
+		return rows;
+	}
+
+	/**
+	 * Get the number of rows added.
+	 *
+	 * @return number of rows
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	private void closeBucket() {
+		if (current == null) {
+			return;
+		}
+		for (int i = 0; i < accumulators.length; i++) {
+			accumulators[i].close(current, i + 1);
+		}
+		rows.add(current);
+		current = null;
+	}
+
+	private static boolean isNumeric(GSType type) {
+		switch (type) {
+		case BYTE:
+		case SHORT:
+		case INTEGER:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private static int compare(Number a, Number b) {
+		if (a instanceof Float || a instanceof Double) {
+			return Double.compare(a.doubleValue(), b.doubleValue());
+		}
+		return Long.compare(a.longValue(), b.longValue());
+	}
+
+	private static Accumulator createAccumulator(Aggregation aggregation) {
+		switch (aggregation) {
+		case MIN:
+			return new Extreme(false);
+		case MAX:
+			return new Extreme(true);
+		case AVG:
+			return new Average();
+		case FIRST:
+			return new Edge(true);
+		case LAST:
+			return new Edge(false);
+		case COUNT:
+			return new Count();
+		case LTTB:
+			return new Lttb();
+		default:
+			throw new IllegalArgumentException(aggregation.name());
+		}
+	}
+
+	/**
+	 * State of the aggregation of a column.
+	 */
+	private abstract static class Accumulator {
+
+		/**
+		 * Add a non-null value of the current bucket.
+		 */
+		abstract void add(long time, Object value);
+
+		/**
+		 * Set the result of the current bucket to a reduced row and start the
+		 * next bucket.
+		 */
+		abstract void close(List<Object> row, int index);
+
+		/**
+		 * Called after the last bucket is closed.
+		 */
+		void finish() {
+		}
+	}
+
+	private static final class Extreme extends Accumulator {
+
+		private final boolean max;
+
+		private Number value;
+
+		Extreme(boolean max) {
+			this.max = max;
+		}
+
+		@Override
+		void add(long time, Object value) {
+			Number number = (Number) value;
+			if (this.value == null || (max ? compare(number, this.value) > 0 : compare(number, this.value) < 0)) {
+				this.value = number;
+			}
+		}
+
+		@Override
+		void close(List<Object> row, int index) {
+			row.set(index, value);
+			value = null;
+		}
+	}
+
+	private static final class Average extends Accumulator {
+
+		private double sum;
+
+		private long count;
+
+		@Override
+		void add(long time, Object value) {
+			sum += ((Number) value).doubleValue();
+			count++;
+		}
+
+		@Override
+		void close(List<Object> row, int index) {
+			row.set(index, count > 0 ? Double.valueOf(sum / count) : null);
+			sum = 0;
+			count = 0;
+		}
+	}
+
+	private static final class Edge extends Accumulator {
+
+		private final boolean first;
+
+		private Object value;
+
+		Edge(boolean first) {
+			this.first = first;
+		}
+
+		@Override
+		void add(long time, Object value) {
+			if (!first || this.value == null) {
+				this.value = value;
+			}
+		}
+
+		@Override
+		void close(List<Object> row, int index) {
+			row.set(index, value);
+			value = null;
+		}
+	}
+
+	private static final class Count extends Accumulator {
+
+		private long count;
+
+		@Override
+		void add(long time, Object value) {
+			count++;
+		}
+
+		@Override
+		void close(List<Object> row, int index) {
+			row.set(index, Long.valueOf(count));
+			count = 0;
+		}
+	}
+
+	/**
+	 * Largest Triangle Three Buckets. The point of a bucket is selected once
+	 * the average of the next bucket is known, so the result of a bucket is set
+	 * when the next bucket with values is closed. The first point of the first
+	 * bucket and the last point of the last bucket are always selected.
+	 */
+	private static final class Lttb extends Accumulator {
+
+		private Points points = new Points();
+
+		private Points pending = new Points();
+
+		private List<Object> pendingRow;
+
+		private int pendingIndex;
+
+		private boolean hasSelected;
+
+		private double selectedTime;
+
+		private double selectedValue;
+
+		@Override
+		void add(long time, Object value) {
+			points.add(time, (Number) value);
+		}
+
+		@Override
+		void close(List<Object> row, int index) {
+			if (points.size == 0) {
+				return;
+			}
+			if (pendingRow != null) {
+				double nextTime = 0;
+				double nextValue = 0;
+				for (int i = 0; i < points.size; i++) {
+					nextTime += points.times[i];
+					nextValue += points.values[i];
+				}
+				select(hasSelected ? largestTriangle(nextTime / points.size, nextValue / points.size) : 0);
+			}
+			Points swap = pending;
+			pending = points;
+			points = swap;
+			points.size = 0;
+			pendingRow = row;
+			pendingIndex = index;
+		}
+
+		@Override
+		void finish() {
+			if (pendingRow != null) {
+				select(pending.size - 1);
+			}
+		}
+
+		private int largestTriangle(double nextTime, double nextValue) {
+			int selected = 0;
+			double maxArea = -1;
+			for (int i = 0; i < pending.size; i++) {
+				// Twice the area of the triangle, which does not change the order
+				double area = Math.abs((selectedTime - nextTime) * (pending.values[i] - selectedValue)
+						- (selectedTime - pending.times[i]) * (nextValue - selectedValue));
+				if (area > maxArea) {
+					maxArea = area;
+					selected = i;
+				}
+			}
+			return selected;
+		}
+
+		private void select(int i) {
+			pendingRow.set(pendingIndex, pending.originals[i]);
+			selectedTime = pending.times[i];
+			selectedValue = pending.values[i];
+			hasSelected = true;
+			pendingRow = null;
+		}
+	}
+
+	/**
+	 * Values of a column in a bucket.
+	 */
+	private static final class Points {
+
+		private double[] times = new double[16];
+
+		private double[] values = new double[16];
+
+		private Number[] originals = new Number[16];
+
+		private int size;
+
+		void add(long time, Number value) {
+			if (size == times.length) {
+				times = Arrays.copyOf(times, size * 2);
+				values = Arrays.copyOf(values, size * 2);
+				originals = Arrays.copyOf(originals, size * 2);
+			}
+			times[size] = time;
+			values[size] = value.doubleValue();
+			originals[size] = value;
+			size++;
+		}
+	}
+
+}
@@ -37,6 +37,13 @@ public class GWContextListener implements ServletContextListener {
 
 	@Override
 	public void contextDestroyed(ServletContextEvent servletContextEvent) {
+		// Put the queued rows while the sessions are still available
+		IngestionQueue.shutdown();
+		BlobJanitor.shutdown();
+		ParallelExecutor.shutdown();
+		GridStorePool.shutdown();
+		JdbcConnectionPool.shutdown();
+		RepositoryUtils.close();
 	}
 
 	/**
@@ -49,6 +56,7 @@ public class GWContextListener implements ServletContextListener {
 		try {
 			RepositoryUtils.init();
 			RepositoryUtils.readRepository();
+			RepositoryUtils.startWatching();
 		} catch (Exception e) {
 			throw new GWException("Failed to initialize repository");
 		}
@@ -61,6 +69,14 @@ public class GWContextListener implements ServletContextListener {
 				throw new GWException("Failed to read properties file");
 			}
 		}
+		ConnectionUtils.init();
+		GridStorePool.init();
+		JdbcConnectionPool.init();
+		ContainerMetadataCache.init();
+		CountCache.init();
+		ParallelExecutor.init();
+		IngestionQueue.init();
+		BlobJanitor.init();
 
 	}
 }
@@ -21,11 +21,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 
+/**
+ * Deserializer of the rows of a container.
+ *
+ * <p>
+ * Numbers are kept as {@link Number} objects and binary values of Smile, CBOR
+ * and MessagePack as <code>byte[]</code>, they are converted to the type of
+ * each column when the rows are put.
+ */
 public class GWJsonParser extends JsonDeserializer<Object[][]> {
 
 	@Override
@@ -36,63 +45,7 @@ public class GWJsonParser extends JsonDeserializer<Object[][]> {
 		if (jp.getCurrentToken() == JsonToken.START_ARRAY) {
 			while (jp.nextToken() != JsonToken.END_ARRAY) {
 				if (jp.getCurrentToken() == JsonToken.START_ARRAY) {
-					List<Object> row = new ArrayList<Object>();
-					while (jp.nextToken() != JsonToken.END_ARRAY) {
-						JsonToken t = jp.getCurrentToken();
-						switch (t) {
-						case VALUE_NUMBER_INT:
-						case VALUE_NUMBER_FLOAT:
-						case VALUE_STRING:
-							row.add(jp.getText());
-							break;
-
-						case VALUE_TRUE:
-							row.add(Boolean.TRUE);
-							break;
-
-						case VALUE_FALSE:
-							row.add(Boolean.FALSE);
-							break;
-
-						case VALUE_NULL:
-							row.add(null);
-							break;
-
-						case START_ARRAY:
-							List<Object> array = new ArrayList<Object>();
-							while (jp.nextToken() != JsonToken.END_ARRAY) {
-								JsonToken t2 = jp.getCurrentToken();
-								switch (t2) {
-								case VALUE_NUMBER_INT:
-								case VALUE_NUMBER_FLOAT:
-								case VALUE_STRING:
-									array.add(jp.getText());
-									break;
-
-								case VALUE_TRUE:
-									array.add(Boolean.TRUE);
-									break;
-
-								case VALUE_FALSE:
-									array.add(Boolean.FALSE);
-									break;
-
-								case VALUE_NULL:
-									array.add(null);
-									break;
-
-								default:
-									throw new IOException("Parse error");
-								}
-							}
-							row.add(array);
-							break;
-
-						default:
-							throw new IOException("Parse error");
-						}
-					}
-					rowList.add(row.toArray());
+					rowList.add(readRow(jp).toArray());
 				}
 			}
 		}
@@ -102,4 +55,109 @@ public class GWJsonParser extends JsonDeserializer<Object[][]> {
 		}
 		return output;
 	}
+
+	/**
+	 * Read a row. The parser must be positioned at the start of the array of
+	 * the row, it is positioned at the end of the array on return.
+	 *
+	 * @param jp
+	 *            a {@link JsonParser}
+	 * @return a {@link List} of the values of the row
+	 * @throws IOException
+	 *             when the row is invalid
+	 */
+	public static List<Object> readRow(JsonParser jp) throws IOException {
+		List<Object> row = new ArrayList<Object>();
+		while (jp.nextToken() != JsonToken.END_ARRAY) {
+			row.add(readValue(jp));
+		}
+		return row;
+	}
+
+	/**
+	 * Read the value of a column, a scalar or an array of scalars. The parser
+	 * must be positioned at the value, it is positioned at its last token on
+	 * return.
+	 *
+	 * @param jp
+	 *            a {@link JsonParser}
+	 * @return the value, a {@link List} for an array
+	 * @throws IOException
+	 *             when the value is invalid
+	 */
+	public static Object readValue(JsonParser jp) throws IOException {
+		if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+			return readScalar(jp);
+		}
+		List<Object> array = new ArrayList<Object>();
+		while (jp.nextToken() != JsonToken.END_ARRAY) {
+			array.add(readScalar(jp));
+		}
+		return array;
+	}
+
+	/**
+	 * Read a scalar value.
+	 *
+	 * @param jp
+	 *            a {@link JsonParser} positioned at the value
+	 * @return the value
+	 * @throws IOException
+	 *             when the token is not a scalar
+	 */
+	public static Object readScalar(JsonParser jp) throws IOException {
+		JsonToken t = jp.getCurrentToken();
+		if (t == null) {
+			throw new IOException("Parse error");
+		}
+		switch (t) {
+		case VALUE_NUMBER_INT:
+		case VALUE_NUMBER_FLOAT:
+			return getNumberValue(jp);
+
+		case VALUE_STRING:
+			return jp.getText();
+
+		case VALUE_EMBEDDED_OBJECT:
+			return jp.getEmbeddedObject();
+
+		case VALUE_TRUE:
+			return Boolean.TRUE;
+
+		case VALUE_FALSE:
+			return Boolean.FALSE;
+
+		case VALUE_NULL:
+			return null;
+
+		default:
+			throw new IOException("Parse error");
+		}
+	}
+
+	/**
+	 * Get the value of a number token. A floating-point number is kept as the
+	 * text of its literal, as before numbers were read as objects, so that a
+	 * STRING column stores the literal as sent (e.g. "1.10" rather than "1.1")
+	 * and a number which overflows or underflows a double is rejected when it
+	 * is converted.
+	 *
+	 * @param jp
+	 *            a {@link JsonParser} positioned at a number
+	 * @return an {@link Integer}, {@link Long} or
+	 *         {@link java.math.BigInteger}, a {@link Float} of a binary
+	 *         format, or a {@link String}
+	 * @throws IOException
+	 *             when the number can not be read
+	 */
+	private static Object getNumberValue(JsonParser jp) throws IOException {
+		if (jp.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+			return jp.getNumberValue();
+		}
+		if (jp.getNumberType() == NumberType.FLOAT) {
+			// 32-bit value of a binary format, which has no literal
+			return jp.getFloatValue();
+		}
+		return jp.getText();
+	}
 }
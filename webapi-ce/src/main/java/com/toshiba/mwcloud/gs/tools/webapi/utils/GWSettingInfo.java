@@ -17,6 +17,7 @@
 package com.toshiba.mwcloud.gs.tools.webapi.utils;
 
 import com.toshiba.mwcloud.gs.tools.webapi.utils.Constants.SslMode;
+import java.util.Base64;
 import java.util.Properties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +64,74 @@ public class GWSettingInfo {
 
 	private static String blobPath;
 
+	private static int sessionPoolMaxPerKey;
+
+	private static int sessionPoolMaxTotal;
+
+	private static int sessionPoolMaxWait;
+
+	private static int sessionPoolIdleTimeout;
+
+	private static int sessionPoolValidationInterval;
+
+	private static int sessionPoolMaxLifetime;
+
+	private static int jdbcPoolMaxPerKey;
+
+	private static int jdbcPoolMaxTotal;
+
+	private static int jdbcPoolMaxWait;
+
+	private static int jdbcPoolIdleTimeout;
+
+	private static int jdbcPoolValidationInterval;
+
+	private static int jdbcPoolMaxLifetime;
+
+	private static int metadataCacheSize;
+
+	private static int metadataCacheTtl;
+
+	private static int countCacheSize;
+
+	private static int countCacheTtl;
+
+	private static int parallelThreads;
+
+	private static int maxParallelism;
+
+	private static int maxParallelismPerUser;
+
+	private static int arrowBatchSize;
+
+	private static int putRowsBatchSize;
+
+	private static int deleteRowsBatchSize;
+
+	private static int ingestQueueMaxRows;
+
+	private static int ingestFlushRows;
+
+	private static int ingestFlushInterval;
+
+	private static String ingestSpillPath;
+
+	private static byte[] ingestSpillKey;
+
+	private static int blobUploadMaxEntrySize;
+
+	private static int blobUploadBufferSize;
+
+	private static int blobJanitorInterval;
+
+	private static int blobRetention;
+
+	private static int blobHighWatermark;
+
+	private static int blobLowWatermark;
+
+	private static boolean statisticsEnabled;
+
 	/**
 	 * Initial setting webapi.
 	 * 
@@ -100,6 +169,151 @@ public class GWSettingInfo {
 		setSslMode(ToolProperties.getMessage(Constants.PROPERTY_SSL_MODE));
 
 		setBlobPath(ToolProperties.getMessage(Constants.PROPERTY_BLOB_PATH));
+
+		sessionPoolMaxPerKey = parseIntProperty(Constants.PROP_SESSION_POOL_MAX_PER_KEY,
+				Constants.SESSION_POOL_MAX_PER_KEY_DEFAULT, 0);
+		sessionPoolMaxTotal = parseIntProperty(Constants.PROP_SESSION_POOL_MAX_TOTAL,
+				Constants.SESSION_POOL_MAX_TOTAL_DEFAULT, 0);
+		sessionPoolMaxWait = parseIntProperty(Constants.PROP_SESSION_POOL_MAX_WAIT,
+				Constants.SESSION_POOL_MAX_WAIT_DEFAULT, 0);
+		sessionPoolIdleTimeout = parseIntProperty(Constants.PROP_SESSION_POOL_IDLE_TIMEOUT,
+				Constants.SESSION_POOL_IDLE_TIMEOUT_DEFAULT, 1);
+		sessionPoolValidationInterval = parseIntProperty(Constants.PROP_SESSION_POOL_VALIDATION_INTERVAL,
+				Constants.SESSION_POOL_VALIDATION_INTERVAL_DEFAULT, 0);
+		sessionPoolMaxLifetime = parseIntProperty(Constants.PROP_SESSION_POOL_MAX_LIFETIME,
+				Constants.SESSION_POOL_MAX_LIFETIME_DEFAULT, 0);
+
+		jdbcPoolMaxPerKey = parseIntProperty(Constants.PROP_JDBC_POOL_MAX_PER_KEY,
+				Constants.JDBC_POOL_MAX_PER_KEY_DEFAULT, 0);
+		jdbcPoolMaxTotal = parseIntProperty(Constants.PROP_JDBC_POOL_MAX_TOTAL,
+				Constants.JDBC_POOL_MAX_TOTAL_DEFAULT, 0);
+		jdbcPoolMaxWait = parseIntProperty(Constants.PROP_JDBC_POOL_MAX_WAIT,
+				Constants.JDBC_POOL_MAX_WAIT_DEFAULT, 0);
+		jdbcPoolIdleTimeout = parseIntProperty(Constants.PROP_JDBC_POOL_IDLE_TIMEOUT,
+				Constants.JDBC_POOL_IDLE_TIMEOUT_DEFAULT, 1);
+		jdbcPoolValidationInterval = parseIntProperty(Constants.PROP_JDBC_POOL_VALIDATION_INTERVAL,
+				Constants.JDBC_POOL_VALIDATION_INTERVAL_DEFAULT, 0);
+		jdbcPoolMaxLifetime = parseIntProperty(Constants.PROP_JDBC_POOL_MAX_LIFETIME,
+				Constants.JDBC_POOL_MAX_LIFETIME_DEFAULT, 0);
+		metadataCacheSize = parseIntProperty(Constants.PROP_METADATA_CACHE_SIZE,
+				Constants.METADATA_CACHE_SIZE_DEFAULT, 0);
+		metadataCacheTtl = parseIntProperty(Constants.PROP_METADATA_CACHE_TTL,
+				Constants.METADATA_CACHE_TTL_DEFAULT, 1);
+		countCacheSize = parseIntProperty(Constants.PROP_COUNT_CACHE_SIZE,
+				Constants.COUNT_CACHE_SIZE_DEFAULT, 0);
+		countCacheTtl = parseIntProperty(Constants.PROP_COUNT_CACHE_TTL,
+				Constants.COUNT_CACHE_TTL_DEFAULT, 1);
+		parallelThreads = parseIntProperty(Constants.PROP_PARALLEL_THREADS,
+				Constants.PARALLEL_THREADS_DEFAULT, 0);
+		maxParallelism = parseIntProperty(Constants.PROP_MAX_PARALLELISM,
+				Constants.MAX_PARALLELISM_DEFAULT, 1);
+		maxParallelismPerUser = parseIntProperty(Constants.PROP_MAX_PARALLELISM_PER_USER,
+				Constants.MAX_PARALLELISM_PER_USER_DEFAULT, 1);
+		arrowBatchSize = parseIntProperty(Constants.PROP_ARROW_BATCH_SIZE,
+				Constants.ARROW_BATCH_SIZE_DEFAULT, 1);
+		putRowsBatchSize = parseIntProperty(Constants.PROP_PUT_ROWS_BATCH_SIZE,
+				Constants.PUT_ROWS_BATCH_SIZE_DEFAULT, 1);
+		deleteRowsBatchSize = parseIntProperty(Constants.PROP_DELETE_ROWS_BATCH_SIZE,
+				Constants.DELETE_ROWS_BATCH_SIZE_DEFAULT, 1);
+		ingestQueueMaxRows = parseIntProperty(Constants.PROP_INGEST_QUEUE_MAX_ROWS,
+				Constants.INGEST_QUEUE_MAX_ROWS_DEFAULT, 0);
+		ingestFlushRows = parseIntProperty(Constants.PROP_INGEST_FLUSH_ROWS,
+				Constants.INGEST_FLUSH_ROWS_DEFAULT, 1);
+		ingestFlushInterval = parseIntProperty(Constants.PROP_INGEST_FLUSH_INTERVAL,
+				Constants.INGEST_FLUSH_INTERVAL_DEFAULT, 1);
+		ingestSpillPath = ToolProperties.getMessage(Constants.PROP_INGEST_SPILL_PATH);
+		setIngestSpillKey(ToolProperties.getMessage(Constants.PROP_INGEST_SPILL_KEY));
+		blobUploadMaxEntrySize = parseIntProperty(Constants.PROP_BLOB_UPLOAD_MAX_ENTRY_SIZE,
+				Constants.BLOB_UPLOAD_MAX_ENTRY_SIZE_DEFAULT, 1);
+		blobUploadBufferSize = parseIntProperty(Constants.PROP_BLOB_UPLOAD_BUFFER_SIZE,
+				Constants.BLOB_UPLOAD_BUFFER_SIZE_DEFAULT, 0);
+		blobJanitorInterval = parseIntProperty(Constants.PROP_BLOB_JANITOR_INTERVAL,
+				Constants.BLOB_JANITOR_INTERVAL_DEFAULT, 0);
+		blobRetention = parseIntProperty(Constants.PROP_BLOB_RETENTION,
+				Constants.BLOB_RETENTION_DEFAULT, 1);
+		blobHighWatermark = parseIntProperty(Constants.PROP_BLOB_HIGH_WATERMARK,
+				Constants.BLOB_HIGH_WATERMARK_DEFAULT, 0);
+		blobLowWatermark = parseIntProperty(Constants.PROP_BLOB_LOW_WATERMARK,
+				Constants.BLOB_LOW_WATERMARK_DEFAULT, 0);
+		if (blobHighWatermark > 0 && blobLowWatermark > blobHighWatermark) {
+			throw new GWException("property '" + Constants.PROP_BLOB_LOW_WATERMARK + "' can not larger than "
+					+ Constants.PROP_BLOB_HIGH_WATERMARK);
+		}
+		statisticsEnabled = parseBooleanProperty(Constants.PROP_STATISTICS_ENABLED,
+				Constants.STATISTICS_ENABLED_DEFAULT);
+	}
+
+	/**
+	 * Read an integer property, falling back to the default value when it is
+	 * not set.
+	 *
+	 * @param name name of property
+	 * @param defaultValue default value
+	 * @param minValue minimum allowed value
+	 * @return value of property
+	 * @throws GWException when the value is not an integer or smaller than minValue
+	 */
+	private static int parseIntProperty(String name, int defaultValue, int minValue) throws GWException {
+		String value = ToolProperties.getMessage(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		int intValue;
+		try {
+			intValue = Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new GWException("property '" + name + "' is invalid.");
+		}
+		if (intValue < minValue) {
+			throw new GWException("property '" + name + "' can not smaller than " + minValue);
+		}
+		return intValue;
+	}
+
+	/**
+	 * Read a boolean property, falling back to the default value when it is
+	 * not set.
+	 *
+	 * @param name name of property
+	 * @param defaultValue default value
+	 * @return value of property
+	 * @throws GWException when the value is neither "true" nor "false"
+	 */
+	private static boolean parseBooleanProperty(String name, boolean defaultValue) throws GWException {
+		String value = ToolProperties.getMessage(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		value = value.trim();
+		if ("true".equalsIgnoreCase(value)) {
+			return true;
+		}
+		if ("false".equalsIgnoreCase(value)) {
+			return false;
+		}
+		throw new GWException("property '" + name + "' is invalid.");
+	}
+
+	private static void setIngestSpillKey(String value) throws GWException {
+		ingestSpillKey = null;
+		if (value == null || value.trim().isEmpty()) {
+			if (ingestSpillPath != null && !ingestSpillPath.trim().isEmpty()) {
+				throw new GWException("property '" + Constants.PROP_INGEST_SPILL_KEY + "' must be set with "
+						+ Constants.PROP_INGEST_SPILL_PATH);
+			}
+			return;
+		}
+		byte[] key;
+		try {
+			key = Base64.getDecoder().decode(value.trim());
+		} catch (IllegalArgumentException e) {
+			throw new GWException("property '" + Constants.PROP_INGEST_SPILL_KEY + "' is invalid.");
+		}
+		if (key.length != 16 && key.length != 24 && key.length != 32) {
+			throw new GWException("property '" + Constants.PROP_INGEST_SPILL_KEY
+					+ "' must be a key of 16, 24 or 32 bytes encoded in Base64.");
+		}
+		ingestSpillKey = key;
 	}
 
 	private static void setFailoverTimeout(String value) throws GWException {
@@ -553,4 +767,314 @@ public class GWSettingInfo {
 		maxTotalResponseSize = maxTotalResponseSize * Constants.MB_TO_BYTE;
 	}
 
+	/**
+	 * Get maximum number of sessions borrowed at the same time per cluster,
+	 * database and user. 0 means sessions are not pooled.
+	 *
+	 * @return maximum number of sessions per key
+	 */
+	public static int getSessionPoolMaxPerKey() {
+		return sessionPoolMaxPerKey;
+	}
+
+	/**
+	 * Get maximum number of idle sessions kept in the pool.
+	 *
+	 * @return maximum number of idle sessions
+	 */
+	public static int getSessionPoolMaxTotal() {
+		return sessionPoolMaxTotal;
+	}
+
+	/**
+	 * Get maximum time to wait for a free session.
+	 *
+	 * @return maximum wait time (milliseconds)
+	 */
+	public static int getSessionPoolMaxWait() {
+		return sessionPoolMaxWait;
+	}
+
+	/**
+	 * Get time after which an idle session is closed.
+	 *
+	 * @return idle timeout (seconds)
+	 */
+	public static int getSessionPoolIdleTimeout() {
+		return sessionPoolIdleTimeout;
+	}
+
+	/**
+	 * Get idle time after which a session is validated before reuse.
+	 *
+	 * @return validation interval (seconds)
+	 */
+	public static int getSessionPoolValidationInterval() {
+		return sessionPoolValidationInterval;
+	}
+
+	/**
+	 * Get time after which a session is closed regardless of use.
+	 *
+	 * @return maximum lifetime (seconds), 0 for unlimited
+	 */
+	public static int getSessionPoolMaxLifetime() {
+		return sessionPoolMaxLifetime;
+	}
+
+	/**
+	 * Get maximum number of JDBC connections borrowed at the same time per
+	 * cluster, database and user. 0 means connections are not pooled.
+	 *
+	 * @return maximum number of connections per key
+	 */
+	public static int getJdbcPoolMaxPerKey() {
+		return jdbcPoolMaxPerKey;
+	}
+
+	/**
+	 * Get maximum number of idle JDBC connections kept in the pool.
+	 *
+	 * @return maximum number of idle connections
+	 */
+	public static int getJdbcPoolMaxTotal() {
+		return jdbcPoolMaxTotal;
+	}
+
+	/**
+	 * Get maximum time to wait for a free JDBC connection.
+	 *
+	 * @return maximum wait time (milliseconds)
+	 */
+	public static int getJdbcPoolMaxWait() {
+		return jdbcPoolMaxWait;
+	}
+
+	/**
+	 * Get time after which an idle JDBC connection is closed.
+	 *
+	 * @return idle timeout (seconds)
+	 */
+	public static int getJdbcPoolIdleTimeout() {
+		return jdbcPoolIdleTimeout;
+	}
+
+	/**
+	 * Get idle time after which a JDBC connection is validated before reuse.
+	 *
+	 * @return validation interval (seconds)
+	 */
+	public static int getJdbcPoolValidationInterval() {
+		return jdbcPoolValidationInterval;
+	}
+
+	/**
+	 * Get time after which a JDBC connection is closed regardless of use.
+	 *
+	 * @return maximum lifetime (seconds), 0 for unlimited
+	 */
+	public static int getJdbcPoolMaxLifetime() {
+		return jdbcPoolMaxLifetime;
+	}
+
+	/**
+	 * Get maximum number of container schemas cached.
+	 *
+	 * @return maximum number of schemas, 0 if the cache is disabled
+	 */
+	public static int getMetadataCacheSize() {
+		return metadataCacheSize;
+	}
+
+	/**
+	 * Get time after which a cached container schema is reloaded.
+	 *
+	 * @return time to live (seconds)
+	 */
+	public static int getMetadataCacheTtl() {
+		return metadataCacheTtl;
+	}
+
+	/**
+	 * Get maximum number of row counts cached.
+	 *
+	 * @return maximum number of row counts, 0 if the cache is disabled
+	 */
+	public static int getCountCacheSize() {
+		return countCacheSize;
+	}
+
+	/**
+	 * Get time after which a cached row count is recounted.
+	 *
+	 * @return time to live (seconds)
+	 */
+	public static int getCountCacheTtl() {
+		return countCacheTtl;
+	}
+
+	/**
+	 * Get number of worker threads shared by parallel queries.
+	 *
+	 * @return number of threads, 0 if parallel execution is disabled
+	 */
+	public static int getParallelThreads() {
+		return parallelThreads;
+	}
+
+	/**
+	 * Get maximum number of queries of one request run at once.
+	 *
+	 * @return maximum parallelism
+	 */
+	public static int getMaxParallelism() {
+		return maxParallelism;
+	}
+
+	/**
+	 * Get maximum number of queries of one user run at once across requests.
+	 *
+	 * @return maximum parallelism per user
+	 */
+	public static int getMaxParallelismPerUser() {
+		return maxParallelismPerUser;
+	}
+
+	/**
+	 * Get number of rows of a record batch in Arrow format.
+	 *
+	 * @return number of rows
+	 */
+	public static int getArrowBatchSize() {
+		return arrowBatchSize;
+	}
+
+	/**
+	 * Get default number of rows put at once in streaming ingestion.
+	 *
+	 * @return number of rows
+	 */
+	public static int getPutRowsBatchSize() {
+		return putRowsBatchSize;
+	}
+
+	/**
+	 * Get default number of rows deleted in one transaction.
+	 *
+	 * @return number of rows
+	 */
+	public static int getDeleteRowsBatchSize() {
+		return deleteRowsBatchSize;
+	}
+
+	/**
+	 * Get maximum number of rows waiting in the ingestion queue.
+	 *
+	 * @return number of rows, 0 if the queue is disabled
+	 */
+	public static int getIngestQueueMaxRows() {
+		return ingestQueueMaxRows;
+	}
+
+	/**
+	 * Get number of rows of a container which triggers a flush of the
+	 * ingestion queue.
+	 *
+	 * @return number of rows
+	 */
+	public static int getIngestFlushRows() {
+		return ingestFlushRows;
+	}
+
+	/**
+	 * Get maximum time rows wait in the ingestion queue.
+	 *
+	 * @return time (milliseconds)
+	 */
+	public static int getIngestFlushInterval() {
+		return ingestFlushInterval;
+	}
+
+	/**
+	 * Get directory of the spill files of the ingestion queue.
+	 *
+	 * @return directory path, or null if rows are not spilled
+	 */
+	public static String getIngestSpillPath() {
+		return ingestSpillPath;
+	}
+
+	/**
+	 * Get the AES key which encrypts the credentials in the spill files of the
+	 * ingestion queue.
+	 *
+	 * @return the key, or null if it is not set
+	 */
+	public static byte[] getIngestSpillKey() {
+		return ingestSpillKey != null ? ingestSpillKey.clone() : null;
+	}
+
+	/**
+	 * Get maximum size of a BLOB data file in a zip file of row registration.
+	 *
+	 * @return size (bytes)
+	 */
+	public static long getBlobUploadMaxEntrySize() {
+		return blobUploadMaxEntrySize * Constants.MB_TO_BYTE;
+	}
+
+	/**
+	 * Get maximum size of the BLOB data files of a zip file read in memory.
+	 *
+	 * @return size (bytes), 0 if the zip file is extracted into blobPath
+	 */
+	public static long getBlobUploadBufferSize() {
+		return blobUploadBufferSize * Constants.MB_TO_BYTE;
+	}
+
+	/**
+	 * Get interval of the janitor of blobPath.
+	 *
+	 * @return interval (seconds), 0 if the janitor is disabled
+	 */
+	public static int getBlobJanitorInterval() {
+		return blobJanitorInterval;
+	}
+
+	/**
+	 * Get time after which data left in blobPath is deleted.
+	 *
+	 * @return time (seconds)
+	 */
+	public static int getBlobRetention() {
+		return blobRetention;
+	}
+
+	/**
+	 * Get size of blobPath above which the oldest data is deleted.
+	 *
+	 * @return size (bytes), 0 if the size is not limited
+	 */
+	public static long getBlobHighWatermark() {
+		return blobHighWatermark * Constants.MB_TO_BYTE;
+	}
+
+	/**
+	 * Get size of blobPath down to which the oldest data is deleted.
+	 *
+	 * @return size (bytes)
+	 */
+	public static long getBlobLowWatermark() {
+		return blobLowWatermark * Constants.MB_TO_BYTE;
+	}
+
+	/**
+	 * Get whether the statistics endpoints are available.
+	 *
+	 * @return true if they are available
+	 */
+	public static boolean isStatisticsEnabled() {
+		return statisticsEnabled;
+	}
+
 }
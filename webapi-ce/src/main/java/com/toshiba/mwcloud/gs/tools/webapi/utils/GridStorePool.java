@@ -0,0 +1,216 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.toshiba.mwcloud.gs.GSException;
+import com.toshiba.mwcloud.gs.GridStore;
+import com.toshiba.mwcloud.gs.PartitionController;
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSessionPoolStatistics;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWUnauthorizedException;
+
+/**
+ * Pool of {@link GridStore} sessions keyed by cluster, database, user and a
+ * digest of the password.
+ *
+ * <p>
+ * Closing a borrowed {@link GridStore} returns it to the pool. Containers and
+ * partition controllers opened through a borrowed session are closed when it
+ * is returned.
+ */
+public class GridStorePool {
+
+	private static final Logger logger = LoggerFactory.getLogger(GridStorePool.class);
+
+	private static volatile KeyedSessionPool<GridStore> pool;
+
+	/**
+	 * Create the pool. Called once the settings are loaded.
+	 */
+	public static synchronized void init() {
+		if (pool != null || GWSettingInfo.getSessionPoolMaxPerKey() <= 0) {
+			return;
+		}
+		pool = new KeyedSessionPool<GridStore>("gs-session-pool", GridStore.class, AutoCloseable.class,
+				GSException.class, GWSettingInfo.getSessionPoolMaxPerKey(), GWSettingInfo.getSessionPoolMaxTotal(),
+				GWSettingInfo.getSessionPoolMaxWait(), GWSettingInfo.getSessionPoolIdleTimeout(),
+				GWSettingInfo.getSessionPoolValidationInterval(), GWSettingInfo.getSessionPoolMaxLifetime()) {
+
+			@Override
+			protected GridStore create(String cluster, String database, String user, String password) {
+				try {
+					return GridStoreUtils.createGridStore(cluster, database, user, password);
+				} catch (GSException e) {
+					throw new GWUnauthorizedException("Failed to connect to cluster");
+				}
+			}
+
+			@Override
+			protected boolean validate(GridStore gridStore) {
+				PartitionController controller = null;
+				try {
+					controller = gridStore.getPartitionController();
+					controller.getPartitionCount();
+					return true;
+				} catch (GSException e) {
+					logger.debug("Session validation failed: " + e.getMessage());
+					return false;
+				} finally {
+					if (controller != null) {
+						try {
+							controller.close();
+						} catch (GSException e) {
+							logger.debug("Failed to close partition controller: " + e.getMessage());
+						}
+					}
+				}
+			}
+
+			@Override
+			protected boolean reset(GridStore gridStore) {
+				return true;
+			}
+
+			@Override
+			protected void close(GridStore gridStore) throws GSException {
+				gridStore.close();
+			}
+		};
+	}
+
+	/**
+	 * Close every idle session and stop the pool. Sessions still borrowed are
+	 * closed when they are returned.
+	 */
+	public static synchronized void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Whether sessions are pooled. Setting <code>sessionPoolMaxPerKey</code> to 0
+	 * disables the pool and every request opens its own session.
+	 *
+	 * @return true if the pool is enabled
+	 */
+	public static boolean isEnabled() {
+		return pool != null;
+	}
+
+	/**
+	 * Borrow a session for the given connection settings, creating one if no
+	 * idle session is available.
+	 *
+	 * @param clusterName
+	 *            name of cluster
+	 * @param dbName
+	 *            name of database
+	 * @param userid
+	 *            user name
+	 * @param password
+	 *            password
+	 * @return a {@link GridStore} which must be closed to return it to the pool
+	 */
+	public static GridStore borrow(String clusterName, String dbName, String userid, String password) {
+		return pool.borrow(clusterName, dbName, userid, password);
+	}
+
+	/**
+	 * Mark a borrowed session so that it is closed instead of being returned
+	 * to the pool, e.g. when it may still be in use by another thread.
+	 *
+	 * @param gridStore
+	 *            a session obtained from {@link #borrow(String, String, String, String)}
+	 */
+	public static void invalidate(GridStore gridStore) {
+		KeyedSessionPool<GridStore> current = pool;
+		if (current != null) {
+			current.invalidate(gridStore);
+		}
+	}
+
+	/**
+	 * Whether the server has already accepted the credentials of a borrowed
+	 * session. Cached data may be served to verified sessions without a round
+	 * trip to the server.
+	 *
+	 * @param gridStore
+	 *            a borrowed or a plain {@link GridStore}
+	 * @return true if the session is pooled and verified
+	 */
+	public static boolean isVerified(GridStore gridStore) {
+		KeyedSessionPool<GridStore> current = pool;
+		return current != null && current.isVerified(gridStore);
+	}
+
+	/**
+	 * Record that the server has accepted the credentials of a borrowed
+	 * session.
+	 *
+	 * @param gridStore
+	 *            a borrowed or a plain {@link GridStore}
+	 */
+	public static void markVerified(GridStore gridStore) {
+		KeyedSessionPool<GridStore> current = pool;
+		if (current != null) {
+			current.markVerified(gridStore);
+		}
+	}
+
+	/**
+	 * Close the pooled sessions of a cluster, e.g. after users or privileges
+	 * are changed.
+	 *
+	 * @param clusterName
+	 *            name of cluster
+	 */
+	public static void clear(String clusterName) {
+		KeyedSessionPool<GridStore> current = pool;
+		if (current != null) {
+			current.clear(clusterName);
+		}
+	}
+
+	/**
+	 * Get the underlying {@link GridStore} of a borrowed session. Needed for
+	 * APIs such as <code>ExperimentalTool</code> which require the client's own
+	 * implementation.
+	 *
+	 * @param gridStore
+	 *            a borrowed or a plain {@link GridStore}
+	 * @return the underlying {@link GridStore}
+	 */
+	public static GridStore unwrap(GridStore gridStore) {
+		KeyedSessionPool<GridStore> current = pool;
+		return current != null ? current.unwrap(gridStore) : gridStore;
+	}
+
+	/**
+	 * Get the current statistics of the pool.
+	 *
+	 * @return a {@link GWSessionPoolStatistics}
+	 */
+	public static GWSessionPoolStatistics getStatistics() {
+		KeyedSessionPool<GridStore> current = pool;
+		return current != null ? current.getStatistics() : new GWSessionPoolStatistics();
+	}
+
+}
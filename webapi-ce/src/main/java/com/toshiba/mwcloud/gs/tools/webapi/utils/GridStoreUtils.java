@@ -20,6 +20,8 @@ package com.toshiba.mwcloud.gs.tools.webapi.utils;
 import com.toshiba.mwcloud.gs.GSException;
 import com.toshiba.mwcloud.gs.GridStore;
 import com.toshiba.mwcloud.gs.GridStoreFactory;
+import com.toshiba.mwcloud.gs.experimental.ExperimentalTool;
+import com.toshiba.mwcloud.gs.experimental.ExtendedContainerInfo;
 import com.toshiba.mwcloud.gs.tools.common.GSCluster;
 import com.toshiba.mwcloud.gs.tools.common.GSNode;
 import com.toshiba.mwcloud.gs.tools.common.repository.RepositoryUtils;
@@ -35,8 +37,9 @@ public class GridStoreUtils {
 	private static final Logger logger = LoggerFactory.getLogger(GridStoreUtils.class);
 
 	/**
-	 * Get the target cluster information from the repository and obtain the
-	 * GridStore object. The database to be connected is "public".
+	 * Obtain a GridStore object for the target cluster. When the session pool
+	 * is enabled the object is borrowed from {@link GridStorePool} and closing
+	 * it returns it to the pool.
 	 *
 	 * @param userid
 	 *            user name
@@ -52,6 +55,47 @@ public class GridStoreUtils {
 	 */
 	public static GridStore getGridStore(String clusterName, String dbName, String userid, String password)
 			throws GSException {
+		if (GridStorePool.isEnabled()) {
+			return GridStorePool.borrow(clusterName, dbName, userid, password);
+		}
+		return createGridStore(clusterName, dbName, userid, password);
+	}
+
+	/**
+	 * Get the extended container information. The GridStore object may be
+	 * one borrowed from {@link GridStorePool}.
+	 *
+	 * @param gridStore
+	 *            a GridStore object
+	 * @param container
+	 *            name of container
+	 * @return an {@link ExtendedContainerInfo}, or null if the container does not exist
+	 * @throws GSException
+	 *             when unable to get the container information
+	 */
+	public static ExtendedContainerInfo getExtendedContainerInfo(GridStore gridStore, String container)
+			throws GSException {
+		return ExperimentalTool.getExtendedContainerInfo(GridStorePool.unwrap(gridStore), container);
+	}
+
+	/**
+	 * Get the target cluster information from the repository and create a new
+	 * GridStore object.
+	 *
+	 * @param userid
+	 *            user name
+	 * @param password
+	 *            password
+	 * @param clusterName
+	 *            name of cluster
+	 * @param dbName
+	 *            name of database
+	 * @return a GridStore object
+	 * @throws GSException
+	 *             when unable to get GridStore from GridStoreFactory
+	 */
+	static GridStore createGridStore(String clusterName, String dbName, String userid, String password)
+			throws GSException {
 
 		GSCluster<GSNode> cluster = null;
 		try {
@@ -0,0 +1,852 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.toshiba.mwcloud.gs.Container;
+import com.toshiba.mwcloud.gs.GSException;
+import com.toshiba.mwcloud.gs.GridStore;
+import com.toshiba.mwcloud.gs.Row;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWNotFoundException;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWTooManyRequestsException;
+import com.toshiba.mwcloud.gs.tools.webapi.utils.ContainerMetadataCache.ContainerMetadata;
+
+/**
+ * Write-behind queue of the rows registered with the <code>ack</code>
+ * parameter.
+ *
+ * <p>
+ * The rows of the requests of the same cluster, database and user are put
+ * together with {@link GridStore#multiPut(Map)} by a background thread, when
+ * the queued rows of a container reach <code>ingestFlushRows</code> or at the
+ * latest <code>ingestFlushInterval</code> milliseconds after they are queued.
+ * At most <code>ingestQueueMaxRows</code> rows are queued or being put, a
+ * request which would exceed it is rejected with
+ * {@link GWTooManyRequestsException}.
+ *
+ * <p>
+ * Rows acknowledged when they are queued are retried up to
+ * {@link Constants#INGEST_MAX_RETRIES} times with an increasing delay when
+ * they can not be put. If
+ * <code>ingestSpillPath</code> is set, they are also written to a spill file
+ * before the request returns, and the file is deleted once all of its rows
+ * are put. Spill files left by a previous run, e.g. because the cluster was
+ * not available at shutdown, are queued again when the queue is created. The
+ * passwords of the users are written to the spill files encrypted with
+ * AES-GCM by the key <code>ingestSpillKey</code>, and the files are created
+ * readable by the owner only.
+ *
+ * <p>
+ * Rows are put at least once: the rows of a failed flush may have been put
+ * partly and are put again when they are retried.
+ */
+public class IngestionQueue {
+
+	private static final Logger logger = LoggerFactory.getLogger(IngestionQueue.class);
+
+	private static final String SPILL_FILE_PREFIX = "ingest-";
+
+	private static final String SPILL_FILE_SUFFIX = ".spill";
+
+	private static final String SPILL_CIPHER = "AES/GCM/NoPadding";
+
+	// Length of the IV and the authentication tag of AES-GCM (bytes)
+	private static final int SPILL_IV_LENGTH = 12;
+	private static final int SPILL_TAG_LENGTH = 16;
+
+	// Maximum delay before rows are retried (milliseconds)
+	private static final long MAX_RETRY_DELAY = 60000;
+
+	private static volatile IngestionQueue queue;
+
+	private final int maxRows;
+
+	private final int flushRows;
+
+	private final long flushIntervalMillis;
+
+	// Directory of the spill files, null if rows are not spilled
+	private final Path spillDirectory;
+
+	// Key encrypting the passwords in the spill files, null if rows are not spilled
+	private final SecretKeySpec spillKey;
+
+	private final SecureRandom random = new SecureRandom();
+
+	private final ObjectMapper spillMapper = new ObjectMapper();
+
+	private final Thread flusher;
+
+	// Guarded by this
+	private List<Entry> pending = new ArrayList<Entry>();
+	private final Map<String, Integer> pendingRowsPerContainer = new HashMap<String, Integer>();
+	private int queuedRows;
+	private boolean flushRequested;
+	private boolean closed;
+
+	// Guarded by spillLock
+	private final Object spillLock = new Object();
+	private long spillSegment;
+	private FileChannel spillChannel;
+	private final Map<Long, Integer> spilledEntries = new HashMap<Long, Integer>();
+
+	private IngestionQueue(int maxRows, int flushRows, long flushIntervalMillis, Path spillDirectory,
+			SecretKeySpec spillKey) {
+		this.maxRows = maxRows;
+		this.flushRows = flushRows;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.spillDirectory = spillDirectory;
+		this.spillKey = spillKey;
+		this.flusher = new Thread(this::runFlusher, "webapi-ingest-flusher");
+		this.flusher.setDaemon(true);
+	}
+
+	/**
+	 * Create the queue and queue again the rows of the spill files left by a
+	 * previous run. Called once the settings are loaded.
+	 */
+	public static synchronized void init() {
+		if (queue != null || GWSettingInfo.getIngestQueueMaxRows() <= 0) {
+			return;
+		}
+		String spillPath = GWSettingInfo.getIngestSpillPath();
+		Path spillDirectory = null;
+		SecretKeySpec spillKey = null;
+		if (spillPath != null && !spillPath.trim().isEmpty()) {
+			spillDirectory = Paths.get(spillPath.trim());
+			// Checked with ingestSpillPath when the settings are loaded
+			spillKey = new SecretKeySpec(GWSettingInfo.getIngestSpillKey(), "AES");
+			try {
+				Files.createDirectories(spillDirectory);
+			} catch (IOException e) {
+				throw new GWException("Failed to create the directory of the ingestion spill files");
+			}
+		}
+		IngestionQueue current = new IngestionQueue(GWSettingInfo.getIngestQueueMaxRows(),
+				GWSettingInfo.getIngestFlushRows(), GWSettingInfo.getIngestFlushInterval(), spillDirectory,
+				spillKey);
+		if (spillDirectory != null) {
+			current.recover();
+		}
+		current.flusher.start();
+		queue = current;
+	}
+
+	/**
+	 * Stop accepting rows and put the queued rows, waiting for them. Rows
+	 * acknowledged on enqueue which still can not be put are kept in the
+	 * spill files.
+	 */
+	public static synchronized void shutdown() {
+		IngestionQueue current = queue;
+		if (current != null) {
+			queue = null;
+			current.close();
+		}
+	}
+
+	/**
+	 * Whether rows can be queued. Setting <code>ingestQueueMaxRows</code> to 0
+	 * disables the queue and rows are always put by the thread of the request.
+	 *
+	 * @return true if the queue is enabled
+	 */
+	public static boolean isEnabled() {
+		return queue != null;
+	}
+
+	/**
+	 * Queue rows to put.
+	 *
+	 * @param cluster
+	 *            name of cluster
+	 * @param database
+	 *            name of database
+	 * @param user
+	 *            user name
+	 * @param password
+	 *            password
+	 * @param rows
+	 *            the rows to put by container name
+	 * @param values
+	 *            values of the same rows as in the request, written to the
+	 *            spill file
+	 * @param acknowledgeOnEnqueue
+	 *            true if the request returns once the rows are queued, in
+	 *            which case the rows are retried and spilled
+	 * @return a {@link Future} completed once the rows are put
+	 * @throws GWTooManyRequestsException
+	 *             when the queue is full
+	 */
+	public static Future<Void> enqueue(String cluster, String database, String user, String password,
+			Map<String, List<Row>> rows, Map<String, List<List<Object>>> values, boolean acknowledgeOnEnqueue) {
+		IngestionQueue current = queue;
+		if (current == null) {
+			throw new GWException("Ingestion queue is shut down");
+		}
+		return current.add(new Key(cluster, database, user, password), rows, values, acknowledgeOnEnqueue);
+	}
+
+	/**
+	 * Wait until queued rows are put.
+	 *
+	 * @param future
+	 *            a {@link Future} returned by
+	 *            {@link #enqueue(String, String, String, String, Map, Map, boolean)}
+	 * @throws GSException
+	 *             when the rows could not be put
+	 */
+	public static void await(Future<Void> future) throws GSException {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GWException("Interrupted while waiting for the rows to be put");
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof GSException) {
+				throw (GSException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new GWException(cause.getMessage());
+		}
+	}
+
+	private Future<Void> add(Key key, Map<String, List<Row>> rows, Map<String, List<List<Object>>> values,
+			boolean acknowledgeOnEnqueue) {
+		int rowCount = 0;
+		for (List<Row> list : rows.values()) {
+			rowCount += list.size();
+		}
+		synchronized (this) {
+			if (closed) {
+				throw new GWException("Ingestion queue is shut down");
+			}
+			// A request larger than the queue is accepted when the queue is empty
+			if (queuedRows > 0 && queuedRows + rowCount > maxRows) {
+				throw new GWTooManyRequestsException("Ingestion queue is full");
+			}
+			queuedRows += rowCount;
+		}
+
+		Entry entry = new Entry(key, rows, null, rowCount, acknowledgeOnEnqueue);
+		if (acknowledgeOnEnqueue && spillDirectory != null) {
+			try {
+				entry.segment = spill(key, values);
+			} catch (IOException e) {
+				logger.error("Failed to write the ingestion spill file: " + e.getMessage());
+				synchronized (this) {
+					queuedRows -= rowCount;
+				}
+				throw new GWException("Failed to write the ingestion spill file");
+			}
+		}
+
+		synchronized (this) {
+			if (closed) {
+				// Spilled rows are put on the next start
+				queuedRows -= rowCount;
+				throw new GWException("Ingestion queue is shut down");
+			}
+			pending.add(entry);
+			for (Map.Entry<String, List<Row>> container : rows.entrySet()) {
+				String containerKey = key.containerKey(container.getKey());
+				int count = pendingRowsPerContainer.merge(containerKey, container.getValue().size(), Integer::sum);
+				if (count >= flushRows) {
+					flushRequested = true;
+				}
+			}
+			if (flushRequested) {
+				notifyAll();
+			}
+		}
+		return entry.future;
+	}
+
+	private void close() {
+		synchronized (this) {
+			closed = true;
+			notifyAll();
+		}
+		try {
+			flusher.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (spillLock) {
+			closeSpillChannel();
+		}
+	}
+
+	private void runFlusher() {
+		while (true) {
+			boolean last;
+			synchronized (this) {
+				if (!closed && !flushRequested) {
+					try {
+						wait(flushIntervalMillis);
+					} catch (InterruptedException e) {
+						closed = true;
+					}
+				}
+				flushRequested = false;
+				last = closed;
+			}
+			flush(last);
+			if (last) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Put every queued row, grouping the rows of the same cluster, database
+	 * and user into one {@link GridStore#multiPut(Map)}.
+	 */
+	private void flush(boolean last) {
+		List<Entry> entries = new ArrayList<Entry>();
+		long now = System.currentTimeMillis();
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			// Rows waiting for a retry are kept unless the queue is closed
+			List<Entry> waiting = new ArrayList<Entry>();
+			for (Entry entry : pending) {
+				if (last || entry.retryAt <= now) {
+					entries.add(entry);
+				} else {
+					waiting.add(entry);
+				}
+			}
+			pending = waiting;
+			pendingRowsPerContainer.clear();
+		}
+		if (entries.isEmpty()) {
+			return;
+		}
+		rotateSpillFile();
+
+		Map<Key, List<Entry>> groups = new LinkedHashMap<Key, List<Entry>>();
+		for (Entry entry : entries) {
+			groups.computeIfAbsent(entry.key, key -> new ArrayList<Entry>()).add(entry);
+		}
+		for (Map.Entry<Key, List<Entry>> group : groups.entrySet()) {
+			put(group.getKey(), group.getValue(), last);
+		}
+	}
+
+	private void put(Key key, List<Entry> entries, boolean last) {
+		long start = System.nanoTime();
+		// Container names are case-insensitive
+		Map<String, List<Row>> rows = new TreeMap<String, List<Row>>(String.CASE_INSENSITIVE_ORDER);
+		List<Entry> converted = new ArrayList<Entry>(entries.size());
+		GridStore gridStore = null;
+		try {
+			gridStore = GridStoreUtils.getGridStore(key.cluster, key.database, key.user, key.password);
+			for (Entry entry : entries) {
+				if (entry.rows == null) {
+					try {
+						entry.rows = convert(gridStore, key, entry.values);
+						entry.values = null;
+					} catch (GWBadRequestException | GWNotFoundException e) {
+						fail(entry, e, false, last);
+						continue;
+					}
+				}
+				for (Map.Entry<String, List<Row>> container : entry.rows.entrySet()) {
+					rows.computeIfAbsent(container.getKey(), name -> new ArrayList<Row>())
+							.addAll(container.getValue());
+				}
+				converted.add(entry);
+			}
+			if (!rows.isEmpty()) {
+				gridStore.multiPut(rows);
+			}
+		} catch (Exception e) {
+			logger.warn("Failed to put the queued rows of " + key + ": " + e.getMessage());
+			for (Entry entry : entries) {
+				if (!entry.future.isDone()) {
+					fail(entry, e, true, last);
+				}
+			}
+			return;
+		} finally {
+			// Rows may have been put even if an error occurred
+			for (String container : rows.keySet()) {
+				CountCache.invalidate(key.cluster, key.database, container);
+			}
+			if (gridStore != null) {
+				try {
+					gridStore.close();
+				} catch (GSException e) {
+					logger.warn("Failed to close session: " + e.getMessage());
+				}
+			}
+		}
+		for (Entry entry : converted) {
+			release(entry, true);
+			entry.future.complete(null);
+		}
+		if (GWSettingInfo.getLogger().isDebugEnabled()) {
+			logger.debug("flush : " + key + " containers=" + rows.size() + " entries=" + converted.size()
+					+ " time=" + (System.nanoTime() - start) / 1000000f);
+		}
+	}
+
+	private static Map<String, List<Row>> convert(GridStore gridStore, Key key,
+			Map<String, List<List<Object>>> values) throws GSException {
+		Map<String, List<Row>> rows = new LinkedHashMap<String, List<Row>>();
+		for (Map.Entry<String, List<List<Object>>> container : values.entrySet()) {
+			ContainerMetadata metadata = ContainerMetadataCache.get(gridStore, key.cluster, key.database,
+					container.getKey());
+			if (metadata == null) {
+				throw new GWNotFoundException("Container not existed");
+			}
+			RowConverter converter = metadata.getRowConverter();
+			List<Row> list = new ArrayList<Row>(container.getValue().size());
+			try (Container<Object, Row> cont = gridStore.getContainer(container.getKey())) {
+				for (List<Object> rowValues : container.getValue()) {
+					Row row = cont.createRow();
+					converter.convert(rowValues, row);
+					list.add(row);
+				}
+			}
+			rows.put(container.getKey(), list);
+		}
+		return rows;
+	}
+
+	/**
+	 * Handle rows which could not be put. Rows acknowledged on enqueue are
+	 * queued again unless the error is in the rows themselves, the others
+	 * complete their {@link Future} with the error.
+	 */
+	private void fail(Entry entry, Exception e, boolean retryable, boolean last) {
+		if (entry.acknowledgeOnEnqueue && retryable) {
+			if (last && entry.segment >= 0) {
+				logger.warn(entry.rowCount + " queued rows of " + entry.key + " are kept in the spill file");
+				release(entry, false);
+				entry.future.completeExceptionally(e);
+				return;
+			}
+			if (!last && entry.retries < Constants.INGEST_MAX_RETRIES) {
+				entry.retryAt = System.currentTimeMillis()
+						+ Math.min(flushIntervalMillis << entry.retries, MAX_RETRY_DELAY);
+				entry.retries++;
+				synchronized (this) {
+					pending.add(entry);
+				}
+				return;
+			}
+		}
+		if (entry.acknowledgeOnEnqueue) {
+			logger.error("Dropped " + entry.rowCount + " queued rows of " + entry.key + ": " + e.getMessage());
+		}
+		release(entry, true);
+		entry.future.completeExceptionally(e);
+	}
+
+	/**
+	 * Release the room of rows in the queue.
+	 *
+	 * @param unspill
+	 *            true to remove the rows from the spill file
+	 */
+	private void release(Entry entry, boolean unspill) {
+		synchronized (this) {
+			queuedRows -= entry.rowCount;
+		}
+		if (unspill && entry.segment >= 0) {
+			synchronized (spillLock) {
+				int count = spilledEntries.merge(entry.segment, -1, Integer::sum);
+				if (count <= 0) {
+					spilledEntries.remove(entry.segment);
+					if (entry.segment != spillSegment) {
+						deleteSpillFile(entry.segment);
+					}
+				}
+			}
+		}
+	}
+
+	private long spill(Key key, Map<String, List<List<Object>>> values) throws IOException {
+		Map<String, Object> record = new LinkedHashMap<String, Object>();
+		record.put("cluster", key.cluster);
+		record.put("database", key.database);
+		record.put("user", key.user);
+		record.put("credential", encryptPassword(key));
+		record.put("rows", values);
+		byte[] json = spillMapper.writeValueAsBytes(record);
+		ByteBuffer buffer = ByteBuffer.allocate(json.length + 1);
+		buffer.put(json).put((byte) '\n');
+		buffer.flip();
+
+		synchronized (spillLock) {
+			if (spillChannel == null) {
+				spillChannel = openSpillFile(spillSegment);
+			}
+			try {
+				while (buffer.hasRemaining()) {
+					spillChannel.write(buffer);
+				}
+				spillChannel.force(false);
+			} catch (IOException e) {
+				// Do not append to an incomplete record
+				startNewSpillFile();
+				throw e;
+			}
+			spilledEntries.merge(spillSegment, 1, Integer::sum);
+			return spillSegment;
+		}
+	}
+
+	private FileChannel openSpillFile(long segment) throws IOException {
+		Path path = getSpillFile(segment);
+		if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+			Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		} else {
+			Files.createFile(path);
+		}
+		return FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	/**
+	 * Start a new spill file, so that the current one can be deleted once the
+	 * rows being flushed are put.
+	 */
+	private void rotateSpillFile() {
+		synchronized (spillLock) {
+			if (spillChannel != null) {
+				startNewSpillFile();
+			}
+		}
+	}
+
+	// Called with spillLock held
+	private void startNewSpillFile() {
+		closeSpillChannel();
+		long segment = spillSegment++;
+		if (!spilledEntries.containsKey(segment)) {
+			deleteSpillFile(segment);
+		}
+	}
+
+	private void closeSpillChannel() {
+		if (spillChannel != null) {
+			try {
+				spillChannel.close();
+			} catch (IOException e) {
+				logger.warn("Failed to close the ingestion spill file: " + e.getMessage());
+			}
+			spillChannel = null;
+		}
+	}
+
+	private Path getSpillFile(long segment) {
+		return spillDirectory.resolve(SPILL_FILE_PREFIX + segment + SPILL_FILE_SUFFIX);
+	}
+
+	private void deleteSpillFile(long segment) {
+		try {
+			Files.deleteIfExists(getSpillFile(segment));
+		} catch (IOException e) {
+			logger.warn("Failed to delete the ingestion spill file: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Queue the rows of the spill files left by a previous run. New rows are
+	 * spilled to files numbered after them.
+	 */
+	private void recover() {
+		TreeSet<Long> segments = new TreeSet<Long>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory,
+				SPILL_FILE_PREFIX + "*" + SPILL_FILE_SUFFIX)) {
+			for (Path path : stream) {
+				String name = path.getFileName().toString();
+				try {
+					segments.add(Long.parseLong(
+							name.substring(SPILL_FILE_PREFIX.length(), name.length() - SPILL_FILE_SUFFIX.length())));
+				} catch (NumberFormatException e) {
+					logger.warn("Ignored unknown file in the ingestion spill directory: " + name);
+				}
+			}
+		} catch (IOException e) {
+			throw new GWException("Failed to read the directory of the ingestion spill files");
+		}
+		if (segments.isEmpty()) {
+			return;
+		}
+		spillSegment = segments.last() + 1;
+
+		for (long segment : segments) {
+			int count = 0;
+			try (BufferedReader reader = Files.newBufferedReader(getSpillFile(segment), StandardCharsets.UTF_8)) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.isEmpty()) {
+						continue;
+					}
+					Entry entry;
+					try {
+						entry = readSpillRecord(line);
+					} catch (IOException e) {
+						// The last record may be incomplete if the server stopped while writing it
+						logger.warn("Ignored invalid record in the ingestion spill file " + segment + ": "
+								+ e.getMessage());
+						continue;
+					}
+					entry.segment = segment;
+					pending.add(entry);
+					queuedRows += entry.rowCount;
+					count++;
+				}
+			} catch (IOException e) {
+				throw new GWException("Failed to read the ingestion spill file " + segment);
+			}
+			if (count > 0) {
+				spilledEntries.put(segment, count);
+				logger.info("Queued " + count + " requests again from the ingestion spill file " + segment);
+			} else {
+				deleteSpillFile(segment);
+			}
+		}
+		flushRequested = !pending.isEmpty();
+	}
+
+	private Entry readSpillRecord(String line) throws IOException {
+		String cluster = null;
+		String database = null;
+		String user = null;
+		String credential = null;
+		Map<String, List<List<Object>>> values = new LinkedHashMap<String, List<List<Object>>>();
+		int rowCount = 0;
+		try (JsonParser jp = spillMapper.getFactory().createParser(line)) {
+			if (jp.nextToken() != JsonToken.START_OBJECT) {
+				throw new IOException("Parse error");
+			}
+			while (jp.nextToken() == JsonToken.FIELD_NAME) {
+				String field = jp.getCurrentName();
+				JsonToken t = jp.nextToken();
+				if ("rows".equals(field)) {
+					if (t != JsonToken.START_OBJECT) {
+						throw new IOException("Parse error");
+					}
+					while (jp.nextToken() == JsonToken.FIELD_NAME) {
+						String container = jp.getCurrentName();
+						if (jp.nextToken() != JsonToken.START_ARRAY) {
+							throw new IOException("Parse error");
+						}
+						List<List<Object>> rows = new ArrayList<List<Object>>();
+						while (jp.nextToken() == JsonToken.START_ARRAY) {
+							rows.add(GWJsonParser.readRow(jp));
+						}
+						values.put(container, rows);
+						rowCount += rows.size();
+					}
+				} else if ("cluster".equals(field)) {
+					cluster = jp.getValueAsString();
+				} else if ("database".equals(field)) {
+					database = jp.getValueAsString();
+				} else if ("user".equals(field)) {
+					user = jp.getValueAsString();
+				} else if ("credential".equals(field)) {
+					credential = jp.getValueAsString();
+				} else {
+					jp.skipChildren();
+				}
+			}
+		}
+		if (cluster == null || database == null || user == null || credential == null) {
+			throw new IOException("Missing field");
+		}
+		String password = decryptPassword(cluster, database, user, credential);
+		return new Entry(new Key(cluster, database, user, password), null, values, rowCount, true);
+	}
+
+	/**
+	 * Encrypt the password of a spill record. The cluster, database and user
+	 * are authenticated with it, so that the credential can not be moved to
+	 * another record.
+	 *
+	 * @return the IV followed by the encrypted password, encoded in Base64
+	 */
+	private String encryptPassword(Key key) throws IOException {
+		byte[] iv = new byte[SPILL_IV_LENGTH];
+		random.nextBytes(iv);
+		try {
+			Cipher cipher = Cipher.getInstance(SPILL_CIPHER);
+			cipher.init(Cipher.ENCRYPT_MODE, spillKey, new GCMParameterSpec(SPILL_TAG_LENGTH * 8, iv));
+			cipher.updateAAD(credentialContext(key.cluster, key.database, key.user));
+			byte[] encrypted = cipher.doFinal(key.password.getBytes(StandardCharsets.UTF_8));
+			byte[] credential = new byte[iv.length + encrypted.length];
+			System.arraycopy(iv, 0, credential, 0, iv.length);
+			System.arraycopy(encrypted, 0, credential, iv.length, encrypted.length);
+			return Base64.getEncoder().encodeToString(credential);
+		} catch (GeneralSecurityException e) {
+			throw new IOException("Failed to encrypt the credential", e);
+		}
+	}
+
+	private String decryptPassword(String cluster, String database, String user, String credential)
+			throws IOException {
+		byte[] data;
+		try {
+			data = Base64.getDecoder().decode(credential);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid credential");
+		}
+		if (data.length < SPILL_IV_LENGTH + SPILL_TAG_LENGTH) {
+			throw new IOException("Invalid credential");
+		}
+		try {
+			Cipher cipher = Cipher.getInstance(SPILL_CIPHER);
+			cipher.init(Cipher.DECRYPT_MODE, spillKey, new GCMParameterSpec(SPILL_TAG_LENGTH * 8, data, 0,
+					SPILL_IV_LENGTH));
+			cipher.updateAAD(credentialContext(cluster, database, user));
+			byte[] password = cipher.doFinal(data, SPILL_IV_LENGTH, data.length - SPILL_IV_LENGTH);
+			return new String(password, StandardCharsets.UTF_8);
+		} catch (GeneralSecurityException e) {
+			// Another key, or the record was modified
+			throw new IOException("Failed to decrypt the credential");
+		}
+	}
+
+	private static byte[] credentialContext(String cluster, String database, String user) {
+		return (cluster + '\0' + database + '\0' + user).getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Rows queued by one request.
+	 */
+	private static final class Entry {
+
+		private final Key key;
+
+		// Null until the rows of a spill file are converted
+		private Map<String, List<Row>> rows;
+
+		// Values of the rows of a spill file, null once they are converted
+		private Map<String, List<List<Object>>> values;
+
+		private final int rowCount;
+
+		private final boolean acknowledgeOnEnqueue;
+
+		private final CompletableFuture<Void> future = new CompletableFuture<Void>();
+
+		// Number of the spill file, -1 if the rows are not spilled
+		private long segment = -1;
+
+		private int retries;
+
+		// Time before which the rows are not retried
+		private long retryAt;
+
+		Entry(Key key, Map<String, List<Row>> rows, Map<String, List<List<Object>>> values, int rowCount,
+				boolean acknowledgeOnEnqueue) {
+			this.key = key;
+			this.rows = rows;
+			this.values = values;
+			this.rowCount = rowCount;
+			this.acknowledgeOnEnqueue = acknowledgeOnEnqueue;
+		}
+	}
+
+	private static final class Key {
+
+		private final String cluster;
+		private final String database;
+		private final String user;
+		private final String password;
+
+		Key(String cluster, String database, String user, String password) {
+			this.cluster = cluster;
+			this.database = database;
+			this.user = user;
+			this.password = password;
+		}
+
+		String containerKey(String container) {
+			return cluster + '\0' + database + '\0' + user + '\0' + container.toLowerCase(Locale.ROOT);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return cluster.equals(other.cluster) && database.equals(other.database) && user.equals(other.user)
+					&& password.equals(other.password);
+		}
+
+		@Override
+		public int hashCode() {
+			return ((cluster.hashCode() * 31 + database.hashCode()) * 31 + user.hashCode()) * 31
+					+ password.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			// Without the password, for the logs
+			return "cluster=" + cluster + " database=" + database + " user=" + user;
+		}
+	}
+
+}
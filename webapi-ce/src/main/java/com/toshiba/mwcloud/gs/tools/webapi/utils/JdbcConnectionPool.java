@@ -0,0 +1,178 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSessionPoolStatistics;
+
+/**
+ * Pool of JDBC {@link Connection}s keyed by cluster, database, user and a
+ * digest of the password.
+ *
+ * <p>
+ * Closing a borrowed {@link Connection} returns it to the pool. Statements
+ * created through it are closed, an open transaction is rolled back and
+ * auto-commit is restored before the next borrower gets it. A connection whose
+ * read-only flag, catalog, schema or other session property was changed is
+ * closed instead of being reused.
+ */
+public class JdbcConnectionPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(JdbcConnectionPool.class);
+
+	// Connection methods which change session state that reset() does not restore
+	private static final Set<String> STATE_CHANGING_METHODS = new HashSet<String>(Arrays.asList("setReadOnly",
+			"setCatalog", "setSchema", "setTransactionIsolation", "setTypeMap", "setHoldability", "setClientInfo",
+			"setNetworkTimeout"));
+
+	private static volatile KeyedSessionPool<Connection> pool;
+
+	/**
+	 * Create the pool. Called once the settings are loaded.
+	 */
+	public static synchronized void init() {
+		if (pool != null || GWSettingInfo.getJdbcPoolMaxPerKey() <= 0) {
+			return;
+		}
+		pool = new KeyedSessionPool<Connection>("jdbc-connection-pool", Connection.class, Statement.class,
+				SQLException.class, GWSettingInfo.getJdbcPoolMaxPerKey(), GWSettingInfo.getJdbcPoolMaxTotal(),
+				GWSettingInfo.getJdbcPoolMaxWait(), GWSettingInfo.getJdbcPoolIdleTimeout(),
+				GWSettingInfo.getJdbcPoolValidationInterval(), GWSettingInfo.getJdbcPoolMaxLifetime()) {
+
+			@Override
+			protected Connection create(String cluster, String database, String user, String password) {
+				return ConnectionUtils.createConnection(cluster, database, user, password);
+			}
+
+			@Override
+			protected boolean validate(Connection connection) {
+				try {
+					if (connection.isClosed()) {
+						return false;
+					}
+					try {
+						return connection.isValid(GWSettingInfo.getLoginTimeout());
+					} catch (SQLFeatureNotSupportedException e) {
+						try (Statement statement = connection.createStatement();
+								ResultSet resultSet = statement.executeQuery("SELECT 1")) {
+							return resultSet.next();
+						}
+					}
+				} catch (SQLException e) {
+					logger.debug("Connection validation failed: " + e.getMessage());
+					return false;
+				}
+			}
+
+			@Override
+			protected boolean reset(Connection connection) {
+				try {
+					if (!connection.getAutoCommit()) {
+						connection.rollback();
+						connection.setAutoCommit(true);
+					}
+					connection.clearWarnings();
+					return true;
+				} catch (SQLException e) {
+					logger.debug("Failed to reset connection: " + e.getMessage());
+					return false;
+				}
+			}
+
+			@Override
+			protected void close(Connection connection) throws SQLException {
+				connection.close();
+			}
+
+			@Override
+			protected boolean isStateChanging(Method method) {
+				return STATE_CHANGING_METHODS.contains(method.getName());
+			}
+		};
+	}
+
+	/**
+	 * Close every idle connection and stop the pool. Connections still
+	 * borrowed are closed when they are returned.
+	 */
+	public static synchronized void shutdown() {
+		if (pool != null) {
+			pool.shutdown();
+			pool = null;
+		}
+	}
+
+	/**
+	 * Whether connections are pooled. Setting <code>jdbcPoolMaxPerKey</code> to
+	 * 0 disables the pool and every request opens its own connection.
+	 *
+	 * @return true if the pool is enabled
+	 */
+	public static boolean isEnabled() {
+		return pool != null;
+	}
+
+	/**
+	 * Borrow a connection for the given connection settings, opening one if no
+	 * idle connection is available.
+	 *
+	 * @param clusterName cluster name
+	 * @param dbName database name
+	 * @param userid user name
+	 * @param password password
+	 * @return a {@link Connection} which must be closed to return it to the pool
+	 */
+	public static Connection borrow(String clusterName, String dbName, String userid, String password) {
+		return pool.borrow(clusterName, dbName, userid, password);
+	}
+
+	/**
+	 * Close the pooled connections of a cluster, e.g. after users or
+	 * privileges are changed.
+	 *
+	 * @param clusterName cluster name
+	 */
+	public static void clear(String clusterName) {
+		KeyedSessionPool<Connection> current = pool;
+		if (current != null) {
+			current.clear(clusterName);
+		}
+	}
+
+	/**
+	 * Get the current statistics of the pool.
+	 *
+	 * @return a {@link GWSessionPoolStatistics}
+	 */
+	public static GWSessionPoolStatistics getStatistics() {
+		KeyedSessionPool<Connection> current = pool;
+		return current != null ? current.getStatistics() : new GWSessionPoolStatistics();
+	}
+
+}
@@ -0,0 +1,658 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWSessionPoolStatistics;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
+
+/**
+ * Bounded pool of sessions keyed by cluster, database, user and a digest of
+ * the password.
+ *
+ * <p>
+ * A borrowed session is handed out as a proxy of the session interface whose
+ * <code>close()</code> returns it to the pool, so callers keep the usual
+ * "get then close in finally" pattern. Objects of the child type opened
+ * through a borrowed session (containers, statements) are closed when it is
+ * returned.
+ *
+ * @param <T> type of session
+ */
+public abstract class KeyedSessionPool<T> {
+
+	private static final Logger logger = LoggerFactory.getLogger(KeyedSessionPool.class);
+
+	private final Class<T> sessionType;
+
+	private final Class<?> childType;
+
+	private final Class<? extends Exception> errorType;
+
+	private final int maxPerKey;
+
+	private final int maxTotal;
+
+	private final long maxWaitMillis;
+
+	private final long idleTimeoutMillis;
+
+	private final long validationIntervalMillis;
+
+	private final long maxLifetimeMillis;
+
+	private final ConcurrentHashMap<Key, Partition> partitions = new ConcurrentHashMap<Key, Partition>();
+
+	// Number of idle sessions over all keys
+	private final AtomicInteger idleTotal = new AtomicInteger();
+
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong waitCount = new AtomicLong();
+	private final AtomicLong waitTimeNanos = new AtomicLong();
+	private final AtomicLong maxWaitTimeNanos = new AtomicLong();
+	private final AtomicLong timeoutCount = new AtomicLong();
+	private final AtomicLong evictionCount = new AtomicLong();
+	private final AtomicLong validationFailureCount = new AtomicLong();
+	private final AtomicLong createdCount = new AtomicLong();
+	private final AtomicLong destroyedCount = new AtomicLong();
+
+	private final ScheduledExecutorService evictor;
+
+	private volatile boolean shutdown;
+
+	/**
+	 * Create a pool and start its idle session evictor.
+	 *
+	 * @param name name of the pool, used for the evictor thread
+	 * @param sessionType interface of the session
+	 * @param childType type of objects opened through a session which are closed when it is returned
+	 * @param errorType type of exception which marks a session to be validated before reuse
+	 * @param maxPerKey maximum number of sessions borrowed at the same time per key
+	 * @param maxTotal maximum number of idle sessions over all keys
+	 * @param maxWaitMillis maximum time to wait for a free session (milliseconds)
+	 * @param idleTimeoutSeconds time after which an idle session is closed (seconds)
+	 * @param validationIntervalSeconds idle time after which a session is validated before reuse (seconds)
+	 * @param maxLifetimeSeconds time after which a session is closed regardless of use (seconds, 0 for unlimited)
+	 */
+	protected KeyedSessionPool(String name, Class<T> sessionType, Class<?> childType,
+			Class<? extends Exception> errorType, int maxPerKey, int maxTotal, long maxWaitMillis,
+			long idleTimeoutSeconds, long validationIntervalSeconds, long maxLifetimeSeconds) {
+		this.sessionType = sessionType;
+		this.childType = childType;
+		this.errorType = errorType;
+		this.maxPerKey = maxPerKey;
+		this.maxTotal = maxTotal;
+		this.maxWaitMillis = maxWaitMillis;
+		this.idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+		this.validationIntervalMillis = TimeUnit.SECONDS.toMillis(validationIntervalSeconds);
+		this.maxLifetimeMillis = TimeUnit.SECONDS.toMillis(maxLifetimeSeconds);
+
+		long period = Math.max(1, idleTimeoutSeconds / 2);
+		evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, name + "-evictor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		evictor.scheduleWithFixedDelay(this::evictIdleSessions, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Open a new session.
+	 *
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param user user name
+	 * @param password password
+	 * @return a new session
+	 */
+	protected abstract T create(String cluster, String database, String user, String password);
+
+	/**
+	 * Check that a session can still be used.
+	 *
+	 * @param session a session
+	 * @return true if the session is usable
+	 */
+	protected abstract boolean validate(T session);
+
+	/**
+	 * Restore the initial state of a session before it goes back to the pool.
+	 *
+	 * @param session a session
+	 * @return false if the state could not be restored and the session must be closed
+	 */
+	protected abstract boolean reset(T session);
+
+	/**
+	 * Close a session.
+	 *
+	 * @param session a session
+	 * @throws Exception when the session cannot be closed
+	 */
+	protected abstract void close(T session) throws Exception;
+
+	/**
+	 * Whether calling the method changes the state of the session in a way
+	 * {@link #reset(Object)} cannot restore. Such a session is closed instead
+	 * of being returned to the pool.
+	 *
+	 * @param method a method of the session interface
+	 * @return true if the method changes the session state
+	 */
+	protected boolean isStateChanging(Method method) {
+		return false;
+	}
+
+	/**
+	 * Borrow a session, opening one if no idle session is available.
+	 *
+	 * @param cluster name of cluster
+	 * @param database name of database
+	 * @param user user name
+	 * @param password password
+	 * @return a session which must be closed to return it to the pool
+	 */
+	public T borrow(String cluster, String database, String user, String password) {
+		if (shutdown) {
+			throw new GWException("Session pool is shut down");
+		}
+		Key key = new Key(cluster, database, user, digest(password));
+		Partition partition = enter(key);
+
+		boolean acquired = false;
+		try {
+			acquirePermit(partition);
+			acquired = true;
+			Entry entry;
+			while ((entry = partition.idle.pollFirst()) != null) {
+				idleTotal.decrementAndGet();
+				if (isExpired(entry, System.currentTimeMillis()) || !validateIfStale(entry)) {
+					destroy(entry);
+					continue;
+				}
+				break;
+			}
+			if (entry != null) {
+				hitCount.incrementAndGet();
+			} else {
+				missCount.incrementAndGet();
+				entry = new Entry(create(cluster, database, user, password), partition.generation);
+				createdCount.incrementAndGet();
+			}
+			partition.active.incrementAndGet();
+			return lease(partition, entry);
+		} catch (RuntimeException e) {
+			if (acquired) {
+				partition.permits.release();
+			}
+			// A failed login leaves an empty partition, which is removed here
+			leave(partition);
+			throw e;
+		}
+	}
+
+	/**
+	 * Mark a borrowed session so that it is closed instead of being returned
+	 * to the pool, e.g. when it may still be in use by another thread.
+	 *
+	 * @param session a borrowed session
+	 */
+	public void invalidate(Object session) {
+		LeaseHandler handler = getHandler(session);
+		if (handler != null) {
+			handler.entry.invalidated = true;
+		}
+	}
+
+	/**
+	 * Whether the server has accepted the credentials of a borrowed session,
+	 * either on validation or by {@link #markVerified(Object)}.
+	 *
+	 * @param session a borrowed session
+	 * @return true if the session is borrowed from this pool and verified
+	 */
+	public boolean isVerified(Object session) {
+		LeaseHandler handler = getHandler(session);
+		return handler != null && handler.entry.verified;
+	}
+
+	/**
+	 * Record that the server has accepted the credentials of a borrowed
+	 * session.
+	 *
+	 * @param session a borrowed session
+	 */
+	public void markVerified(Object session) {
+		LeaseHandler handler = getHandler(session);
+		if (handler != null) {
+			handler.entry.verified = true;
+		}
+	}
+
+	/**
+	 * Get the underlying session of a borrowed session.
+	 *
+	 * @param session a borrowed or a plain session
+	 * @return the underlying session
+	 */
+	public T unwrap(T session) {
+		LeaseHandler handler = getHandler(session);
+		return handler != null ? handler.entry.session : session;
+	}
+
+	/**
+	 * Close the idle sessions of a cluster. Sessions of the cluster which are
+	 * borrowed are closed when they are returned.
+	 *
+	 * @param cluster name of cluster
+	 */
+	public synchronized void clear(String cluster) {
+		for (java.util.Map.Entry<Key, Partition> e : partitions.entrySet()) {
+			if (e.getKey().cluster.equals(cluster)) {
+				Partition partition = e.getValue();
+				partition.generation++;
+				drain(partition);
+				removeIfUnused(partition);
+			}
+		}
+	}
+
+	/**
+	 * Stop the evictor and close every idle session. Sessions still borrowed
+	 * are closed when they are returned.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		evictor.shutdownNow();
+		for (Partition partition : partitions.values()) {
+			drain(partition);
+		}
+	}
+
+	/**
+	 * Get the current statistics of the pool.
+	 *
+	 * @return a {@link GWSessionPoolStatistics}
+	 */
+	public GWSessionPoolStatistics getStatistics() {
+		GWSessionPoolStatistics statistics = new GWSessionPoolStatistics();
+		int active = 0;
+		for (Partition partition : partitions.values()) {
+			active += partition.active.get();
+		}
+		statistics.setEnabled(true);
+		statistics.setKeys(partitions.size());
+		statistics.setIdle(idleTotal.get());
+		statistics.setActive(active);
+		statistics.setHits(hitCount.get());
+		statistics.setMisses(missCount.get());
+		statistics.setWaits(waitCount.get());
+		statistics.setWaitTimeMillis(TimeUnit.NANOSECONDS.toMillis(waitTimeNanos.get()));
+		statistics.setMaxWaitTimeMillis(TimeUnit.NANOSECONDS.toMillis(maxWaitTimeNanos.get()));
+		statistics.setTimeouts(timeoutCount.get());
+		statistics.setEvictions(evictionCount.get());
+		statistics.setValidationFailures(validationFailureCount.get());
+		statistics.setCreated(createdCount.get());
+		statistics.setDestroyed(destroyedCount.get());
+		return statistics;
+	}
+
+	private void acquirePermit(Partition partition) {
+		if (partition.permits.tryAcquire()) {
+			return;
+		}
+		waitCount.incrementAndGet();
+		long start = System.nanoTime();
+		boolean acquired;
+		try {
+			acquired = partition.permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GWException("Interrupted while waiting for a session");
+		} finally {
+			long waited = System.nanoTime() - start;
+			waitTimeNanos.addAndGet(waited);
+			maxWaitTimeNanos.accumulateAndGet(waited, Math::max);
+		}
+		if (!acquired) {
+			timeoutCount.incrementAndGet();
+			throw new GWException("Timed out waiting for a session to the cluster");
+		}
+	}
+
+	private T lease(Partition partition, Entry entry) {
+		return sessionType.cast(Proxy.newProxyInstance(sessionType.getClassLoader(),
+				new Class<?>[] { sessionType }, new LeaseHandler(partition, entry)));
+	}
+
+	private void release(Partition partition, Entry entry) {
+		entry.closeChildren();
+		partition.active.decrementAndGet();
+		try {
+			if (shutdown || entry.invalidated || entry.generation != partition.generation
+					|| isExpired(entry, System.currentTimeMillis())
+					|| (entry.suspect && !validate(entry)) || !reset(entry.session)) {
+				destroy(entry);
+				return;
+			}
+			if (idleTotal.incrementAndGet() > maxTotal) {
+				idleTotal.decrementAndGet();
+				destroy(entry);
+				return;
+			}
+			entry.suspect = false;
+			entry.lastUsed = System.currentTimeMillis();
+			partition.idle.offerFirst(entry);
+		} finally {
+			partition.permits.release();
+			leave(partition);
+		}
+	}
+
+	/**
+	 * Get the partition of a key, creating it if needed, and count the caller
+	 * as a user until {@link #leave(Partition)}. A partition without users and
+	 * idle sessions is removed, so keys of failed logins do not accumulate.
+	 */
+	private Partition enter(Key key) {
+		return partitions.compute(key, (k, partition) -> {
+			if (partition == null) {
+				partition = new Partition(k, maxPerKey);
+			}
+			partition.users++;
+			return partition;
+		});
+	}
+
+	private void leave(Partition partition) {
+		partitions.computeIfPresent(partition.key, (k, current) -> {
+			current.users--;
+			return current.users == 0 && current.idle.isEmpty() ? null : current;
+		});
+	}
+
+	private void removeIfUnused(Partition partition) {
+		partitions.computeIfPresent(partition.key,
+				(k, current) -> current.users == 0 && current.idle.isEmpty() ? null : current);
+	}
+
+	private void evictIdleSessions() {
+		long now = System.currentTimeMillis();
+		for (Partition partition : partitions.values()) {
+			// Most recently used sessions are at the head, so scan from the tail
+			Iterator<Entry> iterator = partition.idle.descendingIterator();
+			while (iterator.hasNext()) {
+				Entry entry = iterator.next();
+				if (!isExpired(entry, now)) {
+					continue;
+				}
+				if (partition.idle.remove(entry)) {
+					idleTotal.decrementAndGet();
+					evictionCount.incrementAndGet();
+					destroy(entry);
+				}
+			}
+			if (partition.idle.isEmpty()) {
+				removeIfUnused(partition);
+			}
+		}
+	}
+
+	private void drain(Partition partition) {
+		Entry entry;
+		while ((entry = partition.idle.pollFirst()) != null) {
+			idleTotal.decrementAndGet();
+			destroy(entry);
+		}
+	}
+
+	private boolean isExpired(Entry entry, long now) {
+		if (maxLifetimeMillis > 0 && now - entry.created > maxLifetimeMillis) {
+			return true;
+		}
+		return now - entry.lastUsed > idleTimeoutMillis;
+	}
+
+	private boolean validateIfStale(Entry entry) {
+		if (System.currentTimeMillis() - entry.lastValidated < validationIntervalMillis) {
+			return true;
+		}
+		return validate(entry);
+	}
+
+	private boolean validate(Entry entry) {
+		if (validate(entry.session)) {
+			entry.lastValidated = System.currentTimeMillis();
+			entry.verified = true;
+			return true;
+		}
+		validationFailureCount.incrementAndGet();
+		return false;
+	}
+
+	private void destroy(Entry entry) {
+		destroyedCount.incrementAndGet();
+		try {
+			close(entry.session);
+		} catch (Exception e) {
+			logger.debug("Failed to close session: " + e.getMessage());
+		}
+	}
+
+	private LeaseHandler getHandler(Object session) {
+		if (session != null && Proxy.isProxyClass(session.getClass())) {
+			InvocationHandler handler = Proxy.getInvocationHandler(session);
+			if (handler instanceof KeyedSessionPool.LeaseHandler) {
+				LeaseHandler leaseHandler = (LeaseHandler) handler;
+				if (leaseHandler.pool() == this) {
+					return leaseHandler;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String digest(String password) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = messageDigest.digest(password.getBytes(StandardCharsets.UTF_8));
+			StringBuilder builder = new StringBuilder(hash.length * 2);
+			for (byte b : hash) {
+				builder.append(String.format("%02x", b));
+			}
+			return builder.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new GWException("Failed to digest credential", e);
+		}
+	}
+
+	/**
+	 * Key of a partition. Only a digest of the password is kept.
+	 */
+	private static final class Key {
+
+		private final String cluster;
+		private final String database;
+		private final String user;
+		private final String credentialDigest;
+
+		Key(String cluster, String database, String user, String credentialDigest) {
+			this.cluster = cluster;
+			this.database = database;
+			this.user = user;
+			this.credentialDigest = credentialDigest;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return cluster.equals(other.cluster) && database.equals(other.database) && user.equals(other.user)
+					&& credentialDigest.equals(other.credentialDigest);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = cluster.hashCode();
+			result = 31 * result + database.hashCode();
+			result = 31 * result + user.hashCode();
+			result = 31 * result + credentialDigest.hashCode();
+			return result;
+		}
+	}
+
+	/**
+	 * Sessions of one key. The semaphore bounds the sessions borrowed at the
+	 * same time.
+	 */
+	private final class Partition {
+
+		private final Key key;
+		private final Semaphore permits;
+		private final ConcurrentLinkedDeque<Entry> idle = new ConcurrentLinkedDeque<Entry>();
+		private final AtomicInteger active = new AtomicInteger();
+		// Incremented by clear(), older sessions are closed when returned
+		private volatile int generation;
+		// Borrowers holding or waiting for a session, only changed while the
+		// map entry of the key is locked by compute
+		private int users;
+
+		Partition(Key key, int maxPerKey) {
+			this.key = key;
+			this.permits = new Semaphore(maxPerKey, true);
+		}
+	}
+
+	private final class Entry {
+
+		private final T session;
+		private final int generation;
+		private final long created;
+		private final Queue<AutoCloseable> children = new ConcurrentLinkedQueue<AutoCloseable>();
+		private volatile long lastUsed;
+		private volatile long lastValidated;
+		// An operation failed while borrowed, validate before reuse
+		private volatile boolean suspect;
+		private volatile boolean invalidated;
+		// The server has accepted the credentials of this session
+		private volatile boolean verified;
+
+		Entry(T session, int generation) {
+			this.session = session;
+			this.generation = generation;
+			this.created = System.currentTimeMillis();
+			this.lastUsed = this.created;
+			this.lastValidated = this.created;
+		}
+
+		void closeChildren() {
+			AutoCloseable child;
+			while ((child = children.poll()) != null) {
+				try {
+					child.close();
+				} catch (Exception e) {
+					suspect = true;
+				}
+			}
+		}
+	}
+
+	private final class LeaseHandler implements InvocationHandler {
+
+		private final Partition partition;
+		private final Entry entry;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		LeaseHandler(Partition partition, Entry entry) {
+			this.partition = partition;
+			this.entry = entry;
+		}
+
+		KeyedSessionPool<T> pool() {
+			return KeyedSessionPool.this;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (method.getDeclaringClass() == Object.class) {
+				if ("equals".equals(name)) {
+					return proxy == args[0];
+				}
+				if ("hashCode".equals(name)) {
+					return System.identityHashCode(proxy);
+				}
+				return "Pooled" + sessionType.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+			}
+			if ("close".equals(name) && method.getParameterCount() == 0) {
+				if (released.compareAndSet(false, true)) {
+					release(partition, entry);
+				}
+				return null;
+			}
+			if ("isClosed".equals(name) && method.getParameterCount() == 0 && released.get()) {
+				return true;
+			}
+			if (released.get()) {
+				throw new GWException("Session has already been returned to the pool");
+			}
+			if (isStateChanging(method)) {
+				entry.invalidated = true;
+			}
+			try {
+				Object result = method.invoke(entry.session, args);
+				if (childType.isInstance(result) && result instanceof AutoCloseable) {
+					entry.children.add((AutoCloseable) result);
+				}
+				return result;
+			} catch (InvocationTargetException e) {
+				if (errorType.isInstance(e.getCause())) {
+					entry.suspect = true;
+				}
+				throw e.getCause();
+			}
+		}
+	}
+}
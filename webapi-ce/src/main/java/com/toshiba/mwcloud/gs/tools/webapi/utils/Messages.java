@@ -19,6 +19,7 @@ package com.toshiba.mwcloud.gs.tools.webapi.utils;
 public class Messages {
 
   public static final String CONTAINER_NOT_EXISTED = "Container not existed";
+  public static final String ROW_NOT_EXISTED = "Row not existed";
   public static final String BLOB_TYPE_NOT_SUPPORTED = "Column type BLOB is not supported";
   public static final String GET_BULK_ROWS_CONTAINER_TOO_MANY = "Too many result";
   public static final String CONTAINER_FIELD_INVALID = "The container is invalid";
@@ -39,5 +40,7 @@ public class Messages {
   public static final String STATEMENT_INVALID = "Statement is invalid";
   public static final String ROWS_EXCEED_MAXIMUM = "Too many rows data";
   public static final String EXTRACT_FILE_INVALID = "Cannot extract file";
+  public static final String FILE_BLOB_TOO_LARGE = "BLOB data file is too large";
+  public static final String FILES_BLOB_TOO_LARGE = "Total size of BLOB data files is too large";
   
 }
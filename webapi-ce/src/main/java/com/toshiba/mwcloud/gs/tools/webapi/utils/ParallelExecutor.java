@@ -0,0 +1,320 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
+
+/**
+ * Worker threads shared by the requests which run independent queries
+ * concurrently.
+ *
+ * <p>
+ * Each request runs at most <code>maxParallelism</code> of its tasks at once,
+ * and tasks run for a user may also be limited to
+ * <code>maxParallelismPerUser</code> across all of the user's requests.
+ * GridStore sessions and JDBC connections are not thread-safe, so every task
+ * must use its own session or connection.
+ */
+public class ParallelExecutor {
+
+	private static volatile ExecutorService executor;
+
+	// Number of tasks running for each user, users without running tasks are removed
+	private static final ConcurrentHashMap<String, Integer> running = new ConcurrentHashMap<String, Integer>();
+
+	/**
+	 * Create the worker threads. Called once the settings are loaded.
+	 */
+	public static synchronized void init() {
+		if (executor != null || GWSettingInfo.getParallelThreads() <= 0) {
+			return;
+		}
+		final AtomicInteger threadNumber = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(GWSettingInfo.getParallelThreads(), runnable -> {
+			Thread thread = new Thread(runnable, "webapi-worker-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Stop the worker threads, waiting a short time for running tasks.
+	 */
+	public static synchronized void shutdown() {
+		if (executor != null) {
+			executor.shutdownNow();
+			try {
+				executor.awaitTermination(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			executor = null;
+		}
+	}
+
+	/**
+	 * Whether tasks can be run concurrently. Setting
+	 * <code>parallelThreads</code> to 0 disables the worker threads and tasks
+	 * are run one after another by the thread of the request.
+	 *
+	 * @return true if the worker threads are enabled
+	 */
+	public static boolean isEnabled() {
+		return executor != null;
+	}
+
+	/**
+	 * Run tasks and wait for all of them.
+	 *
+	 * <p>
+	 * At most <code>maxParallelism</code> tasks run at once. If a task fails,
+	 * the tasks which have not finished are cancelled and the failure is
+	 * thrown: a {@link RuntimeException} or an {@link Error} as it is, a
+	 * checked exception wrapped in an {@link ExecutionException}.
+	 *
+	 * @param <T> type of result
+	 * @param tasks tasks to run
+	 * @return the results in the order of the tasks
+	 * @throws ExecutionException
+	 *             if a task throws a checked exception
+	 */
+	public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws ExecutionException {
+		return invokeAll(tasks, Math.min(tasks.size(), GWSettingInfo.getMaxParallelism()));
+	}
+
+	/**
+	 * Run tasks of a user and wait for all of them.
+	 *
+	 * <p>
+	 * Same as {@link #invokeAll(List)}, but the tasks of all the requests of
+	 * the user running at once are also limited to
+	 * <code>maxParallelismPerUser</code>. If the user has no room left, the
+	 * tasks are run one after another by the thread of the request instead of
+	 * waiting for the other requests.
+	 *
+	 * @param <T> type of result
+	 * @param user key identifying the user, e.g. cluster and user name
+	 * @param tasks tasks to run
+	 * @return the results in the order of the tasks
+	 * @throws ExecutionException
+	 *             if a task throws a checked exception
+	 */
+	public static <T> List<T> invokeAll(String user, List<? extends Callable<T>> tasks) throws ExecutionException {
+		int wanted = Math.min(tasks.size(), GWSettingInfo.getMaxParallelism());
+		if (executor == null || wanted <= 1) {
+			return invokeAll(tasks, 1);
+		}
+		int reserved = reserve(user, wanted);
+		try {
+			return invokeAll(tasks, reserved);
+		} finally {
+			release(user, reserved);
+		}
+	}
+
+	/**
+	 * Start tasks of a user in the background without waiting for them, e.g.
+	 * queries whose rows are consumed by the thread of the request while they
+	 * are read.
+	 *
+	 * <p>
+	 * As with {@link #invokeAll(String, List)}, at most
+	 * <code>maxParallelism</code> tasks are started, within
+	 * <code>maxParallelismPerUser</code> of the user. Only the first
+	 * {@link Background#getStarted()} tasks are started; the others, and all of
+	 * them if the worker threads are disabled, must be run by the caller. The
+	 * failures of the tasks are not reported, the tasks must hand them over to
+	 * the caller themselves.
+	 *
+	 * @param user key identifying the user, e.g. cluster and user name
+	 * @param tasks tasks to start
+	 * @return the started tasks, to be closed once they are not needed
+	 */
+	public static Background start(String user, List<? extends Callable<?>> tasks) {
+		ExecutorService current = executor;
+		int wanted = Math.min(tasks.size(), GWSettingInfo.getMaxParallelism());
+		if (current == null || wanted <= 0) {
+			return new Background(user, 0, new ArrayList<Future<?>>());
+		}
+		int reserved = reserve(user, wanted);
+		List<Future<?>> futures = new ArrayList<Future<?>>(reserved);
+		for (int i = 0; i < reserved; i++) {
+			futures.add(current.submit(tasks.get(i)));
+		}
+		return new Background(user, reserved, futures);
+	}
+
+	/**
+	 * Tasks started in the background by {@link #start(String, List)}.
+	 */
+	public static final class Background implements AutoCloseable {
+
+		private final String user;
+		private final int reserved;
+		private final List<Future<?>> futures;
+
+		private Background(String user, int reserved, List<Future<?>> futures) {
+			this.user = user;
+			this.reserved = reserved;
+			this.futures = futures;
+		}
+
+		/**
+		 * Get the number of tasks started, the first ones of the list.
+		 *
+		 * @return the number of tasks started
+		 */
+		public int getStarted() {
+			return futures.size();
+		}
+
+		/**
+		 * Cancel the tasks which are still running and release the room of
+		 * the user.
+		 */
+		@Override
+		public void close() {
+			for (Future<?> future : futures) {
+				future.cancel(true);
+			}
+			release(user, reserved);
+		}
+	}
+
+	/**
+	 * Throw the cause of an {@link ExecutionException} if it is of the given
+	 * type.
+	 *
+	 * @param <X> type of exception
+	 * @param e an {@link ExecutionException} thrown by {@link #invokeAll(List)}
+	 * @param type type of exception
+	 * @throws X the cause if it is an instance of <code>type</code>
+	 */
+	public static <X extends Throwable> void throwIfInstanceOf(ExecutionException e, Class<X> type) throws X {
+		if (type.isInstance(e.getCause())) {
+			throw type.cast(e.getCause());
+		}
+	}
+
+	private static int reserve(String user, final int wanted) {
+		final int[] reserved = new int[1];
+		running.compute(user, (key, count) -> {
+			int used = count != null ? count : 0;
+			reserved[0] = Math.max(0, Math.min(wanted, GWSettingInfo.getMaxParallelismPerUser() - used));
+			return used + reserved[0] > 0 ? used + reserved[0] : null;
+		});
+		return reserved[0];
+	}
+
+	private static void release(String user, final int reserved) {
+		if (reserved > 0) {
+			running.computeIfPresent(user, (key, count) -> count > reserved ? count - reserved : null);
+		}
+	}
+
+	private static <T> List<T> invokeAll(List<? extends Callable<T>> tasks, int parallelism)
+			throws ExecutionException {
+		ExecutorService current = executor;
+		List<T> results = new ArrayList<T>(tasks.size());
+		if (current == null || parallelism <= 1) {
+			for (Callable<T> task : tasks) {
+				results.add(call(task));
+			}
+			return results;
+		}
+
+		CompletionService<Integer> completionService = new ExecutorCompletionService<Integer>(current);
+		List<Future<Integer>> futures = new ArrayList<Future<Integer>>(tasks.size());
+		for (int i = 0; i < tasks.size(); i++) {
+			results.add(null);
+		}
+		try {
+			int submitted = 0;
+			for (; submitted < parallelism; submitted++) {
+				futures.add(submit(completionService, tasks, results, submitted));
+			}
+			for (int completed = 0; completed < tasks.size(); completed++) {
+				getResult(completionService.take());
+				if (submitted < tasks.size()) {
+					futures.add(submit(completionService, tasks, results, submitted++));
+				}
+			}
+			return results;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GWException("Interrupted while waiting for the queries");
+		} finally {
+			// Fail fast: stop the tasks which are still running
+			for (Future<Integer> future : futures) {
+				future.cancel(true);
+			}
+		}
+	}
+
+	private static <T> Future<Integer> submit(CompletionService<Integer> completionService,
+			final List<? extends Callable<T>> tasks, final List<T> results, final int index) {
+		return completionService.submit(() -> {
+			T result = tasks.get(index).call();
+			synchronized (results) {
+				results.set(index, result);
+			}
+			return index;
+		});
+	}
+
+	private static void getResult(Future<Integer> future) throws ExecutionException, InterruptedException {
+		try {
+			future.get();
+		} catch (ExecutionException e) {
+			rethrowUnchecked(e.getCause());
+			throw e;
+		}
+	}
+
+	private static <T> T call(Callable<T> task) throws ExecutionException {
+		try {
+			return task.call();
+		} catch (RuntimeException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new ExecutionException(e);
+		}
+	}
+
+	private static void rethrowUnchecked(Throwable cause) {
+		if (cause instanceof RuntimeException) {
+			throw (RuntimeException) cause;
+		}
+		if (cause instanceof Error) {
+			throw (Error) cause;
+		}
+	}
+
+}
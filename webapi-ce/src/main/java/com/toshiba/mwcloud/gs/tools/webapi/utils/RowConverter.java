@@ -0,0 +1,706 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonParser.NumberType;
+import com.fasterxml.jackson.core.JsonToken;
+
+import com.toshiba.mwcloud.gs.ColumnInfo;
+import com.toshiba.mwcloud.gs.ContainerInfo;
+import com.toshiba.mwcloud.gs.Geometry;
+import com.toshiba.mwcloud.gs.Row;
+import com.toshiba.mwcloud.gs.TimestampUtils;
+import com.toshiba.mwcloud.gs.tools.common.data.MetaContainerFileIO;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWException;
+
+/**
+ * Converter of the values of a row of the request body into a {@link Row} of
+ * a container.
+ *
+ * <p>
+ * The conversion of each column is chosen once from the column type when the
+ * converter is compiled, instead of for every value. A converter is cached
+ * with the schema of the container in {@link ContainerMetadataCache}, so it is
+ * compiled again when the schema changes.
+ *
+ * <p>
+ * A row can also be read straight from a {@link JsonParser}, see
+ * {@link #read(JsonParser, Row)}. Numbers, booleans and strings are then read
+ * as primitives of the type of their column and numeric arrays are decoded
+ * into primitive arrays, without the intermediate objects and lists of
+ * {@link GWJsonParser}.
+ */
+public final class RowConverter {
+
+	private static final int INITIAL_ARRAY_CAPACITY = 16;
+
+	private final ColumnConverter[] converters;
+
+	private final ColumnReader[] readers;
+
+	private RowConverter(ColumnConverter[] converters, ColumnReader[] readers) {
+		this.converters = converters;
+		this.readers = readers;
+	}
+
+	/**
+	 * Compile a converter for the schema of a container.
+	 *
+	 * @param containerInfo
+	 *            schema of the container
+	 * @return a {@link RowConverter}
+	 */
+	public static RowConverter compile(ContainerInfo containerInfo) {
+		ColumnConverter[] converters = new ColumnConverter[containerInfo.getColumnCount()];
+		ColumnReader[] readers = new ColumnReader[converters.length];
+		for (int i = 0; i < converters.length; i++) {
+			ColumnInfo columnInfo = containerInfo.getColumnInfo(i);
+			converters[i] = compile(columnInfo);
+			readers[i] = compileReader(columnInfo, converters[i]);
+		}
+		return new RowConverter(converters, readers);
+	}
+
+	/**
+	 * Set the values of a row.
+	 *
+	 * @param values
+	 *            values of the columns
+	 * @param row
+	 *            the row to set the values to
+	 * @return size of the values
+	 * @throws GWBadRequestException
+	 *             when the number of values does not match the columns or a
+	 *             value can not be converted to the type of its column
+	 */
+	public long convert(List<Object> values, Row row) {
+		if (values == null || values.size() != converters.length) {
+			throw new GWBadRequestException("Row data is invalid");
+		}
+		long size = 0;
+		int i = 0;
+		for (Object value : values) {
+			try {
+				if (value == null) {
+					row.setNull(i);
+				} else {
+					size += converters[i].set(row, i, value);
+				}
+			} catch (Exception e) {
+				throw new GWBadRequestException(e.getMessage());
+			}
+			i++;
+		}
+		return size;
+	}
+
+	/**
+	 * Read the values of a row from a parser and set them to a row. The parser
+	 * must be positioned at the start of the array of the row, it is
+	 * positioned at the end of the array on return.
+	 *
+	 * @param jp
+	 *            a {@link JsonParser}
+	 * @param row
+	 *            the row to set the values to
+	 * @return size of the values
+	 * @throws GWBadRequestException
+	 *             when the number of values does not match the columns or a
+	 *             value can not be converted to the type of its column
+	 * @throws IOException
+	 *             when the request body can not be parsed
+	 */
+	public long read(JsonParser jp, Row row) throws IOException {
+		long size = 0;
+		int i = 0;
+		JsonToken t;
+		while ((t = jp.nextToken()) != JsonToken.END_ARRAY) {
+			if (t == null) {
+				throw new IOException("Parse error");
+			}
+			if (i == readers.length) {
+				throw new GWBadRequestException("Row data is invalid");
+			}
+			try {
+				if (t == JsonToken.VALUE_NULL) {
+					row.setNull(i);
+				} else {
+					size += readers[i].read(row, i, jp);
+				}
+			} catch (IOException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new GWBadRequestException(e.getMessage());
+			}
+			i++;
+		}
+		if (i != readers.length) {
+			throw new GWBadRequestException("Row data is invalid");
+		}
+		return size;
+	}
+
+	/**
+	 * Conversion of the non-null values of one column.
+	 */
+	private interface ColumnConverter {
+
+		/**
+		 * Set a value to a column.
+		 *
+		 * @param row
+		 *            the row to set the value to
+		 * @param column
+		 *            index of the column
+		 * @param value
+		 *            the value, not null
+		 * @return size of the value
+		 * @throws Exception
+		 *             when the value can not be converted
+		 */
+		long set(Row row, int column, Object value) throws Exception;
+	}
+
+	/**
+	 * Reading of the non-null values of one column from a parser.
+	 */
+	private interface ColumnReader {
+
+		/**
+		 * Read a value and set it to a column.
+		 *
+		 * @param row
+		 *            the row to set the value to
+		 * @param column
+		 *            index of the column
+		 * @param jp
+		 *            a {@link JsonParser} positioned at the value, it is
+		 *            positioned at the last token of the value on return
+		 * @return size of the value
+		 * @throws Exception
+		 *             when the value can not be read or converted
+		 */
+		long read(Row row, int column, JsonParser jp) throws Exception;
+	}
+
+	/**
+	 * Conversion of an object into an integral value of a column, one of the
+	 * integral methods of {@link ConversionUtils}.
+	 */
+	private interface IntegralConverter {
+
+		long convert(Object value) throws GWException;
+	}
+
+	private static ColumnConverter compile(ColumnInfo columnInfo) {
+		switch (columnInfo.getType()) {
+		case BOOL:
+			return (row, column, value) -> {
+				row.setBool(column, ConversionUtils.convertToBoolean(value));
+				return 1;
+			};
+
+		case STRING:
+			return (row, column, value) -> {
+				String str = ConversionUtils.convertToString(value);
+				row.setString(column, str);
+				return str.getBytes(Constants.ENCODING).length;
+			};
+
+		case BYTE:
+			return (row, column, value) -> {
+				row.setByte(column, ConversionUtils.convertToByte(value));
+				return Byte.SIZE;
+			};
+
+		case SHORT:
+			return (row, column, value) -> {
+				row.setShort(column, ConversionUtils.convertToShort(value));
+				return Short.SIZE / Byte.SIZE;
+			};
+
+		case INTEGER:
+			return (row, column, value) -> {
+				row.setInteger(column, ConversionUtils.convertToInt(value));
+				return Integer.SIZE / Byte.SIZE;
+			};
+
+		case LONG:
+			return (row, column, value) -> {
+				row.setLong(column, ConversionUtils.convertToLong(value));
+				return Long.SIZE / Byte.SIZE;
+			};
+
+		case FLOAT:
+			return (row, column, value) -> {
+				row.setFloat(column, ConversionUtils.convertToFloat(value));
+				return Float.SIZE / Byte.SIZE;
+			};
+
+		case DOUBLE:
+			return (row, column, value) -> {
+				row.setDouble(column, ConversionUtils.convertToDouble(value));
+				return Double.SIZE / Byte.SIZE;
+			};
+
+		case TIMESTAMP:
+			if (MetaContainerFileIO.isPreciseColumn(columnInfo)) {
+				return (row, column, value) -> {
+					try {
+						row.setPreciseTimestamp(column, TimestampUtils.parsePrecise((String) value));
+					} catch (Exception e) {
+						throw new GWException("The specified data cannot be converted to TIMESTAMP type.");
+					}
+					return Constants.SIZE_TIMESTAMP;
+				};
+			}
+			return (row, column, value) -> {
+				try {
+					row.setTimestamp(column, DateFormatUtils.parse((String) value));
+				} catch (Exception e) {
+					throw new GWException("The specified data cannot be converted to TIMESTAMP type.");
+				}
+				return Constants.SIZE_TIMESTAMP;
+			};
+
+		case GEOMETRY:
+			return (row, column, value) -> {
+				try {
+					row.setGeometry(column, Geometry.valueOf((String) value));
+				} catch (Exception e) {
+					throw new GWException("The specified data cannot be converted to GEOMETRY type.");
+				}
+				return ((String) value).length();
+			};
+
+		case BLOB:
+			return (row, column, value) -> {
+				if (value instanceof byte[]) {
+					// Binary value of Smile, CBOR or MessagePack
+					row.setBlob(column, BlobUtils.toBlob((byte[]) value));
+					return ((byte[]) value).length;
+				}
+				try {
+					row.setBlob(column, BlobUtils.toBlob((String) value));
+				} catch (Exception e) {
+					throw new GWException("The specified data cannot be converted to BLOB type.");
+				}
+				return ((String) value).length();
+			};
+
+		case BOOL_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "BOOL_ARRAY");
+				boolean[] array = new boolean[list.size()];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = ConversionUtils.convertToBoolean(list.get(n));
+				}
+				row.setBoolArray(column, array);
+				return array.length;
+			};
+
+		case STRING_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "STRING_ARRAY");
+				String[] array = new String[list.size()];
+				long size = 0;
+				for (int n = 0; n < array.length; n++) {
+					array[n] = ConversionUtils.convertToString(list.get(n));
+					size += array[n].getBytes(Constants.ENCODING).length;
+				}
+				row.setStringArray(column, array);
+				return size;
+			};
+
+		case BYTE_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "BYTE_ARRAY");
+				byte[] array = new byte[list.size()];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = ConversionUtils.convertToByte(list.get(n));
+				}
+				row.setByteArray(column, array);
+				return Byte.SIZE * array.length;
+			};
+
+		case SHORT_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "SHORT_ARRAY");
+				short[] array = new short[list.size()];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = ConversionUtils.convertToShort(list.get(n));
+				}
+				row.setShortArray(column, array);
+				return (Short.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case INTEGER_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "INTEGER_ARRAY");
+				int[] array = new int[list.size()];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = ConversionUtils.convertToInt(list.get(n));
+				}
+				row.setIntegerArray(column, array);
+				return (Integer.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case LONG_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "LONG_ARRAY");
+				long[] array = new long[list.size()];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = ConversionUtils.convertToLong(list.get(n));
+				}
+				row.setLongArray(column, array);
+				return (Long.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case FLOAT_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "FLOAT_ARRAY");
+				float[] array = new float[list.size()];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = ConversionUtils.convertToFloat(list.get(n));
+				}
+				row.setFloatArray(column, array);
+				return (Float.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case DOUBLE_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "DOUBLE_ARRAY");
+				double[] array = new double[list.size()];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = ConversionUtils.convertToDouble(list.get(n));
+				}
+				row.setDoubleArray(column, array);
+				return (Double.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case TIMESTAMP_ARRAY:
+			return (row, column, value) -> {
+				List<?> list = toList(value, "TIMESTAMP_ARRAY");
+				Date[] array = new Date[list.size()];
+				for (int n = 0; n < array.length; n++) {
+					Object element = list.get(n);
+					if (!(element instanceof String)) {
+						throw new GWException("The specified data cannot be converted to TIMESTAMP_ARRAY type.");
+					}
+					try {
+						array[n] = DateFormatUtils.parse((String) element);
+					} catch (ParseException e) {
+						throw new GWException("The specified data cannot be converted to TIMESTAMP_ARRAY type.");
+					}
+				}
+				row.setTimestampArray(column, array);
+				return Constants.SIZE_TIMESTAMP * array.length;
+			};
+
+		default:
+			// Types which can not be put, the value is ignored as before
+			return (row, column, value) -> 0;
+		}
+	}
+
+	/**
+	 * Compile the reader of a column. Types which gain nothing from reading
+	 * their tokens directly convert the value read by {@link GWJsonParser}.
+	 */
+	private static ColumnReader compileReader(ColumnInfo columnInfo, ColumnConverter converter) {
+		switch (columnInfo.getType()) {
+		case BOOL:
+			return (row, column, jp) -> {
+				JsonToken t = jp.getCurrentToken();
+				if (t == JsonToken.VALUE_TRUE || t == JsonToken.VALUE_FALSE) {
+					row.setBool(column, t == JsonToken.VALUE_TRUE);
+					return 1;
+				}
+				return converter.set(row, column, GWJsonParser.readValue(jp));
+			};
+
+		case STRING:
+			return (row, column, jp) -> {
+				JsonToken t = jp.getCurrentToken();
+				// A number is stored as the text of its literal
+				if (t == JsonToken.VALUE_STRING || t == JsonToken.VALUE_NUMBER_INT
+						|| t == JsonToken.VALUE_NUMBER_FLOAT) {
+					String str = jp.getText();
+					row.setString(column, str);
+					return str.getBytes(Constants.ENCODING).length;
+				}
+				return converter.set(row, column, GWJsonParser.readValue(jp));
+			};
+
+		case BYTE:
+			return (row, column, jp) -> {
+				row.setByte(column, (byte) readIntegral(jp, Byte.MIN_VALUE, Byte.MAX_VALUE, "BYTE",
+						ConversionUtils::convertToByte));
+				return Byte.SIZE;
+			};
+
+		case SHORT:
+			return (row, column, jp) -> {
+				row.setShort(column, (short) readIntegral(jp, Short.MIN_VALUE, Short.MAX_VALUE, "SHORT",
+						ConversionUtils::convertToShort));
+				return Short.SIZE / Byte.SIZE;
+			};
+
+		case INTEGER:
+			return (row, column, jp) -> {
+				row.setInteger(column, (int) readIntegral(jp, Integer.MIN_VALUE, Integer.MAX_VALUE, "INTEGER",
+						ConversionUtils::convertToInt));
+				return Integer.SIZE / Byte.SIZE;
+			};
+
+		case LONG:
+			return (row, column, jp) -> {
+				row.setLong(column,
+						readIntegral(jp, Long.MIN_VALUE, Long.MAX_VALUE, "LONG", ConversionUtils::convertToLong));
+				return Long.SIZE / Byte.SIZE;
+			};
+
+		case FLOAT:
+			return (row, column, jp) -> {
+				row.setFloat(column, readFloat(jp));
+				return Float.SIZE / Byte.SIZE;
+			};
+
+		case DOUBLE:
+			return (row, column, jp) -> {
+				row.setDouble(column, readDouble(jp));
+				return Double.SIZE / Byte.SIZE;
+			};
+
+		case BYTE_ARRAY:
+			return (row, column, jp) -> {
+				long[] values = readIntegralArray(jp, Byte.MIN_VALUE, Byte.MAX_VALUE, "BYTE",
+						ConversionUtils::convertToByte);
+				if (values == null) {
+					return converter.set(row, column, GWJsonParser.readValue(jp));
+				}
+				byte[] array = new byte[values.length];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = (byte) values[n];
+				}
+				row.setByteArray(column, array);
+				return Byte.SIZE * array.length;
+			};
+
+		case SHORT_ARRAY:
+			return (row, column, jp) -> {
+				long[] values = readIntegralArray(jp, Short.MIN_VALUE, Short.MAX_VALUE, "SHORT",
+						ConversionUtils::convertToShort);
+				if (values == null) {
+					return converter.set(row, column, GWJsonParser.readValue(jp));
+				}
+				short[] array = new short[values.length];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = (short) values[n];
+				}
+				row.setShortArray(column, array);
+				return (Short.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case INTEGER_ARRAY:
+			return (row, column, jp) -> {
+				long[] values = readIntegralArray(jp, Integer.MIN_VALUE, Integer.MAX_VALUE, "INTEGER",
+						ConversionUtils::convertToInt);
+				if (values == null) {
+					return converter.set(row, column, GWJsonParser.readValue(jp));
+				}
+				int[] array = new int[values.length];
+				for (int n = 0; n < array.length; n++) {
+					array[n] = (int) values[n];
+				}
+				row.setIntegerArray(column, array);
+				return (Integer.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case LONG_ARRAY:
+			return (row, column, jp) -> {
+				long[] array = readIntegralArray(jp, Long.MIN_VALUE, Long.MAX_VALUE, "LONG",
+						ConversionUtils::convertToLong);
+				if (array == null) {
+					return converter.set(row, column, GWJsonParser.readValue(jp));
+				}
+				row.setLongArray(column, array);
+				return (Long.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case FLOAT_ARRAY:
+			return (row, column, jp) -> {
+				if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+					return converter.set(row, column, GWJsonParser.readValue(jp));
+				}
+				float[] array = new float[INITIAL_ARRAY_CAPACITY];
+				int length = 0;
+				while (nextElement(jp)) {
+					if (length == array.length) {
+						array = Arrays.copyOf(array, length * 2);
+					}
+					array[length++] = readFloat(jp);
+				}
+				array = Arrays.copyOf(array, length);
+				row.setFloatArray(column, array);
+				return (Float.SIZE / Byte.SIZE) * array.length;
+			};
+
+		case DOUBLE_ARRAY:
+			return (row, column, jp) -> {
+				if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+					return converter.set(row, column, GWJsonParser.readValue(jp));
+				}
+				double[] array = new double[INITIAL_ARRAY_CAPACITY];
+				int length = 0;
+				while (nextElement(jp)) {
+					if (length == array.length) {
+						array = Arrays.copyOf(array, length * 2);
+					}
+					array[length++] = readDouble(jp);
+				}
+				array = Arrays.copyOf(array, length);
+				row.setDoubleArray(column, array);
+				return (Double.SIZE / Byte.SIZE) * array.length;
+			};
+
+		default:
+			return (row, column, jp) -> converter.set(row, column, GWJsonParser.readValue(jp));
+		}
+	}
+
+	/**
+	 * Read an integral value. An integer token which fits in a long is read
+	 * directly, other values are read as an object and converted as before.
+	 */
+	private static long readIntegral(JsonParser jp, long min, long max, String typeName,
+			IntegralConverter converter) throws IOException, GWException {
+		if (jp.getCurrentToken() == JsonToken.VALUE_NUMBER_INT) {
+			NumberType numberType = jp.getNumberType();
+			if (numberType == NumberType.INT || numberType == NumberType.LONG) {
+				long value = jp.getLongValue();
+				if (value < min || value > max) {
+					throw new GWException("The specified data cannot be converted to " + typeName + " type.");
+				}
+				return value;
+			}
+		}
+		return converter.convert(GWJsonParser.readScalar(jp));
+	}
+
+	/**
+	 * Read the elements of an integral array.
+	 *
+	 * @return the values, or null if the parser is not positioned at an array
+	 */
+	private static long[] readIntegralArray(JsonParser jp, long min, long max, String typeName,
+			IntegralConverter converter) throws IOException, GWException {
+		if (jp.getCurrentToken() != JsonToken.START_ARRAY) {
+			return null;
+		}
+		long[] array = new long[INITIAL_ARRAY_CAPACITY];
+		int length = 0;
+		while (nextElement(jp)) {
+			if (length == array.length) {
+				array = Arrays.copyOf(array, length * 2);
+			}
+			array[length++] = readIntegral(jp, min, max, typeName, converter);
+		}
+		return Arrays.copyOf(array, length);
+	}
+
+	/**
+	 * Read a FLOAT value. The rules are those of
+	 * {@link ConversionUtils#convertToFloat(Object)}, a double which
+	 * overflows or underflows is converted from its text.
+	 */
+	private static float readFloat(JsonParser jp) throws IOException, GWException {
+		JsonToken t = jp.getCurrentToken();
+		if (t == JsonToken.VALUE_NUMBER_INT) {
+			NumberType numberType = jp.getNumberType();
+			if (numberType == NumberType.INT || numberType == NumberType.LONG) {
+				return (float) jp.getLongValue();
+			}
+		} else if (t == JsonToken.VALUE_NUMBER_FLOAT) {
+			NumberType numberType = jp.getNumberType();
+			if (numberType == NumberType.FLOAT) {
+				return jp.getFloatValue();
+			}
+			if (numberType == NumberType.DOUBLE) {
+				double d = jp.getDoubleValue();
+				if (d != 0 && !Double.isInfinite(d)) {
+					float f = (float) d;
+					if (Float.isInfinite(f) || f == 0F) {
+						throw new GWException("The specified data cannot be converted to FLOAT type.");
+					}
+					return f;
+				}
+			}
+		}
+		return ConversionUtils.convertToFloat(GWJsonParser.readScalar(jp));
+	}
+
+	/**
+	 * Read a DOUBLE value. The rules are those of
+	 * {@link ConversionUtils#convertToDouble(Object)}, a double which
+	 * overflows or underflows is converted from its text.
+	 */
+	private static double readDouble(JsonParser jp) throws IOException, GWException {
+		JsonToken t = jp.getCurrentToken();
+		if (t == JsonToken.VALUE_NUMBER_INT) {
+			NumberType numberType = jp.getNumberType();
+			if (numberType == NumberType.INT || numberType == NumberType.LONG) {
+				return (double) jp.getLongValue();
+			}
+		} else if (t == JsonToken.VALUE_NUMBER_FLOAT && jp.getNumberType() == NumberType.DOUBLE) {
+			double d = jp.getDoubleValue();
+			if (d != 0 && !Double.isInfinite(d)) {
+				return d;
+			}
+		}
+		return ConversionUtils.convertToDouble(GWJsonParser.readScalar(jp));
+	}
+
+	/**
+	 * Move to the next element of an array.
+	 *
+	 * @return false at the end of the array
+	 */
+	private static boolean nextElement(JsonParser jp) throws IOException {
+		JsonToken t = jp.nextToken();
+		if (t == null) {
+			throw new IOException("Parse error");
+		}
+		return t != JsonToken.END_ARRAY;
+	}
+
+	private static List<?> toList(Object value, String typeName) throws GWException {
+		if (!(value instanceof List<?>)) {
+			throw new GWException("The specified data cannot be converted to " + typeName + " type.");
+		}
+		return (List<?>) value;
+	}
+
+}
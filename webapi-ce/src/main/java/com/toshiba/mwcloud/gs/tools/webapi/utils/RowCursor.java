@@ -0,0 +1,249 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.toshiba.mwcloud.gs.ColumnInfo;
+import com.toshiba.mwcloud.gs.ContainerInfo;
+import com.toshiba.mwcloud.gs.GSException;
+import com.toshiba.mwcloud.gs.GSType;
+import com.toshiba.mwcloud.gs.Row;
+import com.toshiba.mwcloud.gs.TimeUnit;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
+
+/**
+ * Position in the rows of a container sorted by a single-column row key.
+ *
+ * <p>
+ * A cursor holds the sort direction and the row key of the last row of a
+ * page. The next page is read with a range condition on the row key instead
+ * of an offset, so its cost does not depend on how many rows were skipped.
+ * Cursors are passed to clients as opaque tokens, see {@link #encode()} and
+ * {@link #decode(String, ContainerInfo)}.
+ */
+public class RowCursor {
+
+	private static final String VERSION = "1";
+
+	private static final String ASC = "asc";
+
+	private static final String DESC = "desc";
+
+	private static final Pattern sortPattern = Pattern.compile("^\\s*\"?([A-Z0-9_]+)\"?(\\s+(ASC|DESC))?\\s*$",
+			Pattern.CASE_INSENSITIVE);
+
+	private static final Pattern timestampPattern = Pattern.compile("^[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9:.]+Z$");
+
+	private final ColumnInfo keyColumn;
+
+	private final boolean descending;
+
+	// Row key of the last row read, null before the first page
+	private final String key;
+
+	private RowCursor(ColumnInfo keyColumn, boolean descending, String key) {
+		this.keyColumn = keyColumn;
+		this.descending = descending;
+		this.key = key;
+	}
+
+	/**
+	 * Get the cursor before the first row if the rows are sorted by the row key
+	 * only.
+	 *
+	 * @param containerInfo
+	 *            container information
+	 * @param sort
+	 *            sorting condition of the request
+	 * @return a {@link RowCursor} before the first row, or null if the rows
+	 *         are not sorted by a single-column row key
+	 */
+	public static RowCursor start(ContainerInfo containerInfo, String sort) {
+		ColumnInfo keyColumn = getKeyColumn(containerInfo);
+		if (keyColumn == null || sort == null) {
+			return null;
+		}
+		Matcher matcher = sortPattern.matcher(sort);
+		if (!matcher.matches() || !keyColumn.getName().equalsIgnoreCase(matcher.group(1))) {
+			return null;
+		}
+		return new RowCursor(keyColumn, DESC.equalsIgnoreCase(matcher.group(3)), null);
+	}
+
+	/**
+	 * Decode a token returned by {@link #encode()}.
+	 *
+	 * @param token
+	 *            a token
+	 * @param containerInfo
+	 *            container information
+	 * @return a {@link RowCursor}
+	 * @throws GWBadRequestException
+	 *             if the token is invalid or was issued for another row key
+	 */
+	public static RowCursor decode(String token, ContainerInfo containerInfo) {
+		ColumnInfo keyColumn = getKeyColumn(containerInfo);
+		String[] parts;
+		try {
+			parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\n", 5);
+		} catch (IllegalArgumentException e) {
+			throw new GWBadRequestException("'cursor' is invalid");
+		}
+		if (keyColumn == null || parts.length != 5 || !VERSION.equals(parts[0])
+				|| !(ASC.equals(parts[1]) || DESC.equals(parts[1])) || !keyColumn.getName().equals(parts[2])
+				|| !keyColumn.getType().name().equals(parts[3]) || !isValidKey(keyColumn.getType(), parts[4])) {
+			throw new GWBadRequestException("'cursor' is invalid");
+		}
+		return new RowCursor(keyColumn, DESC.equals(parts[1]), parts[4]);
+	}
+
+	/**
+	 * Get the cursor after a row.
+	 *
+	 * @param row
+	 *            the last row of a page
+	 * @return a {@link RowCursor} after the row
+	 * @throws GSException
+	 *             when unable to get the row key
+	 */
+	public RowCursor next(Row row) throws GSException {
+		// The row key is always the first column
+		Object value = row.getValue(0);
+		String nextKey;
+		if (value instanceof Timestamp) {
+			nextKey = DateFormatUtils.getDateTimeFormatter(keyColumn.getTimePrecision())
+					.format(((Timestamp) value).toInstant().atOffset(ZoneOffset.UTC));
+		} else if (value instanceof Date) {
+			nextKey = DateFormatUtils.format((Date) value);
+		} else {
+			nextKey = String.valueOf(value);
+		}
+		return new RowCursor(keyColumn, descending, nextKey);
+	}
+
+	/**
+	 * Encode the cursor as an opaque token.
+	 *
+	 * @return a token which can be passed to {@link #decode(String, ContainerInfo)}
+	 */
+	public String encode() {
+		String value = VERSION + "\n" + (descending ? DESC : ASC) + "\n" + keyColumn.getName() + "\n"
+				+ keyColumn.getType().name() + "\n" + key;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Whether the cursor is sorted in the same direction by the same column as
+	 * a sorting condition.
+	 *
+	 * @param sort
+	 *            sorting condition of the request
+	 * @return true if the sorting condition is compatible
+	 */
+	public boolean matchesSort(String sort) {
+		Matcher matcher = sortPattern.matcher(sort);
+		return matcher.matches() && keyColumn.getName().equalsIgnoreCase(matcher.group(1))
+				&& descending == DESC.equalsIgnoreCase(matcher.group(3));
+	}
+
+	/**
+	 * Get the TQL condition of the rows after the cursor.
+	 *
+	 * @return a TQL condition, or null before the first page
+	 */
+	public String getCondition() {
+		if (key == null) {
+			return null;
+		}
+		return quote(keyColumn.getName()) + (descending ? " < " : " > ") + toLiteral();
+	}
+
+	/**
+	 * Get the TQL sorting condition of the cursor.
+	 *
+	 * @return a TQL sorting condition
+	 */
+	public String getSort() {
+		return quote(keyColumn.getName()) + (descending ? " desc" : " asc");
+	}
+
+	private String toLiteral() {
+		switch (keyColumn.getType()) {
+		case STRING:
+			return "'" + key.replace("'", "''") + "'";
+		case TIMESTAMP:
+			TimeUnit precision = keyColumn.getTimePrecision();
+			if (precision == TimeUnit.MICROSECOND) {
+				return "TIMESTAMP_US('" + key + "')";
+			} else if (precision == TimeUnit.NANOSECOND) {
+				return "TIMESTAMP_NS('" + key + "')";
+			}
+			return "TIMESTAMP('" + key + "')";
+		default:
+			return key;
+		}
+	}
+
+	private static String quote(String column) {
+		return "\"" + column + "\"";
+	}
+
+	private static boolean isValidKey(GSType type, String key) {
+		switch (type) {
+		case STRING:
+			return true;
+		case INTEGER:
+		case LONG:
+			try {
+				Long.parseLong(key);
+				return true;
+			} catch (NumberFormatException e) {
+				return false;
+			}
+		case TIMESTAMP:
+			return timestampPattern.matcher(key).matches();
+		default:
+			return false;
+		}
+	}
+
+	private static ColumnInfo getKeyColumn(ContainerInfo containerInfo) {
+		List<Integer> keyColumns = containerInfo.getRowKeyColumnList();
+		if (keyColumns == null || keyColumns.size() != 1) {
+			return null;
+		}
+		ColumnInfo columnInfo = containerInfo.getColumnInfo(keyColumns.get(0));
+		switch (columnInfo.getType()) {
+		case STRING:
+		case INTEGER:
+		case LONG:
+		case TIMESTAMP:
+			return columnInfo;
+		default:
+			return null;
+		}
+	}
+
+}
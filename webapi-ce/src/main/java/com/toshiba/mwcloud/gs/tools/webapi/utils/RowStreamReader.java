@@ -0,0 +1,248 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.toshiba.mwcloud.gs.tools.webapi.exception.GWBadRequestException;
+
+/**
+ * Reader of rows from a request body in NDJSON or CSV, one row at a time.
+ *
+ * <p>
+ * In NDJSON, each line is a JSON array of the values of a row, in the same
+ * form as a row of the request body of row registration. In CSV, each record
+ * is a row, an empty field which is not quoted is null and the other fields
+ * are strings converted to the type of the column.
+ */
+public abstract class RowStreamReader implements Closeable {
+
+	protected final BufferedReader reader;
+
+	/**
+	 * Line number of the last line read
+	 */
+	protected long lineNumber;
+
+	/**
+	 * Line number of the first line of the last row read
+	 */
+	protected long rowLineNumber;
+
+	private RowStreamReader(InputStream in, Charset charset) {
+		this.reader = new BufferedReader(new InputStreamReader(in, charset));
+	}
+
+	/**
+	 * Create a reader of NDJSON.
+	 *
+	 * @param in
+	 *            the request body
+	 * @param charset
+	 *            charset of the request body
+	 * @param factory
+	 *            a {@link JsonFactory} to parse each line
+	 * @return a {@link RowStreamReader}
+	 */
+	public static RowStreamReader ndjson(InputStream in, Charset charset, JsonFactory factory) {
+		return new NdjsonReader(in, charset, factory);
+	}
+
+	/**
+	 * Create a reader of CSV.
+	 *
+	 * @param in
+	 *            the request body
+	 * @param charset
+	 *            charset of the request body
+	 * @param header
+	 *            true if the first record is a header to skip
+	 * @return a {@link RowStreamReader}
+	 */
+	public static RowStreamReader csv(InputStream in, Charset charset, boolean header) {
+		return new CsvReader(in, charset, header);
+	}
+
+	/**
+	 * Read the next row. Blank lines are skipped.
+	 *
+	 * @return a {@link List} of the values of the row, or null at the end of
+	 *         the request body
+	 * @throws GWBadRequestException
+	 *             when the row is invalid. The row is skipped and the next call
+	 *             reads the following row.
+	 * @throws IOException
+	 *             when the request body can not be read
+	 */
+	public abstract List<Object> next() throws IOException;
+
+	/**
+	 * Get the line number of the first line of the last row read, starting
+	 * from 1.
+	 *
+	 * @return line number
+	 */
+	public long getLineNumber() {
+		return rowLineNumber;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * Read a line, without the byte order mark at the beginning of the body.
+	 *
+	 * @return the line, or null at the end of the request body
+	 * @throws IOException
+	 *             when the request body can not be read
+	 */
+	protected String readLine() throws IOException {
+		String line = reader.readLine();
+		if (line != null) {
+			if (lineNumber == 0 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+				line = line.substring(1);
+			}
+			lineNumber++;
+		}
+		return line;
+	}
+
+	private static final class NdjsonReader extends RowStreamReader {
+
+		private final JsonFactory factory;
+
+		NdjsonReader(InputStream in, Charset charset, JsonFactory factory) {
+			super(in, charset);
+			this.factory = factory;
+		}
+
+		@Override
+		public List<Object> next() throws IOException {
+			String line;
+			do {
+				line = readLine();
+				if (line == null) {
+					return null;
+				}
+			} while (line.trim().isEmpty());
+			rowLineNumber = lineNumber;
+
+			try (JsonParser jp = factory.createParser(line)) {
+				if (jp.nextToken() != JsonToken.START_ARRAY) {
+					throw new GWBadRequestException("Row data is invalid");
+				}
+				List<Object> row = GWJsonParser.readRow(jp);
+				if (jp.nextToken() != null) {
+					throw new GWBadRequestException("Row data is invalid");
+				}
+				return row;
+			} catch (IOException e) {
+				throw new GWBadRequestException("Row data is invalid");
+			}
+		}
+	}
+
+	private static final class CsvReader extends RowStreamReader {
+
+		private boolean header;
+
+		CsvReader(InputStream in, Charset charset, boolean header) {
+			super(in, charset);
+			this.header = header;
+		}
+
+		@Override
+		public List<Object> next() throws IOException {
+			if (header) {
+				header = false;
+				if (next() == null) {
+					return null;
+				}
+			}
+			String line;
+			do {
+				line = readLine();
+				if (line == null) {
+					return null;
+				}
+			} while (line.isEmpty());
+			rowLineNumber = lineNumber;
+
+			List<Object> row = new ArrayList<Object>();
+			StringBuilder field = new StringBuilder();
+			boolean quoted = false;
+			boolean inQuotes = false;
+			int i = 0;
+			while (true) {
+				if (i == line.length()) {
+					if (!inQuotes) {
+						row.add(toValue(field, quoted));
+						return row;
+					}
+					// A quoted field continues on the next line
+					line = readLine();
+					if (line == null) {
+						throw new GWBadRequestException("Unterminated quoted field");
+					}
+					field.append('\n');
+					i = 0;
+					continue;
+				}
+				char c = line.charAt(i++);
+				if (inQuotes) {
+					if (c != '"') {
+						field.append(c);
+					} else if (i < line.length() && line.charAt(i) == '"') {
+						field.append('"');
+						i++;
+					} else {
+						inQuotes = false;
+					}
+				} else if (c == ',') {
+					row.add(toValue(field, quoted));
+					field.setLength(0);
+					quoted = false;
+				} else if (c == '"' && !quoted && field.length() == 0) {
+					quoted = true;
+					inQuotes = true;
+				} else {
+					field.append(c);
+				}
+			}
+		}
+
+		private static Object toValue(StringBuilder field, boolean quoted) {
+			if (!quoted && field.length() == 0) {
+				return null;
+			}
+			return field.toString();
+		}
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ 	Copyright (c) 2019 TOSHIBA Digital Solutions Corporation.
+
+    Licensed under the Apache License, Version 2.0 (the "License");
+    you may not use this file except in compliance with the License.
+    You may obtain a copy of the License at
+
+        http://www.apache.org/licenses/LICENSE-2.0
+
+    Unless required by applicable law or agreed to in writing, software
+    distributed under the License is distributed on an "AS IS" BASIS,
+    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+    See the License for the specific language governing permissions and
+    limitations under the License.
+*/
+
+package com.toshiba.mwcloud.gs.tools.webapi.utils;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.toshiba.mwcloud.gs.tools.webapi.dto.GWCacheStatistics;
+
+/**
+ * Size-bounded cache whose entries expire a fixed time after they are put.
+ *
+ * <p>
+ * The least recently used entry is evicted once the cache is full. Entries
+ * are invalidated by group (e.g. all entries of a container), and the keys of
+ * each group are indexed so that invalidating a group does not scan the
+ * cache. A value loaded before its group was invalidated is not put
+ * afterwards, see {@link #put(Object, Object, long)}.
+ *
+ * @param <K> type of key
+ * @param <G> type of group
+ * @param <V> type of value
+ */
+public class TtlCache<K, G, V> {
+
+	private final int maxSize;
+
+	private final long ttlMillis;
+
+	private final Function<? super K, ? extends G> grouping;
+
+	private final LinkedHashMap<K, Entry<V>> entries;
+
+	// Keys of the cached entries of each group
+	private final Map<G, Set<K>> groups = new HashMap<G, Set<K>>();
+
+	// Generation at which each group was last invalidated
+	private final Map<G, Long> invalidations = new HashMap<G, Long>();
+
+	private long generation;
+
+	// Values loaded before this generation are not put
+	private long minGeneration;
+
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+	private long invalidationCount;
+
+	/**
+	 * Create a cache.
+	 *
+	 * @param maxSize maximum number of entries
+	 * @param ttlMillis time after which an entry expires (milliseconds)
+	 * @param grouping function which gives the group of a key
+	 */
+	public TtlCache(int maxSize, long ttlMillis, Function<? super K, ? extends G> grouping) {
+		this.maxSize = maxSize;
+		this.ttlMillis = ttlMillis;
+		this.grouping = grouping;
+		this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+				if (size() > TtlCache.this.maxSize) {
+					unindex(eldest.getKey());
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Get a value which has not expired.
+	 *
+	 * @param key key
+	 * @return the value, or null if it is not cached
+	 */
+	public synchronized V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry != null) {
+			if (System.currentTimeMillis() - entry.created < ttlMillis) {
+				hitCount++;
+				return entry.value;
+			}
+			entries.remove(key);
+			unindex(key);
+			evictionCount++;
+		}
+		missCount++;
+		return null;
+	}
+
+	/**
+	 * Count a lookup which did not use the cache.
+	 */
+	public synchronized void recordMiss() {
+		missCount++;
+	}
+
+	/**
+	 * Get the current generation. Call this before loading a value.
+	 *
+	 * @return the generation
+	 */
+	public synchronized long getGeneration() {
+		return generation;
+	}
+
+	/**
+	 * Put a value unless its group was invalidated since it was loaded.
+	 * Invalidations of other groups do not prevent it.
+	 *
+	 * @param key key
+	 * @param value value
+	 * @param loadGeneration the generation obtained before loading the value
+	 */
+	public synchronized void put(K key, V value, long loadGeneration) {
+		if (loadGeneration < minGeneration) {
+			return;
+		}
+		G group = grouping.apply(key);
+		Long invalidated = invalidations.get(group);
+		if (invalidated != null && invalidated > loadGeneration) {
+			return;
+		}
+		if (entries.put(key, new Entry<V>(value)) == null) {
+			Set<K> keys = groups.get(group);
+			if (keys == null) {
+				keys = new HashSet<K>();
+				groups.put(group, keys);
+			}
+			keys.add(key);
+		}
+	}
+
+	/**
+	 * Remove the entries of a group.
+	 *
+	 * @param group group
+	 */
+	public synchronized void invalidate(G group) {
+		invalidations.put(group, ++generation);
+		if (invalidations.size() > maxSize) {
+			// Forget the generations of the groups, and reject every value
+			// loaded before instead
+			invalidations.clear();
+			minGeneration = generation;
+		}
+		Set<K> keys = groups.remove(group);
+		if (keys != null) {
+			for (K key : keys) {
+				entries.remove(key);
+				invalidationCount++;
+			}
+		}
+	}
+
+	/**
+	 * Remove the entries of the groups which match a condition. Values being
+	 * loaded for any group are not put afterwards.
+	 *
+	 * @param filter condition of the groups to remove
+	 */
+	public synchronized void invalidateGroups(Predicate<? super G> filter) {
+		minGeneration = ++generation;
+		invalidations.clear();
+		Iterator<Map.Entry<G, Set<K>>> iterator = groups.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<G, Set<K>> group = iterator.next();
+			if (filter.test(group.getKey())) {
+				for (K key : group.getValue()) {
+					entries.remove(key);
+					invalidationCount++;
+				}
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Remove every entry.
+	 */
+	public synchronized void clear() {
+		minGeneration = ++generation;
+		invalidations.clear();
+		invalidationCount += entries.size();
+		entries.clear();
+		groups.clear();
+	}
+	/**
+	 * Get the current statistics of the cache.
+	 *
+	 * @return a {@link GWCacheStatistics}
+	 */
+	public synchronized GWCacheStatistics getStatistics() {
+		GWCacheStatistics statistics = new GWCacheStatistics();
+		statistics.setEnabled(true);
+		statistics.setSize(entries.size());
+		statistics.setHits(hitCount);
+		statistics.setMisses(missCount);
+		statistics.setEvictions(evictionCount);
+		statistics.setInvalidations(invalidationCount);
+		return statistics;
+	}
+
+	private void unindex(K key) {
+		G group = grouping.apply(key);
+		Set<K> keys = groups.get(group);
+		if (keys != null && keys.remove(key) && keys.isEmpty()) {
+			groups.remove(group);
+		}
+	}
+
+	private static final class Entry<V> {
+
+		private final V value;
+		private final long created;
+
+		Entry(V value) {
+			this.value = value;
+			this.created = System.currentTimeMillis();
+		}
+	}
+
+}
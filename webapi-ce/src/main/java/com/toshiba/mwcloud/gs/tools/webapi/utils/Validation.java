@@ -72,6 +72,10 @@ public class Validation {
 				throw new GWBadRequestException("'EXPLAIN/ANALYZE' is not supported");
 			}
 		}
+
+		if (!isValidTotalMode(tqlInput.getTotalMode())) {
+			throw new GWBadRequestException("'totalMode' is invalid");
+		}
 	}
 
 	/**
@@ -98,6 +102,14 @@ public class Validation {
 				|| (null != gwQueryParams.getSort() && containsNotAllowedCharacter(gwQueryParams.getSort()))) {
 			throw new GWBadRequestException("Invalid character(s) found");
 		}
+
+		if (!isValidTotalMode(gwQueryParams.getTotalMode())) {
+			throw new GWBadRequestException("'totalMode' is invalid");
+		}
+
+		if (null != gwQueryParams.getCursor() && gwQueryParams.getOffset() > 0) {
+			throw new GWBadRequestException("'offset' cannot be used with 'cursor'");
+		}
 	}
 
 	/**
@@ -113,6 +125,20 @@ public class Validation {
 		}
 	}
 
+	/**
+	 * Validate the acknowledgement mode of putting rows through the ingestion
+	 * queue
+	 * 
+	 * @param ack
+	 *            "enqueue" or "commit"
+	 */
+	public static void validateAck(String ack) {
+
+		if (!Constants.ACK_ENQUEUE.equals(ack) && !Constants.ACK_COMMIT.equals(ack)) {
+			throw new GWBadRequestException("'ack' is invalid");
+		}
+	}
+
 	/**
 	 * Validate container before creating
 	 * 
@@ -230,4 +256,16 @@ public class Validation {
 		return false;
 	}
 
+	/**
+	 * Checks if is valid the mode of counting the total rows.
+	 *
+	 * @param totalMode the total mode, null for the default mode
+	 * @return true, if is valid the total mode
+	 */
+	public static boolean isValidTotalMode(String totalMode) {
+		return totalMode == null || Constants.TOTAL_MODE_EXACT.equalsIgnoreCase(totalMode)
+				|| Constants.TOTAL_MODE_SKIP.equalsIgnoreCase(totalMode)
+				|| Constants.TOTAL_MODE_CACHED.equalsIgnoreCase(totalMode);
+	}
+
 }